@@ -606,10 +606,10 @@ function parseCoursesFromXml(xml: string): Course[] {
   courseMatches.forEach((match) => {
     const id = match.match(/<id>(.*?)<\/id>/)?.[1] || "";
     const code = match.match(/<code>(.*?)<\/code>/)?.[1] || "";
-    const name = match.match(/<name>(.*?)<\/name>/)?.[1] || "";
+    const name = match.match(/<name>(.*?)<\/name>/)?.[1] || match.match(/<title>(.*?)<\/title>/)?.[1] || "";
     const description = match.match(/<description>(.*?)<\/description>/)?.[1] || "";
     const credits = parseInt(match.match(/<credits>(.*?)<\/credits>/)?.[1] || "3");
-    const professorId = match.match(/<professorId>(.*?)<\/professorId>/)?.[1] || "";
+    const professorId = match.match(/<professorId>(.*?)<\/professorId>/)?.[1] || match.match(/<instructorId>(.*?)<\/instructorId>/)?.[1] || "";
     const professorName = match.match(/<professorName>(.*?)<\/professorName>/)?.[1] || "";
     courses.push({ id, code, name, description, credits, professorId, professorName });
   });
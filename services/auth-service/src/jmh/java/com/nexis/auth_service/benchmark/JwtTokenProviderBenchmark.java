@@ -0,0 +1,82 @@
+package com.nexis.auth_service.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.nexis.auth_service.model.Role;
+import com.nexis.auth_service.model.User;
+import com.nexis.auth_service.security.JwtClaimsCache;
+import com.nexis.auth_service.security.JwtCodec;
+import com.nexis.auth_service.security.JwtTokenProvider;
+import com.nexis.auth_service.security.SigningKeyRing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Émission et vérification des tokens (chaque connexion / requête authentifiée),
+ * signés en ES256 (clés en mémoire).
+ * - validateToken / getUsernameFromToken: sans cache, vérification de signature complète
+ * - validateTokenCached: cas courant, claims déjà vérifiés (JwtClaimsCache)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider provider;
+    private JwtTokenProvider cachedProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // Sans configuration Spring, logback écrit tout en DEBUG sur la console
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+
+        JwtCodec codec = new JwtCodec(new SigningKeyRing("", 604_800_000L, 86_400_000L), "", "", 86_400_000L);
+        provider = new JwtTokenProvider(codec, new JwtClaimsCache(0, 300_000));
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86_400_000L);
+        cachedProvider = new JwtTokenProvider(codec, new JwtClaimsCache(10_000, 300_000));
+
+        user = new User();
+        user.setId(4242L);
+        user.setUsername("jdoe");
+        user.setEmail("jdoe@nexis.com");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setPhoneNumber("+33600000000");
+        user.setRole(Role.STUDENT);
+        user.setEnabled(true);
+        token = provider.generateTokenFromUser(user);
+        cachedProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateTokenFromUser() {
+        return provider.generateTokenFromUser(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachedProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return provider.getUsernameFromToken(token);
+    }
+}
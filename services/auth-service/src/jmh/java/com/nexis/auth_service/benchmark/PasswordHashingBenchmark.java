@@ -0,0 +1,68 @@
+package com.nexis.auth_service.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.nexis.auth_service.security.BoundedPasswordEncoder;
+import com.nexis.auth_service.security.PasswordHashingExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connexions par seconde et par cœur: un thread JMH = un cœur occupé par bcrypt.
+ * strength = app.auth.password.bcrypt-strength (chaque +1 divise le débit par 2).
+ *
+ * - matches: vérification seule, sur le thread appelant
+ * - matchesBounded: même calcul via PasswordHashingExecutor (1 thread), coût du passage au pool
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "password";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private BoundedPasswordEncoder bounded;
+    private PasswordHashingExecutor executor;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+
+        encoder = new BCryptPasswordEncoder(strength);
+        executor = new PasswordHashingExecutor(1, 32, 60_000, 2);
+        bounded = new BoundedPasswordEncoder(encoder, executor);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean matchesBounded() {
+        return bounded.matches(PASSWORD, hash);
+    }
+}
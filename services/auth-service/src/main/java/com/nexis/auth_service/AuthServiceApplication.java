@@ -3,10 +3,14 @@ package com.nexis.auth_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.nexis.auth_service.model.User;
 import com.nexis.auth_service.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @SpringBootApplication
 public class AuthServiceApplication {
 
@@ -17,11 +21,27 @@ public class AuthServiceApplication {
 	@Bean
     public UserDetailsService userDetailsService(UserRepository userRepository) {
         return identifier -> {
-            // Cherche d'abord par username, puis par email
-            return userRepository.findByUsername(identifier)
-                .or(() -> userRepository.findByEmail(identifier))
+            // Username ou email, en une seule requête
+            return userRepository.findByUsernameOrEmail(identifier)
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé: " + identifier));
         };
     }
 
+    /**
+     * Rehash à la connexion: appelé par DaoAuthenticationProvider quand le hash
+     * stocké est d'un coût inférieur à app.auth.password.bcrypt-strength
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService(UserRepository userRepository) {
+        return (user, newPassword) -> {
+            userRepository.updatePassword(user.getUsername(), newPassword, System.currentTimeMillis());
+            log.info("✅ Mot de passe rehashé: {}", user.getUsername());
+            if (user instanceof User entity) {
+                entity.setPassword(newPassword);
+                return entity;
+            }
+            return user;
+        };
+    }
+
 }
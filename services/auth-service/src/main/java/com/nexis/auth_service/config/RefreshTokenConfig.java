@@ -0,0 +1,35 @@
+package com.nexis.auth_service.config;
+
+import com.nexis.auth_service.repository.RefreshTokenFamilyRevocationRepository;
+import com.nexis.auth_service.repository.RefreshTokenRepository;
+import com.nexis.auth_service.security.DatabaseRefreshTokenStore;
+import com.nexis.auth_service.security.InMemoryRefreshTokenStore;
+import com.nexis.auth_service.security.RefreshTokenStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Stockage des refresh tokens (app.jwt.refresh.store) et purge périodique des
+ * tokens expirés (RefreshTokenService)
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+public class RefreshTokenConfig {
+
+    @Bean
+    public RefreshTokenStore refreshTokenStore(@Value("${app.jwt.refresh.store:memory}") String store,
+                                               RefreshTokenRepository repository,
+                                               RefreshTokenFamilyRevocationRepository revocations) {
+        log.info("🔐 Refresh tokens: stockage {}", store);
+        return switch (store) {
+            case "memory" -> new InMemoryRefreshTokenStore();
+            case "database" -> new DatabaseRefreshTokenStore(repository, revocations);
+            default -> throw new IllegalArgumentException(
+                    "app.jwt.refresh.store inconnu: " + store + " (memory ou database)");
+        };
+    }
+}
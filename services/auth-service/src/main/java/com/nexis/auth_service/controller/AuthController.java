@@ -1,6 +1,7 @@
 package com.nexis.auth_service.controller;
 
 import com.nexis.auth_service.dto.LoginRequest;
+import com.nexis.auth_service.dto.LogoutRequest;
 import com.nexis.auth_service.dto.RegisterRequest;
 import com.nexis.auth_service.dto.AuthResponse;
 import com.nexis.auth_service.dto.UserDto;
@@ -50,10 +51,19 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<String> logout() {
+    public ResponseEntity<String> logout(@RequestHeader("Authorization") String authorization,
+                                         @RequestBody(required = false) LogoutRequest request) {
+        String accessToken = authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok("Déconnexion réussie");
     }
 
+    @PostMapping("/logout-all")
+    public ResponseEntity<String> logoutEverywhere() {
+        authService.logoutEverywhere();
+        return ResponseEntity.ok("Toutes les sessions ont été fermées");
+    }
+
     @GetMapping("/health")
     public ResponseEntity<java.util.Map<String, String>> health() {
         return ResponseEntity.ok(java.util.Map.of("status", "UP"));
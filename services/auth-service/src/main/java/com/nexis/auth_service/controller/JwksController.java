@@ -0,0 +1,30 @@
+package com.nexis.auth_service.controller;
+
+import com.nexis.auth_service.security.SigningKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Clés publiques de vérification des JWT (JWK Set, RFC 7517), relues par
+ * course-service, billing-service et student-service: GET /.well-known/jwks.json
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyRing signingKeyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        // La clé suivante est publiée une rotation à l'avance: un cache de quelques minutes suffit
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(signingKeyRing.jwks());
+    }
+}
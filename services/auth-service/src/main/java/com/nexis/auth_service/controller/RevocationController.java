@@ -0,0 +1,28 @@
+package com.nexis.auth_service.controller;
+
+import com.nexis.auth_service.dto.RevocationSnapshot;
+import com.nexis.auth_service.security.RevocationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Tokens révoqués, relus périodiquement par course-service et billing-service
+ * (secret partagé, en-tête X-Revocation-Token): GET /auth/revocations?epoch=...&since=...
+ */
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+public class RevocationController {
+
+    private final RevocationRegistry revocationRegistry;
+
+    @GetMapping("/revocations")
+    public ResponseEntity<RevocationSnapshot> revocations(@RequestParam(defaultValue = "0") long epoch,
+                                                          @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(revocationRegistry.snapshot(epoch, since));
+    }
+}
@@ -3,6 +3,8 @@ package com.nexis.auth_service.controller;
 import com.nexis.auth_service.model.Role;
 import com.nexis.auth_service.model.User;
 import com.nexis.auth_service.repository.UserRepository;
+import com.nexis.auth_service.security.RevocationRegistry;
+import com.nexis.auth_service.security.UserStatusCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,8 @@ import org.springframework.web.bind.annotation.*;
 public class RoleController {
 
     private final UserRepository userRepository;
+    private final UserStatusCache userStatusCache;
+    private final RevocationRegistry revocationRegistry;
 
     @PutMapping("/assign/{userId}")
     public ResponseEntity<String> assignRole(
@@ -29,6 +33,8 @@ public class RoleController {
         
         user.setRole(role);
         userRepository.save(user);
+        userStatusCache.evict(user.getUsername());  // rôle pris en compte dès la requête suivante
+        revocationRegistry.revokeSubject(user.getUsername());  // course/billing: tokens portant l'ancien rôle
         
         log.info("Rôle {} assigné à l'utilisateur {}", role, user.getUsername());
         return ResponseEntity.ok("Rôle " + role.getDisplayName() + " assigné à " + user.getUsername());
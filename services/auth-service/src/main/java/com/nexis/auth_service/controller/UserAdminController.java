@@ -3,7 +3,10 @@ package com.nexis.auth_service.controller;
 import com.nexis.auth_service.dto.UserDto;
 import com.nexis.auth_service.model.User;
 import com.nexis.auth_service.repository.UserRepository;
+import com.nexis.auth_service.security.RevocationRegistry;
+import com.nexis.auth_service.security.UserStatusCache;
 import com.nexis.auth_service.service.AuthService;
+import com.nexis.auth_service.service.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,6 +24,9 @@ public class UserAdminController {
 
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final UserStatusCache userStatusCache;
+    private final RefreshTokenService refreshTokenService;
+    private final RevocationRegistry revocationRegistry;
 
     @GetMapping
     public ResponseEntity<List<UserDto>> getAllUsers() {
@@ -37,6 +43,9 @@ public class UserAdminController {
             .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
 
         userRepository.delete(user);
+        userStatusCache.evict(user.getUsername());  // ses JWT sont refusés dès la requête suivante
+        refreshTokenService.revokeAll(user.getUsername());
+        revocationRegistry.revokeSubject(user.getUsername());
         return ResponseEntity.ok("Utilisateur " + user.getUsername() + " supprimé avec succès");
     }
 }
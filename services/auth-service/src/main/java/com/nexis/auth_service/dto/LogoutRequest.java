@@ -0,0 +1,14 @@
+package com.nexis.auth_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutRequest {
+    // Session à fermer avec l'access token; absent: seul l'access token est révoqué
+    // (toutes les sessions: POST /auth/logout-all)
+    private String refreshToken;
+}
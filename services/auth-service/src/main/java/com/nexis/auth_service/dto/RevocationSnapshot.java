@@ -0,0 +1,16 @@
+package com.nexis.auth_service.dto;
+
+import com.nexis.auth_service.security.RevocationEntry;
+
+import java.util.List;
+
+/**
+ * Réponse de /auth/revocations
+ *
+ * - full: filtre de Bloom (bloom, bloomBits, bloomHashes) et toutes les entrées;
+ *   envoyé au premier appel, ou si epoch a changé (purge des entrées expirées)
+ * - sinon: entrées de version > since uniquement
+ */
+public record RevocationSnapshot(long epoch, long version, boolean full, Integer bloomBits, Integer bloomHashes,
+                                 String bloom, List<RevocationEntry> entries) {
+}
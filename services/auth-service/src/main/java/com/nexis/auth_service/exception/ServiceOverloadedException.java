@@ -0,0 +1,19 @@
+package com.nexis.auth_service.exception;
+
+/**
+ * Capacité de traitement saturée: renvoyée en 503 avec l'en-tête Retry-After
+ * (voir GlobalExceptionHandler)
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nexis.auth_service.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtre logback: ne garde qu'un événement SAMPLED sur rate.
+ * Les WARN/ERROR et les événements non marqués passent toujours.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private final AtomicLong counter = new AtomicLong();
+    private int rate = 100;
+
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate == 1 || event.getLevel().isGreaterOrEqual(Level.WARN) || !isSampled(event)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private static boolean isSampled(ILoggingEvent event) {
+        return event.getMarkerList() != null && event.getMarkerList().contains(LogSampling.SAMPLED);
+    }
+}
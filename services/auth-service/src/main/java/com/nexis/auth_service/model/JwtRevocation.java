@@ -0,0 +1,44 @@
+package com.nexis.auth_service.model;
+
+import com.nexis.auth_service.security.RevocationSet;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Révocation d'access token (RevocationRegistry), conservée entre redémarrages:
+ * l'id est la version publiée par /auth/revocations
+ */
+@Entity
+@Table(name = "jwt_revocations", indexes = {
+        @Index(name = "idx_jwt_revocations_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+public class JwtRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RevocationSet.Type type;
+
+    // jti (TOKEN) ou username (SUBJECT)
+    @Column(name = "token_key", nullable = false)
+    private String tokenKey;
+
+    @Column(name = "issued_up_to", nullable = false)
+    private Long issuedUpTo;
+
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    public JwtRevocation(RevocationSet.Type type, String tokenKey, Long issuedUpTo, Long expiresAt) {
+        this.type = type;
+        this.tokenKey = tokenKey;
+        this.issuedUpTo = issuedUpTo;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.nexis.auth_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Epoch courant des révocations (une seule ligne): inchangé au redémarrage,
+ * les services gardent leur état et continuent la lecture incrémentale
+ */
+@Entity
+@Table(name = "jwt_revocation_state")
+@Data
+@NoArgsConstructor
+public class JwtRevocationState {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long epoch;
+
+    public JwtRevocationState(Integer id, Long epoch) {
+        this.id = id;
+        this.epoch = epoch;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nexis.auth_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Session (famille de refresh tokens) révoquée (DatabaseRefreshTokenStore).
+ *
+ * Ligne distincte des tokens: un token ajouté à la famille après la révocation
+ * (rotation concurrente d'un rejeu) est refusé lui aussi. Supprimée par la purge
+ * quand la famille n'a plus de token.
+ */
+@Entity
+@Table(name = "refresh_token_family_revocations")
+@Data
+@NoArgsConstructor
+public class RefreshTokenFamilyRevocation {
+
+    @Id
+    @Column(name = "family_id", length = 36)
+    private String familyId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Long revokedAt;
+
+    public RefreshTokenFamilyRevocation(String familyId, Long revokedAt) {
+        this.familyId = familyId;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.nexis.auth_service.model;
+
+/**
+ * État d'un compte relu pour l'authentification par JWT: actif ou non, rôle courant
+ */
+public record UserStatus(Boolean enabled, Role role) {
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+}
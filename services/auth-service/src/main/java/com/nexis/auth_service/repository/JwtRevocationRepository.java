@@ -0,0 +1,23 @@
+package com.nexis.auth_service.repository;
+
+import com.nexis.auth_service.model.JwtRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface JwtRevocationRepository extends JpaRepository<JwtRevocation, Long> {
+
+    // Rechargement au démarrage, par version croissante
+    List<JwtRevocation> findByExpiresAtGreaterThanOrderByIdAsc(Long now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JwtRevocation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Long now);
+}
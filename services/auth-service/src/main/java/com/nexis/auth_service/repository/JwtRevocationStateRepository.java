@@ -0,0 +1,9 @@
+package com.nexis.auth_service.repository;
+
+import com.nexis.auth_service.model.JwtRevocationState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JwtRevocationStateRepository extends JpaRepository<JwtRevocationState, Integer> {
+}
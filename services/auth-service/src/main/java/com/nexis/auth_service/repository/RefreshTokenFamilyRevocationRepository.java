@@ -0,0 +1,19 @@
+package com.nexis.auth_service.repository;
+
+import com.nexis.auth_service.model.RefreshTokenFamilyRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RefreshTokenFamilyRevocationRepository extends JpaRepository<RefreshTokenFamilyRevocation, String> {
+
+    // Familles révoquées dont tous les tokens ont été purgés
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamilyRevocation f WHERE NOT EXISTS " +
+           "(SELECT 1 FROM RefreshToken t WHERE t.familyId = f.familyId)")
+    int deleteWithoutTokens();
+}
@@ -1,10 +1,17 @@
 package com.nexis.auth_service.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.nexis.auth_service.dto.UserDto;
 import com.nexis.auth_service.model.User;
+import com.nexis.auth_service.model.UserStatus;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +20,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Connexion par username ou email en une requête (index uniques sur les deux colonnes)
+    @Query("SELECT u FROM User u WHERE u.username = :identifier OR u.email = :identifier")
+    List<User> findAllByUsernameOrEmail(@Param("identifier") String identifier);
+
+    /**
+     * Compte désigné par son username ou son email; le username l'emporte si
+     * l'identifiant correspond à deux comptes différents
+     */
+    default Optional<User> findByUsernameOrEmail(String identifier) {
+        List<User> users = findAllByUsernameOrEmail(identifier);
+        return users.stream()
+                .filter(u -> identifier.equals(u.getUsername()))
+                .findFirst()
+                .or(() -> users.stream().findFirst());
+    }
+
+    // Profil (/auth/me) lu directement en UserDto, sans entité gérée
+    @Query("SELECT new com.nexis.auth_service.dto.UserDto(u.id, u.username, u.email, u.firstName, u.lastName, "
+            + "u.phoneNumber, u.address, u.department, u.role, u.enabled, u.createdAt) "
+            + "FROM User u WHERE u.username = :username")
+    Optional<UserDto> findDtoByUsername(@Param("username") String username);
+
+    // Deux colonnes seulement: contrôle de révocation des JWT (UserStatusCache)
+    @Query("SELECT new com.nexis.auth_service.model.UserStatus(u.enabled, u.role) FROM User u WHERE u.username = :username")
+    Optional<UserStatus> findStatusByUsername(@Param("username") String username);
+
+    // Rehash à la connexion (UserDetailsPasswordService)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :updatedAt WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password,
+                       @Param("updatedAt") Long updatedAt);
 }
\ No newline at end of file
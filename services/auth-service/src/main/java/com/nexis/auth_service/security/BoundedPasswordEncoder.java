@@ -0,0 +1,38 @@
+package com.nexis.auth_service.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder dont les calculs (encode, matches) passent par le pool borné
+ * PasswordHashingExecutor, y compris ceux de DaoAuthenticationProvider.
+ *
+ * Rehash à la connexion: upgradeEncoding signale un hash d'un coût inférieur au
+ * coût configuré (DaoAuthenticationProvider le remplace alors via
+ * UserDetailsPasswordService), mais seulement si le pool a de la marge: pendant
+ * un pic, la migration attend la connexion suivante.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword) && executor.hasSpareCapacity();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nexis.auth_service.security;
+
+import com.nexis.auth_service.model.RefreshToken;
+import com.nexis.auth_service.model.RefreshTokenFamilyRevocation;
+import com.nexis.auth_service.repository.RefreshTokenFamilyRevocationRepository;
+import com.nexis.auth_service.repository.RefreshTokenRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Refresh tokens dans la table refresh_tokens: partagés entre instances et
+ * conservés au redémarrage. Consommation par UPDATE conditionnel (une seule
+ * rotation gagne), recherche par l'index unique token_hash.
+ *
+ * La révocation d'une famille est aussi une ligne de refresh_token_family_revocations:
+ * une rotation en cours (token consommé, successeur pas encore enregistré) ne peut
+ * pas ajouter un token valide à une session révoquée entre-temps.
+ */
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository repository;
+    private final RefreshTokenFamilyRevocationRepository revocations;
+
+    public DatabaseRefreshTokenStore(RefreshTokenRepository repository,
+                                     RefreshTokenFamilyRevocationRepository revocations) {
+        this.repository = repository;
+        this.revocations = revocations;
+    }
+
+    @Override
+    public void save(String tokenHash, String familyId, String username, long expiresAt) {
+        repository.save(new RefreshToken(tokenHash, familyId, username, expiresAt));
+    }
+
+    @Override
+    public Consumption consume(String tokenHash, long now) {
+        RefreshToken token = repository.findByTokenHash(tokenHash).orElse(null);
+        if (token == null || token.getExpiresAt() <= now || token.getRevoked()
+                || revocations.existsById(token.getFamilyId())) {
+            return Consumption.INVALID;
+        }
+        Outcome outcome = repository.markUsed(tokenHash) == 1 ? Outcome.CONSUMED : Outcome.REUSED;
+        return new Consumption(outcome, token.getFamilyId(), token.getUsername());
+    }
+
+    @Override
+    public Session find(String tokenHash, long now) {
+        return repository.findByTokenHash(tokenHash)
+                .filter(token -> token.getExpiresAt() > now)
+                .map(token -> new Session(token.getFamilyId(), token.getUsername()))
+                .orElse(null);
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        markRevoked(familyId);
+        repository.revokeFamily(familyId);
+    }
+
+    @Override
+    public void revokeUser(String username) {
+        repository.findFamilyIdsByUsername(username).forEach(this::markRevoked);
+        repository.revokeUser(username);
+    }
+
+    @Override
+    public int purgeExpired(long now) {
+        int purged = repository.deleteExpired(now);
+        revocations.deleteWithoutTokens();
+        return purged;
+    }
+
+    private void markRevoked(String familyId) {
+        if (revocations.existsById(familyId)) {
+            return;
+        }
+        try {
+            revocations.save(new RefreshTokenFamilyRevocation(familyId, System.currentTimeMillis()));
+        } catch (DataIntegrityViolationException e) {
+            // Révocation concurrente de la même famille: déjà enregistrée
+        }
+    }
+}
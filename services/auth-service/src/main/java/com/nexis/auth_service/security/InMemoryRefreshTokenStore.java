@@ -0,0 +1,118 @@
+package com.nexis.auth_service.security;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Refresh tokens en mémoire (une instance d'auth-service; perdus au redémarrage).
+ *
+ * ConcurrentHashMap verrouille par case: les rotations de tokens différents ne
+ * se bloquent pas. Consommation et contrôle de révocation en temps constant
+ * (token → famille, drapeau de révocation partagé par la famille); la révocation
+ * d'une famille est une écriture. Les tokens consommés restent jusqu'à leur
+ * expiration pour détecter les rejeux, puis sont retirés par purgeExpired.
+ */
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> familiesByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String tokenHash, String familyId, String username, long expiresAt) {
+        Family family = families.computeIfAbsent(familyId, id -> {
+            familiesByUser.computeIfAbsent(username, u -> ConcurrentHashMap.newKeySet()).add(id);
+            return new Family(id, username);
+        });
+        family.extendTo(expiresAt);
+        tokens.put(tokenHash, new Entry(family, expiresAt));
+    }
+
+    @Override
+    public Consumption consume(String tokenHash, long now) {
+        Entry entry = tokens.get(tokenHash);
+        if (entry == null || entry.expiresAt <= now || entry.family.revoked) {
+            return Consumption.INVALID;
+        }
+        Outcome outcome = entry.used.compareAndSet(false, true) ? Outcome.CONSUMED : Outcome.REUSED;
+        return new Consumption(outcome, entry.family.id, entry.family.username);
+    }
+
+    @Override
+    public Session find(String tokenHash, long now) {
+        Entry entry = tokens.get(tokenHash);
+        if (entry == null || entry.expiresAt <= now) {
+            return null;
+        }
+        return new Session(entry.family.id, entry.family.username);
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        Family family = families.get(familyId);
+        if (family != null) {
+            family.revoked = true;
+        }
+    }
+
+    @Override
+    public void revokeUser(String username) {
+        Set<String> ids = familiesByUser.get(username);
+        if (ids != null) {
+            ids.forEach(this::revokeFamily);
+        }
+    }
+
+    @Override
+    public int purgeExpired(long now) {
+        int before = tokens.size();
+        tokens.values().removeIf(entry -> entry.expiresAt <= now);
+        families.values().removeIf(family -> {
+            if (family.expiresAt > now) {
+                return false;
+            }
+            Set<String> ids = familiesByUser.get(family.username);
+            if (ids != null) {
+                ids.remove(family.id);
+                if (ids.isEmpty()) {
+                    familiesByUser.remove(family.username, ids);
+                }
+            }
+            return true;
+        });
+        return before - tokens.size();
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private static final class Entry {
+        private final Family family;
+        private final long expiresAt;
+        private final AtomicBoolean used = new AtomicBoolean();
+
+        private Entry(Family family, long expiresAt) {
+            this.family = family;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Family {
+        private final String id;
+        private final String username;
+        private volatile boolean revoked;
+        private volatile long expiresAt;
+
+        private Family(String id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+
+        private synchronized void extendTo(long expiresAt) {
+            this.expiresAt = Math.max(this.expiresAt, expiresAt);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.nexis.auth_service.security;
+
+import com.nexis.auth_service.model.UserStatus;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authentification des requêtes par JWT (Authorization: Bearer ...).
+ *
+ * - sans état (app.jwt.stateless=true): l'Authentication est construite à partir
+ *   des claims vérifiés (id, role, email), sans lire la table users. Si
+ *   UserStatusCache est actif, l'état du compte (actif, rôle) est relu au plus
+ *   une fois par TTL: un compte désactivé ou supprimé perd l'accès.
+ * - sinon, ou pour un token sans claims id/role (ancien refresh token JWT): chargement du
+ *   compte par UserDetailsService, une requête par appel.
+ *
+ * Un token révoqué (RevocationRegistry: déconnexion, suppression...) est refusé
+ * dans les deux cas.
+ */
+@Slf4j
+class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+    private final RevocationRegistry revocationRegistry;
+    private final boolean stateless;
+
+    JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService,
+                            UserStatusCache userStatusCache, RevocationRegistry revocationRegistry,
+                            boolean stateless) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.userStatusCache = userStatusCache;
+        this.revocationRegistry = revocationRegistry;
+        this.stateless = stateless;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            String token = extractToken(request);
+
+            // ✅ Une seule vérification du token par requête
+            TokenClaims claims = token != null ? tokenProvider.parseToken(token) : null;
+            if (claims != null && revocationRegistry.isRevoked(claims)) {
+                log.warn("⚠️ JWT révoqué pour: {}", claims.username());
+                claims = null;
+            }
+
+            if (claims != null) {
+                Authentication authentication = stateless && claims.userId() != null && !"UNKNOWN".equals(claims.role())
+                        ? fromClaims(claims)
+                        : fromDatabase(claims.username());
+
+                if (authentication != null) {
+                    // Ajouter au contexte de sécurité
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("✅ JWT validated for user: {}", claims.username());
+                }
+            } else if (token != null) {
+                log.warn("❌ Invalid or revoked JWT token");
+            }
+
+        } catch (Exception e) {
+            log.error("❌ JWT authentication error: {}", e.getMessage());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Authentication issue des claims; null si le compte a été désactivé ou supprimé
+     */
+    private Authentication fromClaims(TokenClaims claims) {
+        String role = claims.role();
+        if (userStatusCache.isEnabled()) {
+            UserStatus status = userStatusCache.get(claims.username());
+            if (status == null || !status.isEnabled()) {
+                log.warn("⚠️ JWT refusé: compte {} désactivé ou supprimé", claims.username());
+                return null;
+            }
+            role = status.role().name();  // rôle courant, pas celui de l'émission du token
+        }
+        JwtPrincipal principal = new JwtPrincipal(claims.userId(), claims.username(), role, claims.email());
+        return UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    private Authentication fromDatabase(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return UsernamePasswordAuthenticationToken.authenticated(
+                userDetails, null, userDetails.getAuthorities());
+    }
+
+    private String extractToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+
+        return null;
+    }
+}
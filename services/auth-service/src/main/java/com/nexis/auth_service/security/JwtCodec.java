@@ -0,0 +1,128 @@
+package com.nexis.auth_service.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Signature (ES256) et vérification des JWT.
+ *
+ * Clés de SigningKeyRing, choisies par l'en-tête "kid"; le parser est construit
+ * une seule fois et partagé entre les threads de requête.
+ *
+ * Transition HS256 -> ES256: avec app.jwt.secret et app.jwt.legacy-hs256-until
+ * (instant de la bascule, ISO-8601), un token HS256 est accepté s'il a été émis
+ * avant la bascule et expire au plus tard app.jwt.expiration après elle. Un token
+ * forgé avec le secret ne passe donc plus une fois cette fenêtre écoulée; le
+ * secret peut alors être retiré. L'un des deux vide: HS256 refusé.
+ */
+@Component
+public class JwtCodec {
+
+    private final SigningKeyRing keyRing;
+    private final SecretKey legacyKey;
+    private final long legacyIssuedBefore;
+    private final long legacyExpiresBy;
+    private final JwtParser parser;
+
+    public JwtCodec(SigningKeyRing keyRing, @Value("${app.jwt.secret:}") String legacySecret,
+                    @Value("${app.jwt.legacy-hs256-until:}") String legacyUntil,
+                    @Value("${app.jwt.expiration:86400000}") long tokenLifetimeMillis) {
+        this.keyRing = keyRing;
+        this.legacyIssuedBefore = legacyUntil == null || legacyUntil.isBlank()
+                ? 0
+                : Instant.parse(legacyUntil.trim()).toEpochMilli();
+        this.legacyExpiresBy = legacyIssuedBefore + tokenLifetimeMillis;
+        this.legacyKey = legacySecret == null || legacySecret.isBlank() || legacyIssuedBefore == 0
+                ? null
+                : Keys.hmacShaKeyFor(legacySecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Token signé en ES256 avec la clé courante du trousseau
+     */
+    public String encode(String subject, Map<String, ?> claims, Date issuedAt, Date expiration) {
+        SigningKey key = keyRing.current();
+        return Jwts.builder()
+                .header().keyId(key.kid()).and()
+                .claims(claims)
+                .subject(subject)
+                .issuedAt(issuedAt)
+                .expiration(expiration)
+                .signWith(key.keyPair().getPrivate(), Jwts.SIG.ES256)
+                .compact();
+    }
+
+    /**
+     * Vérifie signature et expiration
+     * @throws io.jsonwebtoken.JwtException token invalide, expiré, non signé ou clé inconnue
+     * @throws IllegalArgumentException token vide
+     */
+    public Claims parseClaims(String token) {
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        if ("HS256".equals(jws.getHeader().getAlgorithm()) && !isLegacy(jws.getPayload())) {
+            throw new SignatureException("Token HS256 émis après la bascule ES256");
+        }
+        return jws.getPayload();
+    }
+
+    /**
+     * Comme parseClaims, en claims typés
+     */
+    public TokenClaims parse(String token) {
+        return TokenClaims.from(parseClaims(token));
+    }
+
+    /**
+     * HS256 signé avant la bascule, de durée de vie normale
+     */
+    private boolean isLegacy(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return issuedAt != null && expiration != null
+                && issuedAt.getTime() < legacyIssuedBefore
+                && expiration.getTime() <= legacyExpiresBy;
+    }
+
+    /**
+     * Clé imposée par l'algorithme: un token HS256 ne peut pas être vérifié avec
+     * une clé publique publiée (confusion d'algorithme)
+     */
+    private Key verificationKey(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        if ("HS256".equals(algorithm) && legacyKey != null) {
+            return legacyKey;
+        }
+        if (!"ES256".equals(algorithm)) {
+            throw new SignatureException("Algorithme JWT refusé: " + algorithm);
+        }
+        PublicKey key = keyRing.publicKey(header.getKeyId());
+        if (key == null) {
+            throw new SignatureException("Clé de signature inconnue: kid=" + header.getKeyId());
+        }
+        return key;
+    }
+}
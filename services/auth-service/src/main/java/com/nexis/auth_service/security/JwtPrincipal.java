@@ -0,0 +1,15 @@
+package com.nexis.auth_service.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Utilisateur authentifié à partir des claims vérifiés du JWT, sans lecture
+ * de la table users. Authentication.getName() renvoie le username.
+ */
+public record JwtPrincipal(Long id, String username, String role, String email) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -2,32 +2,31 @@ package com.nexis.auth_service.security;
 
 import com.nexis.auth_service.model.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret:MyVerySecureSecretKeyForAuthenticationJWTTokens2024WithEnoughCharacters}")
-    private String jwtSecret;
+    // ✅ Clé et parser construits une seule fois (voir JwtCodec)
+    private final JwtCodec codec;
+
+    // ✅ Signature ES256 vérifiée une seule fois par token
+    private final JwtClaimsCache claimsCache;
 
     @Value("${app.jwt.expiration:86400000}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-    }
-
     /**
      * ✅ NOUVEAU: Génère un token avec les informations complètes
      * Inclut: username, rôle, id, email, firstName, lastName
@@ -62,20 +61,16 @@ public class JwtTokenProvider {
         claims.put("lastName", user.getLastName());
         claims.put("phoneNumber", user.getPhoneNumber());
         claims.put("enabled", user.getEnabled());
+        claims.put(Claims.ID, UUID.randomUUID().toString());  // jti: révocation par token (RevocationRegistry)
         
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        String token = Jwts.builder()
-                .setClaims(claims)                           // ✅ Ajouter tous les claims
-                .setSubject(user.getUsername())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        String token = codec.encode(user.getUsername(), claims, now, expiryDate);  // ✅ Tous les claims
         
-        log.info("✅ Token généré pour user: {} | Role: {}", 
-            user.getUsername(), user.getRole().name());
+        // Chaque connexion: la ligne de succès est écrite par AuthService
+        log.debug("✅ Token généré pour user: {} | Role: {}", 
+            user.getUsername(), user.getRole());
         
         return token;
     }
@@ -88,70 +83,58 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        return codec.encode(username, Map.of(), now, expiryDate);
     }
 
     /**
-     * Récupération du username depuis le token
+     * ✅ Vérifie le token une seule fois et retourne ses claims typés (puis depuis le cache)
+     * Retourne null si le token est invalide ou expiré
      */
-    public String getUsernameFromToken(String token) {
+    public TokenClaims parseToken(String token) {
+        TokenClaims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            return Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (Exception e) {
-            log.error("❌ Erreur extraction username: {}", e.getMessage());
-            return null;
+            TokenClaims claims = codec.parse(token);
+            claimsCache.put(token, claims);
+            return claims;
+        } catch (ExpiredJwtException e) {
+            log.error("❌ Token JWT expiré: {}", e.getMessage());
+        } catch (MalformedJwtException | io.jsonwebtoken.security.SecurityException e) {
+            log.error("❌ Token JWT invalide: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            log.error("❌ Token JWT non supporté: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.error("❌ Claims vides: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("❌ Token JWT refusé: {}", e.getMessage());
         }
+        return null;
+    }
+
+    /**
+     * Récupération du username depuis le token
+     */
+    public String getUsernameFromToken(String token) {
+        TokenClaims claims = parseToken(token);
+        return claims != null ? claims.username() : null;
     }
 
     /**
      * ✅ NOUVEAU: Récupération du rôle depuis le token
      */
     public String getRoleFromToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            Object role = claims.get("role");
-            return role != null ? role.toString() : "UNKNOWN";
-        } catch (Exception e) {
-            log.error("❌ Erreur extraction rôle: {}", e.getMessage());
-            return "UNKNOWN";
-        }
+        TokenClaims claims = parseToken(token);
+        return claims != null ? claims.role() : "UNKNOWN";
     }
 
     /**
      * ✅ NOUVEAU: Récupération de l'ID utilisateur depuis le token
      */
     public Long getUserIdFromToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            Object id = claims.get("id");
-            if (id instanceof Number) {
-                return ((Number) id).longValue();
-            }
-            return null;
-        } catch (Exception e) {
-            log.error("❌ Erreur extraction ID: {}", e.getMessage());
-            return null;
-        }
+        TokenClaims claims = parseToken(token);
+        return claims != null ? claims.userId() : null;
     }
 
     /**
@@ -159,11 +142,7 @@ public class JwtTokenProvider {
      */
     public Claims getClaimsFromToken(String token) {
         try {
-            return Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return codec.parseClaims(token);
         } catch (Exception e) {
             log.error("❌ Erreur extraction claims: {}", e.getMessage());
             return null;
@@ -174,22 +153,7 @@ public class JwtTokenProvider {
      * Validation du token
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException | MalformedJwtException e) {
-            log.error("❌ Token JWT invalide: {}", e.getMessage());
-        } catch (ExpiredJwtException e) {
-            log.error("❌ Token JWT expiré: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            log.error("❌ Token JWT non supporté: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            log.error("❌ Claims vides: {}", e.getMessage());
-        }
-        return false;
+        return parseToken(token) != null;
     }
 
     public long getJwtExpiration() {
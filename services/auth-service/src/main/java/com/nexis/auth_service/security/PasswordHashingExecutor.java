@@ -0,0 +1,120 @@
+package com.nexis.auth_service.security;
+
+import com.nexis.auth_service.exception.ServiceOverloadedException;
+import com.nexis.auth_service.logging.LogSampling;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool dédié aux calculs de hash de mot de passe (bcrypt): connexion, inscription,
+ * rehash. Un pic de connexions ne peut plus occuper tous les cœurs ni tous les
+ * threads Tomcat: /auth/refresh, /auth/me et /auth/validate restent servis.
+ *
+ * - app.auth.hashing.threads: taille du pool (0: nombre de cœurs - 1, au moins 1)
+ * - app.auth.hashing.queue-capacity: file d'attente bornée; pleine, l'appel échoue
+ *   immédiatement (503 + Retry-After) au lieu d'attendre
+ * - app.auth.hashing.timeout: attente max (file + calcul) en ms; au-delà, 503 et la
+ *   tâche encore en file est annulée (le client a probablement abandonné)
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHashingExecutor(@Value("${app.auth.hashing.threads:0}") int threads,
+                                   @Value("${app.auth.hashing.queue-capacity:32}") int queueCapacity,
+                                   @Value("${app.auth.hashing.timeout:5000}") long timeoutMillis,
+                                   @Value("${app.auth.hashing.retry-after:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        log.info("🔐 Pool de hachage: {} thread(s), file de {}", poolSize, Math.max(1, queueCapacity));
+    }
+
+    /**
+     * Exécute task sur le pool et attend son résultat
+     * @throws ServiceOverloadedException file pleine ou délai dépassé
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw overloaded("file pleine");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw overloaded("délai dépassé");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hachage interrompu", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Vrai si un calcul supplémentaire ne fait attendre personne (file vide,
+     * thread libre): utilisé pour ne rehasher qu'en dehors des pics
+     */
+    public boolean hasSpareCapacity() {
+        return executor.getQueue().isEmpty() && executor.getActiveCount() < executor.getMaximumPoolSize();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private ServiceOverloadedException overloaded(String reason) {
+        long count = rejected.incrementAndGet();
+        log.warn(LogSampling.SAMPLED, "⚠️ Hachage refusé ({}): {} refus depuis le démarrage", reason, count);
+        return new ServiceOverloadedException("Service d'authentification surchargé, réessayez plus tard",
+                retryAfterSeconds);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
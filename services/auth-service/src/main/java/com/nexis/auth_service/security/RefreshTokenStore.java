@@ -0,0 +1,57 @@
+package com.nexis.auth_service.security;
+
+/**
+ * Stockage des refresh tokens opaques, indexés par l'empreinte SHA-256 du token
+ * (le token lui-même n'est jamais conservé).
+ *
+ * Les tokens d'une même connexion forment une famille: chaque rotation consomme
+ * le token présenté et en ajoute un nouveau à la famille. Un token déjà consommé
+ * présenté une seconde fois (vol, rejeu) révoque toute la famille.
+ *
+ * Implémentations: InMemoryRefreshTokenStore (défaut), DatabaseRefreshTokenStore
+ * (table refresh_tokens, partagée entre instances); app.jwt.refresh.store
+ */
+public interface RefreshTokenStore {
+
+    void save(String tokenHash, String familyId, String username, long expiresAt);
+
+    /**
+     * Consomme le token (une seule fois, atomiquement)
+     */
+    Consumption consume(String tokenHash, long now);
+
+    /**
+     * Session et compte du token, sans le consommer (null: inconnu ou expiré)
+     */
+    Session find(String tokenHash, long now);
+
+    void revokeFamily(String familyId);
+
+    /**
+     * Révoque toutes les familles (sessions) du compte
+     */
+    void revokeUser(String username);
+
+    /**
+     * Supprime les tokens expirés
+     * @return nombre de tokens supprimés
+     */
+    int purgeExpired(long now);
+
+    enum Outcome {
+        // Token valide, consommé par cet appel
+        CONSUMED,
+        // Token déjà consommé: rejeu
+        REUSED,
+        // Inconnu, expiré ou révoqué
+        INVALID
+    }
+
+    record Consumption(Outcome outcome, String familyId, String username) {
+
+        static final Consumption INVALID = new Consumption(Outcome.INVALID, null, null);
+    }
+
+    record Session(String familyId, String username) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.nexis.auth_service.security;
+
+/**
+ * Révocation publiée par /auth/revocations
+ *
+ * @param version    ordre de publication (lecture incrémentale: since)
+ * @param type       TOKEN (key = jti) ou SUBJECT (key = username)
+ * @param issuedUpTo iat maximal révoqué, en secondes (Long.MAX_VALUE pour TOKEN)
+ * @param expiresAt  epoch millis au-delà duquel tous les tokens visés ont expiré
+ */
+public record RevocationEntry(long version, RevocationSet.Type type, String key, long issuedUpTo, long expiresAt) {
+}
@@ -0,0 +1,153 @@
+package com.nexis.auth_service.security;
+
+import com.nexis.auth_service.dto.RevocationSnapshot;
+import com.nexis.auth_service.model.JwtRevocation;
+import com.nexis.auth_service.model.JwtRevocationState;
+import com.nexis.auth_service.repository.JwtRevocationRepository;
+import com.nexis.auth_service.repository.JwtRevocationStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Révocation des access tokens (JWT) avant leur expiration: déconnexion,
+ * déconnexion de toutes les sessions, suppression ou changement de rôle.
+ *
+ * Publié par /auth/revocations (RevocationSnapshot), versionné: course-service
+ * et billing-service ne relisent que les entrées ajoutées depuis leur dernier
+ * appel. Une entrée disparaît quand tous les tokens qu'elle vise ont expiré; la
+ * purge change l'epoch, les services reprennent alors un instantané complet.
+ *
+ * Entrées (jwt_revocations, id = version) et epoch (jwt_revocation_state) sont en
+ * base: après un redémarrage, les révocations encore utiles sont rechargées et
+ * l'epoch ne change pas, les services continuent leur lecture incrémentale.
+ * Une révocation non enregistrée échoue (exception) au lieu d'être perdue.
+ */
+@Slf4j
+@Component
+public class RevocationRegistry {
+
+    private static final int STATE_ID = 1;
+
+    private final JwtRevocationRepository revocations;
+    private final JwtRevocationStateRepository states;
+    private final long tokenLifetimeMillis;
+    private final int bloomBits;
+    private final int bloomHashes;
+
+    // Entrées par version croissante; modifications et instantanés sous verrou
+    private final List<RevocationEntry> entries = new ArrayList<>();
+    private volatile RevocationSet set;
+    private long epoch;
+    private long version;
+
+    public RevocationRegistry(JwtRevocationRepository revocations, JwtRevocationStateRepository states,
+                              @Value("${app.jwt.expiration:86400000}") long tokenLifetimeMillis,
+                              @Value("${app.jwt.revocation.bloom-bits:262144}") int bloomBits,
+                              @Value("${app.jwt.revocation.bloom-hashes:7}") int bloomHashes) {
+        this.revocations = revocations;
+        this.states = states;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        this.bloomBits = bloomBits;
+        this.bloomHashes = bloomHashes;
+        this.set = new RevocationSet(bloomBits, bloomHashes);
+        load();
+    }
+
+    /**
+     * Epoch enregistré (créé au premier démarrage) et entrées non expirées
+     */
+    private void load() {
+        long now = System.currentTimeMillis();
+        epoch = states.findById(STATE_ID)
+                .orElseGet(() -> states.save(new JwtRevocationState(STATE_ID, now)))
+                .getEpoch();
+        for (JwtRevocation revocation : revocations.findByExpiresAtGreaterThanOrderByIdAsc(now)) {
+            RevocationEntry entry = toEntry(revocation);
+            entries.add(entry);
+            set.add(entry.type(), entry.key(), entry.issuedUpTo());
+            version = entry.version();
+        }
+        log.info("✅ Révocations rechargées: {} entrées (epoch {}, version {})", entries.size(), epoch, version);
+    }
+
+    /**
+     * Révoque ce token; sans jti (émis avant la révocation par token), révoque
+     * les tokens du compte émis jusqu'au sien
+     */
+    public void revokeToken(TokenClaims claims) {
+        if (claims.tokenId() != null) {
+            add(RevocationSet.Type.TOKEN, claims.tokenId(), Long.MAX_VALUE, claims.expiresAtMillis());
+        } else {
+            add(RevocationSet.Type.SUBJECT, claims.username(), claims.issuedAtSeconds(),
+                    claims.issuedAtSeconds() * 1000 + tokenLifetimeMillis);
+        }
+    }
+
+    /**
+     * Révoque tous les tokens du compte émis jusqu'à maintenant (à la seconde près: iat)
+     */
+    public void revokeSubject(String username) {
+        long now = System.currentTimeMillis();
+        add(RevocationSet.Type.SUBJECT, username, now / 1000, now + tokenLifetimeMillis);
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        return set.isRevoked(claims.tokenId(), claims.username(), claims.issuedAtSeconds());
+    }
+
+    /**
+     * @param clientEpoch epoch connu du client (0: aucun)
+     * @param since       dernière version reçue par le client
+     */
+    public synchronized RevocationSnapshot snapshot(long clientEpoch, long since) {
+        if (clientEpoch != epoch || since > version) {
+            return new RevocationSnapshot(epoch, version, true, set.getBits(), set.getHashes(), set.exportBloom(),
+                    List.copyOf(entries));
+        }
+        int start = entries.size();
+        while (start > 0 && entries.get(start - 1).version() > since) {
+            start--;
+        }
+        return new RevocationSnapshot(epoch, version, false, null, null, null,
+                List.copyOf(entries.subList(start, entries.size())));
+    }
+
+    @Scheduled(initialDelayString = "${app.jwt.revocation.purge-interval:600000}",
+               fixedDelayString = "${app.jwt.revocation.purge-interval:600000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revocations.deleteExpired(now);
+        if (!entries.removeIf(entry -> entry.expiresAt() <= now)) {
+            return;
+        }
+        RevocationSet rebuilt = new RevocationSet(bloomBits, bloomHashes);
+        entries.forEach(entry -> rebuilt.add(entry.type(), entry.key(), entry.issuedUpTo()));
+        set = rebuilt;
+        epoch = Math.max(epoch + 1, now);
+        states.save(new JwtRevocationState(STATE_ID, epoch));
+        log.info("✅ Révocations expirées purgées: {} restantes", entries.size());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void add(RevocationSet.Type type, String key, long issuedUpTo, long expiresAt) {
+        // Enregistrée avant d'être publiée: la version est l'id attribué par la base
+        RevocationEntry entry = toEntry(revocations.save(new JwtRevocation(type, key, issuedUpTo, expiresAt)));
+        version = entry.version();
+        entries.add(entry);
+        set.add(type, key, issuedUpTo);
+        log.info("🔐 Révocation {} {} (version {})", type, key, version);
+    }
+
+    private static RevocationEntry toEntry(JwtRevocation revocation) {
+        return new RevocationEntry(revocation.getId(), revocation.getType(), revocation.getTokenKey(),
+                revocation.getIssuedUpTo(), revocation.getExpiresAt());
+    }
+}
@@ -2,8 +2,11 @@ package com.nexis.auth_service.security;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,20 +15,15 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.web.filter.OncePerRequestFilter;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -37,6 +35,22 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserStatusCache userStatusCache;
+    private final RevocationRegistry revocationRegistry;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    // Authentification par les claims du JWT, sans lecture de users à chaque requête
+    @Value("${app.jwt.stateless:true}")
+    private boolean statelessJwt;
+
+    // Coût bcrypt des nouveaux hashs (12 par défaut, voir application.yaml);
+    // les hashs d'un coût inférieur (seed en 10) sont migrés à la connexion
+    @Value("${app.auth.password.bcrypt-strength:12}")
+    private int bcryptStrength;
+
+    // Secret partagé avec course-service et billing-service (en-tête X-Revocation-Token); vide: refusé
+    @Value("${app.jwt.revocation.token:}")
+    private String revocationToken;
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -53,7 +67,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), passwordHashingExecutor);
     }
 
     @Bean
@@ -63,7 +77,8 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, userStatusCache, revocationRegistry,
+                statelessJwt);
     }
 
     @Bean
@@ -82,8 +97,15 @@ public class SecurityConfig {
                                 "/auth/health")
                         .permitAll()
 
+                        // Tokens révoqués (usernames): services internes uniquement
+                        .requestMatchers("/auth/revocations").access(internalCaller())
+
+                        // Clés publiques de vérification des JWT
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+
                         // Endpoints qui nécessitent un JWT
-                        .requestMatchers("/auth/me", "/auth/profile", "/auth/logout", "/auth/student-requests/**")
+                        .requestMatchers("/auth/me", "/auth/profile", "/auth/logout", "/auth/logout-all",
+                                "/auth/student-requests/**")
                         .authenticated()
 
                         // Outillage et supervision
@@ -102,54 +124,20 @@ public class SecurityConfig {
         log.info("✅ Spring Security configured successfully");
         return http.build();
     }
-}
-
-@Slf4j
-class JwtAuthenticationFilter extends OncePerRequestFilter {
-
-    private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
-
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService) {
-        this.tokenProvider = tokenProvider;
-        this.userDetailsService = userDetailsService;
-    }
 
-    @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-            throws ServletException, IOException {
-        try {
-            String token = extractToken(request);
-
-            if (token != null && tokenProvider.validateToken(token)) {
-                String username = tokenProvider.getUsernameFromToken(token);
-                var userDetails = userDetailsService.loadUserByUsername(username);
-
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-
-                // Ajouter au contexte de sécurité
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                log.debug("✅ JWT validated for user: {}", username);
-            } else if (token != null) {
-                log.warn("❌ Invalid JWT token");
-            }
-
-        } catch (Exception e) {
-            log.error("❌ JWT authentication error: {}", e.getMessage());
-        }
-
-        filterChain.doFilter(request, response);
-    }
-
-    private String extractToken(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
+    /**
+     * Appelant porteur du secret app.jwt.revocation.token (comparaison à temps constant)
+     */
+    private AuthorizationManager<RequestAuthorizationContext> internalCaller() {
+        if (revocationToken == null || revocationToken.isBlank()) {
+            log.warn("⚠️ app.jwt.revocation.token vide: /auth/revocations refusé");
+            return (authentication, context) -> new AuthorizationDecision(false);
         }
-
-        return null;
+        byte[] expected = revocationToken.getBytes(StandardCharsets.UTF_8);
+        return (authentication, context) -> {
+            String presented = context.getRequest().getHeader("X-Revocation-Token");
+            return new AuthorizationDecision(presented != null
+                    && MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8)));
+        };
     }
-}
\ No newline at end of file
+}
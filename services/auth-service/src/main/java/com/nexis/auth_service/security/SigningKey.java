@@ -0,0 +1,86 @@
+package com.nexis.auth_service.security;
+
+import io.jsonwebtoken.Jwts;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paire de clés ES256 (P-256) du trousseau SigningKeyRing.
+ *
+ * @param kid         empreinte RFC 7638 de la clé publique (en-tête "kid" des tokens)
+ * @param activatedAt début de la signature avec cette clé (0: publiée, pas encore utilisée)
+ * @param retiredAt   fin de la signature (0: pas retirée); reste publiée jusqu'à
+ *                    l'expiration des derniers tokens signés
+ */
+public record SigningKey(String kid, KeyPair keyPair, long activatedAt, long retiredAt) {
+
+    public static SigningKey generate() {
+        KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+        return new SigningKey(thumbprint((ECPublicKey) keyPair.getPublic()), keyPair, 0, 0);
+    }
+
+    public SigningKey activate(long now) {
+        return new SigningKey(kid, keyPair, now, 0);
+    }
+
+    public SigningKey retire(long now) {
+        return new SigningKey(kid, keyPair, activatedAt, now);
+    }
+
+    public boolean isActive() {
+        return activatedAt > 0 && retiredAt == 0;
+    }
+
+    /**
+     * Clé publique au format JWK (RFC 7517), telle que publiée par /.well-known/jwks.json
+     */
+    public Map<String, Object> toJwk() {
+        ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("x", coordinate(key.getW().getAffineX()));
+        jwk.put("y", coordinate(key.getW().getAffineY()));
+        return jwk;
+    }
+
+    private static String thumbprint(ECPublicKey key) {
+        // Membres obligatoires, dans l'ordre lexicographique, sans espaces (RFC 7638 §3)
+        String json = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + coordinate(key.getW().getAffineX())
+                + "\",\"y\":\"" + coordinate(key.getW().getAffineY()) + "\"}";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * Coordonnée sur 32 octets exactement (big-endian, sans octet de signe), en base64url
+     */
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    @Override
+    public String toString() {
+        // Jamais la clé privée dans les logs
+        return "SigningKey[kid=" + kid + ", activatedAt=" + activatedAt + ", retiredAt=" + retiredAt + "]";
+    }
+}
@@ -0,0 +1,260 @@
+package com.nexis.auth_service.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Trousseau des clés de signature ES256 des access tokens.
+ *
+ * Seul auth-service détient les clés privées; course-service, billing-service et
+ * student-service vérifient avec les clés publiques de /.well-known/jwks.json,
+ * choisies par l'en-tête "kid" du token.
+ *
+ * Rotation sans interruption (app.jwt.signing.rotation-interval):
+ * - la clé suivante est publiée une période entière avant de signer: les services
+ *   l'ont déjà en cache quand les premiers tokens arrivent
+ * - la clé retirée reste publiée jusqu'à l'expiration des derniers tokens qu'elle
+ *   a signés (app.jwt.expiration)
+ *
+ * Clés conservées dans app.jwt.signing.key-file (droits 600): un redémarrage
+ * n'invalide pas les tokens émis. Sans fichier, clés en mémoire seulement.
+ */
+@Slf4j
+@Component
+public class SigningKeyRing {
+
+    private final Path keyFile;
+    private final long rotationIntervalMillis;
+    private final long tokenLifetimeMillis;
+
+    // Clés publiées (active, suivante, retirées); remplacées en bloc sous verrou, lues sans verrou
+    private volatile List<SigningKey> keys = List.of();
+    private volatile SigningKey signing;
+    private volatile Map<String, PublicKey> publicKeys = Map.of();
+    private volatile Map<String, Object> jwks = Map.of("keys", List.of());
+
+    public SigningKeyRing(@Value("${app.jwt.signing.key-file:}") String keyFile,
+                          @Value("${app.jwt.signing.rotation-interval:604800000}") long rotationIntervalMillis,
+                          @Value("${app.jwt.expiration:86400000}") long tokenLifetimeMillis) {
+        this.keyFile = keyFile == null || keyFile.isBlank() ? null : Paths.get(keyFile);
+        this.rotationIntervalMillis = rotationIntervalMillis;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+
+        List<SigningKey> loaded = load();
+        if (this.keyFile == null) {
+            log.warn("⚠️  app.jwt.signing.key-file vide: clés de signature en mémoire, tokens invalidés au redémarrage");
+        }
+        this.keys = loaded;
+        update(prepare(loaded, System.currentTimeMillis()));
+    }
+
+    /**
+     * Clé de signature des nouveaux tokens
+     */
+    public SigningKey current() {
+        return signing;
+    }
+
+    /**
+     * Clé publique publiée sous ce kid (null: inconnue ou plus publiée)
+     */
+    public PublicKey publicKey(String kid) {
+        return kid == null ? null : publicKeys.get(kid);
+    }
+
+    /**
+     * JWK Set publié par /.well-known/jwks.json (calculé à chaque changement de clés)
+     */
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.signing.rotation-check-interval:3600000}")
+    public synchronized void rotateIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - signing.activatedAt() >= rotationIntervalMillis) {
+            rotate();
+        } else {
+            List<SigningKey> pruned = prune(keys, now);
+            if (pruned.size() != keys.size()) {
+                update(pruned);
+            }
+        }
+    }
+
+    /**
+     * La clé suivante (déjà publiée) signe désormais; une nouvelle clé suivante est publiée
+     */
+    public synchronized void rotate() {
+        long now = System.currentTimeMillis();
+        List<SigningKey> next = new ArrayList<>();
+        for (SigningKey key : keys) {
+            next.add(key.isActive() ? key.retire(now) : key);
+        }
+        update(prepare(next, now));
+        log.info("🔐 Rotation des clés JWT: signature avec kid={}", signing.kid());
+    }
+
+    /**
+     * Une clé active, une clé suivante publiée, sans les clés retirées dont tous les tokens ont expiré
+     */
+    private List<SigningKey> prepare(List<SigningKey> current, long now) {
+        List<SigningKey> next = new ArrayList<>(prune(current, now));
+        if (next.stream().noneMatch(SigningKey::isActive)) {
+            int pending = indexOfPending(next);
+            if (pending >= 0) {
+                next.set(pending, next.get(pending).activate(now));
+            } else {
+                next.add(SigningKey.generate().activate(now));
+            }
+        }
+        if (indexOfPending(next) < 0) {
+            next.add(SigningKey.generate());
+        }
+        return next;
+    }
+
+    private List<SigningKey> prune(List<SigningKey> current, long now) {
+        List<SigningKey> kept = new ArrayList<>();
+        for (SigningKey key : current) {
+            if (key.retiredAt() == 0 || key.retiredAt() + tokenLifetimeMillis > now) {
+                kept.add(key);
+            } else {
+                log.info("🔐 Clé JWT kid={} retirée de la publication", key.kid());
+            }
+        }
+        return kept;
+    }
+
+    private static int indexOfPending(List<SigningKey> keys) {
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i).activatedAt() == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void update(List<SigningKey> next) {
+        Map<String, PublicKey> byKid = new HashMap<>();
+        List<Map<String, Object>> published = new ArrayList<>();
+        SigningKey active = null;
+        for (SigningKey key : next) {
+            byKid.put(key.kid(), key.keyPair().getPublic());
+            published.add(key.toJwk());
+            if (key.isActive()) {
+                active = key;
+            }
+        }
+        if (!next.equals(keys)) {
+            save(next);
+        }
+        keys = List.copyOf(next);
+        publicKeys = Map.copyOf(byKid);
+        jwks = Map.of("keys", List.copyOf(published));
+        signing = active;
+    }
+
+    private List<SigningKey> load() {
+        if (keyFile == null || !Files.exists(keyFile)) {
+            return List.of();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(keyFile)) {
+            properties.load(reader);
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            List<SigningKey> loaded = new ArrayList<>();
+            for (String kid : properties.getProperty("kids", "").split(",")) {
+                if (kid.isBlank()) {
+                    continue;
+                }
+                String prefix = "key." + kid + ".";
+                KeyPair keyPair = new KeyPair(
+                        factory.generatePublic(new X509EncodedKeySpec(
+                                Base64.getDecoder().decode(properties.getProperty(prefix + "public")))),
+                        factory.generatePrivate(new PKCS8EncodedKeySpec(
+                                Base64.getDecoder().decode(properties.getProperty(prefix + "private")))));
+                loaded.add(new SigningKey(kid, keyPair,
+                        Long.parseLong(properties.getProperty(prefix + "activated-at", "0")),
+                        Long.parseLong(properties.getProperty(prefix + "retired-at", "0"))));
+            }
+            log.info("🔐 {} clé(s) JWT chargée(s) depuis {}", loaded.size(), keyFile);
+            return loaded;
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            // Ne pas régénérer: tous les tokens émis seraient refusés
+            throw new IllegalStateException("Clés JWT illisibles dans " + keyFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void save(List<SigningKey> next) {
+        if (keyFile == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        List<String> kids = new ArrayList<>();
+        for (SigningKey key : next) {
+            String prefix = "key." + key.kid() + ".";
+            kids.add(key.kid());
+            properties.setProperty(prefix + "public",
+                    Base64.getEncoder().encodeToString(key.keyPair().getPublic().getEncoded()));
+            properties.setProperty(prefix + "private",
+                    Base64.getEncoder().encodeToString(key.keyPair().getPrivate().getEncoded()));
+            properties.setProperty(prefix + "activated-at", Long.toString(key.activatedAt()));
+            properties.setProperty(prefix + "retired-at", Long.toString(key.retiredAt()));
+        }
+        properties.setProperty("kids", String.join(",", kids));
+
+        try {
+            Path directory = keyFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, ".jwt-keys", ".tmp");
+            try {
+                restrictToOwner(temp);
+                try (Writer writer = Files.newBufferedWriter(temp)) {
+                    properties.store(writer, "Clés de signature JWT (ES256) - ne pas diffuser");
+                }
+                try {
+                    Files.move(temp, keyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, keyFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Clés JWT non enregistrées dans " + keyFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void restrictToOwner(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Système de fichiers non POSIX (Windows): droits par défaut
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.nexis.auth_service.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Claims d'un JWT vérifié, lus une seule fois par JwtCodec.parse
+ *
+ * @param role            jamais null ("UNKNOWN" si absent)
+ * @param userId          null pour les tokens sans claim "id" (ancien refresh token)
+ * @param tokenId         claim jti (révocation par token), null pour les tokens émis avant
+ * @param issuedAtSeconds claim iat en secondes (0 si absent)
+ * @param expiresAtMillis expiration en epoch millis (0 si absente)
+ */
+public record TokenClaims(String username, String role, Long userId, String email, String tokenId,
+                          long issuedAtSeconds, long expiresAtMillis) {
+
+    public static TokenClaims from(Claims claims) {
+        Object role = claims.get("role");
+        Object id = claims.get("id");
+        Object email = claims.get("email");
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+
+        return new TokenClaims(
+                claims.getSubject(),
+                role != null ? role.toString() : "UNKNOWN",
+                id instanceof Number ? ((Number) id).longValue() : null,
+                email != null ? email.toString() : null,
+                claims.getId(),
+                issuedAt != null ? issuedAt.getTime() / 1000 : 0L,
+                expiration != null ? expiration.getTime() : 0L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.nexis.auth_service.security;
+
+import com.nexis.auth_service.model.UserStatus;
+import com.nexis.auth_service.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * État des comptes (actif, rôle) pour l'authentification sans état:
+ * un compte désactivé, supprimé ou changé de rôle est pris en compte au plus
+ * tard après app.jwt.user-status.ttl, sans requête sur users à chaque appel.
+ *
+ * - ttl = 0: désactivé, seuls les claims du token comptent (aucune révocation)
+ * - les comptes inconnus sont aussi mis en cache (token d'un compte supprimé)
+ * - borné en taille (app.jwt.user-status.max-size)
+ */
+@Slf4j
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${app.jwt.user-status.ttl:30000}") long ttlMillis,
+                           @Value("${app.jwt.user-status.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    /**
+     * État du compte, relu en base au plus une fois par TTL
+     * @return null si le compte n'existe pas
+     */
+    public UserStatus get(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.loadedAt + ttlMillis > now) {
+            return entry.status;
+        }
+
+        UserStatus status = userRepository.findStatusByUsername(username).orElse(null);
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(e -> e.loadedAt + ttlMillis <= now);
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(username, new Entry(status, now));
+        log.debug("📍 État du compte {} relu: {}", username, status);
+        return status;
+    }
+
+    /**
+     * À appeler après une modification du compte (rôle, activation, suppression)
+     */
+    public void evict(String username) {
+        entries.remove(username);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(UserStatus status, long loadedAt) {
+    }
+}
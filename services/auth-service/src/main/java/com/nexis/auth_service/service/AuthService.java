@@ -4,10 +4,13 @@ import com.nexis.auth_service.dto.LoginRequest;
 import com.nexis.auth_service.dto.RegisterRequest;
 import com.nexis.auth_service.dto.AuthResponse;
 import com.nexis.auth_service.dto.UserDto;
+import com.nexis.auth_service.logging.LogSampling;
 import com.nexis.auth_service.model.User;
 import com.nexis.auth_service.model.Role;
 import com.nexis.auth_service.repository.UserRepository;
 import com.nexis.auth_service.security.JwtTokenProvider;
+import com.nexis.auth_service.security.RevocationRegistry;
+import com.nexis.auth_service.security.TokenClaims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,6 +30,8 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final RevocationRegistry revocationRegistry;
 
     @Transactional
     public UserDto register(RegisterRequest request) {
@@ -64,14 +69,15 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Cherche d'abord par username, puis par email
-        User user = userRepository.findByUsername(request.getUsername())
-                .or(() -> userRepository.findByEmail(request.getUsername()))
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        // ✅ Le principal est le compte déjà chargé par UserDetailsService: pas de nouvelle requête
+        User user = authentication.getPrincipal() instanceof User principal
+                ? principal
+                : userRepository.findByUsernameOrEmail(request.getUsername())
+                        .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
 
         // ✅ CHANGEMENT: Utiliser generateTokenFromUser au lieu de generateToken
         String accessToken = jwtTokenProvider.generateTokenFromUser(user);
-        String refreshToken = jwtTokenProvider.generateTokenFromUsername(user.getUsername());
+        String refreshToken = refreshTokenService.issue(user.getUsername());
 
         AuthResponse response = new AuthResponse();
         response.setAccessToken(accessToken);
@@ -79,7 +85,7 @@ public class AuthService {
         response.setExpiresIn(jwtTokenProvider.getJwtExpiration());
         response.setUser(mapToUserDto(user));
 
-        log.info("✅ Connexion réussie: {} (via {}) | Rôle: {}",
+        log.info(LogSampling.SAMPLED, "✅ Connexion réussie: {} (via {}) | Rôle: {}",
                 user.getUsername(), request.getUsername(), user.getRole().name());
 
         return response;
@@ -90,37 +96,68 @@ public class AuthService {
             token = token.substring(7);
         }
 
-        if (!jwtTokenProvider.validateToken(token)) {
-            throw new RuntimeException("Token invalide");
-        }
-
-        String username = jwtTokenProvider.getUsernameFromToken(token);
+        // ✅ Rotation: le token présenté est consommé, un nouveau est renvoyé
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+        String username = rotation.username();
 
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        if (!user.isEnabled()) {
+            refreshTokenService.revokeSession(rotation.familyId());
+            throw new RuntimeException("Compte désactivé");
+        }
 
         // ✅ CHANGEMENT: Utiliser generateTokenFromUser
         String newAccessToken = jwtTokenProvider.generateTokenFromUser(user);
 
         AuthResponse response = new AuthResponse();
         response.setAccessToken(newAccessToken);
-        response.setRefreshToken(token);
+        response.setRefreshToken(rotation.token());
         response.setExpiresIn(jwtTokenProvider.getJwtExpiration());
         response.setUser(mapToUserDto(user));
 
-        log.info("✅ Token rafraîchi pour: {}", username);
+        log.info(LogSampling.SAMPLED, "✅ Token rafraîchi pour: {}", username);
 
         return response;
     }
 
+    /**
+     * Déconnexion de cette session: révoque l'access token présenté et, s'il est
+     * fourni, la session du refresh token. Les autres appareils restent connectés
+     * (voir logoutEverywhere). Les autres services l'apprennent par /auth/revocations.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        if (refreshToken != null && !refreshToken.isBlank()
+                && !refreshTokenService.revoke(refreshToken, username)) {
+            throw new RuntimeException("Refresh token invalide");
+        }
+        TokenClaims claims = accessToken != null ? jwtTokenProvider.parseToken(accessToken) : null;
+        if (claims != null) {
+            revocationRegistry.revokeToken(claims);
+        }
+        log.info(LogSampling.SAMPLED, "✅ Déconnexion: {}", username);
+    }
+
+    /**
+     * Déconnexion de toutes les sessions (demande explicite): tous les refresh
+     * tokens et tous les access tokens émis jusqu'ici pour le compte
+     */
+    public void logoutEverywhere() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        refreshTokenService.revokeAll(username);
+        revocationRegistry.revokeSubject(username);
+        log.info("✅ Déconnexion de toutes les sessions: {}", username);
+    }
+
     public UserDto getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
 
-        User user = userRepository.findByUsername(username)
+        return userRepository.findDtoByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
-
-        return mapToUserDto(user);
     }
 
     @Transactional
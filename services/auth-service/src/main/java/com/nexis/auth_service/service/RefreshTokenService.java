@@ -0,0 +1,131 @@
+package com.nexis.auth_service.service;
+
+import com.nexis.auth_service.security.RefreshTokenStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opaques (256 bits aléatoires) avec rotation: chaque
+ * rafraîchissement consomme le token présenté et en renvoie un nouveau. Le rejeu
+ * d'un token déjà consommé révoque toute la session (famille de tokens).
+ *
+ * Les access tokens (JWT, app.jwt.expiration) peuvent ainsi être courts: le client
+ * les renouvelle par /auth/refresh sans repasser par le mot de passe.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenStore store;
+    private final long ttlMillis;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenStore store,
+                               @Value("${app.jwt.refresh.ttl:1209600000}") long ttlMillis) {
+        this.store = store;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Nouveau token, ouvrant une nouvelle session
+     */
+    public String issue(String username) {
+        return issue(UUID.randomUUID().toString(), username);
+    }
+
+    /**
+     * Consomme token et en émet un nouveau dans la même session
+     * @throws RuntimeException token invalide, expiré, révoqué ou rejoué
+     */
+    public Rotation rotate(String token) {
+        RefreshTokenStore.Consumption consumption = store.consume(hash(token), System.currentTimeMillis());
+        switch (consumption.outcome()) {
+            case CONSUMED:
+                return new Rotation(consumption.username(), consumption.familyId(),
+                        issue(consumption.familyId(), consumption.username()));
+            case REUSED:
+                store.revokeFamily(consumption.familyId());
+                log.warn("⚠️ Refresh token rejoué pour {}: session révoquée", consumption.username());
+                throw new RuntimeException("Refresh token déjà utilisé: session révoquée");
+            default:
+                throw new RuntimeException("Refresh token invalide ou expiré");
+        }
+    }
+
+    public void revokeSession(String familyId) {
+        store.revokeFamily(familyId);
+    }
+
+    /**
+     * Révoque la session de token, si elle appartient à username
+     * Propriétaire vérifié avant toute écriture: le token d'un autre compte reste utilisable
+     * @return false si le token est inconnu, expiré ou appartient à un autre compte
+     */
+    public boolean revoke(String token, String username) {
+        RefreshTokenStore.Session session = store.find(hash(token), System.currentTimeMillis());
+        if (session == null || !session.username().equals(username)) {
+            return false;
+        }
+        store.revokeFamily(session.familyId());
+        return true;
+    }
+
+    /**
+     * Révoque toutes les sessions du compte (déconnexion partout, suppression)
+     */
+    public void revokeAll(String username) {
+        store.revokeUser(username);
+    }
+
+    @Scheduled(initialDelayString = "${app.jwt.refresh.purge-interval:600000}",
+               fixedDelayString = "${app.jwt.refresh.purge-interval:600000}")
+    public void purgeExpired() {
+        try {
+            int purged = store.purgeExpired(System.currentTimeMillis());
+            if (purged > 0) {
+                log.info("✅ {} refresh tokens expirés supprimés", purged);
+            }
+        } catch (Exception e) {
+            log.error("❌ Erreur purge des refresh tokens: {}", e.getMessage());
+        }
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    private String issue(String familyId, String username) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = ENCODER.encodeToString(bytes);
+        store.save(hash(token), familyId, username, System.currentTimeMillis() + ttlMillis);
+        return token;
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Résultat d'une rotation: compte, session et nouveau token
+     */
+    public record Rotation(String username, String familyId, String token) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.nexis.auth_service.security;
+
+import com.nexis.auth_service.model.RefreshToken;
+import com.nexis.auth_service.model.RefreshTokenFamilyRevocation;
+import com.nexis.auth_service.repository.RefreshTokenFamilyRevocationRepository;
+import com.nexis.auth_service.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Révocation de famille face à une rotation concurrente: le successeur enregistré
+ * après la révocation doit être refusé
+ */
+class DatabaseRefreshTokenStoreTests {
+
+	private static final long NOW = 1_000_000L;
+
+	private final RefreshTokenRepository tokens = mock(RefreshTokenRepository.class);
+	private final RefreshTokenFamilyRevocationRepository revocations = mock(RefreshTokenFamilyRevocationRepository.class);
+	private final Set<String> revokedFamilies = new HashSet<>();
+	private DatabaseRefreshTokenStore store;
+
+	@BeforeEach
+	void setUp() {
+		when(revocations.existsById(anyString())).thenAnswer(call -> revokedFamilies.contains(call.getArgument(0)));
+		when(revocations.save(any())).thenAnswer(call -> {
+			revokedFamilies.add(call.<RefreshTokenFamilyRevocation>getArgument(0).getFamilyId());
+			return call.getArgument(0);
+		});
+		store = new DatabaseRefreshTokenStore(tokens, revocations);
+	}
+
+	@Test
+	void successorSavedAfterFamilyRevocationIsRejected() {
+		// Rotation: T1 consommé...
+		stubToken("t1", "famille");
+		when(tokens.markUsed("t1")).thenReturn(1);
+		assertEquals(RefreshTokenStore.Outcome.CONSUMED, store.consume("t1", NOW).outcome());
+
+		// ...rejeu de T1 avant l'enregistrement de T2: la famille est révoquée
+		when(tokens.markUsed("t1")).thenReturn(0);
+		assertEquals(RefreshTokenStore.Outcome.REUSED, store.consume("t1", NOW).outcome());
+		store.revokeFamily("famille");
+
+		// ...puis T2 est inséré sans drapeau revoked
+		store.save("t2", "famille", "etudiant1", NOW + 60_000);
+		stubToken("t2", "famille");
+
+		assertEquals(RefreshTokenStore.Outcome.INVALID, store.consume("t2", NOW).outcome());
+		verify(tokens, never()).markUsed("t2");
+	}
+
+	@Test
+	void revokeUserRecordsEveryFamilyOfTheAccount() {
+		when(tokens.findFamilyIdsByUsername("etudiant1")).thenReturn(List.of("a", "b"));
+
+		store.revokeUser("etudiant1");
+
+		assertEquals(Set.of("a", "b"), revokedFamilies);
+		verify(tokens).revokeUser("etudiant1");
+		stubToken("t3", "b");
+		assertEquals(RefreshTokenStore.Outcome.INVALID, store.consume("t3", NOW).outcome());
+	}
+
+	@Test
+	void findDoesNotConsumeTheToken() {
+		stubToken("t1", "famille");
+
+		RefreshTokenStore.Session session = store.find("t1", NOW);
+
+		assertEquals("famille", session.familyId());
+		assertEquals("etudiant1", session.username());
+		verify(tokens, never()).markUsed(anyString());
+		assertNull(store.find("t1", NOW + 120_000));
+	}
+
+	@Test
+	void purgeAlsoDropsRevocationsOfPurgedFamilies() {
+		when(tokens.deleteExpired(NOW)).thenReturn(3);
+
+		assertEquals(3, store.purgeExpired(NOW));
+		verify(revocations).deleteWithoutTokens();
+	}
+
+	private void stubToken(String hash, String familyId) {
+		RefreshToken token = new RefreshToken(hash, familyId, "etudiant1", NOW + 60_000);
+		when(tokens.findByTokenHash(hash)).thenReturn(Optional.of(token));
+	}
+}
@@ -0,0 +1,140 @@
+package com.nexis.auth_service.security;
+
+import com.nexis.auth_service.dto.RevocationSnapshot;
+import com.nexis.auth_service.model.JwtRevocation;
+import com.nexis.auth_service.model.JwtRevocationState;
+import com.nexis.auth_service.repository.JwtRevocationRepository;
+import com.nexis.auth_service.repository.JwtRevocationStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Révocations conservées en base: un redémarrage d'auth-service ne rend pas
+ * valides les tokens révoqués, ni ne force un instantané complet chez les services
+ */
+class RevocationRegistryTests {
+
+	private static final long LIFETIME = 3_600_000;
+
+	/** Instantané de référence, relu par les tests de course-service et billing-service */
+	private static final Path CONTRACT = Path.of("..", "jwt-contract", "revocation-snapshot.json");
+
+	private final JwtRevocationRepository revocations = mock(JwtRevocationRepository.class);
+	private final JwtRevocationStateRepository states = mock(JwtRevocationStateRepository.class);
+	private final List<JwtRevocation> rows = new ArrayList<>();
+	private final AtomicReference<JwtRevocationState> state = new AtomicReference<>();
+	private final AtomicLong ids = new AtomicLong();
+
+	@BeforeEach
+	void setUp() {
+		when(revocations.save(any())).thenAnswer(call -> {
+			JwtRevocation row = call.getArgument(0);
+			row.setId(ids.incrementAndGet());
+			rows.add(row);
+			return row;
+		});
+		when(revocations.findByExpiresAtGreaterThanOrderByIdAsc(anyLong())).thenAnswer(call -> rows.stream()
+				.filter(row -> row.getExpiresAt() > call.<Long>getArgument(0))
+				.collect(Collectors.toList()));
+		when(revocations.deleteExpired(anyLong())).thenAnswer(call -> {
+			int before = rows.size();
+			rows.removeIf(row -> row.getExpiresAt() <= call.<Long>getArgument(0));
+			return before - rows.size();
+		});
+		when(states.findById(anyInt())).thenAnswer(call -> Optional.ofNullable(state.get()));
+		when(states.save(any())).thenAnswer(call -> {
+			state.set(call.getArgument(0));
+			return call.getArgument(0);
+		});
+	}
+
+	@Test
+	void revocationsSurviveARestartWithTheSameEpoch() {
+		RevocationRegistry before = registry();
+		TokenClaims token = claims("etudiant1", "jti-1");
+		before.revokeToken(token);
+		before.revokeSubject("etudiant2");
+		RevocationSnapshot seen = before.snapshot(0, 0);
+
+		RevocationRegistry after = registry();
+
+		assertTrue(after.isRevoked(token));
+		assertTrue(after.isRevoked(claims("etudiant2", "jti-2")));
+		assertFalse(after.isRevoked(claims("etudiant1", "jti-3")));
+		assertEquals(2, after.size());
+
+		// Le service à jour ne reçoit que la suite
+		RevocationSnapshot next = after.snapshot(seen.epoch(), seen.version());
+		assertFalse(next.full());
+		assertTrue(next.entries().isEmpty());
+
+		after.revokeToken(claims("etudiant1", "jti-3"));
+		RevocationSnapshot delta = after.snapshot(seen.epoch(), seen.version());
+		assertFalse(delta.full());
+		assertEquals(List.of("jti-3"), delta.entries().stream().map(RevocationEntry::key).collect(Collectors.toList()));
+	}
+
+	@Test
+	void expiredRevocationsAreNotReloadedAndPurgeChangesTheEpoch() {
+		RevocationRegistry before = registry();
+		before.revokeToken(new TokenClaims("etudiant1", "STUDENT", 1L, null, "expiré", 0, 1));
+		before.revokeToken(claims("etudiant1", "jti-1"));
+		long epoch = before.snapshot(0, 0).epoch();
+
+		assertEquals(1, registry().size());
+
+		before.purgeExpired();
+
+		assertEquals(1, rows.size());
+		assertNotEquals(epoch, state.get().getEpoch());
+		assertEquals(state.get().getEpoch(), registry().snapshot(0, 0).epoch());
+		assertTrue(before.snapshot(epoch, 2).full());
+	}
+
+	@Test
+	void publishedSnapshotMatchesTheContractReadByTheServices() throws Exception {
+		long year2100 = 4_102_444_800_000L;
+		state.set(new JwtRevocationState(1, 1_760_000_000_000L));
+		rows.add(row(1, RevocationSet.Type.TOKEN, "jti-contrat-1", Long.MAX_VALUE, year2100));
+		rows.add(row(2, RevocationSet.Type.SUBJECT, "etudiant.contrat", 1_760_000_000L, year2100));
+		rows.add(row(3, RevocationSet.Type.TOKEN, "jti-contrat-2", Long.MAX_VALUE, year2100));
+
+		RevocationSnapshot published = new RevocationRegistry(revocations, states, LIFETIME, 1024, 7).snapshot(0, 0);
+
+		// Même sérialisation que /auth/revocations; un écart casse aussi la lecture des services
+		JsonMapper json = JsonMapper.builder().build();
+		assertEquals(json.readTree(Files.readString(CONTRACT)), json.readTree(json.writeValueAsString(published)),
+				json.writerWithDefaultPrettyPrinter().writeValueAsString(published));
+	}
+
+	private static JwtRevocation row(long id, RevocationSet.Type type, String key, long issuedUpTo, long expiresAt) {
+		JwtRevocation row = new JwtRevocation(type, key, issuedUpTo, expiresAt);
+		row.setId(id);
+		return row;
+	}
+
+	private RevocationRegistry registry() {
+		return new RevocationRegistry(revocations, states, LIFETIME, 4096, 7);
+	}
+
+	private static TokenClaims claims(String username, String tokenId) {
+		long now = System.currentTimeMillis();
+		return new TokenClaims(username, "STUDENT", 1L, null, tokenId, now / 1000 - 1, now + LIFETIME);
+	}
+}
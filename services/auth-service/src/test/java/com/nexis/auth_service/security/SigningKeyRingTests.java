@@ -0,0 +1,113 @@
+package com.nexis.auth_service.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rotation des clés ES256: clé suivante publiée avant de signer, clé retirée
+ * publiée tant que ses tokens sont valides, trousseau rechargé du fichier
+ */
+class SigningKeyRingTests {
+
+	private static final long WEEK = 604_800_000L;
+	private static final long DAY = 86_400_000L;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void nextKeyIsPublishedBeforeItSigns() {
+		SigningKeyRing ring = new SigningKeyRing("", WEEK, DAY);
+		String active = ring.current().kid();
+
+		Set<String> published = publishedKids(ring);
+		assertEquals(2, published.size());
+		assertTrue(published.contains(active));
+		String next = published.stream().filter(kid -> !kid.equals(active)).findFirst().orElseThrow();
+
+		ring.rotate();
+
+		// Déjà en cache chez les services avant le premier token signé
+		assertEquals(next, ring.current().kid());
+	}
+
+	@Test
+	void retiredKeyStaysPublishedWhileItsTokensAreValid() {
+		SigningKeyRing ring = new SigningKeyRing("", WEEK, DAY);
+		String retired = ring.current().kid();
+		String token = codec(ring).encode("etudiant1", Map.of("role", "STUDENT"), new Date(),
+				new Date(System.currentTimeMillis() + 60_000));
+
+		ring.rotate();
+
+		assertNotEquals(retired, ring.current().kid());
+		assertNotNull(ring.publicKey(retired));
+		assertEquals(3, publishedKids(ring).size());
+		assertEquals("etudiant1", codec(ring).parseClaims(token).getSubject());
+	}
+
+	@Test
+	void retiredKeyIsPrunedOnceItsTokensHaveExpired() {
+		// Durée de vie nulle: aucun token de la clé retirée n'est encore valide
+		SigningKeyRing ring = new SigningKeyRing("", 0, 0);
+		String retired = ring.current().kid();
+
+		ring.rotateIfDue();
+
+		assertNotEquals(retired, ring.current().kid());
+		assertNull(ring.publicKey(retired));
+		assertFalse(publishedKids(ring).contains(retired));
+		assertEquals(2, publishedKids(ring).size());
+	}
+
+	@Test
+	void restartReloadsTheKeysFromTheKeyFile() throws Exception {
+		Path keyFile = dir.resolve("keys/jwt-signing-keys.properties");
+		SigningKeyRing before = new SigningKeyRing(keyFile.toString(), WEEK, DAY);
+		String retired = before.current().kid();
+		before.rotate();
+		String token = codec(before).encode("etudiant1", Map.of("role", "STUDENT"), new Date(),
+				new Date(System.currentTimeMillis() + 60_000));
+
+		SigningKeyRing after = new SigningKeyRing(keyFile.toString(), WEEK, DAY);
+
+		assertEquals(before.current().kid(), after.current().kid());
+		assertEquals(publishedKids(before), publishedKids(after));
+		assertNotNull(after.publicKey(retired));
+		assertEquals("etudiant1", codec(after).parseClaims(token).getSubject());
+		if (keyFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(keyFile)));
+		}
+	}
+
+	@Test
+	void unreadableKeyFileIsNotReplaced() throws Exception {
+		Path keyFile = dir.resolve("jwt-signing-keys.properties");
+		Files.writeString(keyFile, "kids=abc\nkey.abc.public=pas-du-base64\n");
+
+		// Régénérer invaliderait tous les tokens émis: démarrage refusé
+		assertThrows(IllegalStateException.class, () -> new SigningKeyRing(keyFile.toString(), WEEK, DAY));
+		assertTrue(Files.readString(keyFile).contains("pas-du-base64"));
+	}
+
+	private static JwtCodec codec(SigningKeyRing ring) {
+		return new JwtCodec(ring, "", "", DAY);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Set<String> publishedKids(SigningKeyRing ring) {
+		List<Map<String, Object>> keys = (List<Map<String, Object>>) ring.jwks().get("keys");
+		return keys.stream().map(jwk -> (String) jwk.get("kid")).collect(Collectors.toSet());
+	}
+}
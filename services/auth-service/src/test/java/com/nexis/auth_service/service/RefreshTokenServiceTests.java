@@ -0,0 +1,83 @@
+package com.nexis.auth_service.service;
+
+import com.nexis.auth_service.security.InMemoryRefreshTokenStore;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rotation, détection de rejeu, déconnexion et purge des refresh tokens
+ */
+class RefreshTokenServiceTests {
+
+	private static final long TTL = 60_000;
+
+	private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+	private final RefreshTokenService service = new RefreshTokenService(store, TTL);
+
+	@Test
+	void rotationConsumesTheTokenAndKeepsTheSession() {
+		String first = service.issue("etudiant1");
+
+		RefreshTokenService.Rotation rotation = service.rotate(first);
+
+		assertEquals("etudiant1", rotation.username());
+		assertNotEquals(first, rotation.token());
+		RefreshTokenService.Rotation next = service.rotate(rotation.token());
+		assertEquals(rotation.familyId(), next.familyId());
+	}
+
+	@Test
+	void replayedTokenRevokesTheWholeSession() {
+		String first = service.issue("etudiant1");
+		String second = service.rotate(first).token();
+
+		RuntimeException replay = assertThrows(RuntimeException.class, () -> service.rotate(first));
+		assertTrue(replay.getMessage().contains("déjà utilisé"));
+		// Le successeur légitime (ou volé) ne sert plus
+		assertThrows(RuntimeException.class, () -> service.rotate(second));
+
+		// Les autres sessions du compte ne sont pas touchées
+		String other = service.issue("etudiant1");
+		assertNotNull(service.rotate(other).token());
+	}
+
+	@Test
+	void logoutChecksTheOwnerBeforeRevoking() {
+		String token = service.issue("etudiant1");
+
+		assertFalse(service.revoke(token, "etudiant2"));
+		assertFalse(service.revoke("inconnu", "etudiant1"));
+		// Tentative d'un autre compte: le token n'est ni consommé ni révoqué
+		String rotated = service.rotate(token).token();
+
+		assertTrue(service.revoke(rotated, "etudiant1"));
+		assertThrows(RuntimeException.class, () -> service.rotate(rotated));
+	}
+
+	@Test
+	void revokeAllEndsEverySessionOfTheAccount() {
+		String a = service.issue("etudiant1");
+		String b = service.issue("etudiant1");
+		String c = service.issue("etudiant2");
+
+		service.revokeAll("etudiant1");
+
+		assertThrows(RuntimeException.class, () -> service.rotate(a));
+		assertThrows(RuntimeException.class, () -> service.rotate(b));
+		assertNotNull(service.rotate(c).token());
+	}
+
+	@Test
+	void purgeRemovesOnlyExpiredTokens() {
+		RefreshTokenService expired = new RefreshTokenService(store, 0);
+		String stale = expired.issue("etudiant1");
+		service.issue("etudiant1");
+		assertEquals(2, store.size());
+
+		service.purgeExpired();
+
+		assertEquals(1, store.size());
+		assertThrows(RuntimeException.class, () -> service.rotate(stale));
+	}
+}
@@ -0,0 +1,12 @@
+package com.nexis.billing.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tâches de fond (relecture des tokens révoqués, RevocationList)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,10 +1,16 @@
 package com.nexis.billing.config;
 
+import com.nexis.billing.security.JwtClaimsCache;
+import com.nexis.billing.security.JwtCodec;
+import com.nexis.billing.security.JwtRevocationFilter;
+import com.nexis.billing.security.RevocationList;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -14,8 +20,13 @@ import java.util.List;
 
 @Configuration
 @EnableWebSecurity
+@RequiredArgsConstructor
 public class SecurityConfig {
 
+    private final JwtCodec jwtCodec;
+    private final JwtClaimsCache jwtClaimsCache;
+    private final RevocationList revocationList;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -24,7 +35,10 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/health", "/actuator/health", "/services/**").permitAll()
                 .anyRequest().permitAll()
-            );
+            )
+            // JWT présent: refusé s'il est invalide ou révoqué par auth-service
+            .addFilterBefore(new JwtRevocationFilter(jwtCodec, jwtClaimsCache, revocationList),
+                UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
@@ -0,0 +1,185 @@
+package com.nexis.billing.security;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clés publiques de vérification des JWT, publiées par auth-service
+ * (/.well-known/jwks.json) et indexées par kid.
+ *
+ * - relues en arrière-plan toutes les app.jwt.jwks.refresh-interval ms
+ * - kid inconnu (rotation pas encore vue): relecture immédiate, au plus une
+ *   fois par app.jwt.jwks.min-refresh-interval ms (un kid inventé ne déclenche
+ *   pas un appel par requête)
+ *
+ * find est appelé à chaque vérification de signature: lecture d'une map, sans
+ * appel réseau, allocation ni verrou. Si auth-service est injoignable, les
+ * dernières clés reçues restent utilisées.
+ */
+@Slf4j
+@Component
+public class JwksKeySet {
+
+    private static final ECParameterSpec P256 = p256();
+
+    private final ObjectMapper objectMapper;
+    private final URI uri;
+    private final Duration timeout;
+    private final long minRefreshIntervalMillis;
+    private final HttpClient http;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastMissRefresh;
+    private boolean failing;
+
+    public JwksKeySet(ObjectMapper objectMapper,
+                      @Value("${app.jwt.jwks.url:http://localhost:8080/.well-known/jwks.json}") String url,
+                      @Value("${app.jwt.jwks.timeout:2000}") long timeoutMillis,
+                      @Value("${app.jwt.jwks.min-refresh-interval:30000}") long minRefreshIntervalMillis) {
+        this.objectMapper = objectMapper;
+        this.uri = url == null || url.isBlank() ? null : URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+        this.http = HttpClient.newBuilder().connectTimeout(this.timeout).build();
+        if (uri == null) {
+            log.warn("⚠️ app.jwt.jwks.url vide: seuls les tokens HS256 (app.jwt.secret) sont vérifiables");
+        }
+    }
+
+    /**
+     * Clé publique publiée sous ce kid (null: inconnue, même après relecture)
+     */
+    public PublicKey find(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        PublicKey key = keys.get(kid);
+        if (key == null && System.currentTimeMillis() - lastMissRefresh >= minRefreshIntervalMillis) {
+            refreshFor(kid);
+            key = keys.get(kid);
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.jwks.refresh-interval:300000}")
+    public synchronized void refresh() {
+        if (uri == null) {
+            return;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .GET()
+                .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            apply(objectMapper.readValue(response.body(), Jwks.class));
+            if (failing) {
+                log.info("✅ Clés JWT de nouveau à jour ({} clés)", keys.size());
+                failing = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (!failing) {
+                log.warn("⚠️ Clés JWT non relues ({}): dernières clés conservées", e.toString());
+                failing = true;
+            } else {
+                log.debug("⚠️ Clés JWT toujours indisponibles: {}", e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void refreshFor(String kid) {
+        // Un autre thread vient peut-être de relire pendant l'attente du verrou
+        long now = System.currentTimeMillis();
+        if (keys.containsKey(kid) || now - lastMissRefresh < minRefreshIntervalMillis) {
+            return;
+        }
+        lastMissRefresh = now;
+        log.debug("📍 kid inconnu {}: relecture des clés JWT", kid);
+        refresh();
+    }
+
+    /**
+     * Remplace toutes les clés: une clé retirée de la publication n'est plus acceptée
+     */
+    synchronized void apply(Jwks jwks) {
+        Map<String, PublicKey> next = new HashMap<>();
+        for (Jwk jwk : jwks.keys() != null ? jwks.keys() : List.<Jwk>of()) {
+            if (!"EC".equals(jwk.kty()) || !"P-256".equals(jwk.crv()) || jwk.kid() == null
+                || (jwk.alg() != null && !"ES256".equals(jwk.alg()))
+                || (jwk.use() != null && !"sig".equals(jwk.use()))) {
+                log.debug("⚠️ Clé JWT ignorée (kid={}, kty={}, crv={})", jwk.kid(), jwk.kty(), jwk.crv());
+                continue;
+            }
+            try {
+                next.put(jwk.kid(), toPublicKey(jwk));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("⚠️ Clé JWT kid={} illisible: {}", jwk.kid(), e.getMessage());
+            }
+        }
+        if (!next.keySet().equals(keys.keySet())) {
+            log.info("🔐 Clés JWT: {}", next.keySet());
+        }
+        keys = Map.copyOf(next);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private static PublicKey toPublicKey(Jwk jwk) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(jwk.x())),
+            new BigInteger(1, decoder.decode(jwk.y())));
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, P256));
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Courbe P-256 indisponible", e);
+        }
+    }
+
+    /**
+     * JWK Set (RFC 7517), réponse de /.well-known/jwks.json
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Jwks(List<Jwk> keys) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Jwk(String kty, String crv, String kid, String use, String alg, String x, String y) {
+    }
+}
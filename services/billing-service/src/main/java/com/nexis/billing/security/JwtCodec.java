@@ -0,0 +1,106 @@
+package com.nexis.billing.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Vérification des JWT émis par auth-service (ES256).
+ *
+ * Clé publique choisie par l'en-tête "kid" dans JwksKeySet; le parser est
+ * construit une seule fois: JwtParser est immuable et partagé entre les threads
+ * de requête.
+ *
+ * Transition HS256 -> ES256: avec app.jwt.secret et app.jwt.legacy-hs256-until
+ * (instant de la bascule, ISO-8601), un token HS256 est accepté s'il a été émis
+ * avant la bascule et expire au plus tard app.jwt.expiration après elle. Un token
+ * forgé avec le secret ne passe donc plus une fois cette fenêtre écoulée; le
+ * secret peut alors être retiré. L'un des deux vide: HS256 refusé.
+ */
+@Component
+public class JwtCodec {
+
+    private final JwksKeySet keySet;
+    private final SecretKey legacyKey;
+    private final long legacyIssuedBefore;
+    private final long legacyExpiresBy;
+    private final JwtParser parser;
+
+    public JwtCodec(JwksKeySet keySet, @Value("${app.jwt.secret:}") String legacySecret,
+                    @Value("${app.jwt.legacy-hs256-until:}") String legacyUntil,
+                    @Value("${app.jwt.expiration:86400000}") long tokenLifetimeMillis) {
+        this.keySet = keySet;
+        this.legacyIssuedBefore = legacyUntil == null || legacyUntil.isBlank()
+                ? 0
+                : Instant.parse(legacyUntil.trim()).toEpochMilli();
+        this.legacyExpiresBy = legacyIssuedBefore + tokenLifetimeMillis;
+        this.legacyKey = legacySecret == null || legacySecret.isBlank() || legacyIssuedBefore == 0
+                ? null
+                : Keys.hmacShaKeyFor(legacySecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Vérifie signature et expiration
+     * @throws io.jsonwebtoken.JwtException token invalide, expiré, non signé ou clé inconnue
+     * @throws IllegalArgumentException token vide
+     */
+    public Claims parseClaims(String token) {
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        if ("HS256".equals(jws.getHeader().getAlgorithm()) && !isLegacy(jws.getPayload())) {
+            throw new SignatureException("Token HS256 émis après la bascule ES256");
+        }
+        return jws.getPayload();
+    }
+
+    /**
+     * HS256 signé avant la bascule, de durée de vie normale
+     */
+    private boolean isLegacy(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return issuedAt != null && expiration != null
+                && issuedAt.getTime() < legacyIssuedBefore
+                && expiration.getTime() <= legacyExpiresBy;
+    }
+
+    /**
+     * Clé imposée par l'algorithme: un token HS256 ne peut pas être vérifié avec
+     * une clé publique publiée (confusion d'algorithme)
+     */
+    private Key verificationKey(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        if ("HS256".equals(algorithm) && legacyKey != null) {
+            return legacyKey;
+        }
+        if (!"ES256".equals(algorithm)) {
+            throw new SignatureException("Algorithme JWT refusé: " + algorithm);
+        }
+        PublicKey key = keySet.find(header.getKeyId());
+        if (key == null) {
+            throw new SignatureException("Clé de signature inconnue: kid=" + header.getKeyId());
+        }
+        return key;
+    }
+}
@@ -0,0 +1,68 @@
+package com.nexis.billing.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Refuse (401) les requêtes portant un JWT invalide, expiré ou révoqué par
+ * auth-service (RevocationList).
+ *
+ * Les requêtes sans Authorization: Bearer passent, comme avant: billing-service
+ * n'exige pas encore d'authentification (voir SecurityConfig).
+ */
+@Slf4j
+public class JwtRevocationFilter extends OncePerRequestFilter {
+
+    private final JwtCodec codec;
+    private final JwtClaimsCache claimsCache;
+    private final RevocationList revocationList;
+
+    public JwtRevocationFilter(JwtCodec codec, JwtClaimsCache claimsCache, RevocationList revocationList) {
+        this.codec = codec;
+        this.claimsCache = claimsCache;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Signature vérifiée au premier passage du token seulement
+        String token = header.substring(7);
+        Claims claims = claimsCache.get(token);
+        if (claims == null) {
+            try {
+                claims = codec.parseClaims(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.warn("⚠️ JWT refusé: {}", e.getMessage());
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired JWT token");
+                return;
+            }
+            claimsCache.put(token, claims);
+        }
+
+        Date issuedAt = claims.getIssuedAt();
+        if (revocationList.isRevoked(claims.getId(), claims.getSubject(),
+                issuedAt != null ? issuedAt.getTime() / 1000 : 0L)) {
+            log.warn("⚠️ JWT révoqué pour: {}", claims.getSubject());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Revoked JWT token");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
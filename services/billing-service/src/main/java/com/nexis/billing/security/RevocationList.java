@@ -0,0 +1,135 @@
+package com.nexis.billing.security;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tokens révoqués par auth-service (déconnexion, suppression, changement de rôle),
+ * relus toutes les app.jwt.revocation.poll-interval ms sur /auth/revocations:
+ * seules les entrées ajoutées depuis la dernière lecture sont transférées.
+ * L'appel porte le secret app.jwt.revocation.token (en-tête X-Revocation-Token).
+ *
+ * isRevoked est appelé à chaque requête: lecture du filtre de Bloom, sans appel
+ * réseau, allocation ni verrou. Si auth-service est injoignable, le dernier état
+ * reçu reste appliqué (un token révoqué pendant la coupure reste accepté
+ * jusqu'à la lecture suivante ou son expiration).
+ */
+@Slf4j
+@Component
+public class RevocationList {
+
+    private final ObjectMapper objectMapper;
+    private final URI uri;
+    private final String token;
+    private final Duration timeout;
+    private final HttpClient http;
+
+    private volatile RevocationSet set = new RevocationSet(64, 1);
+    private long epoch;
+    private long version;
+    private boolean failing;
+
+    public RevocationList(ObjectMapper objectMapper,
+                          @Value("${app.jwt.revocation.url:http://localhost:8080/auth/revocations}") String url,
+                          @Value("${app.jwt.revocation.token:}") String token,
+                          @Value("${app.jwt.revocation.timeout:2000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.uri = url == null || url.isBlank() ? null : URI.create(url);
+        this.token = token == null ? "" : token;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.http = HttpClient.newBuilder().connectTimeout(this.timeout).build();
+        if (uri == null) {
+            log.warn("⚠️ app.jwt.revocation.url vide: révocations ignorées");
+        } else if (this.token.isBlank()) {
+            log.warn("⚠️ app.jwt.revocation.token vide: /auth/revocations refusera la lecture");
+        }
+    }
+
+    /**
+     * @param tokenId         claim jti
+     * @param subject         claim sub
+     * @param issuedAtSeconds claim iat
+     */
+    public boolean isRevoked(String tokenId, String subject, long issuedAtSeconds) {
+        return set.isRevoked(tokenId, subject, issuedAtSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.poll-interval:5000}")
+    public synchronized void poll() {
+        if (uri == null) {
+            return;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(uri + "?epoch=" + epoch + "&since=" + version))
+                .timeout(timeout)
+                .header("X-Revocation-Token", token)
+                .GET()
+                .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            apply(objectMapper.readValue(response.body(), Snapshot.class));
+            if (failing) {
+                log.info("✅ Révocations de nouveau à jour (version {})", version);
+                failing = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (!failing) {
+                log.warn("⚠️ Révocations non relues ({}): dernier état conservé", e.getMessage());
+                failing = true;
+            } else {
+                log.debug("⚠️ Révocations toujours indisponibles: {}", e.getMessage());
+            }
+        }
+    }
+
+    synchronized void apply(Snapshot snapshot) {
+        if (snapshot.full()) {
+            RevocationSet next = RevocationSet.fromBloom(snapshot.bloomBits(), snapshot.bloomHashes(),
+                snapshot.bloom());
+            for (Entry entry : snapshot.entries()) {
+                next.put(entry.type(), entry.key(), entry.issuedUpTo());
+            }
+            set = next;
+            log.debug("📍 Révocations: instantané complet, {} entrées (version {})", next.size(),
+                snapshot.version());
+        } else {
+            for (Entry entry : snapshot.entries()) {
+                set.add(entry.type(), entry.key(), entry.issuedUpTo());
+            }
+        }
+        epoch = snapshot.epoch();
+        version = snapshot.version();
+    }
+
+    public int size() {
+        return set.size();
+    }
+
+    /**
+     * Réponse de /auth/revocations (voir RevocationSnapshot dans auth-service)
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Snapshot(long epoch, long version, boolean full, Integer bloomBits, Integer bloomHashes, String bloom,
+                    List<Entry> entries) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Entry(long version, RevocationSet.Type type, String key, long issuedUpTo, long expiresAt) {
+    }
+}
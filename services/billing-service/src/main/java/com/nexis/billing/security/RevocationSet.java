@@ -0,0 +1,161 @@
+package com.nexis.billing.security;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ensemble des JWT révoqués: filtre de Bloom + liste exacte.
+ *
+ * - TOKEN: un token précis (claim jti)
+ * - SUBJECT: tous les tokens du compte (sub) émis jusqu'à issuedUpTo (iat, en secondes)
+ *
+ * isRevoked ne consulte la liste exacte que si le filtre répond "peut-être": pour
+ * un token non révoqué (cas courant), k lectures de bits, sans allocation ni verrou.
+ * La liste exacte écarte les faux positifs du filtre: aucun token valide refusé.
+ *
+ * Même algorithme (hachage, format des bits) dans auth-service, course-service et
+ * billing-service: le filtre publié par /auth/revocations est repris tel quel.
+ * ⚠️ Copies à garder identiques: l'instantané de référence jwt-contract/revocation-snapshot.json
+ * est produit par les tests d'auth-service et relu par ceux des deux autres services.
+ */
+public final class RevocationSet {
+
+    public enum Type { TOKEN, SUBJECT }
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final int bits;
+    private final int hashes;
+    private final AtomicLongArray words;
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> subjects = new ConcurrentHashMap<>();
+
+    /**
+     * @param bits   taille du filtre, arrondie à la puissance de 2 supérieure (au moins 64)
+     * @param hashes nombre de fonctions de hachage (k)
+     */
+    public RevocationSet(int bits, int hashes) {
+        this.bits = Math.max(64, Integer.highestOneBit(Math.max(1, bits - 1)) << 1);
+        this.hashes = Math.max(1, hashes);
+        this.words = new AtomicLongArray(this.bits >>> 6);
+    }
+
+    /**
+     * Filtre publié par auth-service; les entrées exactes sont ajoutées ensuite par put
+     */
+    public static RevocationSet fromBloom(int bits, int hashes, String base64) {
+        RevocationSet set = new RevocationSet(bits, hashes);
+        if (set.bits != bits) {
+            throw new IllegalArgumentException("Taille de filtre invalide: " + bits);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(base64));
+        if (buffer.remaining() != set.words.length() * Long.BYTES) {
+            throw new IllegalArgumentException("Filtre tronqué: " + buffer.remaining() + " octets");
+        }
+        for (int i = 0; i < set.words.length(); i++) {
+            set.words.set(i, buffer.getLong());
+        }
+        return set;
+    }
+
+    /**
+     * Ajoute au filtre et à la liste exacte
+     */
+    public void add(Type type, String key, long issuedUpTo) {
+        long h1 = hash(type, key);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) ((h1 + i * h2) & (bits - 1));
+            long mask = 1L << bit;
+            words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+        }
+        put(type, key, issuedUpTo);
+    }
+
+    /**
+     * Ajoute à la liste exacte seulement (bits déjà présents dans un filtre importé)
+     */
+    public void put(Type type, String key, long issuedUpTo) {
+        (type == Type.TOKEN ? tokens : subjects).merge(key, issuedUpTo, Math::max);
+    }
+
+    /**
+     * @param tokenId         claim jti (null: pas de contrôle par token)
+     * @param subject         claim sub
+     * @param issuedAtSeconds claim iat
+     */
+    public boolean isRevoked(String tokenId, String subject, long issuedAtSeconds) {
+        if (tokenId != null && mightContain(Type.TOKEN, tokenId) && tokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (subject != null && mightContain(Type.SUBJECT, subject)) {
+            Long issuedUpTo = subjects.get(subject);
+            return issuedUpTo != null && issuedAtSeconds <= issuedUpTo;
+        }
+        return false;
+    }
+
+    public boolean mightContain(Type type, String key) {
+        long h1 = hash(type, key);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) ((h1 + i * h2) & (bits - 1));
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bits du filtre en base64 (longs big-endian)
+     */
+    public String exportBloom() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length() * Long.BYTES);
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public int getHashes() {
+        return hashes;
+    }
+
+    public int size() {
+        return tokens.size() + subjects.size();
+    }
+
+    /**
+     * FNV-1a 64 bits sur les caractères (sans conversion en octets), puis
+     * mélange final de MurmurHash3
+     */
+    private static long hash(Type type, String key) {
+        long h = 0xcbf29ce484222325L ^ (type.ordinal() + 1);
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long secondHash(long h1) {
+        return mix(h1 + GOLDEN) | 1L;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,33 @@
+package com.nexis.billing.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lecture de l'instantané publié par auth-service (vérifié par RevocationRegistryTests côté auth):
+ * même filtre de Bloom, même format JSON
+ */
+class RevocationListTests {
+
+	private static final Path CONTRACT = Path.of("..", "jwt-contract", "revocation-snapshot.json");
+
+	private final RevocationList list = new RevocationList(new ObjectMapper(), "", "", 1_000);
+
+	@Test
+	void readsTheSnapshotPublishedByAuthService() throws Exception {
+		list.apply(new ObjectMapper().readValue(Files.readString(CONTRACT), RevocationList.Snapshot.class));
+
+		// Filtre importé tel quel: chaque entrée doit y être présente, sinon elle serait ignorée
+		assertTrue(list.isRevoked("jti-contrat-1", "alice", 5_000));
+		assertTrue(list.isRevoked("jti-contrat-2", "alice", 5_000));
+		assertTrue(list.isRevoked("jti-autre", "etudiant.contrat", 1_760_000_000L));
+		assertFalse(list.isRevoked("jti-autre", "etudiant.contrat", 1_760_000_001L));
+		assertFalse(list.isRevoked("jti-autre", "alice", 5_000));
+		assertEquals(3, list.size());
+	}
+}
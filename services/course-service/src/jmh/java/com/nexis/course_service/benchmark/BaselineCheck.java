@@ -0,0 +1,119 @@
+package com.nexis.course_service.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare un résultat JMH (-rf json) à la référence enregistrée.
+ *
+ * Usage: BaselineCheck resultat.json reference.json [tolerance]
+ * - thrpt: régression si le score baisse de plus de tolerance (0.20 = 20%)
+ * - avgt / sample / ss: régression si le score augmente de plus de tolerance
+ * - et dans les deux cas, si les intervalles de confiance (scoreConfidence, 99,9%)
+ *   du résultat et de la référence ne se recouvrent pas: un écart dans le bruit
+ *   de mesure est signalé (⚠️), sans échec
+ * Code de sortie 1 en cas de régression; benchmark absent de la référence: signalé, ignoré.
+ */
+public final class BaselineCheck {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCheck <resultat.json> <reference.json> [tolerance]");
+            System.exit(2);
+        }
+        Path result = Paths.get(args[0]);
+        Path baseline = Paths.get(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.20;
+
+        if (!Files.exists(baseline)) {
+            System.out.println("⚠️  Pas de référence " + baseline + ": copier " + result + " pour en créer une");
+            return;
+        }
+        Map<String, JsonNode> current = read(result);
+        Map<String, JsonNode> reference = read(baseline);
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> e : current.entrySet()) {
+            JsonNode ref = reference.get(e.getKey());
+            JsonNode metric = e.getValue().path("primaryMetric");
+            double score = metric.path("score").asDouble();
+            String unit = metric.path("scoreUnit").asText();
+            if (ref == null) {
+                System.out.printf("   NOUVEAU   %-90s %14.3f %s%n", e.getKey(), score, unit);
+                continue;
+            }
+            JsonNode refMetric = ref.path("primaryMetric");
+            double refScore = refMetric.path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(e.getValue().path("mode").asText());
+            double change = refScore == 0 ? 0 : (score - refScore) / refScore;
+            boolean beyondTolerance = higherIsBetter ? change < -tolerance : change > tolerance;
+            double[] interval = confidence(metric);
+            double[] refInterval = confidence(refMetric);
+            boolean separated = higherIsBetter ? interval[1] < refInterval[0] : interval[0] > refInterval[1];
+            boolean regressed = beyondTolerance && separated;
+            String status = regressed ? "❌ RÉGRESSION" : beyondTolerance ? "⚠️  bruit     " : "✅ ok        ";
+            System.out.printf("%s %-90s %14.3f ± %.3f %s (référence %.3f ± %.3f, %+.1f%%)%s%n",
+                status, e.getKey(), score, (interval[1] - interval[0]) / 2, unit,
+                refScore, (refInterval[1] - refInterval[0]) / 2, change * 100,
+                refInterval[1] - refInterval[0] > 2 * Math.abs(refScore) ? " référence trop bruitée" : "");
+            if (regressed) {
+                regressions.add(e.getKey());
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " régression(s) au-delà de " + Math.round(tolerance * 100)
+                + "%, hors des intervalles de confiance");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Intervalle de confiance du score; réduit au score si JMH n'a pas pu le calculer
+     * (une seule mesure: NaN)
+     */
+    private static double[] confidence(JsonNode metric) {
+        double score = metric.path("score").asDouble();
+        JsonNode bounds = metric.path("scoreConfidence");
+        double low = bounds.path(0).asDouble(Double.NaN);
+        double high = bounds.path(1).asDouble(Double.NaN);
+        if (Double.isNaN(low) || Double.isNaN(high)) {
+            return new double[] { score, score };
+        }
+        return new double[] { low, high };
+    }
+
+    /**
+     * Résultats indexés par "benchmark [mode] {paramètres}"
+     */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> runs = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file.toFile())) {
+            String name = run.path("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            Map<String, String> params = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> p = it.next();
+                params.put(p.getKey(), p.getValue().asText());
+            }
+            runs.put(name + " [" + run.path("mode").asText() + "]" + (params.isEmpty() ? "" : " " + params), run);
+        }
+        return runs;
+    }
+}
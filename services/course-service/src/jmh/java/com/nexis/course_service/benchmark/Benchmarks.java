@@ -0,0 +1,118 @@
+package com.nexis.course_service.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexis.course_service.security.JwksKeySet;
+import com.nexis.course_service.security.JwtClaimsCache;
+import com.nexis.course_service.security.JwtCodec;
+import com.nexis.course_service.security.JwtUtil;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Données communes des benchmarks: secret, clé ES256 publiée et tokens réalistes
+ * (mêmes claims que ceux émis par auth-service), JwtUtil configuré hors Spring.
+ * token(): HS256 (chemin de transition), es256Token(): format actuel d'auth-service.
+ */
+final class Benchmarks {
+
+    static final String SECRET = "MyVerySecureSecretKeyForAuthenticationJWTTokens2024WithEnoughCharacters";
+    // Bascule ES256 postérieure aux tokens HS256 générés: chemin de transition actif
+    static final String LEGACY_HS256_UNTIL = Instant.now().plus(Duration.ofDays(1)).toString();
+    static final String KID = "benchmark-key";
+    static final KeyPair ES256_KEYS = Keys.keyPairFor(SignatureAlgorithm.ES256);
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Sans configuration Spring, logback écrit tout en DEBUG sur la console:
+     * le benchmark mesurerait les logs
+     */
+    static void quietLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+    }
+
+    /**
+     * Vérifie les deux formats: ES256 (clé publiée sous KID) et HS256 (SECRET)
+     */
+    static JwtUtil jwtUtil(int claimsCacheSize) {
+        JwksKeySet keySet = new JwksKeySet(new ObjectMapper(), "", 2_000, 30_000);
+        keySet.apply(jwks());
+        return new JwtUtil(new JwtClaimsCache(claimsCacheSize, 300_000), new JwtCodec(keySet, SECRET, LEGACY_HS256_UNTIL, 86_400_000));
+    }
+
+    static String token() {
+        return builder()
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+            .compact();
+    }
+
+    static String es256Token() {
+        return builder()
+            .setHeaderParam("kid", KID)
+            .signWith(ES256_KEYS.getPrivate(), SignatureAlgorithm.ES256)
+            .compact();
+    }
+
+    private static JwtBuilder builder() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", "STUDENT");
+        claims.put("id", 4242L);
+        claims.put("email", "jdoe@nexis.com");
+        claims.put("firstName", "John");
+        claims.put("lastName", "Doe");
+        claims.put("phoneNumber", "+33600000000");
+        claims.put("enabled", true);
+        Date now = new Date();
+        return Jwts.builder()
+            .setClaims(claims)
+            .setSubject("jdoe")
+            .setIssuedAt(now)
+            .setExpiration(new Date(now.getTime() + 86_400_000L));
+    }
+
+    /**
+     * JWK Set tel que publié par auth-service (/.well-known/jwks.json)
+     */
+    private static JwksKeySet.Jwks jwks() {
+        ECPublicKey key = (ECPublicKey) ES256_KEYS.getPublic();
+        JwksKeySet.Jwk jwk = new JwksKeySet.Jwk();
+        jwk.setKty("EC");
+        jwk.setCrv("P-256");
+        jwk.setKid(KID);
+        jwk.setUse("sig");
+        jwk.setAlg("ES256");
+        jwk.setX(coordinate(key.getW().getAffineX()));
+        jwk.setY(coordinate(key.getW().getAffineY()));
+        JwksKeySet.Jwks jwks = new JwksKeySet.Jwks();
+        jwks.setKeys(List.of(jwk));
+        return jwks;
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
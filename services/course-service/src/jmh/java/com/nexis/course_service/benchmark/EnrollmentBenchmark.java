@@ -0,0 +1,110 @@
+package com.nexis.course_service.benchmark;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseStatus;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.service.CatalogCache;
+import com.nexis.course_service.service.CourseService;
+import com.nexis.course_service.service.LegacyEnrollmentMigration;
+import com.nexis.course_service.service.RoomScheduleIndex;
+import com.nexis.course_service.service.ScheduleService;
+import com.nexis.course_service.service.SeatReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CourseService.enrollStudent puis removeStudent (l'effectif reste constant)
+ * selon la taille de la liste d'inscrits, sur H2 (profil h2 des tests).
+ *
+ * L'inscription passe par le compteur SQL de SeatReservationService: le coût
+ * ne doit pas dépendre de l'effectif (index sur student_id, course_id).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnrollmentBenchmark {
+
+    private static final long STUDENT = 9_999_999L;
+
+    @Param({ "0", "1000", "10000" })
+    public int roster;
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private Long courseId;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Course.class)
+    @EnableJpaRepositories(basePackageClasses = CourseRepository.class)
+    @Import({ CourseService.class, SeatReservationService.class, LegacyEnrollmentMigration.class,
+        CatalogCache.class, ScheduleService.class, RoomScheduleIndex.class })
+    static class Config {
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Config.class)
+            .web(WebApplicationType.NONE)
+            .profiles("h2")
+            .properties("spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "logging.level.com.nexis.course_service=WARN",
+                "app.enrollment.resync-on-startup=false")
+            .run();
+        courseService = context.getBean(CourseService.class);
+
+        Course course = new Course();
+        course.setCode("BENCH-" + roster + "-" + System.nanoTime());
+        course.setTitle("Amphi");
+        course.setInstructorId(1L);
+        course.setCredits(6);
+        course.setSemester("2026-A");
+        course.setMaxStudents(roster + 1_000);
+        course.setEnrolledStudents(roster);
+        course.setStatus(CourseStatus.ACTIVE);
+        courseId = context.getBean(CourseRepository.class).save(course).getId();
+
+        List<Object[]> rows = new ArrayList<>(roster);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < roster; i++) {
+            rows.add(new Object[] { String.valueOf(100_000 + i), courseId, "ENROLLED", now });
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+            "INSERT INTO enrollments (student_id, course_id, status, enrolled_at) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean enrollThenDrop() {
+        boolean enrolled = courseService.enrollStudent(courseId, STUDENT);
+        courseService.removeStudent(courseId, STUDENT);
+        return enrolled;
+    }
+}
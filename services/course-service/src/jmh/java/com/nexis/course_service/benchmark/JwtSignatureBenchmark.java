@@ -0,0 +1,53 @@
+package com.nexis.course_service.benchmark;
+
+import com.nexis.course_service.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vérification d'un token selon sa signature: HS256 (secret partagé, transition)
+ * contre ES256 (clé publique du JWKS, choisie par kid).
+ * - uncached: premier passage d'un token, vérification de signature complète
+ * - cached: cas courant, claims servis par JwtClaimsCache sans vérification
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtSignatureBenchmark {
+
+    @Param({ "HS256", "ES256" })
+    public String algorithm;
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Benchmarks.quietLogging();
+        cached = Benchmarks.jwtUtil(10_000);
+        uncached = Benchmarks.jwtUtil(0);
+        token = "ES256".equals(algorithm) ? Benchmarks.es256Token() : Benchmarks.token();
+        if (!cached.validateToken(token)) {
+            throw new IllegalStateException("Token " + algorithm + " refusé");
+        }
+    }
+
+    @Benchmark
+    public boolean validateUncached() {
+        return uncached.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return cached.validateToken(token);
+    }
+}
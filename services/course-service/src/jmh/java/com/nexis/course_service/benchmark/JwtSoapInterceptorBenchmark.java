@@ -0,0 +1,98 @@
+package com.nexis.course_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexis.course_service.security.JwtSoapInterceptor;
+import com.nexis.course_service.security.RevocationList;
+import com.nexis.course_service.security.SoapHeaderTokenReader;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtSoapInterceptor.handleMessage sur des enveloppes réelles:
+ * - token dans l'en-tête HTTP ou dans soap:Header (lecture StAX + rejeu du flux)
+ * - petite requête (enrollStudent) ou grosse (addCourse, description de 16 Ko)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtSoapInterceptorBenchmark {
+
+    private static final String NS = "http://soap.course_service.nexis.com/";
+
+    @Param({ "http", "soapHeader" })
+    public String tokenLocation;
+
+    @Param({ "enrollStudent", "addCourse" })
+    public String operation;
+
+    private JwtSoapInterceptor interceptor;
+    private String token;
+    private byte[] envelope;
+
+    @Setup
+    public void setUp() {
+        Benchmarks.quietLogging();
+        // Liste de révocation vide, sans relecture (url vide): coût du contrôle seul
+        interceptor = new JwtSoapInterceptor(Benchmarks.jwtUtil(10_000), new SoapHeaderTokenReader(),
+            new RevocationList(new ObjectMapper(), "", "", 2_000));
+        token = Benchmarks.token();
+
+        String header = "soapHeader".equals(tokenLocation)
+            ? "<soap:Header><Authorization>Bearer " + token + "</Authorization></soap:Header>"
+            : "";
+        String body;
+        if ("addCourse".equals(operation)) {
+            StringBuilder description = new StringBuilder();
+            while (description.length() < 16 * 1024) {
+                description.append("Introduction aux systèmes distribués, SOAP et services REST. ");
+            }
+            body = "<c:addCourse><code>INF-4242</code><name>Architectures SOA</name>"
+                + "<description>" + description + "</description><credits>6</credits>"
+                + "<instructorId>12</instructorId><maxStudents>120</maxStudents></c:addCourse>";
+        } else {
+            body = "<c:enrollStudent><courseId>42</courseId><studentId>4242</studentId></c:enrollStudent>";
+        }
+        envelope = ("<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\" xmlns:c=\"" + NS + "\">"
+            + header + "<soap:Body>" + body + "</soap:Body></soap:Envelope>").getBytes(StandardCharsets.UTF_8);
+        interceptor.handleMessage(message());  // claims en cache, comme en régime établi
+    }
+
+    @Benchmark
+    public Message handleMessage() {
+        Message message = message();
+        interceptor.handleMessage(message);
+        return message;
+    }
+
+    private Message message() {
+        Message message = new MessageImpl();
+        message.setExchange(new ExchangeImpl());
+        message.put(Message.HTTP_REQUEST_METHOD, "POST");
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.put("Content-Type", Collections.singletonList("text/xml; charset=UTF-8"));
+        if ("http".equals(tokenLocation)) {
+            headers.put("Authorization", Collections.singletonList("Bearer " + token));
+        }
+        message.put(Message.PROTOCOL_HEADERS, headers);
+        message.setContent(InputStream.class, new ByteArrayInputStream(envelope));
+        return message;
+    }
+}
@@ -0,0 +1,61 @@
+package com.nexis.course_service.benchmark;
+
+import com.nexis.course_service.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation et extraction des claims (une par requête SOAP):
+ * avec le cache de claims (cas courant) et sans (premier passage d'un token)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Benchmarks.quietLogging();
+        cached = Benchmarks.jwtUtil(10_000);
+        uncached = Benchmarks.jwtUtil(0);
+        token = Benchmarks.token();
+        cached.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cached.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncached.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractRoleCached() {
+        return cached.extractRole(token);
+    }
+
+    @Benchmark
+    public Long extractUserIdUncached() {
+        return uncached.extractUserId(token);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return cached.extractAllClaims(token);
+    }
+}
@@ -0,0 +1,126 @@
+package com.nexis.course_service.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.nexis.course_service.logging.LogSampling;
+import com.nexis.course_service.logging.SamplingFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Coût des logs d'une inscription SOAP, vu des threads de requête, selon la
+ * configuration: extraction et validation du JWT (DEBUG), succès SAMPLED (INFO).
+ *
+ * - dev:  niveau DEBUG, appender synchrone
+ * - sync: niveau INFO, appender synchrone
+ * - prod: niveau INFO, AsyncAppender + SamplingFilter (logback-spring.xml, profil prod)
+ *
+ * Le sink est un fichier vidé à chaque événement, comme la console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({ "dev", "sync", "prod" })
+    public String profile;
+
+    private final AtomicLong requests = new AtomicLong();
+    private Path dir;
+    private LoggerContext context;
+    private org.slf4j.Logger interceptor;
+    private org.slf4j.Logger jwt;
+    private org.slf4j.Logger service;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("logging-benchmark");
+        context = new LoggerContext();
+        context.setName(profile);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(dir.resolve(profile + ".log").toString());
+        file.setEncoder(encoder);
+        file.setImmediateFlush(true);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if ("prod".equals(profile)) {
+            SamplingFilter sampling = new SamplingFilter();
+            sampling.setRate(100);
+            sampling.start();
+
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addFilter(sampling);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel("dev".equals(profile) ? Level.DEBUG : Level.INFO);
+        root.addAppender(appender);
+
+        interceptor = context.getLogger("com.nexis.course_service.security.JwtSoapInterceptor");
+        jwt = context.getLogger("com.nexis.course_service.security.JwtUtil");
+        service = context.getLogger("com.nexis.course_service.service.CourseService");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * Lignes de log d'une requête enrollStudent
+     */
+    @Benchmark
+    public void enrollRequest() {
+        long i = requests.incrementAndGet();
+        interceptor.debug("📍 Token found in HTTP Authorization header");
+        interceptor.debug("✅ Token found, length: {}", 187);
+        jwt.debug("✅ Token JWT valide");
+        interceptor.debug("✅ JWT validated - User: {} | Role: {} | ID: {}", "student" + i, "STUDENT", i);
+        service.info(LogSampling.SAMPLED, "Étudiant {} inscrit au cours {}", i, 42);
+    }
+}
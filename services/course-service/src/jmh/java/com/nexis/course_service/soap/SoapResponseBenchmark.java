@@ -0,0 +1,171 @@
+package com.nexis.course_service.soap;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseStatus;
+import com.nexis.course_service.repository.CourseSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction et écriture des réponses de lecture de CourseServiceSOAP,
+ * comme CXF: DTO JAXB (MappedList sur les projections du catalogue) écrit
+ * dans un flux StAX. Dans le package soap pour utiliser MappedList.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SoapResponseBenchmark {
+
+    private static final QName RETURN = new QName("return");
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private JAXBContext context;
+        private XMLOutputFactory outputFactory;
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+        @Setup
+        public void setUp() throws JAXBException {
+            context = JAXBContext.newInstance(CourseList.class, CourseResponse.class);
+            outputFactory = XMLOutputFactory.newInstance();
+        }
+
+        int write(JAXBElement<?> element) throws JAXBException, XMLStreamException {
+            out.reset();
+            Marshaller marshaller = context.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+            XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out, "UTF-8");
+            marshaller.marshal(element, writer);
+            writer.flush();
+            return out.size();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        @Param({ "10", "200", "2000" })
+        public int courses;
+
+        private List<CourseSummary> summaries;
+
+        @Setup
+        public void setUp() {
+            summaries = new ArrayList<>(courses);
+            for (int i = 0; i < courses; i++) {
+                summaries.add(new Summary((long) i, "INF-" + i, "Cours " + i + " - Architectures orientées services"));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SingleCourse {
+        private Course course;
+
+        @Setup
+        public void setUp() {
+            course = new Course();
+            course.setId(42L);
+            course.setCode("INF-42");
+            course.setTitle("Architectures orientées services");
+            course.setDescription("SOAP, WSDL, REST et intégration de services.");
+            course.setInstructorId(12L);
+            course.setCredits(6);
+            course.setSemester("2026-A");
+            course.setMaxStudents(120);
+            course.setEnrolledStudents(87);
+            course.setStatus(CourseStatus.ACTIVE);
+        }
+    }
+
+    /**
+     * listAllCourses: liste du catalogue
+     */
+    @Benchmark
+    public int listAllCourses(Catalog catalog, Writer writer) throws JAXBException, XMLStreamException {
+        CourseList list = new CourseList(new MappedList<>(catalog.summaries, CourseResponse::from));
+        return writer.write(new JAXBElement<>(RETURN, CourseList.class, list));
+    }
+
+    /**
+     * getCourseById: un cours
+     */
+    @Benchmark
+    public int getCourseById(SingleCourse single, Writer writer) throws JAXBException, XMLStreamException {
+        return writer.write(new JAXBElement<>(RETURN, CourseResponse.class, CourseResponse.from(single.course)));
+    }
+
+    private static final class Summary implements CourseSummary {
+        private final Long id;
+        private final String code;
+        private final String title;
+
+        Summary(Long id, String code, String title) {
+            this.id = id;
+            this.code = code;
+            this.title = title;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getCode() {
+            return code;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getSemester() {
+            return "2026-A";
+        }
+
+        @Override
+        public CourseStatus getStatus() {
+            return CourseStatus.ACTIVE;
+        }
+
+        @Override
+        public Long getInstructorId() {
+            return 12L;
+        }
+
+        @Override
+        public Integer getCredits() {
+            return 6;
+        }
+
+        @Override
+        public Integer getMaxStudents() {
+            return 120;
+        }
+
+        @Override
+        public Integer getEnrolledStudents() {
+            return 87;
+        }
+    }
+}
@@ -2,13 +2,11 @@ package com.nexis.course_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"com.nexis.course_service"})
 public class CourseServiceApplication {
     
     public static void main(String[] args) {
         SpringApplication.run(CourseServiceApplication.class, args);
     }
-}
\ No newline at end of file
+}
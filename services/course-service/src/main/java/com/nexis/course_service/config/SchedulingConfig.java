@@ -0,0 +1,12 @@
+package com.nexis.course_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tâches de fond (collecte des supports non référencés)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,14 +1,21 @@
 package com.nexis.course_service.config;
 
 import org.apache.cxf.Bus;
+import org.apache.cxf.attachment.AttachmentDeserializer;
 import org.apache.cxf.jaxws.EndpointImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.nexis.course_service.metrics.SoapMetricsInInterceptor;
+import com.nexis.course_service.metrics.SoapMetricsOutInterceptor;
 import com.nexis.course_service.security.JwtSoapInterceptor;
 import com.nexis.course_service.soap.CourseServiceSOAP;
 import javax.xml.ws.Endpoint;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -18,6 +25,21 @@ public class WebServiceConfig {
     @Autowired
     private JwtSoapInterceptor jwtSoapInterceptor;
     
+    @Autowired
+    private SoapMetricsInInterceptor metricsInInterceptor;
+    
+    @Autowired
+    private SoapMetricsOutInterceptor metricsOutInterceptor;
+    
+    @Value("${app.materials.storage-dir:./data/materials}")
+    private String storageDir;
+    
+    @Value("${app.materials.max-file-size:2147483648}")
+    private long maxFileSize;
+    
+    @Value("${app.materials.attachment-memory-threshold:1048576}")
+    private long attachmentMemoryThreshold;
+    
     @Bean
     public Endpoint endpoint(Bus bus, CourseServiceSOAP courseServiceSOAP) {
         log.info("✅ Creating SOAP endpoint with JWT interceptor");
@@ -29,6 +51,21 @@ public class WebServiceConfig {
         
         EndpointImpl endpoint = new EndpointImpl(bus, courseServiceSOAP);
         endpoint.getInInterceptors().add(jwtSoapInterceptor);
+        
+        // Métriques par opération (latence, tailles, fautes, en cours): voir SoapMetrics
+        endpoint.getInInterceptors().add(metricsInInterceptor);
+        endpoint.getOutInterceptors().add(metricsOutInterceptor);
+        endpoint.getOutFaultInterceptors().add(metricsOutInterceptor);
+        
+        // MTOM: supports de cours en pièces jointes binaires (pas de base64 dans le corps).
+        // Au-delà du seuil, CXF écrit la pièce jointe reçue sur disque au lieu du tas.
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("mtom-enabled", Boolean.TRUE);
+        properties.put(AttachmentDeserializer.ATTACHMENT_MEMORY_THRESHOLD, attachmentMemoryThreshold);
+        properties.put(AttachmentDeserializer.ATTACHMENT_MAX_SIZE, maxFileSize);
+        properties.put(AttachmentDeserializer.ATTACHMENT_DIRECTORY,
+            Paths.get(storageDir).resolve("tmp").toAbsolutePath().toString());
+        endpoint.setProperties(properties);
         endpoint.publish("/course");
         
         log.info("✅ SOAP endpoint published at /course with JWT interceptor");
@@ -0,0 +1,134 @@
+package com.nexis.course_service.controller;
+
+import com.nexis.course_service.model.CourseMaterial;
+import com.nexis.course_service.security.JwtClaims;
+import com.nexis.course_service.security.JwtUtil;
+import com.nexis.course_service.security.RevocationList;
+import com.nexis.course_service.service.ByteRange;
+import com.nexis.course_service.service.CourseMaterialService;
+import com.nexis.course_service.service.MaterialFileStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Téléchargement HTTP du contenu des supports (GET /api/materials/{id}/content).
+ *
+ * Complète l'opération SOAP downloadMaterial pour les lecteurs vidéo:
+ * requêtes Range (206) et envoi sans copie en mémoire applicative.
+ * - Tomcat NIO: sendfile (attributs org.apache.tomcat.sendfile.*)
+ * - sinon: FileChannel.transferTo vers le flux de réponse
+ *
+ * Authentification: Authorization: Bearer TOKEN (même JWT que le SOAP)
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class MaterialContentController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final CourseMaterialService materialService;
+    private final MaterialFileStore fileStore;
+    private final JwtUtil jwtUtil;
+    private final RevocationList revocationList;
+
+    @GetMapping("/materials/{id}/content")
+    public void download(@PathVariable("id") Long id, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        JwtClaims claims = resolveClaims(request);
+        if (claims == null) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid or expired JWT token");
+            return;
+        }
+        boolean privileged = "ADMIN".equals(claims.getRole()) || "PROFESSOR".equals(claims.getRole());
+
+        CourseMaterial material;
+        try {
+            material = materialService.getDownloadableMaterial(id, privileged);
+        } catch (RuntimeException e) {
+            log.warn("⚠️  Support {} indisponible: {}", id, e.getMessage());
+            response.sendError(HttpStatus.NOT_FOUND.value(), e.getMessage());
+            return;
+        }
+
+        String hash = material.getContentHash();
+        long size = fileStore.size(hash);
+        String etag = "\"" + hash + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+        response.setContentType(material.getContentType() != null
+            ? material.getContentType() : CourseMaterialService.DEFAULT_CONTENT_TYPE);
+        if (material.getFileName() != null) {
+            // filename* (RFC 5987): noms accentués transmis tels quels
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(material.getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        }
+
+        // Contenu adressé par hash: l'ETag ne change jamais pour un même support
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        ByteRange range;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        try {
+            range = ifRange == null || ifRange.equals(etag)
+                ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size)
+                : null;
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+        if (range == null) {
+            range = new ByteRange(0, size - 1);
+            response.setStatus(HttpStatus.OK.value());
+        } else {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                "bytes " + range.getStart() + "-" + range.getEnd() + "/" + size);
+        }
+        response.setContentLengthLong(size == 0 ? 0 : range.length());
+        if (size == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, fileStore.path(hash).toString());
+            request.setAttribute(SENDFILE_START, range.getStart());
+            request.setAttribute(SENDFILE_END, range.getEnd() + 1);
+            return;
+        }
+        fileStore.transferTo(hash, range.getStart(), range.length(),
+            Channels.newChannel(response.getOutputStream()));
+    }
+
+    private JwtClaims resolveClaims(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        JwtClaims claims = jwtUtil.resolveClaims(header.substring(7));
+        return claims != null && !revocationList.isRevoked(claims) ? claims : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.nexis.course_service.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Logs de succès émis à chaque requête (inscription, désinscription...):
+ * marqués SAMPLED, ils sont tous écrits en développement et échantillonnés
+ * par SamplingFilter avec le profil prod (voir logback-spring.xml).
+ */
+public final class LogSampling {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogSampling() {
+    }
+}
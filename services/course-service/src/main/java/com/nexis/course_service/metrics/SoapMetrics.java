@@ -0,0 +1,155 @@
+package com.nexis.course_service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métriques par opération SOAP (/ws/course), alimentées par
+ * SoapMetricsInInterceptor / SoapMetricsOutInterceptor.
+ *
+ * - soap.server.requests: latence (timer, tags operation + outcome), percentiles
+ *   sur fenêtre glissante (histogramme HDR de Micrometer) et buckets publiés
+ * - soap.server.request.size / soap.server.response.size: taille des messages (octets)
+ * - soap.server.faults: SoapFault renvoyées (tags operation + code)
+ * - soap.server.requests.active: requêtes en cours
+ *
+ * ⚠️ Les opérations d'écriture qui renvoient "Erreur: ..." ne sont pas des fautes SOAP:
+ * elles comptent comme des succès.
+ */
+@Component
+public class SoapMetrics {
+
+    public static final String UNKNOWN_OPERATION = "unknown";
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_FAULT = "fault";
+
+    private static final double[] PERCENTILES = { 0.5, 0.9, 0.99 };
+
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, OperationMeters> operations = new ConcurrentHashMap<>();
+
+    public SoapMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("soap.server.requests.active", inFlight, AtomicInteger::get)
+            .description("Requêtes SOAP en cours de traitement")
+            .register(registry);
+    }
+
+    void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Fin d'un échange (réponse ou faute entièrement écrite)
+     * @param faultCode code de la faute ("client", "server"), null si succès
+     */
+    void requestCompleted(String operation, long durationNanos, long requestBytes, long responseBytes,
+                          String faultCode) {
+        inFlight.decrementAndGet();
+        OperationMeters meters = operations.computeIfAbsent(operation, OperationMeters::new);
+        if (faultCode == null) {
+            meters.success.record(durationNanos, TimeUnit.NANOSECONDS);
+        } else {
+            meters.fault.record(durationNanos, TimeUnit.NANOSECONDS);
+            registry.counter("soap.server.faults", "operation", operation, "code", faultCode).increment();
+        }
+        if (requestBytes >= 0) {
+            meters.requestSize.record(requestBytes);
+        }
+        if (responseBytes >= 0) {
+            meters.responseSize.record(responseBytes);
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Vue texte, une ligne par opération (triée par nom):
+     * total cumulé, percentiles et max sur la fenêtre glissante
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# SOAP /ws/course - latences en ms (percentiles et max: fenêtre glissante)\n");
+        sb.append("# in-flight ").append(inFlight.get()).append('\n');
+        sb.append(String.format(Locale.ROOT, "%-30s %8s %7s %9s %9s %9s %9s %9s %10s %10s%n",
+            "operation", "count", "faults", "mean", "p50", "p90", "p99", "max", "req_avg_b", "resp_avg_b"));
+
+        for (Map.Entry<String, OperationMeters> e : new TreeMap<>(operations).entrySet()) {
+            OperationMeters m = e.getValue();
+            HistogramSnapshot ok = m.success.takeSnapshot();
+            HistogramSnapshot ko = m.fault.takeSnapshot();
+            long count = ok.count() + ko.count();
+            double totalMs = ok.total(TimeUnit.MILLISECONDS) + ko.total(TimeUnit.MILLISECONDS);
+            // Percentiles: appels réussis (les fautes sont souvent rapides et tireraient vers le bas)
+            HistogramSnapshot latency = ok.count() > 0 ? ok : ko;
+            sb.append(String.format(Locale.ROOT, "%-30s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %10.0f %10.0f%n",
+                e.getKey(), count, ko.count(), count > 0 ? totalMs / count : 0.0,
+                percentile(latency, 0.5), percentile(latency, 0.9), percentile(latency, 0.99),
+                Math.max(ok.max(TimeUnit.MILLISECONDS), ko.max(TimeUnit.MILLISECONDS)),
+                m.requestSize.mean(), m.responseSize.mean()));
+        }
+        return sb.toString();
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile v : snapshot.percentileValues()) {
+            if (v.percentile() == percentile) {
+                return v.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0.0;
+    }
+
+    /**
+     * Meters d'une opération, créés au premier appel puis réutilisés
+     */
+    private final class OperationMeters {
+        private final Timer success;
+        private final Timer fault;
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+
+        OperationMeters(String operation) {
+            this.success = timer(operation, OUTCOME_SUCCESS);
+            this.fault = timer(operation, OUTCOME_FAULT);
+            this.requestSize = size("soap.server.request.size", operation);
+            this.responseSize = size("soap.server.response.size", operation);
+        }
+
+        private Timer timer(String operation, String outcome) {
+            return Timer.builder("soap.server.requests")
+                .description("Latence des opérations SOAP")
+                .tags("operation", operation, "outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(registry);
+        }
+
+        private DistributionSummary size(String name, String operation) {
+            return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.nexis.course_service.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Vue texte des métriques SOAP: GET /api/actuator/soapmetrics
+ *
+ * Les mêmes valeurs sont exposées par /api/actuator/metrics/soap.server.requests
+ * (tags operation, outcome) pour les outils de collecte.
+ */
+@Component
+@Endpoint(id = "soapmetrics")
+@RequiredArgsConstructor
+public class SoapMetricsEndpoint {
+
+    private final SoapMetrics metrics;
+
+    @ReadOperation(produces = "text/plain;charset=UTF-8")
+    public String dump() {
+        return metrics.dump();
+    }
+}
@@ -0,0 +1,89 @@
+package com.nexis.course_service.metrics;
+
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Début de mesure d'une requête SOAP (Phase.RECEIVE, avant le JWT et le parsing):
+ * horodatage et comptage des octets lus (pièces jointes MTOM comprises).
+ * La mesure est close par SoapMetricsOutInterceptor.
+ */
+@Component
+public class SoapMetricsInInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    static final String START_NANOS = SoapMetricsInInterceptor.class.getName() + ".start";
+    static final String REQUEST_BYTES = SoapMetricsInInterceptor.class.getName() + ".requestBytes";
+
+    private final SoapMetrics metrics;
+
+    public SoapMetricsInInterceptor(SoapMetrics metrics) {
+        super(Phase.RECEIVE);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        // GET (WSDL): pas une opération
+        if ("GET".equalsIgnoreCase((String) message.get(Message.HTTP_REQUEST_METHOD))) {
+            return;
+        }
+        Exchange exchange = message.getExchange();
+        exchange.put(START_NANOS, System.nanoTime());
+        InputStream in = message.getContent(InputStream.class);
+        if (in != null) {
+            CountingInputStream counting = new CountingInputStream(in);
+            message.setContent(InputStream.class, counting);
+            exchange.put(REQUEST_BYTES, counting);
+        }
+        metrics.requestStarted();
+    }
+
+    /**
+     * Octets lus jusqu'ici sur la requête de l'échange, -1 si non mesuré
+     */
+    static long requestBytes(Exchange exchange) {
+        Object counting = exchange.get(REQUEST_BYTES);
+        return counting instanceof CountingInputStream ? ((CountingInputStream) counting).count : -1;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.nexis.course_service.metrics;
+
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Fin de mesure d'une requête SOAP, sur les chaînes de sortie normale et de faute.
+ *
+ * Placé juste après l'ouverture du flux de réponse (Phase.PREPARE_SEND): la
+ * mesure est enregistrée à la fermeture de ce flux, donc sérialisation et
+ * écriture de la réponse comprises.
+ */
+@Component
+public class SoapMetricsOutInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private static final String RECORDED = SoapMetricsOutInterceptor.class.getName() + ".recorded";
+
+    private final SoapMetrics metrics;
+
+    public SoapMetricsOutInterceptor(SoapMetrics metrics) {
+        super(Phase.PREPARE_SEND);
+        addAfter(MessageSenderInterceptor.class.getName());
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        Exchange exchange = message.getExchange();
+        Long start = (Long) exchange.get(SoapMetricsInInterceptor.START_NANOS);
+        // Requête non mesurée (WSDL) ou faute survenue pendant l'envoi de la réponse
+        if (start == null || exchange.containsKey(RECORDED)) {
+            return;
+        }
+        exchange.put(RECORDED, Boolean.TRUE);
+
+        String faultCode = message == exchange.getOutFaultMessage() ? faultCode(message) : null;
+        OutputStream out = message.getContent(OutputStream.class);
+        if (out == null) {
+            record(exchange, start, -1, faultCode);
+            return;
+        }
+        message.setContent(OutputStream.class, new FilterOutputStream(out) {
+            private long count;
+            private boolean closed;
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                count++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                count += len;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!closed) {
+                        closed = true;
+                        record(exchange, start, count, faultCode);
+                    }
+                }
+            }
+        });
+    }
+
+    private void record(Exchange exchange, long start, long responseBytes, String faultCode) {
+        metrics.requestCompleted(operation(exchange), System.nanoTime() - start,
+            SoapMetricsInInterceptor.requestBytes(exchange), responseBytes, faultCode);
+    }
+
+    private static String operation(Exchange exchange) {
+        BindingOperationInfo bop = exchange.getBindingOperationInfo();
+        return bop != null ? bop.getName().getLocalPart() : SoapMetrics.UNKNOWN_OPERATION;
+    }
+
+    /**
+     * Code de la faute CXF ("client", "server"), "server" pour toute autre exception
+     */
+    private static String faultCode(Message message) {
+        Exception e = message.getContent(Exception.class);
+        if (e instanceof Fault && ((Fault) e).getFaultCode() != null) {
+            return ((Fault) e).getFaultCode().getLocalPart();
+        }
+        return "server";
+    }
+}
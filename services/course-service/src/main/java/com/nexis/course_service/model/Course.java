@@ -110,11 +110,16 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import javax.persistence.*;
-import java.util.ArrayList;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
-@Table(name = "courses")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
+@Table(name = "courses", indexes = {
+    @Index(name = "idx_courses_semester_status", columnList = "semester, status"),
+    @Index(name = "idx_courses_instructor", columnList = "instructorId")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -145,19 +150,12 @@ public class Course {
     @Column(nullable = false)
     private Integer maxStudents;
     
-    // ✅ OPTION 1: Garder enrolledStudents avec DEFAULT
-    // Si vous voulez aussi un counter pour la performance
-    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    // ✅ Compteur dénormalisé des inscrits
+    // Les inscriptions elles-mêmes vivent dans la table enrollments (Enrollment)
+    // updatable = false: seules les UPDATE atomiques de CourseRepository le modifient,
+    // un save() concurrent (updateCourse) ne peut plus écraser la valeur
+    @Column(nullable = false, updatable = false, columnDefinition = "INT DEFAULT 0")
     private Integer enrolledStudents = 0;
-    
-    // ✅ OPTION 2: Liste d'IDs des étudiants inscrits
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(
-        name = "course_enrollments",
-        joinColumns = @JoinColumn(name = "course_id")
-    )
-    @Column(name = "student_id")
-    private List<Long> enrolledStudentIds = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -171,54 +169,17 @@ public class Course {
     
     // ========== MÉTHODES UTILES ==========
     
-    /**
-     * Inscrit un étudiant au cours
-     */
-    public boolean enrollStudent(Long studentId) {
-        if (enrolledStudentIds.size() >= maxStudents) {
-            return false;  // Cours plein
-        }
-        if (enrolledStudentIds.contains(studentId)) {
-            return false;  // Déjà inscrit
-        }
-        
-        // ✅ Ajouter à la liste ET incrémenter le counter
-        boolean added = enrolledStudentIds.add(studentId);
-        if (added && enrolledStudents != null) {
-            enrolledStudents++;  // Garder le counter synchronisé
-        }
-        return added;
-    }
-    
-    /**
-     * Désinscrit un étudiant
-     */
-    public boolean removeStudent(Long studentId) {
-        boolean removed = enrolledStudentIds.remove(studentId);
-        if (removed && enrolledStudents != null && enrolledStudents > 0) {
-            enrolledStudents--;  // Garder le counter synchronisé
-        }
-        return removed;
-    }
-    
-    /**
-     * Vérifie si un étudiant est inscrit
-     */
-    public boolean isStudentEnrolled(Long studentId) {
-        return enrolledStudentIds.contains(studentId);
-    }
-    
     /**
      * Nombre d'étudiants inscrits
      */
     public int getEnrolledCount() {
-        return enrolledStudentIds.size();
+        return enrolledStudents != null ? enrolledStudents : 0;
     }
     
     /**
      * Vérifie s'il y a de la place
      */
     public boolean hasAvailableSpace() {
-        return enrolledStudentIds.size() < maxStudents;
+        return getEnrolledCount() < maxStudents;
     }
 }
\ No newline at end of file
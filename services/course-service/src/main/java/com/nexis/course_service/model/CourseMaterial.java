@@ -1,10 +1,13 @@
 package com.nexis.course_service.model;
 
 import javax.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course_materials")
 @Table(name = "course_materials")
 @Data
 @NoArgsConstructor
@@ -37,6 +40,12 @@ public class CourseMaterial {
     @Column(name = "file_size")
     private Long fileSize; // in bytes
 
+    @Column(name = "content_type")
+    private String contentType; // type MIME du fichier stocké
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 hex, clé dans MaterialFileStore
+
     @Enumerated(EnumType.STRING)
     private MaterialType type;
 
@@ -66,13 +75,3 @@ public class CourseMaterial {
         updatedAt = LocalDateTime.now();
     }
 }
-
-enum MaterialType {
-    LECTURE_NOTES,
-    SLIDES,
-    VIDEO,
-    ASSIGNMENT,
-    READING,
-    LINK,
-    OTHER
-}
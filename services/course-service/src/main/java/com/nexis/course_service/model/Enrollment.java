@@ -7,6 +7,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "student_id", "course_id" })
+}, indexes = {
+        @Index(name = "idx_enrollments_course_status_waitlist", columnList = "course_id, status, waitlisted_at")
 })
 @Data
 @NoArgsConstructor
@@ -31,6 +33,10 @@ public class Enrollment {
     @Column(name = "enrolled_at")
     private LocalDateTime enrolledAt;
 
+    // Ordre FIFO de la liste d'attente
+    @Column(name = "waitlisted_at")
+    private LocalDateTime waitlistedAt;
+
     @Column(name = "dropped_at")
     private LocalDateTime droppedAt;
 
@@ -47,16 +53,8 @@ public class Enrollment {
     @PrePersist
     protected void onCreate() {
         enrolledAt = LocalDateTime.now();
-        status = EnrollmentStatus.ENROLLED;
+        if (status == null) {
+            status = EnrollmentStatus.ENROLLED;
+        }
     }
 }
-
-enum EnrollmentStatus {
-    PENDING, // Waiting for approval or prerequisite check
-    ENROLLED, // Actively enrolled
-    WAITLISTED, // On waitlist (course full)
-    DROPPED, // Dropped by student
-    WITHDRAWN, // Withdrawn (administrative)
-    COMPLETED, // Successfully completed
-    FAILED // Did not pass
-}
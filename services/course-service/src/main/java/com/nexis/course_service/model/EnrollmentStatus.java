@@ -0,0 +1,11 @@
+package com.nexis.course_service.model;
+
+public enum EnrollmentStatus {
+    PENDING, // Waiting for approval or prerequisite check
+    ENROLLED, // Actively enrolled
+    WAITLISTED, // On waitlist (course full)
+    DROPPED, // Dropped by student
+    WITHDRAWN, // Withdrawn (administrative)
+    COMPLETED, // Successfully completed
+    FAILED // Did not pass
+}
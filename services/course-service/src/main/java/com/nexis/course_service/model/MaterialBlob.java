@@ -0,0 +1,40 @@
+package com.nexis.course_service.model;
+
+import javax.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Contenu stocké une seule fois dans MaterialFileStore, partagé par
+ * plusieurs CourseMaterial (même SHA-256).
+ *
+ * refCount = nombre de supports qui le référencent. A 0, le contenu est
+ * supprimé par MaterialBlobCollector après le délai de grâce.
+ */
+@Entity
+@Table(name = "material_blobs", indexes = {
+        @Index(name = "idx_material_blobs_refcount_released", columnList = "ref_count, released_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaterialBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Passage à 0 référence (début du délai de grâce)
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+}
@@ -0,0 +1,11 @@
+package com.nexis.course_service.model;
+
+public enum MaterialType {
+    LECTURE_NOTES,
+    SLIDES,
+    VIDEO,
+    ASSIGNMENT,
+    READING,
+    LINK,
+    OTHER
+}
@@ -1,16 +1,21 @@
 package com.nexis.course_service.repository;
 
 import com.nexis.course_service.model.CourseMaterial;
+import com.nexis.course_service.model.MaterialType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface CourseMaterialRepository extends JpaRepository<CourseMaterial, Long> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<CourseMaterial> findByCourseIdOrderByOrderIndexAsc(Long courseId);
 
-    List<CourseMaterial> findByCourseIdAndIsVisibleTrue(Long courseId);
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+    List<CourseMaterial> findByCourseIdAndIsVisibleTrueOrderByOrderIndexAsc(Long courseId);
 
-    List<CourseMaterial> findByCourseIdAndType(Long courseId, String type);
+    List<CourseMaterial> findByCourseIdAndType(Long courseId, MaterialType type);
 }
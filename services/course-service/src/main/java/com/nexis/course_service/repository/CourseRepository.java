@@ -22,22 +22,129 @@
 
 package com.nexis.course_service.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.nexis.course_service.model.Course;
 import com.nexis.course_service.model.CourseStatus;
+import com.nexis.course_service.model.EnrollmentStatus;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
+    /**
+     * Espace de synchronisation des mises à jour natives du compteur:
+     * aucune région du cache ne l'utilise, donc une inscription n'invalide
+     * ni la région "courses" ni le cache de requêtes (voir CatalogCache)
+     */
+    String SEAT_COUNTER_SPACE = "course_seat_counters";
+    
+    // ✅ Requêtes du catalogue: résultats en cache de requêtes, entités en cache L2
+    
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     Optional<Course> findByCode(String code);
     
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Course> findByInstructorId(Long instructorId);  // ✅ Utilise Long au lieu de String
     
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Course> findByStatus(CourseStatus status);  // ✅ Utilise l'enum
     
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Course> findBySemester(String semester);
+    
+    // ========== CATALOGUE PAGINÉ (projection, filtres optionnels) ==========
+    
+    String CATALOG_SELECT =
+        "SELECT c.id AS id, c.code AS code, c.title AS title, c.semester AS semester, " +
+        "c.status AS status, c.instructorId AS instructorId, c.credits AS credits, " +
+        "c.maxStudents AS maxStudents, c.enrolledStudents AS enrolledStudents FROM Course c ";
+    
+    String CATALOG_FILTERS =
+        "(:semester IS NULL OR c.semester = :semester) " +
+        "AND (:status IS NULL OR c.status = :status) " +
+        "AND (:instructorId IS NULL OR c.instructorId = :instructorId)";
+    
+    /**
+     * Page numérotée (avec total), triée par le Pageable
+     */
+    @Query(value = CATALOG_SELECT + "WHERE " + CATALOG_FILTERS,
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE " + CATALOG_FILTERS)
+    Page<CourseSummary> findCatalogPage(@Param("semester") String semester,
+                                        @Param("status") CourseStatus status,
+                                        @Param("instructorId") Long instructorId,
+                                        Pageable pageable);
+    
+    /**
+     * Pagination par curseur: cours d'id > afterId, par id croissant.
+     * Coût constant quelle que soit la page (pas d'OFFSET)
+     */
+    @Query(CATALOG_SELECT + "WHERE c.id > :afterId AND " + CATALOG_FILTERS + " ORDER BY c.id")
+    List<CourseSummary> findCatalogAfter(@Param("afterId") Long afterId,
+                                         @Param("semester") String semester,
+                                         @Param("status") CourseStatus status,
+                                         @Param("instructorId") Long instructorId,
+                                         Pageable limit);
+    
+    /**
+     * Catalogue complet en projection (sans description ni listes d'inscrits)
+     */
+    @Query(CATALOG_SELECT + "ORDER BY c.id")
+    List<CourseSummary> findCatalog();
+    
+    // ========== COMPTEUR DE PLACES (mises à jour atomiques) ==========
+    
+    /**
+     * Réserve une place si le cours n'est pas plein
+     * @return 1 si la place est réservée, 0 si le cours est plein ou inexistant
+     */
+    @Modifying
+    @Query(value = "UPDATE courses SET enrolled_students = enrolled_students + 1 " +
+                   "WHERE id = :id AND enrolled_students < max_students", nativeQuery = true)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = SEAT_COUNTER_SPACE))
+    int reserveSeat(@Param("id") Long id);
+    
+    /**
+     * Libère une place
+     */
+    @Modifying
+    @Query(value = "UPDATE courses SET enrolled_students = enrolled_students - 1 " +
+                   "WHERE id = :id AND enrolled_students > 0", nativeQuery = true)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = SEAT_COUNTER_SPACE))
+    int releaseSeat(@Param("id") Long id);
+    
+    /**
+     * Ajoute n inscrits (inscription en masse, ligne déjà verrouillée)
+     */
+    @Modifying
+    @Query(value = "UPDATE courses SET enrolled_students = enrolled_students + :count WHERE id = :id",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = SEAT_COUNTER_SPACE))
+    int addEnrolledStudents(@Param("id") Long id, @Param("count") int count);
+    
+    /**
+     * Charge le cours en verrouillant sa ligne (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :id")
+    Optional<Course> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Recalcule tous les compteurs depuis la table enrollments
+     */
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledStudents = " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course = c AND e.status = :status)")
+    int resyncEnrolledStudents(@Param("status") EnrollmentStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.nexis.course_service.repository;
+
+import com.nexis.course_service.model.CourseStatus;
+
+/**
+ * Projection du catalogue: colonnes de la table courses uniquement,
+ * sans entité gérée ni inscriptions
+ */
+public interface CourseSummary {
+
+    Long getId();
+
+    String getCode();
+
+    String getTitle();
+
+    String getSemester();
+
+    CourseStatus getStatus();
+
+    Long getInstructorId();
+
+    Integer getCredits();
+
+    Integer getMaxStudents();
+
+    Integer getEnrolledStudents();
+}
@@ -1,8 +1,14 @@
 package com.nexis.course_service.repository;
 
 import com.nexis.course_service.model.Enrollment;
+import com.nexis.course_service.model.EnrollmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +21,45 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     Optional<Enrollment> findByStudentIdAndCourseId(String studentId, Long courseId);
 
-    List<Enrollment> findByStudentIdAndStatus(String studentId, String status);
+    List<Enrollment> findByStudentIdAndStatus(String studentId, EnrollmentStatus status);  // ✅ Utilise l'enum
 
-    List<Enrollment> findByCourseIdAndStatus(Long courseId, String status);
+    List<Enrollment> findByCourseIdAndStatus(Long courseId, EnrollmentStatus status);
 
     boolean existsByStudentIdAndCourseId(String studentId, Long courseId);
 
-    long countByCourseIdAndStatus(Long courseId, String status);
+    List<Enrollment> findByCourseIdAndStudentIdIn(Long courseId, Collection<String> studentIds);
+
+    // ✅ Requêtes indexées (unique student_id/course_id, index course_id/status)
+    boolean existsByStudentIdAndCourseIdAndStatus(String studentId, Long courseId, EnrollmentStatus status);
+
+    long countByCourseIdAndStatus(Long courseId, EnrollmentStatus status);
+
+    @Query("SELECT e.studentId FROM Enrollment e WHERE e.course.id = :courseId AND e.status = :status")
+    List<String> findStudentIdsByCourseIdAndStatus(@Param("courseId") Long courseId,
+                                                   @Param("status") EnrollmentStatus status);
+
+    // ========== LISTE D'ATTENTE (FIFO) ==========
+
+    List<Enrollment> findTop5ByCourseIdAndStatusOrderByWaitlistedAtAscIdAsc(Long courseId, EnrollmentStatus status);
+
+    /**
+     * Nombre d'entrées placées avant (waitlistedAt, id) dans la file
+     */
+    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId AND e.status = :status " +
+           "AND (e.waitlistedAt < :at OR (e.waitlistedAt = :at AND e.id < :id))")
+    long countAhead(@Param("courseId") Long courseId,
+                    @Param("status") EnrollmentStatus status,
+                    @Param("at") LocalDateTime at,
+                    @Param("id") Long id);
+
+    /**
+     * Transition conditionnelle: 0 si l'inscription n'est plus dans l'état attendu
+     */
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :to, e.enrolledAt = :now " +
+           "WHERE e.id = :id AND e.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") EnrollmentStatus from,
+                   @Param("to") EnrollmentStatus to,
+                   @Param("now") LocalDateTime now);
 }
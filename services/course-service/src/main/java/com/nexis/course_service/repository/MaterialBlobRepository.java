@@ -0,0 +1,88 @@
+package com.nexis.course_service.repository;
+
+import com.nexis.course_service.model.MaterialBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compteurs de références des contenus stockés.
+ *
+ * ⚠️ Mises à jour natives: l'espace de requête "material_blobs" évite que
+ * Hibernate vide tout le cache de second niveau à chaque envoi de support
+ */
+@Repository
+public interface MaterialBlobRepository extends JpaRepository<MaterialBlob, String> {
+
+    String BLOB_SPACE = "material_blobs";
+
+    /**
+     * +1 référence, en créant la ligne si le contenu est nouveau (atomique)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO material_blobs (hash, size, ref_count, created_at, released_at) " +
+                   "VALUES (:hash, :size, 1, :now, NULL) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, released_at = NULL",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = BLOB_SPACE))
+    int acquire(@Param("hash") String hash, @Param("size") long size, @Param("now") LocalDateTime now);
+
+    /**
+     * +n références sur un contenu existant (clonage de supports, sans I/O fichier)
+     */
+    @Modifying
+    @Query(value = "UPDATE material_blobs SET ref_count = ref_count + :count, released_at = NULL " +
+                   "WHERE hash = :hash", nativeQuery = true)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = BLOB_SPACE))
+    int addReferences(@Param("hash") String hash, @Param("count") int count);
+
+    /**
+     * -1 référence; released_at est posé quand le compteur tombe à 0.
+     * released_at est affecté en premier: MySQL évalue le SET de gauche à droite
+     */
+    @Modifying
+    @Query(value = "UPDATE material_blobs SET " +
+                   "released_at = CASE WHEN ref_count <= 1 THEN :now ELSE released_at END, " +
+                   "ref_count = ref_count - 1 " +
+                   "WHERE hash = :hash AND ref_count > 0", nativeQuery = true)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = BLOB_SPACE))
+    int release(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    /**
+     * Contenus sans référence depuis avant cutoff
+     */
+    @Query("SELECT b.hash FROM MaterialBlob b WHERE b.refCount = 0 AND b.releasedAt < :cutoff")
+    List<String> findCollectable(@Param("cutoff") LocalDateTime cutoff, Pageable limit);
+
+    /**
+     * Verrouille le contenu s'il est toujours sans référence: un acquire()
+     * concurrent attend la fin de la collecte (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM MaterialBlob b WHERE b.hash = :hash AND b.refCount = 0")
+    Optional<MaterialBlob> findCollectableForUpdate(@Param("hash") String hash);
+
+    /**
+     * Crée les compteurs manquants à partir des supports existants
+     * (supports enregistrés avant l'introduction des compteurs)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO material_blobs (hash, size, ref_count, created_at, released_at) " +
+                   "SELECT m.content_hash, MAX(m.file_size), COUNT(*), :now, NULL FROM course_materials m " +
+                   "WHERE m.content_hash IS NOT NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM material_blobs b WHERE b.hash = m.content_hash) " +
+                   "GROUP BY m.content_hash", nativeQuery = true)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = BLOB_SPACE))
+    int backfill(@Param("now") LocalDateTime now);
+}
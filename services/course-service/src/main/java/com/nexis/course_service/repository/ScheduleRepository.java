@@ -1,22 +1,38 @@
 package com.nexis.course_service.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.nexis.course_service.model.Schedule;
+import com.nexis.course_service.model.ScheduleStatus;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Schedule> findByCourseId(Long courseId);
     
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Schedule> findByDayOfWeek(String dayOfWeek);
     
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Schedule> findByRoom(String room);
     
     List<Schedule> findByRoomAndDayOfWeekAndStartTime(String room, String dayOfWeek, String startTime);
     
     List<Schedule> findByStatus(String status);
+    
+    List<Schedule> findByStatusIn(Collection<ScheduleStatus> statuses);
+    
+    List<Schedule> findByCourseSemesterAndStatusIn(String semester, Collection<ScheduleStatus> statuses);
+    
+    // Inventaire des salles: [bâtiment, salle, capacité max]
+    @Query("SELECT s.building, s.room, MAX(s.capacity) FROM Schedule s GROUP BY s.building, s.room")
+    List<Object[]> findRoomCapacities();
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.nexis.course_service.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Date;
+
+/**
+ * Instantané immuable des claims d'un JWT déjà vérifié.
+ * Rempli une seule fois par token puis partagé entre l'interceptor
+ * et les opérations SOAP via le message CXF.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class JwtClaims {
+
+    /** Clé sous laquelle l'interceptor dépose l'instantané dans le message CXF */
+    public static final String MESSAGE_KEY = "jwtClaims";
+
+    private final String username;
+    private final String role;
+    private final Long userId;
+    private final String email;
+
+    /** Claim jti (révocation par token), null pour les tokens émis avant */
+    private final String tokenId;
+
+    /** Claim iat en secondes (0 si absent) */
+    private final long issuedAtSeconds;
+
+    /** Expiration du token en epoch millis (0 si absente) */
+    private final long expiresAtMillis;
+
+    /**
+     * Construit l'instantané à partir des claims jjwt
+     * ✅ Mêmes règles que les anciens extract* (rôle jamais null)
+     */
+    public static JwtClaims from(Claims claims) {
+        Object role = claims.get("role");
+        Object id = claims.get("id");
+        Object email = claims.get("email");
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+
+        return new JwtClaims(
+            claims.getSubject(),
+            role != null ? role.toString() : "UNKNOWN",
+            id instanceof Number ? ((Number) id).longValue() : null,
+            email != null ? email.toString() : null,
+            claims.getId(),
+            issuedAt != null ? issuedAt.getTime() / 1000 : 0L,
+            expiration != null ? expiration.getTime() : 0L
+        );
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis > 0 && expiresAtMillis <= nowMillis;
+    }
+}
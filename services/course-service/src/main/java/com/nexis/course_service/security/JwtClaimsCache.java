@@ -0,0 +1,126 @@
+package com.nexis.course_service.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache des claims de JWT déjà vérifiés.
+ *
+ * - Clé: empreinte SHA-256 du token (le token brut n'est jamais conservé)
+ * - Borné en taille (app.jwt.claims-cache.max-size)
+ * - Borné par l'expiration du token et par un TTL maximum
+ *
+ * Seuls des tokens dont la signature a été vérifiée doivent y entrer.
+ */
+@Slf4j
+@Component
+public class JwtClaimsCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+    private final long maxTtlMillis;
+
+    public JwtClaimsCache(
+            @Value("${app.jwt.claims-cache.max-size:10000}") int maxSize,
+            @Value("${app.jwt.claims-cache.max-ttl:300000}") long maxTtlMillis) {
+        this.maxSize = maxSize;
+        this.maxTtlMillis = maxTtlMillis;
+    }
+
+    /**
+     * Retourne les claims en cache, ou null si absents ou expirés
+     */
+    public JwtClaims get(String token) {
+        if (maxSize <= 0 || token == null || token.isEmpty()) {
+            return null;
+        }
+
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.validUntil <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims;
+    }
+
+    /**
+     * Stocke les claims d'un token vérifié
+     */
+    public void put(String token, JwtClaims claims) {
+        if (maxSize <= 0 || token == null || claims == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long validUntil = now + maxTtlMillis;
+        if (claims.getExpiresAtMillis() > 0) {
+            validUntil = Math.min(validUntil, claims.getExpiresAtMillis());
+        }
+        if (validUntil <= now) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(digest(token), new Entry(claims, validUntil));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Purge les entrées expirées, puis des entrées arbitraires
+     * si le cache est toujours plein
+     */
+    private void evict(long now) {
+        entries.values().removeIf(e -> e.validUntil <= now);
+
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        log.debug("🧹 JWT claims cache evicted, size: {}", entries.size());
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final JwtClaims claims;
+        private final long validUntil;
+
+        private Entry(JwtClaims claims, long validUntil) {
+            this.claims = claims;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -8,12 +8,7 @@ import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.Phase;
 import org.apache.cxf.phase.PhaseInterceptor;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.Collections;
@@ -40,6 +35,8 @@ import java.util.Set;
 public class JwtSoapInterceptor implements PhaseInterceptor<Message> {
 
     private final JwtUtil jwtUtil;  // ✅ Final + RequiredArgsConstructor
+    private final SoapHeaderTokenReader soapHeaderTokenReader;
+    private final RevocationList revocationList;
     private final String phase = Phase.PRE_PROTOCOL;
 
     @Override
@@ -79,26 +76,32 @@ public class JwtSoapInterceptor implements PhaseInterceptor<Message> {
 
             log.debug("✅ Token found, length: {}", token.length());
 
-            // 4️⃣ Valider le token
-            if (!jwtUtil.validateToken(token)) {
+            // 4️⃣ Valider le token (une seule vérification, claims mis en cache)
+            JwtClaims claims = jwtUtil.resolveClaims(token);
+            if (claims == null) {
                 log.warn("⚠️  Invalid or expired JWT token");
                 throw soapFault("Invalid or expired JWT token");
             }
+            // Révocation (déconnexion...) contrôlée à chaque requête, même si les claims viennent du cache
+            if (revocationList.isRevoked(claims)) {
+                log.warn("⚠️  Revoked JWT token for user: {}", claims.getUsername());
+                throw soapFault("Revoked JWT token");
+            }
 
-            // 5️⃣ Extraire username et rôle
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);  // ✅ Ne retourne jamais null
-            Long userId = jwtUtil.extractUserId(token);
-            String email = jwtUtil.extractEmail(token);
+            String username = claims.getUsername();
+            String role = claims.getRole();  // ✅ Ne retourne jamais null
+            Long userId = claims.getUserId();
 
-            // 6️⃣ Stocker dans le message pour les services
+            // 5️⃣ Stocker dans le message pour les services
+            message.put(JwtClaims.MESSAGE_KEY, claims);
             message.put("username", username);
             message.put("role", role);
             message.put("userId", userId);
-            message.put("email", email);
+            message.put("email", claims.getEmail());
             message.put("token", token);
 
-            log.info("✅ JWT validated - User: {} | Role: {} | ID: {}", 
+            // Une ligne par requête: DEBUG uniquement
+            log.debug("✅ JWT validated - User: {} | Role: {} | ID: {}", 
                 username, role, userId);
 
         } catch (SoapFault sf) {
@@ -146,6 +149,7 @@ public class JwtSoapInterceptor implements PhaseInterceptor<Message> {
     /**
      * ✅ AMÉLIORATION: Extraction du token depuis le header SOAP
      * Format: <Authorization>Bearer TOKEN</Authorization> ou <Authorization>TOKEN</Authorization>
+     * Lecture StAX arrêtée à la fin de soap:Header, seul le préfixe lu est rejoué
      */
     private String extractTokenFromSoapHeaders(Message message) {
         try {
@@ -155,27 +159,14 @@ public class JwtSoapInterceptor implements PhaseInterceptor<Message> {
                 return null;
             }
 
-            byte[] bytes = is.readAllBytes();
-            if (bytes.length == 0) {
-                log.debug("⚠️  Empty input stream");
-                return null;
-            }
+            SoapHeaderTokenReader.Result result = soapHeaderTokenReader.read(is);
 
-            Document doc = parseXml(new ByteArrayInputStream(bytes));
-            
             // ✅ Remettre l'InputStream pour les traitements suivants
-            message.setContent(InputStream.class, new ByteArrayInputStream(bytes));
-
-            NodeList authElements = doc.getElementsByTagName("Authorization");
-            if (authElements.getLength() == 0) {
-                log.debug("⚠️  No Authorization element in SOAP headers");
-                return null;
-            }
+            message.setContent(InputStream.class, result.getStream());
 
-            String token = authElements.item(0).getTextContent();
-            
+            String token = result.getToken();
             if (token == null || token.trim().isEmpty()) {
-                log.debug("⚠️  Authorization element is empty");
+                log.debug("⚠️  No Authorization element in SOAP headers");
                 return null;
             }
 
@@ -196,22 +187,6 @@ public class JwtSoapInterceptor implements PhaseInterceptor<Message> {
         }
     }
 
-    /**
-     * Parser XML sécurisé
-     */
-    private Document parseXml(InputStream is) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        
-        // ✅ Sécurité: désactiver les XXE attacks
-        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        return builder.parse(is);
-    }
-
     private SoapFault soapFault(String msg) {
         return new SoapFault(msg, SoapFault.FAULT_CODE_CLIENT);
     }
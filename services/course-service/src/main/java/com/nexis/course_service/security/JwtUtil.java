@@ -1,47 +1,54 @@
 package com.nexis.course_service.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.util.Date;
-
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
     
-    @Value("${app.jwt.secret:MyVerySecureSecretKeyForAuthenticationJWTTokens2024WithEnoughCharacters}")
-    private String secretKey;
+    private final JwtClaimsCache claimsCache;
+    
+    // ✅ Clé et parser construits une seule fois (voir JwtCodec)
+    private final JwtCodec codec;
     
     @Value("${app.jwt.expiration:86400000}")
     private long expirationTime;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-    }
-    
     /**
      * Validation du token JWT
      * ✅ Gère tous les types d'exceptions
      */
     public boolean validateToken(String token) {
+        return resolveClaims(token) != null;
+    }
+    
+    /**
+     * ✅ Parse et vérifie le token une seule fois, puis sert les claims depuis le cache
+     * Retourne null si le token est absent, invalide ou expiré
+     */
+    public JwtClaims resolveClaims(String token) {
         if (token == null || token.isEmpty()) {
             log.debug("⚠️  Token is null or empty");
-            return false;
+            return null;
+        }
+        
+        JwtClaims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
         }
         
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
+            JwtClaims snapshot = codec.parse(token);
             log.debug("✅ Token JWT valide");  // ✅ DEBUG au lieu de INFO
-            return true;
+            
+            claimsCache.put(token, snapshot);
+            return snapshot;
         } catch (SignatureException e) {  // ✅ Import correct
             log.error("❌ Signature JWT invalide: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -55,7 +62,7 @@ public class JwtUtil {
         } catch (Exception e) {
             log.error("❌ Erreur validation token: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
     
     /**
@@ -63,16 +70,8 @@ public class JwtUtil {
      * ✅ Extraction sûre avec gestion des erreurs
      */
     public String extractUsername(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            if (claims == null) {
-                return null;
-            }
-            return claims.getSubject();
-        } catch (Exception e) {
-            log.error("❌ Erreur extraction username: {}", e.getMessage());
-            return null;
-        }
+        JwtClaims claims = resolveClaims(token);
+        return claims != null ? claims.getUsername() : null;
     }
     
     /**
@@ -80,19 +79,12 @@ public class JwtUtil {
      * Toujours retourne une valeur (jamais null)
      */
     public String extractRole(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            if (claims == null) {
-                log.warn("⚠️  No claims found in token");
-                return "UNKNOWN";
-            }
-            
-            Object role = claims.get("role");
-            return role != null ? role.toString() : "UNKNOWN";
-        } catch (Exception e) {
-            log.error("❌ Erreur extraction rôle: {}", e.getMessage());
-            return "UNKNOWN";  // ✅ Retourner "UNKNOWN" au lieu de null
+        JwtClaims claims = resolveClaims(token);
+        if (claims == null) {
+            log.warn("⚠️  No claims found in token");
+            return "UNKNOWN";
         }
+        return claims.getRole();
     }
     
     /**
@@ -106,11 +98,7 @@ public class JwtUtil {
         }
         
         try {
-            return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+            return codec.parseClaims(token);
         } catch (ExpiredJwtException e) {
             log.warn("⚠️  Token expired: {}", e.getMessage());
             return null;
@@ -124,53 +112,24 @@ public class JwtUtil {
      * ✅ NOUVELLE: Extraire l'ID utilisateur
      */
     public Long extractUserId(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            if (claims == null) {
-                return null;
-            }
-            
-            Object id = claims.get("id");
-            if (id instanceof Number) {
-                return ((Number) id).longValue();
-            }
-            return null;
-        } catch (Exception e) {
-            log.error("❌ Erreur extraction ID: {}", e.getMessage());
-            return null;
-        }
+        JwtClaims claims = resolveClaims(token);
+        return claims != null ? claims.getUserId() : null;
     }
     
     /**
      * ✅ NOUVELLE: Extraire l'email
      */
     public String extractEmail(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            if (claims == null) {
-                return null;
-            }
-            return (String) claims.get("email");
-        } catch (Exception e) {
-            log.error("❌ Erreur extraction email: {}", e.getMessage());
-            return null;
-        }
+        JwtClaims claims = resolveClaims(token);
+        return claims != null ? claims.getEmail() : null;
     }
     
     /**
      * Vérifier si le token est expiré
      */
     public boolean isTokenExpired(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            if (claims == null) {
-                return true;
-            }
-            return claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            log.error("❌ Erreur vérification expiration: {}", e.getMessage());
-            return true;
-        }
+        JwtClaims claims = resolveClaims(token);
+        return claims == null || claims.isExpired(System.currentTimeMillis());
     }
     
     public long getExpirationTime() {
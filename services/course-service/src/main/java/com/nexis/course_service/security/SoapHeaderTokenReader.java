@@ -0,0 +1,172 @@
+package com.nexis.course_service.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+
+/**
+ * Lecture en streaming (StAX) du token dans le header SOAP.
+ *
+ * - S'arrête à la fin de soap:Header (ou au début de soap:Body)
+ * - Ne bufferise que le préfixe effectivement lu, le reste du corps
+ *   n'est jamais chargé en mémoire
+ * - Factory StAX partagée et durcie contre les XXE
+ */
+@Slf4j
+@Component
+public class SoapHeaderTokenReader {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String HEADER = "Header";
+    private static final String BODY = "Body";
+
+    private final XMLInputFactory factory;
+
+    public SoapHeaderTokenReader() {
+        XMLInputFactory f = XMLInputFactory.newInstance();
+        // ✅ Sécurité: pas de DTD ni d'entités externes
+        f.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        f.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        f.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        this.factory = f;
+    }
+
+    /**
+     * Résultat de la lecture: le token (ou null) et le flux à remettre
+     * dans le message, qui rejoue le préfixe lu puis le reste du corps
+     */
+    public static final class Result {
+        private final String token;
+        private final InputStream stream;
+
+        private Result(String token, InputStream stream) {
+            this.token = token;
+            this.stream = stream;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public InputStream getStream() {
+            return stream;
+        }
+    }
+
+    /**
+     * Ne lève jamais d'exception: en cas d'erreur de lecture le token est null
+     * et le flux rejoué reste complet
+     */
+    public Result read(InputStream in) {
+        RecordingInputStream recording = new RecordingInputStream(in);
+        String token = null;
+
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(recording);
+            boolean inHeader = false;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (HEADER.equals(name)) {
+                        inHeader = true;
+                    } else if (BODY.equals(name)) {
+                        break;
+                    } else if (inHeader && AUTHORIZATION.equals(name)) {
+                        token = reader.getElementText();
+                        break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT
+                        && inHeader && HEADER.equals(reader.getLocalName())) {
+                    break;
+                }
+            }
+        } catch (XMLStreamException | RuntimeException e) {
+            // ⚠️ Les parseurs StAX lèvent aussi des RuntimeException sur un XML
+            // malformé: le préfixe lu doit être rejoué dans tous les cas
+            log.debug("⚠️  Could not read SOAP headers: {}", e.getMessage());
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();  // ne ferme pas le flux sous-jacent
+                } catch (XMLStreamException ignored) {
+                    // rien à libérer de plus
+                }
+            }
+        }
+
+        InputStream replay = new SequenceInputStream(
+            new ByteArrayInputStream(recording.buffer, 0, recording.count), in);
+        return new Result(token, replay);
+    }
+
+    /**
+     * Copie chaque octet lu depuis le flux d'origine pour pouvoir le rejouer
+     */
+    private static final class RecordingInputStream extends FilterInputStream {
+        private byte[] buffer = new byte[1024];
+        private int count;
+
+        private RecordingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                ensureCapacity(1);
+                buffer[count++] = (byte) b;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                ensureCapacity(n);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Passer par read() pour que les octets sautés soient rejoués
+            byte[] tmp = new byte[(int) Math.min(n, 512)];
+            int r = read(tmp, 0, tmp.length);
+            return Math.max(r, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // Le flux d'origine est rejoué ensuite, ne pas le fermer
+        }
+
+        private void ensureCapacity(int extra) {
+            if (count + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.Enrollment;
+import com.nexis.course_service.model.EnrollmentStatus;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.EnrollmentRepository;
+import com.nexis.course_service.service.SeatReservationService.Outcome;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Inscription en masse (import du registrariat en début de semestre).
+ *
+ * Tout le lot passe dans une seule transaction:
+ * - chaque cours est verrouillé une fois (SELECT ... FOR UPDATE, ordre croissant d'id)
+ * - les inscriptions existantes sont lues en une requête par cours
+ * - les nouvelles lignes sont insérées par batch JDBC (l'id IDENTITY
+ *   empêche Hibernate de batcher ces insertions)
+ * - le compteur du cours est mis à jour une seule fois
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkEnrollmentService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO enrollments (student_id, course_id, status, enrolled_at, waitlisted_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String REACTIVATE_SQL =
+        "UPDATE enrollments SET status = ?, enrolled_at = ?, waitlisted_at = ?, dropped_at = NULL WHERE id = ?";
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCache catalogCache;
+
+    @Value("${app.enrollment.bulk-max-items:10000}")
+    private int maxItems;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    /**
+     * Inscrit une liste d'étudiants à un cours
+     * @return un résultat par étudiant, dans l'ordre de la liste
+     */
+    @Transactional
+    public List<Outcome> enroll(Long courseId, List<Long> studentIds) {
+        Long[] courseIds = new Long[studentIds.size()];
+        Arrays.fill(courseIds, courseId);
+        return enroll(Arrays.asList(courseIds), studentIds);
+    }
+
+    /**
+     * Inscrit une liste de couples (courseIds[i], studentIds[i])
+     * @return un résultat par couple, dans l'ordre d'entrée
+     */
+    @Transactional
+    public List<Outcome> enroll(List<Long> courseIds, List<Long> studentIds) {
+        if (courseIds.size() != studentIds.size()) {
+            throw new IllegalArgumentException("Listes cours/étudiants de tailles différentes");
+        }
+        if (courseIds.size() > maxItems) {
+            throw new IllegalArgumentException("Lot trop volumineux (max " + maxItems + " inscriptions)");
+        }
+
+        // Regrouper par cours, ordre croissant pour éviter les deadlocks entre lots
+        Map<Long, List<Integer>> byCourse = new TreeMap<>();
+        for (int i = 0; i < courseIds.size(); i++) {
+            byCourse.computeIfAbsent(courseIds.get(i), k -> new ArrayList<>()).add(i);
+        }
+
+        Outcome[] results = new Outcome[courseIds.size()];
+        for (Map.Entry<Long, List<Integer>> entry : byCourse.entrySet()) {
+            enrollCourse(entry.getKey(), entry.getValue(), studentIds, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void enrollCourse(Long courseId, List<Integer> indexes, List<Long> studentIds, Outcome[] results) {
+        Optional<Course> locked = courseRepository.findByIdForUpdate(courseId);
+        if (locked.isEmpty()) {
+            indexes.forEach(i -> results[i] = Outcome.COURSE_NOT_FOUND);
+            return;
+        }
+        Course course = locked.get();
+        int seatsLeft = Math.max(0, course.getMaxStudents() - course.getEnrolledCount());
+
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        indexes.forEach(i -> distinct.add(String.valueOf(studentIds.get(i))));
+
+        Map<String, Enrollment> existing = new HashMap<>();
+        for (Enrollment e : enrollmentRepository.findByCourseIdAndStudentIdIn(courseId, distinct)) {
+            existing.put(e.getStudentId(), e);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> reactivations = new ArrayList<>();
+        Map<String, Outcome> decided = new HashMap<>();
+        int enrolled = 0;
+
+        for (int i : indexes) {
+            String sid = String.valueOf(studentIds.get(i));
+
+            Outcome outcome = decided.get(sid);
+            if (outcome != null) {
+                // Doublon dans le lot: même issue que la première occurrence
+                results[i] = outcome == Outcome.WAITLISTED ? Outcome.ALREADY_WAITLISTED : Outcome.ALREADY_ENROLLED;
+                continue;
+            }
+
+            Enrollment current = existing.get(sid);
+            if (current != null && current.getStatus() == EnrollmentStatus.ENROLLED) {
+                outcome = Outcome.ALREADY_ENROLLED;
+            } else if (current != null && current.getStatus() == EnrollmentStatus.WAITLISTED) {
+                outcome = Outcome.ALREADY_WAITLISTED;
+            } else {
+                boolean seat = seatsLeft > 0;
+                if (seat) {
+                    seatsLeft--;
+                    enrolled++;
+                }
+                EnrollmentStatus status = seat ? EnrollmentStatus.ENROLLED : EnrollmentStatus.WAITLISTED;
+                Timestamp waitlistedAt = seat ? null : now;
+
+                if (current == null) {
+                    inserts.add(new Object[] { sid, courseId, status.name(), now, waitlistedAt });
+                } else {
+                    reactivations.add(new Object[] { status.name(), now, waitlistedAt, current.getId() });
+                }
+                outcome = seat ? Outcome.ENROLLED : Outcome.WAITLISTED;
+            }
+
+            decided.put(sid, outcome);
+            results[i] = outcome;
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, batchSize, (ps, row) -> {
+                for (int c = 0; c < row.length; c++) {
+                    ps.setObject(c + 1, row[c]);
+                }
+            });
+        }
+        if (!reactivations.isEmpty()) {
+            jdbcTemplate.batchUpdate(REACTIVATE_SQL, reactivations, batchSize, (ps, row) -> {
+                for (int c = 0; c < row.length; c++) {
+                    ps.setObject(c + 1, row[c]);
+                }
+            });
+        }
+        if (enrolled > 0) {
+            courseRepository.addEnrolledStudents(courseId, enrolled);
+            catalogCache.evictCourse(courseId);
+        }
+
+        log.info("Inscription en masse cours {}: {} demandes, {} inscrits, {} insertions, {} réactivations",
+            courseId, indexes.size(), enrolled, inserts.size(), reactivations.size());
+    }
+}
@@ -0,0 +1,77 @@
+package com.nexis.course_service.service;
+
+/**
+ * Plage d'octets [start, end] (bornes incluses) d'un en-tête HTTP Range.
+ *
+ * Formes acceptées: "bytes=0-499", "bytes=500-", "bytes=-500".
+ * Plusieurs plages ("bytes=0-1,5-9") ne sont pas servies: le fichier entier
+ * est renvoyé, ce que la RFC 7233 autorise.
+ */
+public final class ByteRange {
+
+    private final long start;
+    private final long end;
+
+    public ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * @return la plage demandée, ou null si l'en-tête est absent ou ignoré
+     * @throws IllegalArgumentException si la plage ne peut pas être satisfaite (416)
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        if (spec.isEmpty() || spec.indexOf(',') >= 0) {
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // suffixe: les N derniers octets
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    throw new IllegalArgumentException("Plage non satisfiable: " + header);
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                long requestedEnd = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                if (requestedEnd < start) {
+                    return null;  // syntaxe invalide: en-tête ignoré
+                }
+                end = Math.min(requestedEnd, size - 1);
+            }
+            if (start >= size || start > end) {
+                throw new IllegalArgumentException("Plage non satisfiable: " + header);
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache de second niveau du catalogue (Course, Schedule, CourseMaterial).
+ *
+ * Les écritures JPA (CourseService, ScheduleService) sont propagées au cache
+ * par Hibernate (READ_WRITE). Seules les mises à jour natives du compteur
+ * d'inscrits passent à côté: elles évincent le cours concerné, tout de suite
+ * et après le commit, pour qu'une lecture concurrente ne remette pas
+ * l'ancienne valeur en cache.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCache {
+
+    public static final List<String> REGIONS = List.of("courses", "schedules", "course_materials");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictCourse(Long courseId) {
+        entityManagerFactory.getCache().evict(Course.class, courseId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManagerFactory.getCache().evict(Course.class, courseId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Après des écritures JDBC (hors Hibernate): entités du type et résultats de requêtes
+     */
+    public void evictAfterBulkSql(Class<?> entityType) {
+        entityManagerFactory.getCache().evict(entityType);
+        sessionFactory().getCache().evictQueryRegions();
+    }
+
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        sessionFactory().getCache().evictQueryRegions();
+        log.info("✅ Cache du catalogue vidé");
+    }
+
+    /**
+     * Compteurs par région: hits, misses, puts, entrées en mémoire
+     */
+    public Map<String, long[]> statistics() {
+        Statistics stats = sessionFactory().getStatistics();
+        Map<String, long[]> result = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics r = stats.getDomainDataRegionStatistics(region);
+            result.put(region, new long[] {
+                r.getHitCount(), r.getMissCount(), r.getPutCount(), r.getElementCountInMemory() });
+        }
+        result.put("query", new long[] {
+            stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount(), stats.getQueryCachePutCount(), -1 });
+        return result;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return sessionFactory().getStatistics().isStatisticsEnabled();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,20 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.repository.CourseSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Page du catalogue.
+ * nextPageToken null = dernière page; totalElements -1 = non calculé (pagination par curseur)
+ */
+@Data
+@AllArgsConstructor
+public class CatalogPage {
+
+    private List<CourseSummary> items;
+    private String nextPageToken;
+    private long totalElements;
+}
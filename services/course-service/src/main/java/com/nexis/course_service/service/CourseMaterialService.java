@@ -0,0 +1,147 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseMaterial;
+import com.nexis.course_service.model.MaterialType;
+import com.nexis.course_service.repository.CourseMaterialRepository;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.MaterialBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Supports de cours: métadonnées en base (CourseMaterialRepository),
+ * contenu dans MaterialFileStore, stocké une fois par SHA-256 et compté
+ * dans material_blobs (MaterialBlobRepository).
+ *
+ * ⚠️ Le fichier est écrit avant l'ouverture de la transaction: un envoi
+ * de plusieurs Go ne garde pas de connexion JDBC pendant le transfert.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseMaterialService {
+
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final CourseMaterialRepository materialRepository;
+    private final CourseRepository courseRepository;
+    private final MaterialBlobRepository blobRepository;
+    private final MaterialFileStore fileStore;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Enregistre un support et son contenu (lu en flux, jamais en mémoire)
+     */
+    public CourseMaterial upload(Long courseId, String title, String description, String type,
+                                 String fileName, String contentType, InputStream content) throws IOException {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("Titre manquant");
+        }
+        if (content == null) {
+            throw new IllegalArgumentException("Contenu manquant");
+        }
+        MaterialType materialType = parseType(type);
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new RuntimeException("Cours non trouvé"));
+
+        MaterialFileStore.StagedContent staged = fileStore.stage(content);
+        CourseMaterial saved;
+        try {
+            // Compteur et métadonnées dans la même transaction: un échec n'ajoute pas de référence
+            saved = transactionTemplate.execute(status -> {
+                blobRepository.acquire(staged.getHash(), staged.getSize(), LocalDateTime.now());
+
+                CourseMaterial material = new CourseMaterial();
+                material.setCourse(course);
+                material.setTitle(title);
+                material.setDescription(description);
+                material.setType(materialType);
+                material.setFileName(fileName);
+                material.setFileType(materialType.name());
+                material.setContentType(contentType == null || contentType.isBlank() ? DEFAULT_CONTENT_TYPE : contentType);
+                material.setContentHash(staged.getHash());
+                material.setFileSize(staged.getSize());
+                material.setOrderIndex(materialRepository.findByCourseIdOrderByOrderIndexAsc(courseId).size() + 1);
+                material.setIsDownloadable(true);
+                material.setIsVisible(true);
+                return materialRepository.save(material);
+            });
+        } catch (RuntimeException e) {
+            fileStore.discard(staged);
+            throw e;
+        }
+
+        // Après le commit: si une collecte a supprimé le fichier entre-temps, il est remis en place
+        boolean written = fileStore.commit(staged);
+        log.info("✅ Support {} ajouté au cours {} ({} octets, {}{})",
+            saved.getId(), courseId, staged.getSize(), staged.getHash(), written ? "" : ", contenu déjà stocké");
+        return saved;
+    }
+
+    /**
+     * Supprime un support; son contenu est collecté quand plus aucun support ne le référence
+     */
+    @Transactional
+    public void deleteMaterial(Long materialId) {
+        CourseMaterial material = getMaterial(materialId);
+        materialRepository.delete(material);
+        if (material.getContentHash() != null) {
+            blobRepository.release(material.getContentHash(), LocalDateTime.now());
+        }
+        log.info("Suppression du support: {}", materialId);
+    }
+
+    @Transactional(readOnly = true)
+    public CourseMaterial getMaterial(Long materialId) {
+        return materialRepository.findById(materialId)
+            .orElseThrow(() -> new RuntimeException("Support non trouvé"));
+    }
+
+    /**
+     * Supports d'un cours; les supports masqués ne sont listés que pour
+     * les enseignants et administrateurs
+     */
+    @Transactional(readOnly = true)
+    public List<CourseMaterial> getMaterialsByCourse(Long courseId, boolean privileged) {
+        return privileged
+            ? materialRepository.findByCourseIdOrderByOrderIndexAsc(courseId)
+            : materialRepository.findByCourseIdAndIsVisibleTrueOrderByOrderIndexAsc(courseId);
+    }
+
+    /**
+     * Support dont le contenu peut être servi (fichier présent dans le stockage)
+     */
+    @Transactional(readOnly = true)
+    public CourseMaterial getDownloadableMaterial(Long materialId, boolean privileged) {
+        CourseMaterial material = getMaterial(materialId);
+        if (!privileged && (Boolean.FALSE.equals(material.getIsVisible())
+                || Boolean.FALSE.equals(material.getIsDownloadable()))) {
+            throw new RuntimeException("Support non téléchargeable");
+        }
+        if (material.getContentHash() == null || !fileStore.exists(material.getContentHash())) {
+            throw new RuntimeException("Contenu du support non trouvé");
+        }
+        return material;
+    }
+
+    private static MaterialType parseType(String type) {
+        if (type == null || type.isBlank()) {
+            return MaterialType.OTHER;
+        }
+        try {
+            return MaterialType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Type de support invalide: " + type);
+        }
+    }
+}
@@ -96,14 +96,35 @@
 
 package com.nexis.course_service.service;
 
+import com.nexis.course_service.logging.LogSampling;
 import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseStatus;
+import com.nexis.course_service.model.EnrollmentStatus;
 import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.CourseSummary;
+import com.nexis.course_service.repository.EnrollmentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -111,6 +132,36 @@ import java.util.Optional;
 public class CourseService {
     
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final SeatReservationService seatReservationService;
+    private final LegacyEnrollmentMigration legacyEnrollmentMigration;
+    private final ScheduleService scheduleService;
+    
+    @Value("${app.enrollment.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${app.enrollment.resync-on-startup:true}")
+    private boolean resyncOnStartup;
+    
+    @Value("${app.catalog.default-page-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${app.catalog.max-page-size:200}")
+    private int maxPageSize;
+    
+    private static final String PAGE_TOKEN_PREFIX = "c1:";
+    
+    /**
+     * Réaligne les compteurs d'inscrits au démarrage (données seedées en SQL)
+     * Les inscriptions de l'ancienne table course_enrollments sont reprises avant
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resyncEnrolledCounters() {
+        int migrated = legacyEnrollmentMigration.migrate();
+        if (resyncOnStartup || migrated > 0) {
+            seatReservationService.resyncCounters();
+        }
+    }
     
     /**
      * Ajouter un nouveau cours
@@ -125,7 +176,10 @@ public class CourseService {
     
     /**
      * Mettre à jour un cours
+     * Une seule transaction: la nouvelle capacité et la promotion de la liste
+     * d'attente sont validées ensemble, un inscrit direct ne peut pas s'intercaler
      */
+    @Transactional
     public Course updateCourse(Long id, Course courseDetails) {
         Optional<Course> existing = courseRepository.findById(id);
         if (existing.isEmpty()) {
@@ -133,6 +187,7 @@ public class CourseService {
         }
         
         Course course = existing.get();
+        String previousSemester = course.getSemester();
         
         if (courseDetails.getTitle() != null) {
             course.setTitle(courseDetails.getTitle());
@@ -149,7 +204,9 @@ public class CourseService {
         if (courseDetails.getSemester() != null) {
             course.setSemester(courseDetails.getSemester());
         }
+        boolean capacityIncreased = false;
         if (courseDetails.getMaxStudents() != null) {
+            capacityIncreased = courseDetails.getMaxStudents() > course.getMaxStudents();
             course.setMaxStudents(courseDetails.getMaxStudents());
         }
         if (courseDetails.getStatus() != null) {
@@ -157,17 +214,31 @@ public class CourseService {
         }
         
         log.info("Mise à jour du cours: {}", id);
-        return courseRepository.save(course);
+        // flush: reserveSeat (UPDATE natif) doit voir la nouvelle capacité
+        Course saved = courseRepository.saveAndFlush(course);
+        
+        // Les salles sont indexées par semestre: déplacer les créneaux du cours
+        if (!Objects.equals(previousSemester, saved.getSemester())) {
+            scheduleService.moveCourseSchedules(id, previousSemester);
+        }
+        
+        // Nouvelles places: servir la liste d'attente
+        if (capacityIncreased) {
+            seatReservationService.promoteWaitlisted(id);
+        }
+        return saved;
     }
     
     /**
-     * Supprimer un cours
+     * Supprimer un cours (ses créneaux partent en cascade et libèrent leurs salles)
      */
+    @Transactional
     public void deleteCourse(Long id) {
         if (!courseRepository.existsById(id)) {
             throw new RuntimeException("Cours non trouvé");
         }
         log.info("Suppression du cours: {}", id);
+        scheduleService.releaseCourseSchedules(id);
         courseRepository.deleteById(id);
     }
     
@@ -200,77 +271,213 @@ public class CourseService {
     }
     
     /**
-     * ✅ NOUVEAU : Inscrire un étudiant à un cours
+     * Catalogue complet en projection (colonnes du catalogue uniquement)
      */
-    public boolean enrollStudent(Long courseId, Long studentId) {
-        Optional<Course> course = courseRepository.findById(courseId);
-        if (course.isEmpty()) {
-            throw new RuntimeException("Cours non trouvé");
+    public List<CourseSummary> getCatalogSummaries() {
+        return courseRepository.findCatalog();
+    }
+    
+    // ========== CATALOGUE PAGINÉ ==========
+    
+    /**
+     * Page suivante du catalogue (pagination par curseur sur l'id)
+     * @param pageToken null ou vide pour la première page
+     * @param status, semester, instructorId filtres optionnels (null = tous)
+     */
+    public CatalogPage getCatalog(String semester, String status, Long instructorId,
+                                  Integer pageSize, String pageToken) {
+        int size = pageSize(pageSize);
+        long afterId = decodePageToken(pageToken);
+        
+        List<CourseSummary> rows = courseRepository.findCatalogAfter(
+            afterId, blankToNull(semester), parseStatus(status), instructorId, PageRequest.of(0, size + 1));
+        
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = encodePageToken(rows.get(size - 1).getId());
         }
+        return new CatalogPage(rows, next, -1);
+    }
+    
+    /**
+     * Page numérotée (0 = première) avec le nombre total de cours
+     */
+    public CatalogPage getCatalogPage(String semester, String status, Long instructorId,
+                                      Integer page, Integer pageSize) {
+        int size = pageSize(pageSize);
+        int number = page != null && page > 0 ? page : 0;
         
-        Course c = course.get();
-        boolean enrolled = c.enrollStudent(studentId);
+        Page<CourseSummary> result = courseRepository.findCatalogPage(
+            blankToNull(semester), parseStatus(status), instructorId,
+            PageRequest.of(number, size, Sort.by("id")));
         
-        if (enrolled) {
-            courseRepository.save(c);
-            log.info("Étudiant {} inscrit au cours {}", studentId, courseId);
-        } else {
-            log.warn("Impossible d'inscrire étudiant {} au cours {}", studentId, courseId);
+        String next = result.hasNext() ? String.valueOf(number + 1) : null;
+        return new CatalogPage(result.getContent(), next, result.getTotalElements());
+    }
+    
+    private int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+    
+    private static CourseStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
         }
+        try {
+            return CourseStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Statut invalide: " + status);
+        }
+    }
+    
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+    
+    private static String encodePageToken(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((PAGE_TOKEN_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static long decodePageToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PAGE_TOKEN_PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            return Long.parseLong(decoded.substring(PAGE_TOKEN_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Jeton de page invalide");
+        }
+    }
+    
+    /**
+     * ✅ NOUVEAU : Inscrire un étudiant à un cours
+     * Place réservée par UPDATE conditionnelle, tentatives bornées en cas de conflit
+     * Cours plein: l'étudiant rejoint la liste d'attente (WAITLISTED)
+     */
+    public SeatReservationService.Outcome enroll(Long courseId, Long studentId) {
+        SeatReservationService.Outcome outcome = withRetry(
+            () -> seatReservationService.reserve(courseId, String.valueOf(studentId)));
         
-        return enrolled;
+        switch (outcome) {
+            case ENROLLED:
+                log.info(LogSampling.SAMPLED, "Étudiant {} inscrit au cours {}", studentId, courseId);
+                break;
+            case WAITLISTED:
+                log.info(LogSampling.SAMPLED, "Étudiant {} en liste d'attente du cours {}", studentId, courseId);
+                break;
+            case COURSE_NOT_FOUND:
+                throw new RuntimeException("Cours non trouvé");
+            default:
+                log.warn("Impossible d'inscrire étudiant {} au cours {} ({})", studentId, courseId, outcome);
+        }
+        return outcome;
+    }
+    
+    /**
+     * Inscrire un étudiant: true seulement si une place a été attribuée
+     */
+    public boolean enrollStudent(Long courseId, Long studentId) {
+        return enroll(courseId, studentId) == SeatReservationService.Outcome.ENROLLED;
+    }
+    
+    /**
+     * Position dans la liste d'attente (1 = prochain promu), 0 si absent
+     */
+    public int getWaitlistPosition(Long courseId, Long studentId) {
+        return seatReservationService.waitlistPosition(courseId, String.valueOf(studentId));
     }
     
     /**
      * ✅ NOUVEAU : Désinscrire un étudiant
+     * La place libérée est attribuée à la tête de la liste d'attente
      */
     public boolean removeStudent(Long courseId, Long studentId) {
-        Optional<Course> course = courseRepository.findById(courseId);
-        if (course.isEmpty()) {
+        if (!courseRepository.existsById(courseId)) {
             throw new RuntimeException("Cours non trouvé");
         }
         
-        Course c = course.get();
-        boolean removed = c.removeStudent(studentId);
+        boolean removed = withRetry(
+            () -> seatReservationService.release(courseId, String.valueOf(studentId)));
         
         if (removed) {
-            courseRepository.save(c);
-            log.info("Étudiant {} désinscrit du cours {}", studentId, courseId);
+            log.info(LogSampling.SAMPLED, "Étudiant {} désinscrit du cours {}", studentId, courseId);
         }
-        
         return removed;
     }
     
+    /**
+     * Rejoue une opération transactionnelle en cas de conflit de verrou
+     * (deadlock, timeout) ou de double insertion concurrente, au plus maxAttempts fois
+     */
+    private <T> T withRetry(Supplier<T> operation) {
+        int attempt = 1;
+        while (true) {
+            try {
+                return operation.get();
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Inscription abandonnée après {} tentatives: {}", attempt, e.getMessage());
+                    throw new RuntimeException("Conflit d'inscription, veuillez réessayer", e);
+                }
+                log.debug("Conflit d'inscription (tentative {}): {}", attempt, e.getMessage());
+                backoff(attempt++);
+            }
+        }
+    }
+    
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20L * attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Inscription interrompue", e);
+        }
+    }
+    
     /**
      * ✅ NOUVEAU : Vérifier si un étudiant est inscrit
      */
     public boolean isStudentEnrolled(Long courseId, Long studentId) {
-        Optional<Course> course = courseRepository.findById(courseId);
-        if (course.isEmpty()) {
+        if (enrollmentRepository.existsByStudentIdAndCourseIdAndStatus(
+                String.valueOf(studentId), courseId, EnrollmentStatus.ENROLLED)) {
+            return true;
+        }
+        if (!courseRepository.existsById(courseId)) {
             throw new RuntimeException("Cours non trouvé");
         }
-        return course.get().isStudentEnrolled(studentId);
+        return false;
     }
     
     /**
      * ✅ NOUVEAU : Obtenir les étudiants inscrits
      */
     public List<Long> getEnrolledStudents(Long courseId) {
-        Optional<Course> course = courseRepository.findById(courseId);
-        if (course.isEmpty()) {
+        if (!courseRepository.existsById(courseId)) {
             throw new RuntimeException("Cours non trouvé");
         }
-        return course.get().getEnrolledStudentIds();
+        return enrollmentRepository
+            .findStudentIdsByCourseIdAndStatus(courseId, EnrollmentStatus.ENROLLED)
+            .stream()
+            .map(Long::valueOf)
+            .collect(Collectors.toList());
     }
     
     /**
      * ✅ NOUVEAU : Obtenir le nombre d'inscrits
      */
     public int getEnrolledCount(Long courseId) {
-        Optional<Course> course = courseRepository.findById(courseId);
-        if (course.isEmpty()) {
+        if (!courseRepository.existsById(courseId)) {
             throw new RuntimeException("Cours non trouvé");
         }
-        return course.get().getEnrolledCount();
+        return (int) enrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.ENROLLED);
     }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.nexis.course_service.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arbre d'intervalles (AVL augmenté par la fin maximale du sous-arbre).
+ *
+ * Intervalles semi-ouverts [start, end): 08:00-10:00 et 10:00-12:00 ne se
+ * chevauchent pas. Insertion, suppression et recherche d'un chevauchement
+ * en O(log n). Non thread-safe, la synchronisation est faite par l'appelant.
+ */
+public class IntervalTree<T> {
+
+    public static final class Entry<T> {
+        private final int start;
+        private final int end;
+        private final long id;
+        private final T value;
+
+        private Entry(int start, int end, long id, T value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private static final class Node<T> {
+        private final Entry<T> entry;
+        private Node<T> left;
+        private Node<T> right;
+        private int height = 1;
+        private int maxEnd;
+
+        private Node(Entry<T> entry) {
+            this.entry = entry;
+            this.maxEnd = entry.end;
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Ajoute l'intervalle [start, end) identifié par id
+     */
+    public void insert(int start, int end, long id, T value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Intervalle vide: [" + start + ", " + end + ")");
+        }
+        root = insert(root, new Entry<>(start, end, id, value));
+        size++;
+    }
+
+    /**
+     * Retire l'intervalle (start, id)
+     * @return false s'il n'était pas présent
+     */
+    public boolean remove(int start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Un intervalle qui chevauche [start, end), ou null
+     */
+    public Entry<T> findAnyOverlap(int start, int end) {
+        Node<T> node = root;
+        while (node != null) {
+            if (overlaps(node.entry, start, end)) {
+                return node.entry;
+            }
+            // Si le sous-arbre gauche peut contenir un chevauchement, il en contient un
+            // (ses débuts sont tous < début du nœud courant)
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tous les intervalles qui chevauchent [start, end), triés par début
+     */
+    public List<Entry<T>> findAllOverlaps(int start, int end) {
+        List<Entry<T>> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    /**
+     * Tous les intervalles, triés par début
+     */
+    public List<Entry<T>> entries() {
+        List<Entry<T>> result = new ArrayList<>(size);
+        collect(root, Integer.MIN_VALUE, Integer.MAX_VALUE, result);
+        return result;
+    }
+
+    private void collect(Node<T> node, int start, int end, List<Entry<T>> out) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, out);
+        if (overlaps(node.entry, start, end)) {
+            out.add(node.entry);
+        }
+        if (node.entry.start < end) {
+            collect(node.right, start, end, out);
+        }
+    }
+
+    private static boolean overlaps(Entry<?> e, int start, int end) {
+        return e.start < end && start < e.end;
+    }
+
+    private static int compare(int start, long id, Entry<?> e) {
+        int c = Integer.compare(start, e.start);
+        return c != 0 ? c : Long.compare(id, e.id);
+    }
+
+    private Node<T> insert(Node<T> node, Entry<T> entry) {
+        if (node == null) {
+            return new Node<>(entry);
+        }
+        if (compare(entry.start, entry.id, node.entry) < 0) {
+            node.left = insert(node.left, entry);
+        } else {
+            node.right = insert(node.right, entry);
+        }
+        return balance(node);
+    }
+
+    private Node<T> remove(Node<T> node, int start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(start, id, node.entry);
+        if (c < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (c > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node<T> replacement = new Node<>(successor.entry);
+            replacement.right = removeMin(node.right);
+            replacement.left = node.left;
+            return balance(replacement);
+        }
+        return balance(node);
+    }
+
+    private Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int height(Node<?> n) {
+        return n == null ? 0 : n.height;
+    }
+
+    private static void update(Node<?> n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+        int max = n.entry.end;
+        if (n.left != null) {
+            max = Math.max(max, n.left.maxEnd);
+        }
+        if (n.right != null) {
+            max = Math.max(max, n.right.maxEnd);
+        }
+        n.maxEnd = max;
+    }
+
+    private Node<T> balance(Node<T> n) {
+        update(n);
+        int factor = height(n.left) - height(n.right);
+        if (factor > 1) {
+            if (height(n.left.left) < height(n.left.right)) {
+                n.left = rotateLeft(n.left);
+            }
+            return rotateRight(n);
+        }
+        if (factor < -1) {
+            if (height(n.right.right) < height(n.right.left)) {
+                n.right = rotateRight(n.right);
+            }
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    private Node<T> rotateRight(Node<T> n) {
+        Node<T> l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private Node<T> rotateLeft(Node<T> n) {
+        Node<T> r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+}
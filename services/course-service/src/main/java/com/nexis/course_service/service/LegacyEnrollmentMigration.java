@@ -0,0 +1,75 @@
+package com.nexis.course_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Locale;
+
+/**
+ * Reprise des inscriptions de l'ancien modèle.
+ *
+ * Avant la table enrollments, Course.enrollStudent écrivait seulement dans la
+ * table de collection course_enrollments (course_id, student_id). Ces lignes
+ * sont recopiées en ENROLLED, puis les compteurs sont recalculés depuis
+ * enrollments: sans cette reprise, les listes d'inscrits seraient vides et
+ * les places revendues.
+ *
+ * Idempotent: une ligne existant déjà dans enrollments (quel que soit son
+ * statut) n'est jamais recopiée; course_enrollments est conservée telle quelle.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyEnrollmentMigration {
+
+    static final String LEGACY_TABLE = "course_enrollments";
+
+    private static final String MIGRATE_SQL =
+        "INSERT INTO enrollments (student_id, course_id, status, enrolled_at) " +
+        "SELECT DISTINCT CONCAT(ce.student_id, ''), ce.course_id, 'ENROLLED', CURRENT_TIMESTAMP " +
+        "FROM course_enrollments ce " +
+        "JOIN courses c ON c.id = ce.course_id " +
+        "WHERE ce.student_id IS NOT NULL AND NOT EXISTS (" +
+        "  SELECT 1 FROM enrollments e " +
+        "  WHERE e.course_id = ce.course_id AND e.student_id = CONCAT(ce.student_id, ''))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return nombre d'inscriptions recopiées (0 si la table n'existe pas)
+     */
+    @Transactional
+    public int migrate() {
+        if (!legacyTableExists()) {
+            return 0;
+        }
+        int migrated = jdbcTemplate.update(MIGRATE_SQL);
+        if (migrated > 0) {
+            log.info("📍 {} inscription(s) reprise(s) depuis {}", migrated, LEGACY_TABLE);
+        }
+        return migrated;
+    }
+
+    private boolean legacyTableExists() {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Casse des identifiants selon la base (MySQL: minuscules, H2: majuscules)
+            for (String name : new String[] { LEGACY_TABLE, LEGACY_TABLE.toUpperCase(Locale.ROOT) }) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name,
+                        new String[] { "TABLE" })) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -0,0 +1,131 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.repository.MaterialBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Collecte en arrière-plan des contenus de supports qui ne sont plus référencés.
+ *
+ * - material_blobs à 0 référence depuis plus que le délai de grâce: la ligne
+ *   est verrouillée (FOR UPDATE) pendant la suppression du fichier, un envoi
+ *   concurrent du même contenu attend puis réécrit le fichier
+ * - fichiers sans ligne material_blobs (envoi interrompu avant le commit):
+ *   mis de côté, puis supprimés si aucune référence n'est apparue
+ * - fichiers temporaires abandonnés
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaterialBlobCollector {
+
+    private final MaterialBlobRepository blobRepository;
+    private final MaterialFileStore fileStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.materials.gc.grace-ms:86400000}")
+    private long graceMs;
+
+    @Value("${app.materials.gc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Compteurs des supports enregistrés avant leur introduction
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillReferenceCounts() {
+        Integer created = transactionTemplate.execute(status -> blobRepository.backfill(LocalDateTime.now()));
+        if (created != null && created > 0) {
+            log.info("✅ {} compteurs de contenu créés depuis course_materials", created);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.materials.gc.initial-delay-ms:300000}",
+               fixedDelayString = "${app.materials.gc.interval-ms:3600000}")
+    public void scheduledCollect() {
+        try {
+            collect();
+        } catch (Exception e) {
+            log.error("❌ Erreur collecte des supports: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return nombre de contenus supprimés
+     */
+    public int collect() throws IOException {
+        Instant cutoff = Instant.now().minusMillis(graceMs);
+        int deleted = collectUnreferenced(LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault()));
+        int orphans = collectOrphans(cutoff);
+        int parts = fileStore.purgeStaleParts(cutoff);
+        if (deleted + orphans + parts > 0) {
+            log.info("✅ Collecte des supports: {} contenus, {} orphelins, {} temporaires supprimés",
+                deleted, orphans, parts);
+        }
+        return deleted + orphans;
+    }
+
+    private int collectUnreferenced(LocalDateTime cutoff) {
+        int deleted = 0;
+        while (true) {
+            List<String> hashes = blobRepository.findCollectable(cutoff, PageRequest.of(0, batchSize));
+            int before = deleted;
+            for (String hash : hashes) {
+                Boolean done = transactionTemplate.execute(status ->
+                    blobRepository.findCollectableForUpdate(hash).map(blob -> {
+                        try {
+                            fileStore.delete(hash);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);  // rollback: ligne conservée
+                        }
+                        blobRepository.delete(blob);
+                        return true;
+                    }).orElse(false));
+                if (Boolean.TRUE.equals(done)) {
+                    deleted++;
+                }
+            }
+            // Page incomplète, ou aucun progrès (contenus réacquis entre-temps)
+            if (hashes.size() < batchSize || deleted == before) {
+                return deleted;
+            }
+        }
+    }
+
+    private int collectOrphans(Instant cutoff) throws IOException {
+        int deleted = 0;
+        for (String hash : fileStore.listOlderThan(cutoff)) {
+            if (blobRepository.existsById(hash)) {
+                continue;
+            }
+            Path moved = fileStore.quarantine(hash);
+            if (moved == null) {
+                continue;
+            }
+            // Un envoi enregistre sa référence avant de vérifier le fichier: revérifier après le déplacement
+            if (blobRepository.existsById(hash)) {
+                fileStore.restore(hash, moved);
+            } else {
+                Files.deleteIfExists(moved);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,286 @@
+package com.nexis.course_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stockage local des fichiers de supports de cours, adressé par contenu:
+ * chaque fichier est rangé sous son SHA-256 (ab/abcdef...).
+ *
+ * L'écriture passe par un fichier temporaire du même répertoire (stage)
+ * puis un renommage atomique (commit): un fichier visible sous son hash est
+ * toujours complet. Un contenu déjà présent n'est jamais réécrit.
+ * Les références sont comptées dans material_blobs (MaterialBlobRepository).
+ */
+@Slf4j
+@Component
+public class MaterialFileStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tmp;
+    private final long maxFileSize;
+
+    public MaterialFileStore(
+            @Value("${app.materials.storage-dir:./data/materials}") String storageDir,
+            @Value("${app.materials.max-file-size:2147483648}") long maxFileSize) {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.tmp = root.resolve("tmp");
+        this.maxFileSize = maxFileSize;
+        try {
+            Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Répertoire de stockage inaccessible: " + root, e);
+        }
+        log.info("✅ Stockage des supports: {}", root);
+    }
+
+    /**
+     * Contenu reçu dans un fichier temporaire, pas encore visible sous son hash
+     */
+    public static final class StagedContent {
+        private final String hash;
+        private final long size;
+        private final Path part;
+
+        StagedContent(String hash, long size, Path part) {
+            this.hash = hash;
+            this.size = size;
+            this.part = part;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * Copie le flux dans un fichier temporaire en calculant son hash au passage.
+     * Le flux est lu par blocs, jamais chargé entièrement en mémoire.
+     * Suivi de commit() une fois la référence enregistrée, ou discard().
+     */
+    public StagedContent stage(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        Path part = Files.createTempFile(tmp, "upload-", ".part");
+        long size = 0;
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > maxFileSize) {
+                    throw new IllegalArgumentException("Fichier trop volumineux (max " + maxFileSize + " octets)");
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+            }
+            out.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        return new StagedContent(toHex(digest.digest()), size, part);
+    }
+
+    /**
+     * Rend le contenu visible sous son hash. S'il est déjà stocké, le fichier
+     * temporaire est simplement supprimé: pas de seconde écriture.
+     * @return true si un nouveau fichier a été écrit
+     */
+    public boolean commit(StagedContent staged) throws IOException {
+        try {
+            Path target = path(staged.hash);
+            if (Files.exists(target)) {
+                log.debug("📍 Contenu déjà stocké: {}", staged.hash);
+                return false;
+            }
+            Files.createDirectories(target.getParent());
+            moveIntoPlace(staged.part, target);
+            return true;
+        } finally {
+            Files.deleteIfExists(staged.part);
+        }
+    }
+
+    public void discard(StagedContent staged) {
+        try {
+            Files.deleteIfExists(staged.part);
+        } catch (IOException e) {
+            log.warn("⚠️  Fichier temporaire non supprimé: {}", staged.part);
+        }
+    }
+
+    /**
+     * Supprime le contenu (appelé par la collecte, sous verrou du compteur)
+     */
+    public boolean delete(String hash) throws IOException {
+        return Files.deleteIfExists(path(hash));
+    }
+
+    /**
+     * Contenus stockés dont le fichier est plus ancien que cutoff
+     */
+    public List<String> listOlderThan(Instant cutoff) throws IOException {
+        List<String> hashes = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.filter(p -> !p.startsWith(tmp) && Files.isRegularFile(p))
+                .filter(p -> HASH_PATTERN.matcher(p.getFileName().toString()).matches())
+                .filter(p -> lastModifiedBefore(p, cutoff))
+                .forEach(p -> hashes.add(p.getFileName().toString()));
+        }
+        return hashes;
+    }
+
+    /**
+     * Supprime les fichiers temporaires abandonnés (envoi interrompu, arrêt brutal)
+     * @return nombre de fichiers supprimés
+     */
+    public int purgeStaleParts(Instant cutoff) throws IOException {
+        int purged = 0;
+        try (Stream<Path> parts = Files.list(tmp)) {
+            for (Path part : (Iterable<Path>) parts::iterator) {
+                if (lastModifiedBefore(part, cutoff) && Files.deleteIfExists(part)) {
+                    purged++;
+                }
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Met un contenu de côté (dans tmp/) avant suppression: la collecte peut
+     * encore le restaurer si une référence apparaît entre-temps
+     * @return l'emplacement provisoire, ou null si le contenu n'existe plus
+     */
+    public Path quarantine(String hash) throws IOException {
+        Path target = path(hash);
+        Path moved = tmp.resolve("gc-" + hash);
+        try {
+            Files.move(target, moved, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return moved;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Remet en place un contenu mis de côté (sauf s'il a été réécrit entre-temps)
+     */
+    public void restore(String hash, Path moved) throws IOException {
+        Path target = path(hash);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(moved);
+            return;
+        }
+        moveIntoPlace(moved, target);
+        Files.deleteIfExists(moved);
+    }
+
+    public boolean exists(String hash) {
+        return Files.isRegularFile(path(hash));
+    }
+
+    public long size(String hash) throws IOException {
+        return Files.size(path(hash));
+    }
+
+    /**
+     * Chemin du fichier pour un hash (validé: 64 caractères hexadécimaux)
+     */
+    public Path path(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Hash de contenu invalide: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Envoie [position, position + count) vers target avec FileChannel.transferTo:
+     * copie noyau (sendfile) quand target est un canal socket ou fichier
+     * @return nombre d'octets envoyés
+     */
+    public long transferTo(String hash, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(path(hash), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, in.size());
+            long sent = 0;
+            while (position + sent < end) {
+                long n = in.transferTo(position + sent, end - position - sent, target);
+                if (n <= 0) {
+                    break;
+                }
+                sent += n;
+            }
+            return sent;
+        }
+    }
+
+    private static void moveIntoPlace(Path part, Path target) throws IOException {
+        try {
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // envoi concurrent du même contenu: le fichier en place est identique
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(part, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // idem
+            }
+        }
+    }
+
+    private static boolean lastModifiedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;  // supprimé entre-temps
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
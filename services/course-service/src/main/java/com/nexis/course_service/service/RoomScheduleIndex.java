@@ -0,0 +1,389 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Schedule;
+import com.nexis.course_service.model.ScheduleStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Index mémoire des créneaux occupés, un arbre d'intervalles par
+ * (jour, salle, semestre, bâtiment). Les heures sont converties en minutes depuis minuit.
+ * Le semestre est celui du cours: deux semestres ne se disputent pas une salle.
+ *
+ * ⚠️ Ne contient que les créneaux qui occupent la salle (ACTIVE, RESCHEDULED).
+ * Alimenté au démarrage puis par ScheduleService à chaque écriture.
+ *
+ * ⚠️ Seul garde-fou contre les doubles réservations, et local au processus:
+ * course-service doit tourner en une seule instance (voir docker-compose.yml).
+ *
+ * 🔐 rebuild construit un nouvel index puis le publie d'un coup: les lectures
+ * voient l'ancien ou le nouveau, jamais un index vide. Les écritures (tryAdd,
+ * remove) attendent la fin de la reconstruction; celles des transactions encore
+ * ouvertes (pending) sont rejouées sur le nouvel index, que la relecture en base
+ * ne voit pas encore.
+ */
+@Slf4j
+@Component
+public class RoomScheduleIndex {
+
+    /** jour|salle -> semestre -> bâtiment -> créneaux, remplacé en bloc par rebuild */
+    private volatile Map<String, Map<String, Map<String, IntervalTree<Long>>>> trees = new ConcurrentHashMap<>();
+
+    /** Lecture: écritures unitaires (verrou par arbre); écriture: rebuild */
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    /** Écritures de transactions non terminées (créneau -> true si ajouté, false si retiré) */
+    private final Map<Schedule, Boolean> pending = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Créneau horaire en minutes depuis minuit, [start, end)
+     */
+    public static final class Slot {
+        private final int start;
+        private final int end;
+
+        public Slot(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * Résultat d'une reconstruction
+     */
+    public static final class Rebuild {
+        private final int indexed;
+        private final List<Long> conflicts;
+
+        Rebuild(int indexed, List<Long> conflicts) {
+            this.indexed = indexed;
+            this.conflicts = conflicts;
+        }
+
+        /** Nombre de créneaux indexés */
+        public int getIndexed() {
+            return indexed;
+        }
+
+        /** Créneaux en base qui chevauchent un créneau déjà indexé (indexés quand même) */
+        public List<Long> getConflicts() {
+            return conflicts;
+        }
+    }
+
+    /**
+     * Accepte "8:00", "08:00", "08:00:00" et "08h00"
+     */
+    public static int parseMinutes(String time) {
+        if (time == null || time.isBlank()) {
+            throw new RuntimeException("Heure manquante");
+        }
+        String t = time.trim().toLowerCase(Locale.ROOT).replace('h', ':');
+        if (t.endsWith(":")) {
+            t = t + "00";
+        }
+        if (t.indexOf(':') == 1) {
+            t = "0" + t;
+        }
+        try {
+            LocalTime parsed = LocalTime.parse(t);
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Heure invalide: " + time);
+        }
+    }
+
+    public static Slot parseSlot(String startTime, String endTime) {
+        int start = parseMinutes(startTime);
+        int end = parseMinutes(endTime);
+        if (end <= start) {
+            throw new RuntimeException("Horaire invalide: " + startTime + " - " + endTime);
+        }
+        return new Slot(start, end);
+    }
+
+    public static boolean occupiesRoom(Schedule schedule) {
+        return schedule.getStatus() == null
+            || schedule.getStatus() == ScheduleStatus.ACTIVE
+            || schedule.getStatus() == ScheduleStatus.RESCHEDULED;
+    }
+
+    /**
+     * Semestre du cours du créneau (null si le cours n'est pas chargé)
+     */
+    public static String semesterOf(Schedule schedule) {
+        return schedule.getCourse() == null ? null : schedule.getCourse().getSemester();
+    }
+
+    /**
+     * Recharge l'index depuis la base. loader est appelé sous le verrou:
+     * aucune écriture ne peut se glisser entre la relecture et la publication.
+     * Un créneau en conflit reste indexé (la salle reste bloquée) et est signalé.
+     */
+    public Rebuild rebuild(Supplier<? extends Collection<Schedule>> loader) {
+        rebuildLock.writeLock().lock();
+        try {
+            Map<String, Map<String, Map<String, IntervalTree<Long>>>> fresh = new ConcurrentHashMap<>();
+            List<Long> conflicts = new ArrayList<>();
+            int indexed = 0;
+            for (Schedule s : loader.get()) {
+                if (!occupiesRoom(s)) {
+                    continue;
+                }
+                try {
+                    if (place(fresh, s, conflicts)) {
+                        indexed++;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("⚠️  Créneau {} ignoré: {}", s.getId(), e.getMessage());
+                }
+            }
+
+            // Transactions ouvertes: leur écriture n'est pas encore visible en base
+            List<Map.Entry<Schedule, Boolean>> inFlight;
+            synchronized (pending) {
+                inFlight = new ArrayList<>(pending.entrySet());
+            }
+            for (Map.Entry<Schedule, Boolean> change : inFlight) {
+                if (change.getValue()) {
+                    place(fresh, change.getKey(), conflicts);
+                } else {
+                    removeFrom(fresh, change.getKey());
+                }
+            }
+
+            trees = fresh;
+            return new Rebuild(indexed, conflicts);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute le créneau s'il ne chevauche aucun autre dans la même salle
+     * et le même semestre (vérification et insertion atomiques)
+     * @return l'id du créneau en conflit, ou null si l'ajout a réussi
+     */
+    public Long tryAdd(Schedule schedule) {
+        return tryAdd(schedule, false);
+    }
+
+    /**
+     * @param inTransaction true si la transaction appelante n'est pas encore validée:
+     *                      l'ajout est rejoué par rebuild jusqu'à settle(schedule)
+     */
+    public Long tryAdd(Schedule schedule, boolean inTransaction) {
+        Slot slot = parseSlot(schedule.getStartTime(), schedule.getEndTime());
+        rebuildLock.readLock().lock();
+        try {
+            IntervalTree<Long> tree = tree(trees, schedule.getDayOfWeek(), schedule.getRoom(),
+                semesterOf(schedule), schedule.getBuilding());
+            synchronized (tree) {
+                IntervalTree.Entry<Long> conflict = tree.findAnyOverlap(slot.start, slot.end);
+                if (conflict != null) {
+                    return conflict.getId();
+                }
+                tree.insert(slot.start, slot.end, schedule.getId(), schedule.getId());
+            }
+            if (inTransaction) {
+                pending.put(schedule, Boolean.TRUE);
+            }
+            return null;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un créneau de l'index (sans effet s'il n'y était pas)
+     */
+    public boolean remove(Schedule schedule) {
+        return remove(schedule, false);
+    }
+
+    /**
+     * @param inTransaction true si la transaction appelante n'est pas encore validée:
+     *                      le retrait est rejoué par rebuild jusqu'à settle(schedule)
+     */
+    public boolean remove(Schedule schedule, boolean inTransaction) {
+        rebuildLock.readLock().lock();
+        try {
+            boolean removed = removeFrom(trees, schedule);
+            if (removed && inTransaction) {
+                pending.put(schedule, Boolean.FALSE);
+            }
+            return removed;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Transaction terminée: la base fait foi, plus rien à rejouer pour ce créneau
+     */
+    public void settle(Schedule schedule) {
+        pending.remove(schedule);
+    }
+
+    /**
+     * Ids des créneaux qui chevauchent [startTime, endTime) dans la salle.
+     * semester null = tous les semestres, building null = tous les bâtiments
+     * qui ont une salle de ce nom
+     */
+    public List<Long> findConflicts(String dayOfWeek, String room, String semester, String building,
+                                    String startTime, String endTime) {
+        Slot slot = parseSlot(startTime, endTime);
+        return findConflicts(dayOfWeek, room, semester, building, slot.start, slot.end);
+    }
+
+    public List<Long> findConflicts(String dayOfWeek, String room, String semester, String building,
+                                    int start, int end) {
+        List<Long> ids = new ArrayList<>();
+        for (IntervalTree<Long> tree : treesFor(trees, dayOfWeek, room, semester, building)) {
+            synchronized (tree) {
+                for (IntervalTree.Entry<Long> e : tree.findAllOverlaps(start, end)) {
+                    ids.add(e.getId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * true si aucun créneau ne chevauche [start, end) dans la salle
+     * (semester et building null: tous)
+     */
+    public boolean isFree(String dayOfWeek, String room, String semester, String building, int start, int end) {
+        for (IntervalTree<Long> tree : treesFor(trees, dayOfWeek, room, semester, building)) {
+            synchronized (tree) {
+                if (tree.findAnyOverlap(start, end) != null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        int total = 0;
+        for (Map<String, Map<String, IntervalTree<Long>>> bySemester : trees.values()) {
+            for (Map<String, IntervalTree<Long>> byBuilding : bySemester.values()) {
+                for (IntervalTree<Long> tree : byBuilding.values()) {
+                    synchronized (tree) {
+                        total += tree.size();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Insère le créneau même s'il en chevauche un autre (conflit noté dans conflicts)
+     * @return false si le créneau y était déjà (ligne validée relue puis rejouée)
+     */
+    private static boolean place(Map<String, Map<String, Map<String, IntervalTree<Long>>>> map, Schedule s,
+                                 List<Long> conflicts) {
+        Slot slot = parseSlot(s.getStartTime(), s.getEndTime());
+        IntervalTree<Long> tree = tree(map, s.getDayOfWeek(), s.getRoom(), semesterOf(s), s.getBuilding());
+        synchronized (tree) {
+            boolean overlaps = false;
+            for (IntervalTree.Entry<Long> e : tree.findAllOverlaps(slot.start, slot.end)) {
+                if (s.getId() != null && e.getId() == s.getId()) {
+                    return false;
+                }
+                overlaps = true;
+            }
+            if (overlaps) {
+                log.warn("⚠️  Créneau {} en conflit avec un créneau existant (salle {}, {}, {})",
+                    s.getId(), s.getRoom(), s.getDayOfWeek(), semesterOf(s));
+                conflicts.add(s.getId());
+            }
+            tree.insert(slot.start, slot.end, s.getId(), s.getId());
+            return true;
+        }
+    }
+
+    private static boolean removeFrom(Map<String, Map<String, Map<String, IntervalTree<Long>>>> map, Schedule s) {
+        List<IntervalTree<Long>> found = treesFor(map, s.getDayOfWeek(), s.getRoom(),
+            normalize(semesterOf(s)), normalize(s.getBuilding()));
+        if (found.isEmpty()) {
+            return false;
+        }
+        IntervalTree<Long> tree = found.get(0);
+        int start;
+        try {
+            start = parseMinutes(s.getStartTime());
+        } catch (RuntimeException e) {
+            return false;  // jamais indexé
+        }
+        synchronized (tree) {
+            return tree.remove(start, s.getId());
+        }
+    }
+
+    private static List<IntervalTree<Long>> treesFor(Map<String, Map<String, Map<String, IntervalTree<Long>>>> map,
+                                                     String dayOfWeek, String room, String semester, String building) {
+        Map<String, Map<String, IntervalTree<Long>>> bySemester = map.get(roomDayKey(dayOfWeek, room));
+        if (bySemester == null) {
+            return List.of();
+        }
+        Collection<Map<String, IntervalTree<Long>>> semesters;
+        if (semester == null) {
+            semesters = bySemester.values();
+        } else {
+            Map<String, IntervalTree<Long>> byBuilding = bySemester.get(normalize(semester));
+            semesters = byBuilding == null ? List.of() : List.of(byBuilding);
+        }
+        List<IntervalTree<Long>> found = new ArrayList<>();
+        for (Map<String, IntervalTree<Long>> byBuilding : semesters) {
+            if (building == null) {
+                found.addAll(byBuilding.values());
+            } else {
+                IntervalTree<Long> tree = byBuilding.get(normalize(building));
+                if (tree != null) {
+                    found.add(tree);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static IntervalTree<Long> tree(Map<String, Map<String, Map<String, IntervalTree<Long>>>> map,
+                                           String dayOfWeek, String room, String semester, String building) {
+        return map
+            .computeIfAbsent(roomDayKey(dayOfWeek, room), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(normalize(semester), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(normalize(building), k -> new IntervalTree<>());
+    }
+
+    private static String roomDayKey(String dayOfWeek, String room) {
+        return normalize(dayOfWeek) + "|" + normalize(room);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
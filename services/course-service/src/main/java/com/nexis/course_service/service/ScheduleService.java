@@ -6,18 +6,55 @@ import com.nexis.course_service.model.ScheduleStatus;
 import com.nexis.course_service.repository.CourseRepository;
 import com.nexis.course_service.repository.ScheduleRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Gestion des emplois du temps.
+ *
+ * Les conflits de salle sont détectés par chevauchement d'horaires
+ * (08:00-10:00 et 09:00-11:00 sont en conflit) via RoomScheduleIndex.
+ * Chaque écriture met l'index à jour dans la transaction; en cas de
+ * rollback la modification de l'index est annulée. Un conflit n'existe
+ * qu'entre créneaux de cours du même semestre.
+ *
+ * ⚠️ L'index est en mémoire: la vérification ne vaut que pour une seule
+ * instance de course-service (aucune contrainte équivalente en base).
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScheduleService {
     
     private final ScheduleRepository scheduleRepository;
     private final CourseRepository courseRepository;
+    private final RoomScheduleIndex roomScheduleIndex;
     
+    /**
+     * Charge l'index des salles au démarrage
+     * @return créneaux indexés et créneaux déjà en conflit en base
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public RoomScheduleIndex.Rebuild rebuildRoomIndex() {
+        RoomScheduleIndex.Rebuild result = roomScheduleIndex.rebuild(() ->
+            scheduleRepository.findByStatusIn(List.of(ScheduleStatus.ACTIVE, ScheduleStatus.RESCHEDULED)));
+        log.info("✅ Index des salles chargé: {} créneaux", result.getIndexed());
+        if (!result.getConflicts().isEmpty()) {
+            log.error("❌ Créneaux en double réservation en base: {}", result.getConflicts());
+        }
+        return result;
+    }
 
+    @Transactional
     public Schedule addSchedule(Long courseId, String dayOfWeek, String startTime, 
                                 String endTime, String room, String building, Integer capacity) {
         Optional<Course> course = courseRepository.findById(courseId);
@@ -25,10 +62,9 @@ public class ScheduleService {
             throw new RuntimeException("Cours non trouvé");
         }
         
-        List<Schedule> conflicts = scheduleRepository
-            .findByRoomAndDayOfWeekAndStartTime(room, dayOfWeek, startTime);
-        
-        if (!conflicts.isEmpty()) {
+        RoomScheduleIndex.Slot slot = RoomScheduleIndex.parseSlot(startTime, endTime);
+        if (!roomScheduleIndex.isFree(dayOfWeek, room, course.get().getSemester(), building,
+                slot.getStart(), slot.getEnd())) {
             throw new RuntimeException("Salle " + room + " déjà occupée à cette heure");
         }
         
@@ -42,10 +78,13 @@ public class ScheduleService {
         schedule.setCapacity(capacity);
         schedule.setStatus(ScheduleStatus.ACTIVE);
         
-        return scheduleRepository.save(schedule);
+        Schedule saved = scheduleRepository.saveAndFlush(schedule);
+        index(saved);
+        return saved;
     }
     
 
+    @Transactional
     public Schedule updateSchedule(Long scheduleId, String dayOfWeek, String startTime,
                                    String endTime, String room, String building) {
         Optional<Schedule> existing = scheduleRepository.findById(scheduleId);
@@ -53,21 +92,65 @@ public class ScheduleService {
             throw new RuntimeException("Emploi du temps non trouvé");
         }
         
+        RoomScheduleIndex.parseSlot(startTime, endTime);
+        
         Schedule schedule = existing.get();
+        Schedule previous = copyOf(schedule);
+        unindex(previous);
+        
         schedule.setDayOfWeek(dayOfWeek);
         schedule.setStartTime(startTime);
         schedule.setEndTime(endTime);
         schedule.setRoom(room);
         schedule.setBuilding(building);
         
+        if (RoomScheduleIndex.occupiesRoom(schedule)) {
+            index(schedule);
+        }
         return scheduleRepository.save(schedule);
     }
 
+    @Transactional
     public void deleteSchedule(Long scheduleId) {
-        if (!scheduleRepository.existsById(scheduleId)) {
+        Optional<Schedule> existing = scheduleRepository.findById(scheduleId);
+        if (existing.isEmpty()) {
             throw new RuntimeException("Emploi du temps non trouvé");
         }
         scheduleRepository.deleteById(scheduleId);
+        unindex(copyOf(existing.get()));
+    }
+
+    /**
+     * Libère les salles du cours avant sa suppression (les créneaux partent en cascade)
+     */
+    @Transactional
+    public void releaseCourseSchedules(Long courseId) {
+        for (Schedule s : scheduleRepository.findByCourseId(courseId)) {
+            if (RoomScheduleIndex.occupiesRoom(s)) {
+                unindex(copyOf(s));
+            }
+        }
+    }
+
+    /**
+     * Le cours a changé de semestre: ses créneaux quittent la clé de l'ancien
+     * semestre et doivent être libres dans le nouveau, sinon la transaction est annulée
+     */
+    @Transactional
+    public void moveCourseSchedules(Long courseId, String previousSemester) {
+        List<Schedule> schedules = scheduleRepository.findByCourseId(courseId);
+        for (Schedule s : schedules) {
+            if (RoomScheduleIndex.occupiesRoom(s)) {
+                Schedule previous = copyOf(s);
+                previous.getCourse().setSemester(previousSemester);
+                unindex(previous);
+            }
+        }
+        for (Schedule s : schedules) {
+            if (RoomScheduleIndex.occupiesRoom(s)) {
+                index(s);
+            }
+        }
     }
     
 
@@ -83,14 +166,41 @@ public class ScheduleService {
         return scheduleRepository.findByRoom(room);
     }
     
-
+    /**
+     * La salle est-elle libre à cette heure (tous bâtiments et semestres confondus) ?
+     * Un créneau 08:00-10:00 occupe la salle à 09:00.
+     */
     public boolean isRoomAvailable(String room, String dayOfWeek, String startTime) {
-        List<Schedule> conflicts = scheduleRepository
-            .findByRoomAndDayOfWeekAndStartTime(room, dayOfWeek, startTime);
-        return conflicts.isEmpty();
+        int minute = RoomScheduleIndex.parseMinutes(startTime);
+        return roomScheduleIndex.isFree(dayOfWeek, room, null, null, minute, minute + 1);
+    }
+    
+    /**
+     * La salle est-elle libre sur tout l'intervalle [startTime, endTime), tous semestres confondus ?
+     * building null = tous les bâtiments
+     */
+    public boolean isRoomAvailable(String room, String building, String dayOfWeek, String startTime, String endTime) {
+        return isRoomAvailable(room, building, null, dayOfWeek, startTime, endTime);
+    }
+    
+    /**
+     * Même vérification pour un semestre (null = tous)
+     */
+    public boolean isRoomAvailable(String room, String building, String semester, String dayOfWeek,
+                                   String startTime, String endTime) {
+        RoomScheduleIndex.Slot slot = RoomScheduleIndex.parseSlot(startTime, endTime);
+        return roomScheduleIndex.isFree(dayOfWeek, room, semester, building, slot.getStart(), slot.getEnd());
+    }
+    
+    /**
+     * Ids des créneaux qui chevauchent [startTime, endTime) dans la salle, tous semestres confondus
+     */
+    public List<Long> findRoomConflicts(String room, String building, String dayOfWeek, String startTime, String endTime) {
+        return roomScheduleIndex.findConflicts(dayOfWeek, room, null, building, startTime, endTime);
     }
     
 
+    @Transactional
     public Schedule cancelSchedule(Long scheduleId) {
         Optional<Schedule> schedule = scheduleRepository.findById(scheduleId);
         if (schedule.isEmpty()) {
@@ -98,6 +208,9 @@ public class ScheduleService {
         }
         
         Schedule s = schedule.get();
+        if (RoomScheduleIndex.occupiesRoom(s)) {
+            unindex(copyOf(s));
+        }
         s.setStatus(ScheduleStatus.CANCELLED);
         return scheduleRepository.save(s);
     }
@@ -105,4 +218,82 @@ public class ScheduleService {
     public Optional<Schedule> getScheduleById(Long scheduleId) {
         return scheduleRepository.findById(scheduleId);
     }
-}
\ No newline at end of file
+    
+    // ========== Synchronisation de l'index ==========
+    
+    /**
+     * Indexe un créneau écrit hors JPA (SQL ensembliste) dans la transaction en cours
+     * @return l'id du créneau en conflit (rien n'est indexé), ou null
+     */
+    @Transactional
+    public Long tryIndex(Schedule schedule) {
+        Schedule indexed = copyOf(schedule);
+        Long conflict = roomScheduleIndex.tryAdd(indexed, inTransaction());
+        if (conflict == null) {
+            onCompletion(indexed, () -> roomScheduleIndex.remove(indexed));
+        }
+        return conflict;
+    }
+    
+    /**
+     * Réserve le créneau dans l'index, le retire si la transaction est annulée
+     */
+    private void index(Schedule schedule) {
+        Long conflict = tryIndex(schedule);
+        if (conflict != null) {
+            throw new RuntimeException("Salle " + schedule.getRoom()
+                + " déjà occupée à cette heure (créneau " + conflict + ")");
+        }
+    }
+    
+    /**
+     * Libère le créneau dans l'index, le remet si la transaction est annulée
+     */
+    private void unindex(Schedule schedule) {
+        if (roomScheduleIndex.remove(schedule, inTransaction())) {
+            onCompletion(schedule, () -> roomScheduleIndex.tryAdd(schedule));
+        }
+    }
+    
+    private static boolean inTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive();
+    }
+    
+    /**
+     * Fin de transaction: la base fait foi (settle) puis, si rollback, l'index est remis en état.
+     * Dans cet ordre, un rebuild intercalé ne rejoue pas une écriture annulée.
+     */
+    private void onCompletion(Schedule change, Runnable undo) {
+        if (!inTransaction()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                roomScheduleIndex.settle(change);
+                if (status == STATUS_ROLLED_BACK) {
+                    undo.run();
+                }
+            }
+        });
+    }
+    
+    private static Schedule copyOf(Schedule s) {
+        Schedule copy = new Schedule();
+        copy.setId(s.getId());
+        copy.setDayOfWeek(s.getDayOfWeek());
+        copy.setStartTime(s.getStartTime());
+        copy.setEndTime(s.getEndTime());
+        copy.setRoom(s.getRoom());
+        copy.setBuilding(s.getBuilding());
+        copy.setStatus(s.getStatus());
+        if (s.getCourse() != null) {
+            // Semestre figé: la clé d'index ne suit pas une modification ultérieure du cours
+            Course course = new Course();
+            course.setId(s.getCourse().getId());
+            course.setSemester(s.getCourse().getSemester());
+            copy.setCourse(course);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,198 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Enrollment;
+import com.nexis.course_service.model.EnrollmentStatus;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Réservation de places sans verrou applicatif.
+ *
+ * La capacité est garantie par une UPDATE conditionnelle sur le compteur
+ * courses.enrolled_students (enrolled_students < max_students): la base
+ * sérialise les réservations concurrentes sur la ligne du cours, et
+ * l'insertion de l'Enrollment se fait dans la même transaction, donc un
+ * échec annule aussi la place réservée.
+ *
+ * Quand le cours est plein, l'étudiant est placé en liste d'attente (FIFO
+ * sur waitlisted_at). Une place libérée est attribuée à la tête de la file
+ * dans la transaction qui la libère.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatReservationService {
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CatalogCache catalogCache;
+
+    public enum Outcome {
+        ENROLLED,
+        WAITLISTED,
+        ALREADY_ENROLLED,
+        ALREADY_WAITLISTED,
+        FULL,
+        COURSE_NOT_FOUND
+    }
+
+    /**
+     * Réserve une place et inscrit l'étudiant, en une transaction
+     * Si le cours est plein, l'étudiant rejoint la liste d'attente
+     */
+    @Transactional
+    public Outcome reserve(Long courseId, String studentId) {
+        return reserve(courseId, studentId, true);
+    }
+
+    /**
+     * @param waitlistWhenFull false pour refuser (FULL) au lieu de mettre en attente
+     */
+    @Transactional
+    public Outcome reserve(Long courseId, String studentId, boolean waitlistWhenFull) {
+        Optional<Enrollment> existing = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
+        if (existing.isPresent()) {
+            EnrollmentStatus status = existing.get().getStatus();
+            if (status == EnrollmentStatus.ENROLLED) {
+                return Outcome.ALREADY_ENROLLED;
+            }
+            if (status == EnrollmentStatus.WAITLISTED) {
+                return Outcome.ALREADY_WAITLISTED;  // aucune écriture, la file reste stable
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Enrollment enrollment = existing.orElseGet(Enrollment::new);
+        enrollment.setStudentId(studentId);
+        enrollment.setDroppedAt(null);
+
+        if (courseRepository.reserveSeat(courseId) == 1) {
+            catalogCache.evictCourse(courseId);
+            enrollment.setCourse(courseRepository.getReferenceById(courseId));
+            enrollment.setStatus(EnrollmentStatus.ENROLLED);
+            enrollment.setEnrolledAt(now);
+            enrollment.setWaitlistedAt(null);
+            enrollmentRepository.saveAndFlush(enrollment);
+            return Outcome.ENROLLED;
+        }
+
+        if (!courseRepository.existsById(courseId)) {
+            return Outcome.COURSE_NOT_FOUND;
+        }
+        if (!waitlistWhenFull) {
+            return Outcome.FULL;
+        }
+
+        enrollment.setCourse(courseRepository.getReferenceById(courseId));
+        enrollment.setStatus(EnrollmentStatus.WAITLISTED);
+        enrollment.setWaitlistedAt(now);
+        enrollmentRepository.saveAndFlush(enrollment);
+        return Outcome.WAITLISTED;
+    }
+
+    /**
+     * Désinscrit l'étudiant (ou le retire de la liste d'attente).
+     * Une place libérée revient à la tête de la file dans la même transaction.
+     * @return false si l'étudiant n'était ni inscrit ni en attente
+     */
+    @Transactional
+    public boolean release(Long courseId, String studentId) {
+        Optional<Enrollment> enrollment = enrollmentRepository
+            .findByStudentIdAndCourseId(studentId, courseId)
+            .filter(e -> e.getStatus() == EnrollmentStatus.ENROLLED
+                      || e.getStatus() == EnrollmentStatus.WAITLISTED);
+        if (enrollment.isEmpty()) {
+            return false;
+        }
+
+        Enrollment e = enrollment.get();
+        boolean heldSeat = e.getStatus() == EnrollmentStatus.ENROLLED;
+        e.setStatus(EnrollmentStatus.DROPPED);
+        e.setDroppedAt(LocalDateTime.now());
+        e.setWaitlistedAt(null);
+        enrollmentRepository.saveAndFlush(e);
+
+        if (heldSeat) {
+            courseRepository.releaseSeat(courseId);
+            catalogCache.evictCourse(courseId);
+            promoteWaitlisted(courseId);
+        }
+        return true;
+    }
+
+    /**
+     * Attribue les places libres aux premiers de la liste d'attente.
+     * La ligne du cours reste verrouillée par reserveSeat jusqu'au commit,
+     * donc un nouvel arrivant ne peut pas doubler la file.
+     * @return nombre d'étudiants promus
+     */
+    @Transactional
+    public int promoteWaitlisted(Long courseId) {
+        int promoted = 0;
+
+        while (true) {
+            List<Enrollment> candidates = enrollmentRepository
+                .findTop5ByCourseIdAndStatusOrderByWaitlistedAtAscIdAsc(courseId, EnrollmentStatus.WAITLISTED);
+            if (candidates.isEmpty() || courseRepository.reserveSeat(courseId) == 0) {
+                if (promoted > 0) {
+                    catalogCache.evictCourse(courseId);
+                }
+                return promoted;
+            }
+
+            Enrollment head = null;
+            for (Enrollment candidate : candidates) {
+                if (enrollmentRepository.transition(candidate.getId(), EnrollmentStatus.WAITLISTED,
+                        EnrollmentStatus.ENROLLED, LocalDateTime.now()) == 1) {
+                    head = candidate;
+                    break;
+                }
+            }
+
+            if (head == null) {
+                // Candidats retirés entre-temps: rendre la place et relire la file
+                courseRepository.releaseSeat(courseId);
+                continue;
+            }
+
+            promoted++;
+            log.info("Étudiant {} promu de la liste d'attente du cours {}", head.getStudentId(), courseId);
+        }
+    }
+
+    /**
+     * Position (1 = tête) dans la liste d'attente, 0 si l'étudiant n'y est pas
+     */
+    @Transactional(readOnly = true)
+    public int waitlistPosition(Long courseId, String studentId) {
+        Optional<Enrollment> enrollment = enrollmentRepository
+            .findByStudentIdAndCourseId(studentId, courseId)
+            .filter(e -> e.getStatus() == EnrollmentStatus.WAITLISTED);
+        if (enrollment.isEmpty()) {
+            return 0;
+        }
+
+        Enrollment e = enrollment.get();
+        return (int) enrollmentRepository.countAhead(
+            courseId, EnrollmentStatus.WAITLISTED, e.getWaitlistedAt(), e.getId()) + 1;
+    }
+
+    /**
+     * Réaligne les compteurs sur la table enrollments
+     * (données importées directement en SQL, anciennes versions)
+     */
+    @Transactional
+    public int resyncCounters() {
+        int updated = courseRepository.resyncEnrolledStudents(EnrollmentStatus.ENROLLED);
+        log.info("Compteurs d'inscrits recalculés pour {} cours", updated);
+        return updated;
+    }
+}
@@ -0,0 +1,36 @@
+package com.nexis.course_service.service;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Suivi d'une reconduction de semestre. Mis à jour par le thread de
+ * SemesterRolloverService après chaque lot, lu par getSemesterRolloverStatus.
+ */
+@Data
+@NoArgsConstructor
+public class SemesterRollover {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private String jobId;
+    private String sourceSemester;
+    private String targetSemester;
+    private boolean copySchedules;
+    private boolean copyMaterials;
+    private volatile State state = State.RUNNING;
+    private volatile int coursesTotal;
+    private volatile int coursesCloned;
+    private volatile int schedulesCloned;
+    /** Copies non reprises: salle déjà occupée dans le semestre cible */
+    private volatile int schedulesSkipped;
+    /** Détail des premiers créneaux non repris (borné, voir SemesterRolloverService) */
+    private final List<String> scheduleConflicts = new CopyOnWriteArrayList<>();
+    private volatile int materialsCloned;
+    private volatile int batches;
+    private volatile long elapsedMs;
+    private volatile String error;
+}
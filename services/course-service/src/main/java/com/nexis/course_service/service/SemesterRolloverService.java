@@ -0,0 +1,319 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.Schedule;
+import com.nexis.course_service.model.ScheduleStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reconduction d'un semestre: copie des cours (et de leurs créneaux et
+ * supports) vers un nouveau code de semestre, en SQL ensembliste.
+ *
+ * - les cours source sont traités par lots (ids croissants), un lot = une transaction
+ *   de quelques INSERT ... SELECT, quel que soit le nombre de lignes
+ * - les nouveaux ids sont retrouvés par jointure sur le code du cours
+ *   (code source avec le semestre remplacé, sinon suffixé "-CIBLE")
+ * - inscrits remis à 0, cours ACTIVE; les cours annulés ne sont pas repris
+ * - les supports réutilisent le contenu stocké (material_blobs +n, aucune copie de fichier)
+ * - reprise possible: un cours déjà présent dans le semestre cible est ignoré
+ * - les créneaux source restent actifs: l'index des salles est découpé par semestre,
+ *   une copie n'est jamais en conflit avec son original
+ * - chaque copie de créneau passe par l'index des salles dans la transaction du lot:
+ *   une copie qui chevauche un créneau déjà présent dans le semestre cible est
+ *   supprimée et signalée (schedulesSkipped, scheduleConflicts)
+ */
+@Slf4j
+@Service
+public class SemesterRolloverService {
+
+    /** Code cible d'un cours c (paramètres :source et :target) */
+    private static final String TARGET_CODE =
+        "CASE WHEN LOCATE(:source, c.code) > 0 THEN REPLACE(c.code, :source, :target) " +
+        "ELSE CONCAT(c.code, '-', :target) END";
+
+    private static final String NEXT_BATCH =
+        "SELECT c.id FROM courses c WHERE c.semester = :source AND c.status <> 'CANCELLED' AND c.id > :afterId " +
+        "AND NOT EXISTS (SELECT 1 FROM courses t WHERE t.code = " + TARGET_CODE + ") " +
+        "ORDER BY c.id LIMIT :limit";
+
+    private static final String COUNT_PENDING =
+        "SELECT COUNT(*) FROM courses c WHERE c.semester = :source AND c.status <> 'CANCELLED' " +
+        "AND NOT EXISTS (SELECT 1 FROM courses t WHERE t.code = " + TARGET_CODE + ")";
+
+    private static final String COPY_COURSES =
+        "INSERT INTO courses (code, title, description, instructor_id, credits, semester, " +
+        "max_students, enrolled_students, status) " +
+        "SELECT " + TARGET_CODE + ", c.title, c.description, c.instructor_id, c.credits, :target, " +
+        "c.max_students, 0, 'ACTIVE' FROM courses c WHERE c.id IN (:ids)";
+
+    /** Cours cible t du cours source c */
+    private static final String JOIN_TARGET =
+        "JOIN courses t ON t.semester = :target AND t.code = " + TARGET_CODE + " ";
+
+    private static final String COPY_SCHEDULES =
+        "INSERT INTO schedules (course_id, day_of_week, start_time, end_time, room, building, capacity, " +
+        "status, created_at, updated_at) " +
+        "SELECT t.id, s.day_of_week, s.start_time, s.end_time, s.room, s.building, s.capacity, 'ACTIVE', :now, :now " +
+        "FROM schedules s JOIN courses c ON c.id = s.course_id " + JOIN_TARGET +
+        "WHERE c.id IN (:ids) AND (s.status IS NULL OR s.status IN ('ACTIVE', 'RESCHEDULED'))";
+
+    /** Créneaux copiés dans ce lot: ceux des cours cible qui viennent d'être créés */
+    private static final String COPIED_SCHEDULES =
+        "SELECT s.id, s.day_of_week, s.start_time, s.end_time, s.room, s.building, t.id AS course_id, t.code " +
+        "FROM courses c " + JOIN_TARGET + "JOIN schedules s ON s.course_id = t.id " +
+        "WHERE c.id IN (:ids) ORDER BY s.id";
+
+    private static final String DELETE_SCHEDULES = "DELETE FROM schedules WHERE id IN (:rejected)";
+
+    /** Nombre de conflits détaillés dans le suivi, les suivants sont seulement comptés */
+    static final int MAX_REPORTED_CONFLICTS = 100;
+
+    private static final String COPY_MATERIALS =
+        "INSERT INTO course_materials (course_id, title, description, file_url, file_name, file_type, " +
+        "file_size, content_type, content_hash, type, order_index, is_downloadable, is_visible, " +
+        "created_at, updated_at) " +
+        "SELECT t.id, m.title, m.description, m.file_url, m.file_name, m.file_type, m.file_size, " +
+        "m.content_type, m.content_hash, m.type, m.order_index, m.is_downloadable, m.is_visible, :now, :now " +
+        "FROM course_materials m JOIN courses c ON c.id = m.course_id " + JOIN_TARGET +
+        "WHERE c.id IN (:ids)";
+
+    private static final String SHARE_BLOBS =
+        "UPDATE material_blobs SET ref_count = ref_count + (" +
+        "SELECT COUNT(*) FROM course_materials m WHERE m.course_id IN (:ids) AND m.content_hash = material_blobs.hash), " +
+        "released_at = NULL " +
+        "WHERE hash IN (SELECT m.content_hash FROM course_materials m WHERE m.course_id IN (:ids))";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogCache catalogCache;
+    private final ScheduleService scheduleService;
+    private final int batchSize;
+
+    private final Map<String, SemesterRollover> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<SemesterRollover> running = new AtomicReference<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "semester-rollover");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public SemesterRolloverService(NamedParameterJdbcTemplate jdbc, TransactionTemplate transactionTemplate,
+                                   CatalogCache catalogCache, ScheduleService scheduleService,
+                                   @Value("${app.rollover.batch-size:500}") int batchSize) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogCache = catalogCache;
+        this.scheduleService = scheduleService;
+        this.batchSize = batchSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Lance la reconduction en arrière-plan (une seule à la fois)
+     * @return le suivi, à relire avec getStatus(jobId)
+     */
+    public SemesterRollover start(String sourceSemester, String targetSemester,
+                                  boolean copySchedules, boolean copyMaterials) {
+        SemesterRollover job = prepare(sourceSemester, targetSemester, copySchedules, copyMaterials);
+        executor.execute(() -> execute(job));
+        return job;
+    }
+
+    /**
+     * Reconduction synchrone (même traitement que start)
+     */
+    public SemesterRollover rollover(String sourceSemester, String targetSemester,
+                                     boolean copySchedules, boolean copyMaterials) {
+        SemesterRollover job = prepare(sourceSemester, targetSemester, copySchedules, copyMaterials);
+        execute(job);
+        return job;
+    }
+
+    public SemesterRollover getStatus(String jobId) {
+        SemesterRollover job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Reconduction non trouvée");
+        }
+        return job;
+    }
+
+    private SemesterRollover prepare(String sourceSemester, String targetSemester,
+                                     boolean copySchedules, boolean copyMaterials) {
+        String source = sourceSemester == null ? "" : sourceSemester.trim();
+        String target = targetSemester == null ? "" : targetSemester.trim();
+        if (source.isEmpty() || target.isEmpty()) {
+            throw new IllegalArgumentException("Semestres source et cible requis");
+        }
+        if (source.equalsIgnoreCase(target)) {
+            throw new IllegalArgumentException("Le semestre cible doit différer du semestre source");
+        }
+
+        SemesterRollover job = new SemesterRollover();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setSourceSemester(source);
+        job.setTargetSemester(target);
+        job.setCopySchedules(copySchedules);
+        job.setCopyMaterials(copyMaterials);
+        if (!running.compareAndSet(null, job)) {
+            throw new IllegalStateException("Une reconduction est déjà en cours: " + running.get().getJobId());
+        }
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    private void execute(SemesterRollover job) {
+        long started = System.currentTimeMillis();
+        try {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("source", job.getSourceSemester())
+                .addValue("target", job.getTargetSemester())
+                .addValue("limit", batchSize);
+            Integer pending = jdbc.queryForObject(COUNT_PENDING, params, Integer.class);
+            job.setCoursesTotal(pending != null ? pending : 0);
+            log.info("Reconduction {} -> {}: {} cours à copier",
+                job.getSourceSemester(), job.getTargetSemester(), job.getCoursesTotal());
+
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = jdbc.queryForList(NEXT_BATCH, params.addValue("afterId", afterId), Long.class);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<String> conflicts = new ArrayList<>();
+                int[] copied = transactionTemplate.execute(status -> copyBatch(job, ids, conflicts));
+                afterId = ids.get(ids.size() - 1);
+                job.setCoursesCloned(job.getCoursesCloned() + copied[0]);
+                job.setSchedulesCloned(job.getSchedulesCloned() + copied[1]);
+                job.setMaterialsCloned(job.getMaterialsCloned() + copied[2]);
+                report(job, conflicts);
+                job.setBatches(job.getBatches() + 1);
+                job.setElapsedMs(System.currentTimeMillis() - started);
+                log.debug("📍 Reconduction {}: {}/{} cours", job.getJobId(), job.getCoursesCloned(), job.getCoursesTotal());
+            }
+            job.setState(SemesterRollover.State.COMPLETED);
+            log.info("✅ Reconduction {} -> {} terminée: {} cours, {} créneaux ({} non repris), {} supports en {} ms",
+                job.getSourceSemester(), job.getTargetSemester(), job.getCoursesCloned(),
+                job.getSchedulesCloned(), job.getSchedulesSkipped(), job.getMaterialsCloned(),
+                System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            job.setError(e.getMessage());
+            job.setState(SemesterRollover.State.FAILED);
+            log.error("❌ Erreur reconduction {}: {}", job.getJobId(), e.getMessage());
+        } finally {
+            job.setElapsedMs(System.currentTimeMillis() - started);
+            // Écritures JDBC: le cache L2 ne les a pas vues (l'index des salles, si: voir copyBatch)
+            catalogCache.evictAfterBulkSql(Schedule.class);
+            running.compareAndSet(job, null);
+        }
+    }
+
+    /**
+     * Un lot de cours source, dans une transaction
+     * @param conflicts reçoit le détail des créneaux non repris
+     * @return {cours, créneaux, supports} copiés
+     */
+    private int[] copyBatch(SemesterRollover job, List<Long> ids, List<String> conflicts) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("source", job.getSourceSemester())
+            .addValue("target", job.getTargetSemester())
+            .addValue("ids", ids)
+            .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+
+        int courses = jdbc.update(COPY_COURSES, params);
+        int schedules = 0;
+        int materials = 0;
+        if (job.isCopySchedules()) {
+            schedules = jdbc.update(COPY_SCHEDULES, params);
+            schedules -= claimRooms(params, conflicts);
+        }
+        if (job.isCopyMaterials()) {
+            materials = jdbc.update(COPY_MATERIALS, params);
+            jdbc.update(SHARE_BLOBS, params);
+        }
+        return new int[] { courses, schedules, materials };
+    }
+
+    /**
+     * Réserve les salles des créneaux copiés dans l'index (annulé avec la transaction
+     * du lot) et supprime les copies en conflit avec le semestre cible
+     * @return nombre de copies supprimées
+     */
+    private int claimRooms(MapSqlParameterSource params, List<String> conflicts) {
+        List<Schedule> copies = jdbc.query(COPIED_SCHEDULES, params, (rs, n) -> {
+            Course course = new Course();
+            course.setId(rs.getLong("course_id"));
+            course.setCode(rs.getString("code"));
+            course.setSemester((String) params.getValue("target"));
+            Schedule s = new Schedule();
+            s.setId(rs.getLong("id"));
+            s.setCourse(course);
+            s.setDayOfWeek(rs.getString("day_of_week"));
+            s.setStartTime(rs.getString("start_time"));
+            s.setEndTime(rs.getString("end_time"));
+            s.setRoom(rs.getString("room"));
+            s.setBuilding(rs.getString("building"));
+            s.setStatus(ScheduleStatus.ACTIVE);
+            return s;
+        });
+
+        List<Long> rejected = new ArrayList<>();
+        for (Schedule s : copies) {
+            try {
+                RoomScheduleIndex.parseSlot(s.getStartTime(), s.getEndTime());
+            } catch (RuntimeException e) {
+                // Vérifié avant l'appel transactionnel: une exception y marquerait le lot rollback-only
+                conflicts.add(describe(s, e.getMessage()));
+                rejected.add(s.getId());
+                continue;
+            }
+            Long conflict = scheduleService.tryIndex(s);
+            if (conflict != null) {
+                conflicts.add(describe(s, "salle occupée par le créneau " + conflict));
+                rejected.add(s.getId());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            jdbc.update(DELETE_SCHEDULES, new MapSqlParameterSource("rejected", rejected));
+        }
+        return rejected.size();
+    }
+
+    private static String describe(Schedule s, String reason) {
+        return s.getCourse().getCode() + " " + s.getDayOfWeek() + " " + s.getStartTime() + "-" + s.getEndTime()
+            + " salle " + s.getRoom() + " (" + s.getBuilding() + "): " + reason;
+    }
+
+    private static void report(SemesterRollover job, List<String> conflicts) {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        job.setSchedulesSkipped(job.getSchedulesSkipped() + conflicts.size());
+        for (String conflict : conflicts) {
+            log.warn("⚠️  Reconduction {}: créneau non repris, {}", job.getJobId(), conflict);
+            if (job.getScheduleConflicts().size() < MAX_REPORTED_CONFLICTS) {
+                job.getScheduleConflicts().add(conflict);
+            }
+        }
+    }
+}
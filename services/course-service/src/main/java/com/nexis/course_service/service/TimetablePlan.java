@@ -0,0 +1,47 @@
+package com.nexis.course_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat du solveur d'emploi du temps: créneaux attribués et cours
+ * restés sans créneau (avec la raison). Peut être partiel si le budget
+ * de temps est épuisé.
+ */
+@Data
+@NoArgsConstructor
+public class TimetablePlan {
+
+    private String semester;
+    private List<Assignment> assignments = new ArrayList<>();
+    private Map<Long, String> unassigned = new LinkedHashMap<>();
+    private int coursesConsidered;
+    private int alreadyScheduled;
+    private int restarts;
+    private long elapsedMs;
+    private boolean timedOut;
+
+    public boolean isComplete() {
+        return unassigned.isEmpty();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Assignment {
+        private Long courseId;
+        private Long instructorId;
+        private String dayOfWeek;
+        private String startTime;
+        private String endTime;
+        private String room;
+        private String building;
+        private Integer capacity;
+    }
+}
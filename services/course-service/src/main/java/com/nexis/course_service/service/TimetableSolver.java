@@ -0,0 +1,508 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseStatus;
+import com.nexis.course_service.model.Schedule;
+import com.nexis.course_service.model.ScheduleStatus;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.ScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Solveur d'emploi du temps pour tout un semestre.
+ *
+ * - Une séance hebdomadaire par cours sans créneau actif, sur une grille
+ *   fixe (jours x créneaux de app.timetable.session-minutes)
+ * - Salles: inventaire déduit des emplois du temps existants (Schedule.capacity)
+ * - Contraintes: salle libre (RoomScheduleIndex), capacité >= maxStudents,
+ *   pas deux cours du même enseignant en même temps
+ * - Plusieurs recherches gloutonnes randomisées en parallèle (fork-join),
+ *   chacune avec une passe de réparation; la meilleure est retenue
+ * - Budget de temps: le meilleur plan trouvé est renvoyé, même partiel
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimetableSolver {
+
+    private final CourseRepository courseRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final RoomScheduleIndex roomScheduleIndex;
+    private final ScheduleService scheduleService;
+
+    @Value("${app.timetable.days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+    private String[] days;
+
+    @Value("${app.timetable.day-start:08:00}")
+    private String dayStart;
+
+    @Value("${app.timetable.day-end:18:00}")
+    private String dayEnd;
+
+    @Value("${app.timetable.session-minutes:120}")
+    private int sessionMinutes;
+
+    @Value("${app.timetable.time-budget-ms:10000}")
+    private long defaultTimeBudgetMs;
+
+    @Value("${app.timetable.parallelism:0}")
+    private int parallelism;
+
+    private static final List<ScheduleStatus> OCCUPYING =
+        List.of(ScheduleStatus.ACTIVE, ScheduleStatus.RESCHEDULED);
+
+    /**
+     * Calcule un plan sans rien enregistrer
+     * @param timeBudgetMs 0 ou négatif = budget par défaut
+     */
+    @Transactional(readOnly = true)
+    public TimetablePlan solve(String semester, long timeBudgetMs) {
+        long budget = timeBudgetMs > 0 ? timeBudgetMs : defaultTimeBudgetMs;
+        long started = System.currentTimeMillis();
+        long deadline = started + budget;
+
+        TimetablePlan plan = new TimetablePlan();
+        plan.setSemester(semester);
+
+        List<Course> courses = courseRepository.findBySemester(semester);
+        List<Schedule> existing = scheduleRepository.findByCourseSemesterAndStatusIn(semester, OCCUPYING);
+        Set<Long> scheduled = new HashSet<>();
+        existing.forEach(s -> scheduled.add(s.getCourse().getId()));
+
+        List<Course> pending = new ArrayList<>();
+        for (Course c : courses) {
+            if (c.getStatus() != CourseStatus.ACTIVE) {
+                continue;
+            }
+            if (scheduled.contains(c.getId())) {
+                plan.setAlreadyScheduled(plan.getAlreadyScheduled() + 1);
+            } else {
+                pending.add(c);
+            }
+        }
+        plan.setCoursesConsidered(pending.size());
+        if (pending.isEmpty()) {
+            plan.setElapsedMs(System.currentTimeMillis() - started);
+            return plan;
+        }
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Object[]> rooms = scheduleRepository.findRoomCapacities();
+            Problem problem = pool.submit(() -> buildProblem(semester, pending, existing, rooms)).get();
+            AtomicBoolean solved = new AtomicBoolean();
+            AtomicInteger restarts = new AtomicInteger();
+            Attempt best = pool.invoke(new SearchTask(problem, 0, threads, deadline, solved, restarts));
+
+            plan.setRestarts(restarts.get());
+            plan.setTimedOut(!solved.get() && System.currentTimeMillis() >= deadline);
+            toPlan(problem, best, plan);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Calcul de l'emploi du temps interrompu");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Erreur du solveur: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        plan.setElapsedMs(System.currentTimeMillis() - started);
+        log.info("✅ Emploi du temps {}: {}/{} cours placés en {} ms ({} essais{})",
+            semester, plan.getAssignments().size(), plan.getCoursesConsidered(), plan.getElapsedMs(),
+            plan.getRestarts(), plan.isTimedOut() ? ", budget épuisé" : "");
+        return plan;
+    }
+
+    /**
+     * Calcule un plan et crée les créneaux correspondants (une transaction)
+     */
+    @Transactional
+    public TimetablePlan solveAndApply(String semester, long timeBudgetMs) {
+        TimetablePlan plan = solve(semester, timeBudgetMs);
+        for (TimetablePlan.Assignment a : plan.getAssignments()) {
+            scheduleService.addSchedule(a.getCourseId(), a.getDayOfWeek(), a.getStartTime(),
+                a.getEndTime(), a.getRoom(), a.getBuilding(), a.getCapacity());
+        }
+        return plan;
+    }
+
+    // ========== Modèle ==========
+
+    /**
+     * Données partagées (lecture seule) par toutes les recherches.
+     * Une valeur v = (salle * D + jour) * S + créneau, un temps t = jour * S + créneau.
+     */
+    private static final class Problem {
+        private int days;
+        private int slots;
+        private String[] dayNames;
+        private int[] slotStart;
+        private int slotLength;
+        private String[] roomNames;
+        private String[] buildings;
+        private int[] capacities;
+        private long[] courseIds;
+        private Long[] instructorIds;
+        private int[] courseMaxStudents;
+        private int[] instructor;        // index d'enseignant, -1 si aucun
+        private int[][] domain;          // valeurs admissibles, meilleure salle d'abord
+        private boolean[][] instructorBusy;
+        private int placeable;           // cours avec au moins une valeur admissible (borne sup.)
+
+        private int time(int value) {
+            return value % (days * slots);
+        }
+    }
+
+    private Problem buildProblem(String semester, List<Course> pending, List<Schedule> existing,
+                                 List<Object[]> rooms) {
+        Problem p = new Problem();
+        p.dayNames = Arrays.stream(days).map(String::trim).toArray(String[]::new);
+        p.days = p.dayNames.length;
+        p.slotLength = sessionMinutes;
+
+        int first = RoomScheduleIndex.parseMinutes(dayStart);
+        int last = RoomScheduleIndex.parseMinutes(dayEnd);
+        p.slots = Math.max(0, (last - first) / sessionMinutes);
+        p.slotStart = new int[p.slots];
+        for (int s = 0; s < p.slots; s++) {
+            p.slotStart[s] = first + s * sessionMinutes;
+        }
+
+        rooms.sort(Comparator.comparingInt((Object[] r) -> ((Number) r[2]).intValue())
+            .thenComparing(r -> (String) r[0]).thenComparing(r -> (String) r[1]));
+        int roomCount = rooms.size();
+        p.buildings = new String[roomCount];
+        p.roomNames = new String[roomCount];
+        p.capacities = new int[roomCount];
+        for (int r = 0; r < roomCount; r++) {
+            p.buildings[r] = (String) rooms.get(r)[0];
+            p.roomNames[r] = (String) rooms.get(r)[1];
+            p.capacities[r] = ((Number) rooms.get(r)[2]).intValue();
+        }
+
+        int n = pending.size();
+        p.courseIds = new long[n];
+        p.instructorIds = new Long[n];
+        p.courseMaxStudents = new int[n];
+        p.instructor = new int[n];
+        Map<Long, Integer> instructorIndex = new HashMap<>();
+        for (int c = 0; c < n; c++) {
+            Course course = pending.get(c);
+            p.courseIds[c] = course.getId();
+            p.instructorIds[c] = course.getInstructorId();
+            p.courseMaxStudents[c] = course.getMaxStudents() != null ? course.getMaxStudents() : 0;
+            p.instructor[c] = course.getInstructorId() == null ? -1
+                : instructorIndex.computeIfAbsent(course.getInstructorId(), k -> instructorIndex.size());
+        }
+
+        int times = p.days * p.slots;
+        p.instructorBusy = new boolean[instructorIndex.size()][times];
+        for (Schedule s : existing) {
+            Integer idx = instructorIndex.get(s.getCourse().getInstructorId());
+            if (idx == null) {
+                continue;
+            }
+            try {
+                RoomScheduleIndex.Slot slot = RoomScheduleIndex.parseSlot(s.getStartTime(), s.getEndTime());
+                for (int d = 0; d < p.days; d++) {
+                    if (!p.dayNames[d].equalsIgnoreCase(s.getDayOfWeek().trim())) {
+                        continue;
+                    }
+                    for (int t = 0; t < p.slots; t++) {
+                        if (p.slotStart[t] < slot.getEnd() && slot.getStart() < p.slotStart[t] + p.slotLength) {
+                            p.instructorBusy[idx][d * p.slots + t] = true;
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("⚠️  Créneau {} ignoré par le solveur: {}", s.getId(), e.getMessage());
+            }
+        }
+
+        // Disponibilité des salles (créneaux déjà occupés par les cours du semestre)
+        boolean[] roomFree = new boolean[roomCount * times];
+        IntStream.range(0, roomFree.length).parallel().forEach(v -> {
+            int r = v / times;
+            int d = (v % times) / p.slots;
+            int start = p.slotStart[v % p.slots];
+            roomFree[v] = roomScheduleIndex.isFree(p.dayNames[d], p.roomNames[r], semester, p.buildings[r],
+                start, start + p.slotLength);
+        });
+
+        p.domain = new int[n][];
+        IntStream.range(0, n).parallel().forEach(c -> {
+            int needed = p.courseMaxStudents[c];
+            int instr = p.instructor[c];
+            int[] values = new int[roomCount * times];
+            int size = 0;
+            for (int r = 0; r < roomCount; r++) {
+                if (p.capacities[r] < needed) {
+                    continue;
+                }
+                for (int t = 0; t < times; t++) {
+                    int v = r * times + t;
+                    if (roomFree[v] && (instr < 0 || !p.instructorBusy[instr][t])) {
+                        values[size++] = v;
+                    }
+                }
+            }
+            p.domain[c] = Arrays.copyOf(values, size);
+        });
+        p.placeable = (int) Arrays.stream(p.domain).filter(d -> d.length > 0).count();
+        return p;
+    }
+
+    // ========== Recherche ==========
+
+    /**
+     * Meilleure affectation trouvée par une recherche: assignment[c] = valeur ou -1
+     */
+    private static final class Attempt {
+        private final int[] assignment;
+        private final int assigned;
+
+        private Attempt(int[] assignment, int assigned) {
+            this.assignment = assignment;
+            this.assigned = assigned;
+        }
+
+        private static Attempt better(Attempt a, Attempt b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            return b.assigned > a.assigned ? b : a;
+        }
+    }
+
+    /**
+     * Découpe les recherches en deux jusqu'à une recherche par tâche
+     */
+    private static final class SearchTask extends RecursiveTask<Attempt> {
+        private final Problem problem;
+        private final int from;
+        private final int to;
+        private final long deadline;
+        private final AtomicBoolean solved;
+        private final AtomicInteger restarts;
+
+        private SearchTask(Problem problem, int from, int to, long deadline,
+                           AtomicBoolean solved, AtomicInteger restarts) {
+            this.problem = problem;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+            this.solved = solved;
+            this.restarts = restarts;
+        }
+
+        @Override
+        protected Attempt compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                SearchTask left = new SearchTask(problem, from, mid, deadline, solved, restarts);
+                SearchTask right = new SearchTask(problem, mid, to, deadline, solved, restarts);
+                left.fork();
+                Attempt r = right.compute();
+                return Attempt.better(left.join(), r);
+            }
+
+            Random random = new Random(31L * from + 17);
+            Attempt best = null;
+            int round = 0;
+            // Au moins un essai complet, puis des essais randomisés tant que le budget le permet
+            do {
+                Attempt attempt = new GreedySearch(problem, random, from == 0 && round == 0, deadline).run();
+                restarts.incrementAndGet();
+                best = Attempt.better(best, attempt);
+                if (best.assigned == problem.placeable) {
+                    solved.set(true);
+                }
+                round++;
+            } while (!solved.get() && System.currentTimeMillis() < deadline);
+            return best;
+        }
+    }
+
+    /**
+     * Glouton "cours le plus contraint d'abord, plus petite salle suffisante",
+     * suivi d'une réparation: un cours non placé peut prendre la salle d'un
+     * cours qui, lui, trouve une autre place libre.
+     */
+    private static final class GreedySearch {
+        private final Problem p;
+        private final Random random;
+        private final boolean deterministic;
+        private final long deadline;
+        private final int[] assignment;
+        private final int[] roomOwner;
+        private final boolean[][] instructorBusy;
+
+        private GreedySearch(Problem p, Random random, boolean deterministic, long deadline) {
+            this.p = p;
+            this.random = random;
+            this.deterministic = deterministic;
+            this.deadline = deadline;
+            this.assignment = new int[p.courseIds.length];
+            this.roomOwner = new int[p.capacities.length * p.days * p.slots];
+            this.instructorBusy = new boolean[p.instructorBusy.length][];
+            Arrays.fill(assignment, -1);
+            Arrays.fill(roomOwner, -1);
+            for (int i = 0; i < instructorBusy.length; i++) {
+                instructorBusy[i] = p.instructorBusy[i].clone();
+            }
+        }
+
+        private Attempt run() {
+            int n = p.courseIds.length;
+            double[] priority = new double[n];
+            for (int c = 0; c < n; c++) {
+                priority[c] = p.domain[c].length * (deterministic ? 1.0 : 0.5 + random.nextDouble());
+            }
+            Integer[] order = new Integer[n];
+            for (int c = 0; c < n; c++) {
+                order[c] = c;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(c -> priority[c]));
+
+            int assigned = 0;
+            for (int i = 0; i < n; i++) {
+                if ((i & 63) == 0 && System.currentTimeMillis() >= deadline) {
+                    break;  // plan partiel
+                }
+                int c = order[i];
+                int v = pick(c, -1);
+                if (v >= 0) {
+                    place(c, v);
+                    assigned++;
+                }
+            }
+
+            for (int c = 0; c < n; c++) {
+                if (assignment[c] < 0 && p.domain[c].length > 0) {
+                    if (System.currentTimeMillis() >= deadline) {
+                        break;
+                    }
+                    if (repair(c)) {
+                        assigned++;
+                    }
+                }
+            }
+            return new Attempt(assignment, assigned);
+        }
+
+        private int pick(int c, int excluded) {
+            int[] domain = p.domain[c];
+            int fallback = -1;
+            for (int v : domain) {
+                if (v != excluded && fits(c, v)) {
+                    if (deterministic || random.nextInt(4) > 0) {
+                        return v;
+                    }
+                    if (fallback < 0) {
+                        fallback = v;
+                    }
+                }
+            }
+            return fallback;
+        }
+
+        private boolean fits(int c, int v) {
+            int instr = p.instructor[c];
+            return roomOwner[v] < 0 && (instr < 0 || !instructorBusy[instr][p.time(v)]);
+        }
+
+        private boolean repair(int c) {
+            int instr = p.instructor[c];
+            for (int v : p.domain[c]) {
+                int blocker = roomOwner[v];
+                if (blocker < 0 || (instr >= 0 && instructorBusy[instr][p.time(v)])) {
+                    continue;
+                }
+                unplace(blocker);
+                int moved = pick(blocker, v);
+                if (moved >= 0) {
+                    place(blocker, moved);
+                    place(c, v);
+                    return true;
+                }
+                place(blocker, v);
+            }
+            return false;
+        }
+
+        private void place(int c, int v) {
+            assignment[c] = v;
+            roomOwner[v] = c;
+            if (p.instructor[c] >= 0) {
+                instructorBusy[p.instructor[c]][p.time(v)] = true;
+            }
+        }
+
+        private void unplace(int c) {
+            int v = assignment[c];
+            assignment[c] = -1;
+            roomOwner[v] = -1;
+            if (p.instructor[c] >= 0) {
+                instructorBusy[p.instructor[c]][p.time(v)] = false;
+            }
+        }
+    }
+
+    // ========== Résultat ==========
+
+    private static void toPlan(Problem p, Attempt best, TimetablePlan plan) {
+        int times = p.days * p.slots;
+        int maxCapacity = Arrays.stream(p.capacities).max().orElse(0);
+        for (int c = 0; c < p.courseIds.length; c++) {
+            int v = best != null ? best.assignment[c] : -1;
+            if (v < 0) {
+                String reason;
+                if (p.courseMaxStudents[c] > maxCapacity) {
+                    reason = "Aucune salle assez grande (" + p.courseMaxStudents[c] + " étudiants)";
+                } else if (p.domain[c].length == 0) {
+                    reason = "Aucun créneau libre compatible (salle ou enseignant)";
+                } else {
+                    reason = "Conflits non résolus";
+                }
+                plan.getUnassigned().put(p.courseIds[c], reason);
+                continue;
+            }
+            int r = v / times;
+            int d = (v % times) / p.slots;
+            int start = p.slotStart[v % p.slots];
+            plan.getAssignments().add(new TimetablePlan.Assignment(
+                p.courseIds[c], p.instructorIds[c], p.dayNames[d],
+                formatMinutes(start), formatMinutes(start + p.slotLength),
+                p.roomNames[r], p.buildings[r], p.capacities[r]));
+        }
+    }
+
+    private static String formatMinutes(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
@@ -0,0 +1,46 @@
+package com.nexis.course_service.soap;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+
+    @XmlElement(name = "region")
+    private List<Region> regions = new ArrayList<>();
+
+    /**
+     * Compteurs d'une région; elementCount absent pour le cache de requêtes
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+
+        @XmlElement
+        private String name;
+
+        @XmlElement
+        private long hits;
+
+        @XmlElement
+        private long misses;
+
+        @XmlElement
+        private long puts;
+
+        @XmlElement
+        private Long elementCount;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nexis.course_service.soap;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page du catalogue renvoyée par listCourses / listCoursesPage.
+ * nextPageToken absent = dernière page; totalElements absent en pagination par curseur
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoursePage {
+
+    @XmlElement(name = "course")
+    private List<CourseResponse> courses = new ArrayList<>();
+
+    @XmlElement
+    private String nextPageToken;
+
+    @XmlElement
+    private Long totalElements;
+}
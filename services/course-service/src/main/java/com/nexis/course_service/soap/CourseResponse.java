@@ -4,6 +4,8 @@ import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.repository.CourseSummary;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,6 +26,9 @@ public class CourseResponse {
     @XmlElement
     private String title;
     
+    @XmlElement
+    private String description;
+    
     @XmlElement
     private String instructor;
     
@@ -38,4 +43,51 @@ public class CourseResponse {
     
     @XmlElement
     private String endTime;
-}
\ No newline at end of file
+    
+    @XmlElement
+    private String semester;
+    
+    @XmlElement
+    private String status;
+    
+    @XmlElement
+    private Long instructorId;
+    
+    @XmlElement
+    private Integer credits;
+    
+    @XmlElement
+    private Integer maxStudents;
+    
+    @XmlElement
+    private Integer enrolledStudents;
+    
+    public static CourseResponse from(CourseSummary c) {
+        CourseResponse r = new CourseResponse();
+        r.setId(c.getId());
+        r.setCode(c.getCode());
+        r.setTitle(c.getTitle());
+        r.setSemester(c.getSemester());
+        r.setStatus(c.getStatus() != null ? c.getStatus().name() : null);
+        r.setInstructorId(c.getInstructorId());
+        r.setCredits(c.getCredits());
+        r.setMaxStudents(c.getMaxStudents());
+        r.setEnrolledStudents(c.getEnrolledStudents());
+        return r;
+    }
+    
+    public static CourseResponse from(Course c) {
+        CourseResponse r = new CourseResponse();
+        r.setId(c.getId());
+        r.setCode(c.getCode());
+        r.setTitle(c.getTitle());
+        r.setDescription(c.getDescription());
+        r.setSemester(c.getSemester());
+        r.setStatus(c.getStatus() != null ? c.getStatus().name() : null);
+        r.setInstructorId(c.getInstructorId());
+        r.setCredits(c.getCredits());
+        r.setMaxStudents(c.getMaxStudents());
+        r.setEnrolledStudents(c.getEnrolledCount());
+        return r;
+    }
+}
@@ -1,18 +1,35 @@
 package com.nexis.course_service.soap;
 
 import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseMaterial;
 import com.nexis.course_service.model.CourseStatus;
 import com.nexis.course_service.model.Schedule;
+import com.nexis.course_service.security.JwtClaims;
+import com.nexis.course_service.service.BulkEnrollmentService;
+import com.nexis.course_service.service.CatalogCache;
+import com.nexis.course_service.service.CatalogPage;
+import com.nexis.course_service.service.CourseMaterialService;
 import com.nexis.course_service.service.CourseService;
+import com.nexis.course_service.service.MaterialFileStore;
 import com.nexis.course_service.service.ScheduleService;
+import com.nexis.course_service.service.TimetablePlan;
+import com.nexis.course_service.service.TimetableSolver;
+import com.nexis.course_service.service.SeatReservationService;
+import com.nexis.course_service.service.SemesterRolloverService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.apache.cxf.binding.soap.SoapFault;
 import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.PhaseInterceptorChain;
 
+import javax.activation.DataHandler;
 import javax.jws.WebMethod;
 import javax.jws.WebParam;
 import javax.jws.WebService;
+import javax.xml.bind.annotation.XmlMimeType;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +46,50 @@ public class CourseServiceSOAP implements ICourseService {
     
     private final CourseService courseService;
     private final ScheduleService scheduleService;
+    private final BulkEnrollmentService bulkEnrollmentService;
+    private final TimetableSolver timetableSolver;
+    private final CatalogCache catalogCache;
+    private final CourseMaterialService courseMaterialService;
+    private final MaterialFileStore materialFileStore;
+    private final SemesterRolloverService semesterRolloverService;
+    
+    /**
+     * Opérations réservées aux administrateurs: SOAP Fault client sinon
+     */
+    private void requireAdmin() {
+        JwtClaims claims = currentClaims();
+        String role = claims != null ? claims.getRole() : null;
+        if (!"ADMIN".equals(role)) {
+            log.warn("❌ Accès refusé pour rôle: {}", role);
+            throw new SoapFault("Accès refusé : rôle non autorisé", SoapFault.FAULT_CODE_CLIENT);
+        }
+    }
+    
+    private boolean isStaff() {
+        JwtClaims claims = currentClaims();
+        String role = claims != null ? claims.getRole() : null;
+        return "ADMIN".equals(role) || "PROFESSOR".equals(role);
+    }
+    
+    /**
+     * Erreur d'une opération typée: Fault client pour une entrée invalide, serveur sinon
+     */
+    private static SoapFault fault(String operation, Exception e) {
+        log.error("❌ Erreur {}: {}", operation, e.getMessage());
+        return new SoapFault("Erreur: " + e.getMessage(),
+            e instanceof IllegalArgumentException ? SoapFault.FAULT_CODE_CLIENT : SoapFault.FAULT_CODE_SERVER);
+    }
+    
+    /**
+     * Claims vérifiés déposés par JwtSoapInterceptor pour la requête courante
+     */
+    private JwtClaims currentClaims() {
+        Message message = PhaseInterceptorChain.getCurrentMessage();
+        if (message == null) {
+            return null;
+        }
+        return (JwtClaims) message.get(JwtClaims.MESSAGE_KEY);
+    }
     
     @WebMethod(operationName = "addCourse")
     @Override
@@ -43,8 +104,8 @@ public class CourseServiceSOAP implements ICourseService {
     ) {
         try {
 
-            Message message = org.apache.cxf.phase.PhaseInterceptorChain.getCurrentMessage();
-            String role = (String) message.get("role");
+            JwtClaims claims = currentClaims();
+            String role = claims != null ? claims.getRole() : null;
 
             if (!"ADMIN".equals(role) && !"PROFESSOR".equals(role)) {
                 log.warn("❌ Accès refusé pour rôle: {}", role);
@@ -103,9 +164,9 @@ public String updateCourse(
 ) {
     try {
         // 1️⃣ Récupérer le rôle et userId depuis le JWT
-        Message message = org.apache.cxf.phase.PhaseInterceptorChain.getCurrentMessage();
-        String role = (String) message.get("role");
-        Long userId = (Long) message.get("userId");
+        JwtClaims claims = currentClaims();
+        String role = claims != null ? claims.getRole() : null;
+        Long userId = claims != null ? claims.getUserId() : null;
 
         // 2️⃣ Vérification du rôle
         if (!"ADMIN".equals(role) && !"PROFESSOR".equals(role)) {
@@ -157,85 +218,87 @@ public String updateCourse(
     
     @WebMethod(operationName = "getCourseById")
     @Override
-    public String getCourseById(@WebParam(name = "id") long id) {
+    public CourseResponse getCourseById(@WebParam(name = "id") long id) {
         try {
-            Optional<Course> course = courseService.getCourseById(id);
-            if (course.isPresent()) {
-                Course c = course.get();
-                return "ID: " + c.getId() + " | Code: " + c.getCode() + 
-                       " | Titre: " + c.getTitle() + " | Instructeur ID: " + 
-                       c.getInstructorId() + " | Inscrits: " + c.getEnrolledCount() + 
-                       "/" + c.getMaxStudents();
-            }
-            return "Cours non trouvé";
+            // Réponse vide si le cours n'existe pas
+            return courseService.getCourseById(id).map(CourseResponse::from).orElse(null);
         } catch (Exception e) {
-            log.error("❌ Erreur récupération cours: {}", e.getMessage());
-            return "Erreur: " + e.getMessage();
+            throw fault("récupération cours", e);
         }
     }
     
     @WebMethod(operationName = "listAllCourses")
     @Override
-    public String listAllCourses() {
+    public CourseList listAllCourses() {
         try {
-            List<Course> courses = courseService.getAllCourses();
-            if (courses.isEmpty()) {
-                return "Aucun cours trouvé";
-            }
-            
-            StringBuilder result = new StringBuilder();
-            for (Course c : courses) {
-                result.append("ID: ").append(c.getId())
-                    .append(" | Code: ").append(c.getCode())
-                    .append(" | Titre: ").append(c.getTitle())
-                    .append(" | Inscrits: ").append(c.getEnrolledCount())
-                    .append("/").append(c.getMaxStudents())
-                    .append(" || ");
-            }
-            return result.toString();
+            return new CourseList(new MappedList<>(courseService.getCatalogSummaries(), CourseResponse::from));
         } catch (Exception e) {
-            log.error("❌ Erreur liste cours: {}", e.getMessage());
-            return "Erreur: " + e.getMessage();
+            throw fault("liste cours", e);
         }
     }
     
+    @WebMethod(operationName = "listCourses")
+    @Override
+    public CoursePage listCourses(
+        @WebParam(name = "semester") String semester,
+        @WebParam(name = "status") String status,
+        @WebParam(name = "instructorId") Long instructorId,
+        @WebParam(name = "pageSize") Integer pageSize,
+        @WebParam(name = "pageToken") String pageToken
+    ) {
+        try {
+            return toCoursePage(courseService.getCatalog(semester, status, instructorId, pageSize, pageToken));
+        } catch (IllegalArgumentException e) {
+            throw new SoapFault("Erreur: " + e.getMessage(), SoapFault.FAULT_CODE_CLIENT);
+        } catch (Exception e) {
+            log.error("❌ Erreur catalogue: {}", e.getMessage());
+            throw new SoapFault("Erreur: " + e.getMessage(), SoapFault.FAULT_CODE_SERVER);
+        }
+    }
+    
+    @WebMethod(operationName = "listCoursesPage")
+    @Override
+    public CoursePage listCoursesPage(
+        @WebParam(name = "semester") String semester,
+        @WebParam(name = "status") String status,
+        @WebParam(name = "instructorId") Long instructorId,
+        @WebParam(name = "page") Integer page,
+        @WebParam(name = "pageSize") Integer pageSize
+    ) {
+        try {
+            return toCoursePage(courseService.getCatalogPage(semester, status, instructorId, page, pageSize));
+        } catch (IllegalArgumentException e) {
+            throw new SoapFault("Erreur: " + e.getMessage(), SoapFault.FAULT_CODE_CLIENT);
+        } catch (Exception e) {
+            log.error("❌ Erreur catalogue: {}", e.getMessage());
+            throw new SoapFault("Erreur: " + e.getMessage(), SoapFault.FAULT_CODE_SERVER);
+        }
+    }
+    
+    private static CoursePage toCoursePage(CatalogPage page) {
+        List<CourseResponse> courses = new ArrayList<>(page.getItems().size());
+        page.getItems().forEach(c -> courses.add(CourseResponse.from(c)));
+        Long total = page.getTotalElements() >= 0 ? page.getTotalElements() : null;
+        return new CoursePage(courses, page.getNextPageToken(), total);
+    }
+    
     @WebMethod(operationName = "getCoursesBySemester")
     @Override
-    public String getCoursesBySemester(@WebParam(name = "semester") String semester) {
+    public CourseList getCoursesBySemester(@WebParam(name = "semester") String semester) {
         try {
-            List<Course> courses = courseService.getCoursesBySemester(semester);
-            if (courses.isEmpty()) {
-                return "Aucun cours trouvé pour ce semestre";
-            }
-            
-            StringBuilder result = new StringBuilder();
-            for (Course c : courses) {
-                result.append(c.getCode()).append(" - ").append(c.getTitle()).append(" || ");
-            }
-            return result.toString();
+            return new CourseList(new MappedList<>(courseService.getCoursesBySemester(semester), CourseResponse::from));
         } catch (Exception e) {
-            log.error("❌ Erreur semestre: {}", e.getMessage());
-            return "Erreur: " + e.getMessage();
+            throw fault("semestre", e);
         }
     }
     
     @WebMethod(operationName = "getCoursesByInstructor")
     @Override
-    public String getCoursesByInstructor(@WebParam(name = "instructorId") long instructorId) { 
+    public CourseList getCoursesByInstructor(@WebParam(name = "instructorId") long instructorId) {
         try {
-            List<Course> courses = courseService.getCoursesByInstructor(instructorId);
-            if (courses.isEmpty()) {
-                return "Aucun cours pour cet instructeur";
-            }
-            
-            StringBuilder result = new StringBuilder();
-            for (Course c : courses) {
-                result.append(c.getCode()).append(" - ").append(c.getTitle()).append(" || ");
-            }
-            return result.toString();
+            return new CourseList(new MappedList<>(courseService.getCoursesByInstructor(instructorId), CourseResponse::from));
         } catch (Exception e) {
-            log.error("❌ Erreur instructeur: {}", e.getMessage());
-            return "Erreur: " + e.getMessage();
+            throw fault("instructeur", e);
         }
     }
     
@@ -248,13 +311,20 @@ public String updateCourse(
         @WebParam(name = "studentId") long studentId 
     ) {
         try {
-            boolean enrolled = courseService.enrollStudent(courseId, studentId);
-            if (enrolled) {
-                log.info("✅ Étudiant {} inscrit au cours {}", studentId, courseId);
-                return "Étudiant inscrit avec succès";
-            } else {
-                log.warn("⚠️ Impossible d'inscrire étudiant {}", studentId);
-                return "Erreur: Cours complet ou étudiant déjà inscrit";
+            SeatReservationService.Outcome outcome = courseService.enroll(courseId, studentId);
+            switch (outcome) {
+                case ENROLLED:
+                    log.debug("✅ Étudiant {} inscrit au cours {}", studentId, courseId);  // déjà journalisé par CourseService
+                    return "Étudiant inscrit avec succès";
+                case WAITLISTED:
+                case ALREADY_WAITLISTED:
+                    int position = courseService.getWaitlistPosition(courseId, studentId);
+                    return "Cours complet: étudiant en liste d'attente (position " + position + ")";
+                case ALREADY_ENROLLED:
+                    return "Erreur: Étudiant déjà inscrit à ce cours";
+                default:
+                    log.warn("⚠️ Impossible d'inscrire étudiant {}", studentId);
+                    return "Erreur: Cours complet";
             }
         } catch (Exception e) {
             log.error("❌ Erreur inscription: {}", e.getMessage());
@@ -271,7 +341,7 @@ public String updateCourse(
         try {
             boolean removed = courseService.removeStudent(courseId, studentId);
             if (removed) {
-                log.info("✅ Étudiant {} désinscrit du cours {}", studentId, courseId);
+                log.debug("✅ Étudiant {} désinscrit du cours {}", studentId, courseId);
                 return "Étudiant désinscrit avec succès";
             } else {
                 return "Erreur: Étudiant non inscrit à ce cours";
@@ -282,60 +352,97 @@ public String updateCourse(
         }
     }
     
-    @WebMethod(operationName = "checkStudentEnrollment")
+    @WebMethod(operationName = "bulkEnroll")
     @Override
-    public String checkStudentEnrollment(
+    public List<EnrollmentResult> bulkEnroll(
         @WebParam(name = "courseId") long courseId,
-        @WebParam(name = "studentId") long studentId 
+        @WebParam(name = "studentIds") List<Long> studentIds
     ) {
+        List<Long> courseIds = new ArrayList<>();
+        List<Long> students = studentIds != null ? studentIds : new ArrayList<>();
+        students.forEach(s -> courseIds.add(courseId));
+        return runBulkEnroll(courseIds, students);
+    }
+    
+    @WebMethod(operationName = "bulkEnrollPairs")
+    @Override
+    public List<EnrollmentResult> bulkEnrollPairs(@WebParam(name = "items") List<EnrollmentItem> items) {
+        List<Long> courseIds = new ArrayList<>();
+        List<Long> students = new ArrayList<>();
+        if (items != null) {
+            for (EnrollmentItem item : items) {
+                courseIds.add(item.getCourseId());
+                students.add(item.getStudentId());
+            }
+        }
+        return runBulkEnroll(courseIds, students);
+    }
+    
+    /**
+     * Inscription en masse réservée aux administrateurs (import du registrariat)
+     * Les erreurs globales sont remontées en SOAP Fault, les issues par élément dans la liste
+     */
+    private List<EnrollmentResult> runBulkEnroll(List<Long> courseIds, List<Long> studentIds) {
+        requireAdmin();
         try {
-            boolean enrolled = courseService.isStudentEnrolled(courseId, studentId);
-            if (enrolled) {
-                return "Oui, l'étudiant est inscrit à ce cours";
-            } else {
-                return "Non, l'étudiant n'est pas inscrit à ce cours";
+            List<SeatReservationService.Outcome> outcomes = bulkEnrollmentService.enroll(courseIds, studentIds);
+            List<EnrollmentResult> results = new ArrayList<>(outcomes.size());
+            for (int i = 0; i < outcomes.size(); i++) {
+                results.add(new EnrollmentResult(courseIds.get(i), studentIds.get(i), outcomes.get(i).name()));
             }
+            log.info("✅ Inscription en masse: {} éléments", results.size());
+            return results;
         } catch (Exception e) {
-            log.error("❌ Erreur vérification: {}", e.getMessage());
-            return "Erreur: " + e.getMessage();
+            log.error("❌ Erreur inscription en masse: {}", e.getMessage());
+            throw new SoapFault("Erreur: " + e.getMessage(), SoapFault.FAULT_CODE_SERVER);
+        }
+    }
+    
+    @WebMethod(operationName = "getWaitlistPosition")
+    @Override
+    public int getWaitlistPosition(
+        @WebParam(name = "courseId") long courseId,
+        @WebParam(name = "studentId") long studentId
+    ) {
+        try {
+            // 0 = absent de la liste d'attente
+            return courseService.getWaitlistPosition(courseId, studentId);
+        } catch (Exception e) {
+            throw fault("liste d'attente", e);
+        }
+    }
+    
+    @WebMethod(operationName = "checkStudentEnrollment")
+    @Override
+    public boolean checkStudentEnrollment(
+        @WebParam(name = "courseId") long courseId,
+        @WebParam(name = "studentId") long studentId
+    ) {
+        try {
+            return courseService.isStudentEnrolled(courseId, studentId);
+        } catch (Exception e) {
+            throw fault("vérification", e);
         }
     }
     
     @WebMethod(operationName = "getEnrolledStudents")
     @Override
-    public String getEnrolledStudents(@WebParam(name = "courseId") long courseId) {  
+    public EnrolledStudents getEnrolledStudents(@WebParam(name = "courseId") long courseId) {
         try {
             List<Long> students = courseService.getEnrolledStudents(courseId);
-            if (students.isEmpty()) {
-                return "Aucun étudiant inscrit à ce cours";
-            }
-            
-            StringBuilder result = new StringBuilder();
-            for (Long studentId : students) {
-                result.append(studentId).append(", ");
-            }
-            // Supprimer la dernière virgule
-            return "Étudiants inscrits: " + result.substring(0, result.length() - 2);
+            return new EnrolledStudents(courseId, students.size(), students);
         } catch (Exception e) {
-            log.error("❌ Erreur liste étudiants: {}", e.getMessage());
-            return "Erreur: " + e.getMessage();
+            throw fault("liste étudiants", e);
         }
     }
     
     @WebMethod(operationName = "getEnrolledCount")
     @Override
-    public String getEnrolledCount(@WebParam(name = "courseId") long courseId) {  
+    public int getEnrolledCount(@WebParam(name = "courseId") long courseId) {
         try {
-            int count = courseService.getEnrolledCount(courseId);
-            Optional<Course> course = courseService.getCourseById(courseId);
-            if (course.isPresent()) {
-                int maxStudents = course.get().getMaxStudents();
-                return "Inscrits: " + count + "/" + maxStudents;
-            }
-            return "Erreur: Cours non trouvé";
+            return courseService.getEnrolledCount(courseId);
         } catch (Exception e) {
-            log.error("❌ Erreur comptage: {}", e.getMessage());
-            return "Erreur: " + e.getMessage();
+            throw fault("comptage", e);
         }
     }
     
@@ -364,80 +471,94 @@ public String updateCourse(
     
     @WebMethod(operationName = "getSchedulesByCourse")
     @Override
-    public String getSchedulesByCourse(@WebParam(name = "courseId") long courseId) {
+    public ScheduleList getSchedulesByCourse(@WebParam(name = "courseId") long courseId) {
         try {
-            List<Schedule> schedules = scheduleService.getSchedulesByCourse(courseId);
-            if (schedules.isEmpty()) {
-                return "Aucun emploi du temps trouvé";
-            }
-            
-            StringBuilder result = new StringBuilder();
-            for (Schedule s : schedules) {
-                result.append(s.getDayOfWeek()).append(" ")
-                    .append(s.getStartTime()).append("-").append(s.getEndTime())
-                    .append(" | Salle: ").append(s.getRoom()).append(" || ");
-            }
-            return result.toString();
+            return new ScheduleList(new MappedList<>(scheduleService.getSchedulesByCourse(courseId), ScheduleResponse::from));
         } catch (Exception e) {
-            return "Erreur: " + e.getMessage();
+            throw fault("emplois du temps", e);
         }
     }
     
     @WebMethod(operationName = "getSchedulesByDay")
     @Override
-    public String getSchedulesByDay(@WebParam(name = "dayOfWeek") String dayOfWeek) {
+    public ScheduleList getSchedulesByDay(@WebParam(name = "dayOfWeek") String dayOfWeek) {
         try {
-            List<Schedule> schedules = scheduleService.getSchedulesByDay(dayOfWeek);
-            if (schedules.isEmpty()) {
-                return "Aucun cours " + dayOfWeek;
-            }
-            
-            StringBuilder result = new StringBuilder();
-            for (Schedule s : schedules) {
-                result.append(s.getCourse().getCode()).append(" | ")
-                    .append(s.getStartTime()).append("-").append(s.getEndTime())
-                    .append(" || ");
-            }
-            return result.toString();
+            return new ScheduleList(new MappedList<>(scheduleService.getSchedulesByDay(dayOfWeek), ScheduleResponse::from));
         } catch (Exception e) {
-            return "Erreur: " + e.getMessage();
+            throw fault("emplois du temps", e);
         }
     }
     
     @WebMethod(operationName = "getSchedulesByRoom")
     @Override
-    public String getSchedulesByRoom(@WebParam(name = "room") String room) {
+    public ScheduleList getSchedulesByRoom(@WebParam(name = "room") String room) {
         try {
-            List<Schedule> schedules = scheduleService.getSchedulesByRoom(room);
-            if (schedules.isEmpty()) {
-                return "Aucun emploi du temps pour " + room;
-            }
-            
-            StringBuilder result = new StringBuilder();
-            for (Schedule s : schedules) {
-                result.append(s.getCourse().getTitle()).append(" | ")
-                    .append(s.getDayOfWeek()).append(" ")
-                    .append(s.getStartTime()).append("-").append(s.getEndTime())
-                    .append(" || ");
-            }
-            return result.toString();
+            return new ScheduleList(new MappedList<>(scheduleService.getSchedulesByRoom(room), ScheduleResponse::from));
         } catch (Exception e) {
-            return "Erreur: " + e.getMessage();
+            throw fault("emplois du temps", e);
         }
     }
     
     @WebMethod(operationName = "checkRoomAvailability")
     @Override
-    public String checkRoomAvailability(
+    public boolean checkRoomAvailability(
         @WebParam(name = "room") String room,
         @WebParam(name = "dayOfWeek") String dayOfWeek,
         @WebParam(name = "startTime") String startTime
     ) {
         try {
-            boolean available = scheduleService.isRoomAvailable(room, dayOfWeek, startTime);
-            return available ? "Disponible" : "Occupée";
+            return scheduleService.isRoomAvailable(room, dayOfWeek, startTime);
         } catch (Exception e) {
-            return "Erreur: " + e.getMessage();
+            throw fault("disponibilité salle", e);
+        }
+    }
+    
+    @WebMethod(operationName = "checkRoomSlotAvailability")
+    @Override
+    public RoomAvailability checkRoomSlotAvailability(
+        @WebParam(name = "room") String room,
+        @WebParam(name = "building") String building,
+        @WebParam(name = "dayOfWeek") String dayOfWeek,
+        @WebParam(name = "startTime") String startTime,
+        @WebParam(name = "endTime") String endTime
+    ) {
+        try {
+            List<Long> conflicts = scheduleService.findRoomConflicts(room, building, dayOfWeek, startTime, endTime);
+            return new RoomAvailability(conflicts.isEmpty(), conflicts);
+        } catch (Exception e) {
+            throw fault("disponibilité salle", e);
+        }
+    }
+    
+    @WebMethod(operationName = "solveTimetable")
+    @Override
+    public TimetableResult solveTimetable(
+        @WebParam(name = "semester") String semester,
+        @WebParam(name = "timeBudgetMs") long timeBudgetMs,
+        @WebParam(name = "apply") boolean apply
+    ) {
+        requireAdmin();
+        try {
+            TimetablePlan plan = apply
+                ? timetableSolver.solveAndApply(semester, timeBudgetMs)
+                : timetableSolver.solve(semester, timeBudgetMs);
+            
+            TimetableResult result = new TimetableResult();
+            result.setSemester(plan.getSemester());
+            result.setApplied(apply);
+            result.setCoursesConsidered(plan.getCoursesConsidered());
+            result.setAlreadyScheduled(plan.getAlreadyScheduled());
+            result.setElapsedMs(plan.getElapsedMs());
+            result.setTimedOut(plan.isTimedOut());
+            for (TimetablePlan.Assignment a : plan.getAssignments()) {
+                result.getAssignments().add(new ScheduleResponse(null, a.getCourseId(), a.getDayOfWeek(),
+                    a.getStartTime(), a.getEndTime(), a.getRoom(), a.getBuilding(), a.getCapacity(), null));
+            }
+            plan.getUnassigned().forEach((courseId, reason) ->
+                result.getUnplaced().add(new TimetableResult.UnplacedCourse(courseId, reason)));
+            return result;
+        } catch (Exception e) {
+            throw fault("solveur emploi du temps", e);
         }
     }
     
@@ -481,4 +602,134 @@ public String updateCourse(
         } catch (Exception e) {
             return "Erreur: " + e.getMessage();
         }
-    }}
\ No newline at end of file
+    }
+    
+    // ========== RECONDUCTION DE SEMESTRE ==========
+    
+    @WebMethod(operationName = "startSemesterRollover")
+    @Override
+    public RolloverStatus startSemesterRollover(
+        @WebParam(name = "sourceSemester") String sourceSemester,
+        @WebParam(name = "targetSemester") String targetSemester,
+        @WebParam(name = "copySchedules") boolean copySchedules,
+        @WebParam(name = "copyMaterials") boolean copyMaterials
+    ) {
+        requireAdmin();
+        try {
+            RolloverStatus status = RolloverStatus.from(
+                semesterRolloverService.start(sourceSemester, targetSemester, copySchedules, copyMaterials));
+            log.info("✅ Reconduction {} -> {} lancée ({})", sourceSemester, targetSemester, status.getJobId());
+            return status;
+        } catch (IllegalStateException e) {
+            log.warn("⚠️  {}", e.getMessage());
+            throw new SoapFault("Erreur: " + e.getMessage(), SoapFault.FAULT_CODE_CLIENT);
+        } catch (Exception e) {
+            throw fault("reconduction", e);
+        }
+    }
+    
+    @WebMethod(operationName = "getSemesterRolloverStatus")
+    @Override
+    public RolloverStatus getSemesterRolloverStatus(@WebParam(name = "jobId") String jobId) {
+        requireAdmin();
+        try {
+            return RolloverStatus.from(semesterRolloverService.getStatus(jobId));
+        } catch (Exception e) {
+            throw fault("suivi reconduction", e);
+        }
+    }
+    
+    // ========== SUPPORTS DE COURS (MTOM) ==========
+    
+    @WebMethod(operationName = "uploadMaterial")
+    @Override
+    public MaterialResponse uploadMaterial(
+        @WebParam(name = "courseId") long courseId,
+        @WebParam(name = "title") String title,
+        @WebParam(name = "description") String description,
+        @WebParam(name = "type") String type,
+        @WebParam(name = "fileName") String fileName,
+        @WebParam(name = "contentType") String contentType,
+        @WebParam(name = "content") @XmlMimeType("application/octet-stream") DataHandler content
+    ) {
+        if (!isStaff()) {
+            log.warn("❌ Accès refusé pour l'envoi de support");
+            throw new SoapFault("Accès refusé : rôle non autorisé", SoapFault.FAULT_CODE_CLIENT);
+        }
+        if (content == null) {
+            throw new SoapFault("Contenu manquant (pièce jointe MTOM)", SoapFault.FAULT_CODE_CLIENT);
+        }
+        try (InputStream in = content.getInputStream()) {
+            // Pièce jointe lue en flux (CXF la met sur disque au-delà du seuil mémoire)
+            CourseMaterial saved = courseMaterialService.upload(
+                courseId, title, description, type, fileName, contentType, in);
+            return MaterialResponse.from(saved);
+        } catch (Exception e) {
+            throw fault("envoi support", e);
+        }
+    }
+    
+    @WebMethod(operationName = "deleteMaterial")
+    @Override
+    public String deleteMaterial(@WebParam(name = "materialId") long materialId) {
+        try {
+            if (!isStaff()) {
+                log.warn("❌ Accès refusé pour la suppression de support");
+                return "Accès refusé : rôle non autorisé";
+            }
+            courseMaterialService.deleteMaterial(materialId);
+            return "Support supprimé avec succès";
+        } catch (Exception e) {
+            log.error("❌ Erreur suppression support: {}", e.getMessage());
+            return "Erreur: " + e.getMessage();
+        }
+    }
+    
+    @WebMethod(operationName = "listMaterials")
+    @Override
+    public MaterialList listMaterials(@WebParam(name = "courseId") long courseId) {
+        boolean staff = isStaff();
+        try {
+            return new MaterialList(new MappedList<>(
+                courseMaterialService.getMaterialsByCourse(courseId, staff), MaterialResponse::from));
+        } catch (Exception e) {
+            throw fault("liste supports", e);
+        }
+    }
+    
+    @WebMethod(operationName = "downloadMaterial")
+    @Override
+    public MaterialContent downloadMaterial(@WebParam(name = "materialId") long materialId) {
+        boolean staff = isStaff();
+        try {
+            CourseMaterial material = courseMaterialService.getDownloadableMaterial(materialId, staff);
+            DataHandler content = new DataHandler(new StoredFileDataSource(
+                materialFileStore.path(material.getContentHash()),
+                material.getContentType() != null ? material.getContentType() : CourseMaterialService.DEFAULT_CONTENT_TYPE,
+                material.getFileName()));
+            return new MaterialContent(MaterialResponse.from(material), content);
+        } catch (Exception e) {
+            throw fault("téléchargement support", e);
+        }
+    }
+    
+    // ========== CACHE ==========
+    
+    @WebMethod(operationName = "getCacheStatistics")
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        requireAdmin();
+        if (!catalogCache.isStatisticsEnabled()) {
+            throw new SoapFault("Statistiques désactivées (APP_CACHE_STATISTICS=false)", SoapFault.FAULT_CODE_CLIENT);
+        }
+        try {
+            CacheStatistics result = new CacheStatistics();
+            catalogCache.statistics().forEach((region, c) -> result.getRegions().add(
+                new CacheStatistics.Region(region, c[0], c[1], c[2], c[3] >= 0 ? c[3] : null)));
+            return result;
+        } catch (Exception e) {
+            throw fault("statistiques cache", e);
+        }
+    }
+    
+}
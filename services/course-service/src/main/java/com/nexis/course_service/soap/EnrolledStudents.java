@@ -0,0 +1,27 @@
+package com.nexis.course_service.soap;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrolledStudents {
+
+    @XmlElement
+    private long courseId;
+
+    @XmlElement
+    private int count;
+
+    @XmlElement(name = "studentId")
+    private List<Long> studentIds = new ArrayList<>();
+}
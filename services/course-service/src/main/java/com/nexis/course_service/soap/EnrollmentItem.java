@@ -0,0 +1,24 @@
+package com.nexis.course_service.soap;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Couple (cours, étudiant) pour l'inscription en masse
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentItem {
+    
+    @XmlElement(required = true)
+    private long courseId;
+    
+    @XmlElement(required = true)
+    private long studentId;
+}
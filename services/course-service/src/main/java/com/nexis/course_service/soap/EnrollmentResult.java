@@ -0,0 +1,28 @@
+package com.nexis.course_service.soap;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat d'inscription pour un couple (cours, étudiant)
+ * outcome: ENROLLED, WAITLISTED, ALREADY_ENROLLED, ALREADY_WAITLISTED, COURSE_NOT_FOUND
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentResult {
+    
+    @XmlElement
+    private long courseId;
+    
+    @XmlElement
+    private long studentId;
+    
+    @XmlElement
+    private String outcome;
+}
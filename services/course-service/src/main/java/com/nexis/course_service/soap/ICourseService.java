@@ -96,9 +96,12 @@
 
 package com.nexis.course_service.soap;
 
+import javax.activation.DataHandler;
 import javax.jws.WebMethod;
 import javax.jws.WebParam;
 import javax.jws.WebService;
+import javax.xml.bind.annotation.XmlMimeType;
+import java.util.List;
 
 @WebService(name = "CourseService", targetNamespace = "http://soap.course_service.nexis.com/")
 public interface ICourseService {
@@ -126,16 +129,35 @@ public interface ICourseService {
     String deleteCourse(@WebParam(name = "id") long id);
     
     @WebMethod
-    String getCourseById(@WebParam(name = "id") long id);
+    CourseResponse getCourseById(@WebParam(name = "id") long id);
     
+    // ⚠️ Catalogue complet en une réponse: préférer listCourses (paginé)
     @WebMethod
-    String listAllCourses();
+    CourseList listAllCourses();
     
     @WebMethod
-    String getCoursesBySemester(@WebParam(name = "semester") String semester);
+    CoursePage listCourses(
+        @WebParam(name = "semester") String semester,
+        @WebParam(name = "status") String status,
+        @WebParam(name = "instructorId") Long instructorId,
+        @WebParam(name = "pageSize") Integer pageSize,
+        @WebParam(name = "pageToken") String pageToken
+    );
     
     @WebMethod
-    String getCoursesByInstructor(@WebParam(name = "instructorId") long instructorId);  // ✅ NOUVEAU
+    CoursePage listCoursesPage(
+        @WebParam(name = "semester") String semester,
+        @WebParam(name = "status") String status,
+        @WebParam(name = "instructorId") Long instructorId,
+        @WebParam(name = "page") Integer page,
+        @WebParam(name = "pageSize") Integer pageSize
+    );
+    
+    @WebMethod
+    CourseList getCoursesBySemester(@WebParam(name = "semester") String semester);
+    
+    @WebMethod
+    CourseList getCoursesByInstructor(@WebParam(name = "instructorId") long instructorId);  // ✅ NOUVEAU
     
     // ========== INSCRIPTIONS ==========
     
@@ -152,16 +174,31 @@ public interface ICourseService {
     );
     
     @WebMethod
-    String checkStudentEnrollment(
+    List<EnrollmentResult> bulkEnroll(
+        @WebParam(name = "courseId") long courseId,
+        @WebParam(name = "studentIds") List<Long> studentIds
+    );
+    
+    @WebMethod
+    List<EnrollmentResult> bulkEnrollPairs(@WebParam(name = "items") List<EnrollmentItem> items);
+    
+    @WebMethod
+    int getWaitlistPosition(
+        @WebParam(name = "courseId") long courseId,
+        @WebParam(name = "studentId") long studentId
+    );
+    
+    @WebMethod
+    boolean checkStudentEnrollment(
         @WebParam(name = "courseId") long courseId,
         @WebParam(name = "studentId") long studentId  // ✅ NOUVEAU
     );
     
     @WebMethod
-    String getEnrolledStudents(@WebParam(name = "courseId") long courseId);  // ✅ NOUVEAU
+    EnrolledStudents getEnrolledStudents(@WebParam(name = "courseId") long courseId);  // ✅ NOUVEAU
     
     @WebMethod
-    String getEnrolledCount(@WebParam(name = "courseId") long courseId);  // ✅ NOUVEAU
+    int getEnrolledCount(@WebParam(name = "courseId") long courseId);  // ✅ NOUVEAU
     
     // ========== SCHEDULES ==========
     
@@ -177,21 +214,37 @@ public interface ICourseService {
     );
     
     @WebMethod
-    String getSchedulesByCourse(@WebParam(name = "courseId") long courseId);
+    ScheduleList getSchedulesByCourse(@WebParam(name = "courseId") long courseId);
     
     @WebMethod
-    String getSchedulesByDay(@WebParam(name = "dayOfWeek") String dayOfWeek);
+    ScheduleList getSchedulesByDay(@WebParam(name = "dayOfWeek") String dayOfWeek);
     
     @WebMethod
-    String getSchedulesByRoom(@WebParam(name = "room") String room);
+    ScheduleList getSchedulesByRoom(@WebParam(name = "room") String room);
     
     @WebMethod
-    String checkRoomAvailability(
+    boolean checkRoomAvailability(
         @WebParam(name = "room") String room,
         @WebParam(name = "dayOfWeek") String dayOfWeek,
         @WebParam(name = "startTime") String startTime
     );
     
+    @WebMethod
+    RoomAvailability checkRoomSlotAvailability(
+        @WebParam(name = "room") String room,
+        @WebParam(name = "building") String building,
+        @WebParam(name = "dayOfWeek") String dayOfWeek,
+        @WebParam(name = "startTime") String startTime,
+        @WebParam(name = "endTime") String endTime
+    );
+    
+    @WebMethod
+    TimetableResult solveTimetable(
+        @WebParam(name = "semester") String semester,
+        @WebParam(name = "timeBudgetMs") long timeBudgetMs,
+        @WebParam(name = "apply") boolean apply
+    );
+    
     @WebMethod
     String updateSchedule(
         @WebParam(name = "scheduleId") long scheduleId,
@@ -207,4 +260,42 @@ public interface ICourseService {
     
     @WebMethod
     String deleteSchedule(@WebParam(name = "scheduleId") long scheduleId);
+    
+    // ========== RECONDUCTION DE SEMESTRE ==========
+    
+    @WebMethod
+    RolloverStatus startSemesterRollover(
+        @WebParam(name = "sourceSemester") String sourceSemester,
+        @WebParam(name = "targetSemester") String targetSemester,
+        @WebParam(name = "copySchedules") boolean copySchedules,
+        @WebParam(name = "copyMaterials") boolean copyMaterials
+    );
+    
+    @WebMethod
+    RolloverStatus getSemesterRolloverStatus(@WebParam(name = "jobId") String jobId);
+    
+    // ========== SUPPORTS DE COURS (pièces jointes MTOM) ==========
+    
+    @WebMethod
+    MaterialResponse uploadMaterial(
+        @WebParam(name = "courseId") long courseId,
+        @WebParam(name = "title") String title,
+        @WebParam(name = "description") String description,
+        @WebParam(name = "type") String type,
+        @WebParam(name = "fileName") String fileName,
+        @WebParam(name = "contentType") String contentType,
+        @WebParam(name = "content") @XmlMimeType("application/octet-stream") DataHandler content
+    );
+    
+    @WebMethod
+    String deleteMaterial(@WebParam(name = "materialId") long materialId);
+    
+    @WebMethod
+    MaterialList listMaterials(@WebParam(name = "courseId") long courseId);
+    
+    @WebMethod
+    MaterialContent downloadMaterial(@WebParam(name = "materialId") long materialId);
+    
+    @WebMethod
+    CacheStatistics getCacheStatistics();
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.nexis.course_service.soap;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Vue en lecture seule qui convertit chaque élément à la demande.
+ * JAXB parcourt la liste pendant l'écriture de la réponse: chaque DTO est
+ * créé puis écrit dans le flux StAX, sans copie intermédiaire de la liste.
+ */
+final class MappedList<S, T> extends AbstractList<T> {
+
+    private final List<S> source;
+    private final Function<? super S, ? extends T> mapper;
+
+    MappedList(List<S> source, Function<? super S, ? extends T> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public T get(int index) {
+        return mapper.apply(source.get(index));
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
@@ -0,0 +1,29 @@
+package com.nexis.course_service.soap;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.activation.DataHandler;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlMimeType;
+
+/**
+ * Réponse de downloadMaterial: le contenu part en pièce jointe MTOM
+ * (xop:Include), pas en base64 dans le corps SOAP
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialContent {
+
+    @XmlElement
+    private MaterialResponse material;
+
+    @XmlElement
+    @XmlMimeType("application/octet-stream")
+    private DataHandler content;
+}
@@ -0,0 +1,68 @@
+package com.nexis.course_service.soap;
+
+import com.nexis.course_service.model.CourseMaterial;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Métadonnées d'un support; downloadUrl accepte les requêtes Range (vidéo)
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+public class MaterialResponse {
+
+    @XmlElement
+    private Long id;
+
+    @XmlElement
+    private Long courseId;
+
+    @XmlElement
+    private String title;
+
+    @XmlElement
+    private String description;
+
+    @XmlElement
+    private String type;
+
+    @XmlElement
+    private String fileName;
+
+    @XmlElement
+    private String contentType;
+
+    @XmlElement
+    private Long fileSize;
+
+    @XmlElement
+    private String contentHash;
+
+    @XmlElement
+    private Integer orderIndex;
+
+    @XmlElement
+    private String downloadUrl;
+
+    public static MaterialResponse from(CourseMaterial m) {
+        MaterialResponse r = new MaterialResponse();
+        r.setId(m.getId());
+        r.setCourseId(m.getCourse() != null ? m.getCourse().getId() : null);
+        r.setTitle(m.getTitle());
+        r.setDescription(m.getDescription());
+        r.setType(m.getType() != null ? m.getType().name() : null);
+        r.setFileName(m.getFileName());
+        r.setContentType(m.getContentType());
+        r.setFileSize(m.getFileSize());
+        r.setContentHash(m.getContentHash());
+        r.setOrderIndex(m.getOrderIndex());
+        // Supports externes (LINK): fileUrl; fichiers stockés: endpoint HTTP
+        r.setDownloadUrl(m.getContentHash() != null ? "/api/materials/" + m.getId() + "/content" : m.getFileUrl());
+        return r;
+    }
+}
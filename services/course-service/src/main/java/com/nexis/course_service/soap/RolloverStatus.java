@@ -0,0 +1,73 @@
+package com.nexis.course_service.soap;
+
+import com.nexis.course_service.service.SemesterRollover;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Avancement d'une reconduction de semestre (state: RUNNING, COMPLETED, FAILED)
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+public class RolloverStatus {
+
+    @XmlElement
+    private String jobId;
+
+    @XmlElement
+    private String sourceSemester;
+
+    @XmlElement
+    private String targetSemester;
+
+    @XmlElement
+    private String state;
+
+    @XmlElement
+    private int coursesTotal;
+
+    @XmlElement
+    private int coursesCloned;
+
+    @XmlElement
+    private int schedulesCloned;
+
+    @XmlElement
+    private int schedulesSkipped;
+
+    @XmlElement(name = "scheduleConflict")
+    private List<String> scheduleConflicts = new ArrayList<>();
+
+    @XmlElement
+    private int materialsCloned;
+
+    @XmlElement
+    private long elapsedMs;
+
+    @XmlElement
+    private String error;
+
+    public static RolloverStatus from(SemesterRollover job) {
+        RolloverStatus r = new RolloverStatus();
+        r.setJobId(job.getJobId());
+        r.setSourceSemester(job.getSourceSemester());
+        r.setTargetSemester(job.getTargetSemester());
+        r.setState(job.getState().name());
+        r.setCoursesTotal(job.getCoursesTotal());
+        r.setCoursesCloned(job.getCoursesCloned());
+        r.setSchedulesCloned(job.getSchedulesCloned());
+        r.setSchedulesSkipped(job.getSchedulesSkipped());
+        r.setScheduleConflicts(new ArrayList<>(job.getScheduleConflicts()));
+        r.setMaterialsCloned(job.getMaterialsCloned());
+        r.setElapsedMs(job.getElapsedMs());
+        r.setError(job.getError());
+        return r;
+    }
+}
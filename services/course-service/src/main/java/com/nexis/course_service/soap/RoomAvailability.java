@@ -0,0 +1,24 @@
+package com.nexis.course_service.soap;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAvailability {
+
+    @XmlElement
+    private boolean available;
+
+    @XmlElement(name = "conflictingScheduleId")
+    private List<Long> conflictingScheduleIds = new ArrayList<>();
+}
@@ -0,0 +1,58 @@
+package com.nexis.course_service.soap;
+
+import com.nexis.course_service.model.Schedule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleResponse {
+
+    @XmlElement
+    private Long id;
+
+    @XmlElement
+    private Long courseId;
+
+    @XmlElement
+    private String dayOfWeek;
+
+    @XmlElement
+    private String startTime;
+
+    @XmlElement
+    private String endTime;
+
+    @XmlElement
+    private String room;
+
+    @XmlElement
+    private String building;
+
+    @XmlElement
+    private Integer capacity;
+
+    @XmlElement
+    private String status;
+
+    public static ScheduleResponse from(Schedule s) {
+        return new ScheduleResponse(
+            s.getId(),
+            s.getCourse() != null ? s.getCourse().getId() : null,
+            s.getDayOfWeek(),
+            s.getStartTime(),
+            s.getEndTime(),
+            s.getRoom(),
+            s.getBuilding(),
+            s.getCapacity(),
+            s.getStatus() != null ? s.getStatus().name() : null
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package com.nexis.course_service.soap;
+
+import javax.activation.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Source MTOM en lecture seule sur un fichier du stockage: CXF lit le flux
+ * au moment d'écrire la pièce jointe, le fichier n'est jamais chargé en mémoire
+ */
+final class StoredFileDataSource implements DataSource {
+
+    private final Path path;
+    private final String contentType;
+    private final String name;
+
+    StoredFileDataSource(Path path, String contentType, String name) {
+        this.path = path;
+        this.contentType = contentType;
+        this.name = name;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        throw new IOException("Lecture seule");
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
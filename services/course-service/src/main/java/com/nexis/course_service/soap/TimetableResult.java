@@ -0,0 +1,58 @@
+package com.nexis.course_service.soap;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Résultat de solveTimetable: créneaux proposés (ou enregistrés si applied)
+ * et cours non placés avec la raison
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@Data
+@NoArgsConstructor
+public class TimetableResult {
+
+    @XmlElement
+    private String semester;
+
+    @XmlElement
+    private boolean applied;
+
+    @XmlElement
+    private int coursesConsidered;
+
+    @XmlElement
+    private int alreadyScheduled;
+
+    @XmlElement
+    private long elapsedMs;
+
+    @XmlElement
+    private boolean timedOut;
+
+    @XmlElement(name = "assignment")
+    private List<ScheduleResponse> assignments = new ArrayList<>();
+
+    @XmlElement(name = "unplaced")
+    private List<UnplacedCourse> unplaced = new ArrayList<>();
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UnplacedCourse {
+
+        @XmlElement
+        private Long courseId;
+
+        @XmlElement
+        private String reason;
+    }
+}
@@ -0,0 +1,72 @@
+package com.nexis.course_service.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Échantillonnage du profil prod (logback-spring.xml): un événement SAMPLED sur rate.
+ * Débit comparé des configurations de logs: LoggingBenchmark (profil Maven jmh).
+ */
+class SamplingFilterTests {
+
+	@Test
+	void keepsOneSampledEventInRate() {
+		SamplingFilter filter = filter(10);
+
+		int kept = 0;
+		for (int i = 0; i < 1_000; i++) {
+			FilterReply reply = filter.decide(event(Level.INFO, LogSampling.SAMPLED));
+			if (reply == FilterReply.NEUTRAL) {
+				kept++;
+			} else {
+				assertEquals(FilterReply.DENY, reply);
+			}
+		}
+		assertEquals(100, kept);
+	}
+
+	@Test
+	void warningsAndUnmarkedEventsAlwaysPass() {
+		SamplingFilter filter = filter(1_000);
+		// Premier SAMPLED gardé, les suivants refusés
+		assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, LogSampling.SAMPLED)));
+		assertEquals(FilterReply.DENY, filter.decide(event(Level.INFO, LogSampling.SAMPLED)));
+
+		Marker other = MarkerFactory.getMarker("AUDIT");
+		for (int i = 0; i < 100; i++) {
+			assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.WARN, LogSampling.SAMPLED)));
+			assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.ERROR, LogSampling.SAMPLED)));
+			assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, null)));
+			assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.DEBUG, other)));
+		}
+	}
+
+	@Test
+	void rateOfOneOrLessKeepsEverything() {
+		SamplingFilter filter = filter(0);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, LogSampling.SAMPLED)));
+		}
+	}
+
+	private static SamplingFilter filter(int rate) {
+		SamplingFilter filter = new SamplingFilter();
+		filter.setRate(rate);
+		filter.start();
+		return filter;
+	}
+
+	private static LoggingEvent event(Level level, Marker marker) {
+		LoggingEvent event = new LoggingEvent();
+		event.setLevel(level);
+		event.setMarker(marker);
+		event.setMessage("Étudiant 1 inscrit au cours 42");
+		return event;
+	}
+}
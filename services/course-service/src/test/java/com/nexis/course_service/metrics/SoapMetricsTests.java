@@ -0,0 +1,121 @@
+package com.nexis.course_service.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.cxf.binding.soap.SoapFault;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.service.model.InterfaceInfo;
+import org.apache.cxf.service.model.OperationInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoapMetricsTests {
+
+	private static final String NS = "http://soap.course_service.nexis.com/";
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final SoapMetrics metrics = new SoapMetrics(registry);
+	private final SoapMetricsInInterceptor in = new SoapMetricsInInterceptor(metrics);
+	private final SoapMetricsOutInterceptor out = new SoapMetricsOutInterceptor(metrics);
+
+	@Test
+	void recordsLatencySizesAndFaultsPerOperation() throws Exception {
+		call("getCourseById", 120, 300, null);
+		call("getCourseById", 80, 100, null);
+		call("getCourseById", 50, 40, new SoapFault("Cours non trouvé", SoapFault.FAULT_CODE_CLIENT));
+
+		Timer ok = registry.get("soap.server.requests").tags("operation", "getCourseById", "outcome", "success").timer();
+		assertEquals(2, ok.count());
+		assertEquals(1, registry.get("soap.server.requests").tags("operation", "getCourseById", "outcome", "fault").timer().count());
+		assertEquals(1.0, registry.get("soap.server.faults").tags("operation", "getCourseById", "code", "client").counter().count());
+		assertEquals(250.0, registry.get("soap.server.request.size").tag("operation", "getCourseById").summary().totalAmount());
+		assertEquals(440.0, registry.get("soap.server.response.size").tag("operation", "getCourseById").summary().totalAmount());
+		assertEquals(0, metrics.getInFlight());
+
+		String dump = metrics.dump();
+		assertTrue(dump.contains("# in-flight 0"), dump);
+		assertTrue(dump.lines().anyMatch(l -> l.startsWith("getCourseById") && l.split("\\s+")[1].equals("3")), dump);
+	}
+
+	@Test
+	void tracksInFlightUntilResponseIsClosed() throws Exception {
+		Exchange exchange = new ExchangeImpl();
+		Message request = receive(exchange, 10);
+		assertEquals(1, metrics.getInFlight());
+
+		OutputStream body = respond(exchange, request, null);
+		body.write(new byte[5]);
+		assertEquals(1, metrics.getInFlight());
+		body.close();
+		body.close();  // fermeture répétée: une seule mesure
+
+		assertEquals(0, metrics.getInFlight());
+		assertEquals(1, registry.get("soap.server.requests").tags("operation", SoapMetrics.UNKNOWN_OPERATION, "outcome", "success").timer().count());
+	}
+
+	@Test
+	void ignoresWsdlRequests() {
+		Exchange exchange = new ExchangeImpl();
+		Message request = new MessageImpl();
+		request.setExchange(exchange);
+		request.put(Message.HTTP_REQUEST_METHOD, "GET");
+		in.handleMessage(request);
+
+		Message response = new MessageImpl();
+		response.setExchange(exchange);
+		response.setContent(OutputStream.class, new ByteArrayOutputStream());
+		out.handleMessage(response);
+
+		assertEquals(0, metrics.getInFlight());
+		assertTrue(registry.find("soap.server.requests").timers().isEmpty());
+	}
+
+	private void call(String operation, int requestSize, int responseSize, Exception fault) throws Exception {
+		Exchange exchange = new ExchangeImpl();
+		Message request = receive(exchange, requestSize);
+		InterfaceInfo contract = new InterfaceInfo(new ServiceInfo(), new QName(NS, "ICourseService"));
+		OperationInfo op = contract.addOperation(new QName(NS, operation));
+		exchange.put(BindingOperationInfo.class, new BindingOperationInfo(null, op));
+
+		try (OutputStream body = respond(exchange, request, fault)) {
+			body.write(new byte[responseSize]);
+		}
+	}
+
+	private Message receive(Exchange exchange, int size) throws Exception {
+		Message request = new MessageImpl();
+		request.setExchange(exchange);
+		exchange.setInMessage(request);
+		request.put(Message.HTTP_REQUEST_METHOD, "POST");
+		request.setContent(InputStream.class, new ByteArrayInputStream(new byte[size]));
+		in.handleMessage(request);
+		request.getContent(InputStream.class).readAllBytes();
+		return request;
+	}
+
+	private OutputStream respond(Exchange exchange, Message request, Exception fault) {
+		Message response = new MessageImpl();
+		response.setExchange(exchange);
+		if (fault != null) {
+			exchange.setOutFaultMessage(response);
+			response.setContent(Exception.class, fault);
+		} else {
+			exchange.setOutMessage(response);
+		}
+		response.setContent(OutputStream.class, new ByteArrayOutputStream());
+		out.handleMessage(response);
+		return response.getContent(OutputStream.class);
+	}
+}
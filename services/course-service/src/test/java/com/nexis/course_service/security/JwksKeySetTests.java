@@ -0,0 +1,120 @@
+package com.nexis.course_service.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relecture de /.well-known/jwks.json sur kid inconnu (rotation pas encore vue),
+ * bornée par min-refresh-interval
+ */
+class JwksKeySetTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<JwksKeySet.Jwk> published = new ArrayList<>();
+	private final AtomicInteger requests = new AtomicInteger();
+	private HttpServer server;
+	private String url;
+
+	@BeforeEach
+	void startAuthService() throws Exception {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/.well-known/jwks.json", exchange -> {
+			requests.incrementAndGet();
+			JwksKeySet.Jwks jwks = new JwksKeySet.Jwks();
+			jwks.setKeys(new ArrayList<>(published));
+			byte[] body = objectMapper.writeValueAsString(jwks).getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort()
+				+ "/.well-known/jwks.json";
+	}
+
+	@AfterEach
+	void stopAuthService() {
+		server.stop(0);
+	}
+
+	@Test
+	void unknownKidIsFetchedImmediately() {
+		KeyPair current = Keys.keyPairFor(SignatureAlgorithm.ES256);
+		KeyPair next = Keys.keyPairFor(SignatureAlgorithm.ES256);
+		published.add(jwk("current", current));
+		JwksKeySet keySet = new JwksKeySet(objectMapper, url, 2_000, 0);
+		keySet.refresh();
+		assertEquals(1, requests.get());
+
+		// Kid connu: lecture de la map, sans appel
+		assertEquals(current.getPublic(), keySet.find("current"));
+		assertEquals(1, requests.get());
+
+		// Rotation publiée par auth-service après la dernière relecture périodique
+		published.add(jwk("next", next));
+		assertEquals(next.getPublic(), keySet.find("next"));
+		assertEquals(2, requests.get());
+		assertEquals(2, keySet.size());
+	}
+
+	@Test
+	void unknownKidRefetchIsRateLimited() {
+		published.add(jwk("current", Keys.keyPairFor(SignatureAlgorithm.ES256)));
+		JwksKeySet keySet = new JwksKeySet(objectMapper, url, 2_000, 60_000);
+
+		assertNull(keySet.find("inventé-1"));
+		assertEquals(1, requests.get());
+		assertNotNull(keySet.find("current"));
+
+		// Kids inventés en rafale: pas un appel par requête
+		for (int i = 2; i < 100; i++) {
+			assertNull(keySet.find("inventé-" + i));
+		}
+		assertEquals(1, requests.get());
+	}
+
+	/**
+	 * Clé publique telle que publiée par auth-service (SigningKey.toJwk)
+	 */
+	private static JwksKeySet.Jwk jwk(String kid, KeyPair keyPair) {
+		ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+		JwksKeySet.Jwk jwk = new JwksKeySet.Jwk();
+		jwk.setKty("EC");
+		jwk.setCrv("P-256");
+		jwk.setKid(kid);
+		jwk.setUse("sig");
+		jwk.setAlg("ES256");
+		jwk.setX(coordinate(key.getW().getAffineX()));
+		jwk.setY(coordinate(key.getW().getAffineY()));
+		return jwk;
+	}
+
+	private static String coordinate(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		byte[] fixed = new byte[32];
+		int length = Math.min(bytes.length, 32);
+		System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+	}
+}
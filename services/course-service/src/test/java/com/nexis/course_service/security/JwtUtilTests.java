@@ -0,0 +1,188 @@
+package com.nexis.course_service.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTests {
+
+	private static final String SECRET = "MyVerySecureSecretKeyForAuthenticationJWTTokens2024WithEnoughCharacters";
+	private static final long LIFETIME = 86_400_000;
+
+	private JwtClaimsCache cache;
+	private JwksKeySet keySet;
+	private JwtUtil jwtUtil;
+
+	@BeforeEach
+	void setUp() {
+		cache = new JwtClaimsCache(100, 60_000);
+		// Sans url: pas de relecture, clés fournies par apply
+		keySet = new JwksKeySet(new ObjectMapper(), "", 1_000, 0);
+		jwtUtil = new JwtUtil(cache, new JwtCodec(keySet, SECRET, switchIn(3_600_000), LIFETIME));
+	}
+
+	@Test
+	void resolveClaimsParsesOnceAndCachesSnapshot() {
+		String token = token(SECRET, 60_000);
+
+		JwtClaims first = jwtUtil.resolveClaims(token);
+		assertNotNull(first);
+		assertEquals("jdoe", first.getUsername());
+		assertEquals("PROFESSOR", first.getRole());
+		assertEquals(42L, first.getUserId());
+		assertEquals("jdoe@nexis.com", first.getEmail());
+		assertEquals(1, cache.size());
+
+		assertSame(first, jwtUtil.resolveClaims(token));
+		assertEquals("jdoe", jwtUtil.extractUsername(token));
+		assertEquals("PROFESSOR", jwtUtil.extractRole(token));
+		assertEquals(42L, jwtUtil.extractUserId(token));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void invalidTokensAreNeverCached() {
+		String forged = token("AnotherSecretKeyThatIsLongEnoughForHmacSha256Signing!!", 60_000);
+
+		assertFalse(jwtUtil.validateToken(forged));
+		assertFalse(jwtUtil.validateToken(token(SECRET, -1_000)));
+		assertEquals("UNKNOWN", jwtUtil.extractRole(forged));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void es256TokensAreVerifiedWithThePublishedKeyOfTheirKid() {
+		KeyPair current = Keys.keyPairFor(SignatureAlgorithm.ES256);
+		KeyPair retired = Keys.keyPairFor(SignatureAlgorithm.ES256);
+		keySet.apply(jwks(jwk("current", current)));
+
+		assertEquals("jdoe", jwtUtil.extractUsername(es256Token("current", current)));
+		assertFalse(jwtUtil.validateToken(es256Token("retired", retired)));
+		assertFalse(jwtUtil.validateToken(es256Token("current", retired)));
+		assertFalse(jwtUtil.validateToken(es256Token(null, current)));
+	}
+
+	@Test
+	void hs256IsRefusedWithoutLegacySecret() {
+		KeyPair current = Keys.keyPairFor(SignatureAlgorithm.ES256);
+		keySet.apply(jwks(jwk("current", current)));
+		JwtUtil es256Only = new JwtUtil(new JwtClaimsCache(100, 60_000),
+				new JwtCodec(keySet, "", switchIn(3_600_000), LIFETIME));
+		JwtUtil noSwitch = new JwtUtil(new JwtClaimsCache(100, 60_000),
+				new JwtCodec(keySet, SECRET, "", LIFETIME));
+
+		assertFalse(es256Only.validateToken(token(SECRET, 60_000)));
+		assertTrue(es256Only.validateToken(es256Token("current", current)));
+		assertFalse(noSwitch.validateToken(token(SECRET, 60_000)));
+	}
+
+	@Test
+	void hs256IsAcceptedOnlyWhenIssuedBeforeTheSwitch() {
+		JwtUtil switched = new JwtUtil(new JwtClaimsCache(100, 60_000),
+				new JwtCodec(keySet, SECRET, switchIn(-3_600_000), LIFETIME));
+
+		// Signé avec le secret après la bascule: forgé
+		assertFalse(switched.validateToken(token(SECRET, 60_000)));
+		// Émis avant la bascule mais valable au-delà de la fenêtre de transition
+		assertFalse(jwtUtil.validateToken(token(SECRET, 3 * LIFETIME)));
+		assertTrue(jwtUtil.validateToken(token(SECRET, LIFETIME)));
+	}
+
+	@Test
+	void cacheIsBoundedBySize() {
+		JwtClaimsCache small = new JwtClaimsCache(2, 60_000);
+		JwtClaims claims = new JwtClaims("u", "STUDENT", 1L, null, null, 0L, System.currentTimeMillis() + 60_000);
+
+		small.put("a", claims);
+		small.put("b", claims);
+		small.put("c", claims);
+
+		assertTrue(small.size() <= 2);
+		assertNotNull(small.get("c"));
+	}
+
+	@Test
+	void cacheHonoursTokenExpiry() {
+		JwtClaims expired = new JwtClaims("u", "STUDENT", 1L, null, null, 0L, System.currentTimeMillis() - 1);
+
+		cache.put("expired", expired);
+
+		assertNull(cache.get("expired"));
+	}
+
+	private static String switchIn(long millis) {
+		return Instant.now().plusMillis(millis).toString();
+	}
+
+	private static String token(String secret, long ttlMillis) {
+		return builder(ttlMillis)
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+				.compact();
+	}
+
+	private static String es256Token(String kid, KeyPair keyPair) {
+		return builder(60_000)
+				.setHeaderParam("kid", kid)
+				.signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+				.compact();
+	}
+
+	private static JwtBuilder builder(long ttlMillis) {
+		Map<String, Object> claims = new HashMap<>();
+		claims.put("role", "PROFESSOR");
+		claims.put("id", 42);
+		claims.put("email", "jdoe@nexis.com");
+		Date now = new Date();
+		return Jwts.builder()
+				.setClaims(claims)
+				.setSubject("jdoe")
+				.setIssuedAt(now)
+				.setExpiration(new Date(now.getTime() + ttlMillis));
+	}
+
+	private static JwksKeySet.Jwks jwks(JwksKeySet.Jwk... keys) {
+		JwksKeySet.Jwks jwks = new JwksKeySet.Jwks();
+		jwks.setKeys(List.of(keys));
+		return jwks;
+	}
+
+	/**
+	 * Clé publique telle que publiée par auth-service (SigningKey.toJwk)
+	 */
+	private static JwksKeySet.Jwk jwk(String kid, KeyPair keyPair) {
+		ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+		JwksKeySet.Jwk jwk = new JwksKeySet.Jwk();
+		jwk.setKty("EC");
+		jwk.setCrv("P-256");
+		jwk.setKid(kid);
+		jwk.setAlg("ES256");
+		jwk.setX(coordinate(key.getW().getAffineX()));
+		jwk.setY(coordinate(key.getW().getAffineY()));
+		return jwk;
+	}
+
+	private static String coordinate(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		byte[] fixed = new byte[32];
+		int length = Math.min(bytes.length, 32);
+		System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+	}
+}
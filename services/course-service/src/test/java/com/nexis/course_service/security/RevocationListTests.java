@@ -0,0 +1,80 @@
+package com.nexis.course_service.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationListTests {
+
+	/** Instantané produit par auth-service (vérifié par RevocationRegistryTests côté auth) */
+	private static final Path CONTRACT = Path.of("..", "jwt-contract", "revocation-snapshot.json");
+
+	private final RevocationList list = new RevocationList(new ObjectMapper(), "", "", 1_000);
+
+	@Test
+	void readsTheSnapshotPublishedByAuthService() throws Exception {
+		list.apply(new ObjectMapper().readValue(Files.readString(CONTRACT), RevocationList.Snapshot.class));
+
+		// Filtre importé tel quel: chaque entrée doit y être présente, sinon elle serait ignorée
+		assertTrue(list.isRevoked(claims("alice", "jti-contrat-1", 5_000)));
+		assertTrue(list.isRevoked(claims("alice", "jti-contrat-2", 5_000)));
+		assertTrue(list.isRevoked(claims("etudiant.contrat", "jti-autre", 1_760_000_000L)));
+		assertFalse(list.isRevoked(claims("etudiant.contrat", "jti-autre", 1_760_000_001L)));
+		assertFalse(list.isRevoked(claims("alice", "jti-autre", 5_000)));
+		assertEquals(3, list.size());
+	}
+
+	@Test
+	void appliesFullSnapshotThenDeltas() throws Exception {
+		// Instantané tel que publié par auth-service: filtre exporté + entrées exactes
+		RevocationSet published = new RevocationSet(4096, 7);
+		published.add(RevocationSet.Type.TOKEN, "jti-1", Long.MAX_VALUE);
+		published.add(RevocationSet.Type.SUBJECT, "jdoe", 1_000);
+		String json = "{\"epoch\":7,\"version\":2,\"full\":true,\"bloomBits\":4096,\"bloomHashes\":7,"
+				+ "\"bloom\":\"" + published.exportBloom() + "\",\"entries\":["
+				+ "{\"version\":1,\"type\":\"TOKEN\",\"key\":\"jti-1\",\"issuedUpTo\":" + Long.MAX_VALUE + ",\"expiresAt\":1},"
+				+ "{\"version\":2,\"type\":\"SUBJECT\",\"key\":\"jdoe\",\"issuedUpTo\":1000,\"expiresAt\":1}]}";
+		list.apply(new ObjectMapper().readValue(json, RevocationList.Snapshot.class));
+
+		assertTrue(list.isRevoked(claims("alice", "jti-1", 5_000)));
+		assertTrue(list.isRevoked(claims("jdoe", "jti-2", 1_000)));
+		assertFalse(list.isRevoked(claims("jdoe", "jti-3", 1_001)));
+		assertFalse(list.isRevoked(claims("alice", "jti-4", 5_000)));
+
+		RevocationList.Entry entry = new RevocationList.Entry();
+		entry.setVersion(3);
+		entry.setType(RevocationSet.Type.TOKEN);
+		entry.setKey("jti-4");
+		entry.setIssuedUpTo(Long.MAX_VALUE);
+		RevocationList.Snapshot delta = new RevocationList.Snapshot();
+		delta.setEpoch(7);
+		delta.setVersion(3);
+		delta.setEntries(List.of(entry));
+		list.apply(delta);
+
+		assertTrue(list.isRevoked(claims("alice", "jti-4", 5_000)));
+		assertEquals(3, list.size());
+	}
+
+	@Test
+	void bloomFalsePositivesAreNotRevoked() {
+		RevocationSet set = new RevocationSet(64, 1);
+		for (int i = 0; i < 1_000; i++) {
+			set.add(RevocationSet.Type.TOKEN, "revoked-" + i, Long.MAX_VALUE);
+		}
+
+		// Filtre de 64 bits saturé: tout est "peut-être", la liste exacte tranche
+		assertTrue(set.mightContain(RevocationSet.Type.TOKEN, "valid"));
+		assertFalse(set.isRevoked("valid", "alice", 1));
+		assertTrue(set.isRevoked("revoked-7", "alice", 1));
+	}
+
+	private static JwtClaims claims(String username, String tokenId, long issuedAtSeconds) {
+		return new JwtClaims(username, "STUDENT", 1L, null, tokenId, issuedAtSeconds, 0L);
+	}
+}
@@ -0,0 +1,84 @@
+package com.nexis.course_service.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoapHeaderTokenReaderTests {
+
+	private final SoapHeaderTokenReader reader = new SoapHeaderTokenReader();
+
+	@Test
+	void readsTokenAndReplaysWholeEnvelope() throws IOException {
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < 5_000; i++) {
+			body.append("<description>Lorem ipsum ").append(i).append("</description>");
+		}
+		String envelope = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+				+ "<soap:Header><Authorization>Bearer abc.def.ghi</Authorization></soap:Header>"
+				+ "<soap:Body><addCourse>" + body + "</addCourse></soap:Body></soap:Envelope>";
+		byte[] bytes = envelope.getBytes(StandardCharsets.UTF_8);
+
+		SoapHeaderTokenReader.Result result = reader.read(new ByteArrayInputStream(bytes));
+
+		assertEquals("Bearer abc.def.ghi", result.getToken());
+		assertArrayEquals(bytes, result.getStream().readAllBytes());
+	}
+
+	@Test
+	void stopsAtBodyWhenNoHeader() throws IOException {
+		String envelope = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+				+ "<soap:Body><Authorization>not-a-header</Authorization></soap:Body></soap:Envelope>";
+		byte[] bytes = envelope.getBytes(StandardCharsets.UTF_8);
+
+		SoapHeaderTokenReader.Result result = reader.read(new ByteArrayInputStream(bytes));
+
+		assertNull(result.getToken());
+		assertArrayEquals(bytes, result.getStream().readAllBytes());
+	}
+
+	@Test
+	void rejectsDoctype() throws IOException {
+		String envelope = "<?xml version=\"1.0\"?><!DOCTYPE x [<!ENTITY e SYSTEM \"file:///etc/passwd\">]>"
+				+ "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+				+ "<soap:Header><Authorization>&e;</Authorization></soap:Header></soap:Envelope>";
+		byte[] bytes = envelope.getBytes(StandardCharsets.UTF_8);
+
+		SoapHeaderTokenReader.Result result = reader.read(new ByteArrayInputStream(bytes));
+
+		assertTrue(result.getToken() == null || !result.getToken().contains("root"));
+		assertArrayEquals(bytes, result.getStream().readAllBytes());
+	}
+
+	@Test
+	void replaysWhatWasReadWhenTheParserFailsUnchecked() throws IOException {
+		String envelope = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+				+ "<soap:Header><Authorization>Bearer abc.def.ghi</Authorization></soap:Header>"
+				+ "<soap:Body><addCourse/></soap:Body></soap:Envelope>";
+		byte[] bytes = envelope.getBytes(StandardCharsets.UTF_8);
+
+		// Le parseur reçoit une première partie puis une RuntimeException, une seule fois
+		InputStream failingOnce = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+			private int calls;
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if (++calls == 2) {
+					throw new IllegalStateException("parseur interrompu");
+				}
+				return super.read(b, off, Math.min(len, 40));
+			}
+		};
+
+		SoapHeaderTokenReader.Result result = reader.read(failingOnce);
+
+		assertNull(result.getToken());
+		assertArrayEquals(bytes, result.getStream().readAllBytes());
+	}
+}
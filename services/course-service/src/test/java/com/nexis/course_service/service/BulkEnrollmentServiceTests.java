@@ -0,0 +1,71 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.EnrollmentStatus;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.EnrollmentRepository;
+import com.nexis.course_service.service.SeatReservationService.Outcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.enrollment.bulk-max-items=5000")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({ BulkEnrollmentService.class, SeatReservationService.class, CatalogCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkEnrollmentServiceTests {
+
+	@Autowired
+	private BulkEnrollmentService bulkEnrollmentService;
+
+	@Autowired
+	private SeatReservationService seatReservationService;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Test
+	void bulkEnrollFillsSeatsThenWaitlistsAndReportsEachItem() {
+		Long courseId = CourseFixtures.saveCourse(courseRepository, "S1-2026", 3_000).getId();
+		seatReservationService.reserve(courseId, "1");
+		seatReservationService.reserve(courseId, "2");
+		seatReservationService.release(courseId, "2");
+
+		List<Long> students = new ArrayList<>();
+		for (long i = 1; i <= 3_500; i++) {
+			students.add(i);
+		}
+		students.add(3L);
+
+		List<Outcome> outcomes = bulkEnrollmentService.enroll(courseId, students);
+
+		assertEquals(students.size(), outcomes.size());
+		assertEquals(Outcome.ALREADY_ENROLLED, outcomes.get(0));
+		assertEquals(Outcome.ENROLLED, outcomes.get(1));                 // ligne DROPPED réactivée
+		assertEquals(Outcome.ENROLLED, outcomes.get(2_999));
+		assertEquals(Outcome.WAITLISTED, outcomes.get(3_000));
+		assertEquals(Outcome.ALREADY_ENROLLED, outcomes.get(students.size() - 1));  // doublon dans le lot
+
+		assertEquals(3_000, enrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.ENROLLED));
+		assertEquals(500, enrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.WAITLISTED));
+		assertEquals(3_000, courseRepository.findById(courseId).orElseThrow().getEnrolledStudents());
+
+		assertEquals(List.of(Outcome.COURSE_NOT_FOUND), bulkEnrollmentService.enroll(-1L, List.of(1L)));
+	}
+}
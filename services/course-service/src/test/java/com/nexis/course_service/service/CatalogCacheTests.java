@@ -0,0 +1,54 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ SeatReservationService.class, CatalogCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogCacheTests {
+
+	@Autowired
+	private CatalogCache catalogCache;
+
+	@Autowired
+	private SeatReservationService seatReservationService;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Test
+	void catalogReadsHitCacheAndSeatChangesEvictOnlyTheCourse() {
+		String semester = "CACHE-" + System.nanoTime();
+		Long id = CourseFixtures.saveCourse(courseRepository, semester, 10).getId();
+
+		courseRepository.findById(id);
+		courseRepository.findBySemester(semester);
+		long[] coursesBefore = catalogCache.statistics().get("courses");
+		long[] queryBefore = catalogCache.statistics().get("query");
+
+		courseRepository.findById(id);
+		courseRepository.findBySemester(semester);
+		assertTrue(catalogCache.statistics().get("courses")[0] > coursesBefore[0]);
+		assertTrue(catalogCache.statistics().get("query")[0] > queryBefore[0]);
+
+		assertEquals(SeatReservationService.Outcome.ENROLLED, seatReservationService.reserve(id, "42"));
+
+		// Le compteur relu est à jour, la liste du semestre reste servie par le cache
+		queryBefore = catalogCache.statistics().get("query");
+		assertEquals(1, courseRepository.findBySemester(semester).get(0).getEnrolledStudents());
+		assertTrue(catalogCache.statistics().get("query")[0] > queryBefore[0]);
+		assertEquals(1, courseRepository.findById(id).orElseThrow().getEnrolledStudents());
+	}
+}
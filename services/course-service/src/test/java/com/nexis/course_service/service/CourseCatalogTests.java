@@ -0,0 +1,76 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseStatus;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.CourseSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.catalog.max-page-size=20")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({ CourseService.class, SeatReservationService.class, LegacyEnrollmentMigration.class, CatalogCache.class,
+		ScheduleService.class, RoomScheduleIndex.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseCatalogTests {
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Test
+	void keysetPagesWalkFilteredCatalogExactlyOnce() {
+		String semester = "CAT-" + System.nanoTime();
+		for (int i = 0; i < 45; i++) {
+			Course c = CourseFixtures.course(semester, 30);
+			c.setInstructorId(i % 3 == 0 ? 7L : 8L);
+			c.setStatus(i % 5 == 0 ? CourseStatus.CANCELLED : CourseStatus.ACTIVE);
+			courseRepository.save(c);
+		}
+
+		List<Long> seen = new ArrayList<>();
+		String token = null;
+		int pages = 0;
+		do {
+			CatalogPage page = courseService.getCatalog(semester, "active", 8L, 100, token);
+			assertTrue(page.getItems().size() <= 20);
+			for (CourseSummary c : page.getItems()) {
+				assertEquals(CourseStatus.ACTIVE, c.getStatus());
+				assertEquals(8L, c.getInstructorId());
+				seen.add(c.getId());
+			}
+			token = page.getNextPageToken();
+			pages++;
+		} while (token != null);
+
+		// i % 3 != 0 et i % 5 != 0 sur 0..44: 24 cours
+		assertEquals(24, seen.size());
+		assertEquals(24, seen.stream().distinct().count());
+		assertEquals(2, pages);
+
+		CatalogPage numbered = courseService.getCatalogPage(semester, null, null, 2, 20);
+		assertEquals(45, numbered.getTotalElements());
+		assertEquals(5, numbered.getItems().size());
+		assertNull(numbered.getNextPageToken());
+
+		assertThrows(IllegalArgumentException.class, () -> courseService.getCatalog(null, null, null, 10, "bogus"));
+		assertThrows(IllegalArgumentException.class, () -> courseService.getCatalog(null, "OPEN", null, 10, null));
+	}
+}
@@ -0,0 +1,109 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Enrollment;
+import com.nexis.course_service.model.EnrollmentStatus;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.EnrollmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inscription, désinscription et réinscription via CourseService,
+ * et reprise des inscriptions de l'ancienne table course_enrollments.
+ */
+@DataJpaTest(properties = "app.enrollment.resync-on-startup=false")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({ CourseService.class, SeatReservationService.class, LegacyEnrollmentMigration.class, CatalogCache.class,
+		ScheduleService.class, RoomScheduleIndex.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseEnrollmentTests {
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void dropLegacyTable() {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS course_enrollments");
+	}
+
+	@Test
+	void enrollDropAndReEnrollReuseTheSameRow() {
+		Long courseId = CourseFixtures.saveCourse(courseRepository, "S1-2026", 2).getId();
+
+		assertTrue(courseService.enrollStudent(courseId, 10L));
+		assertTrue(courseService.isStudentEnrolled(courseId, 10L));
+		assertEquals(1, courseService.getEnrolledCount(courseId));
+
+		assertTrue(courseService.removeStudent(courseId, 10L));
+		assertFalse(courseService.isStudentEnrolled(courseId, 10L));
+		assertEquals(0, courseService.getEnrolledCount(courseId));
+		Enrollment dropped = enrollmentRepository.findByStudentIdAndCourseId("10", courseId).orElseThrow();
+		assertEquals(EnrollmentStatus.DROPPED, dropped.getStatus());
+
+		assertTrue(courseService.enrollStudent(courseId, 10L));
+		Enrollment again = enrollmentRepository.findByStudentIdAndCourseId("10", courseId).orElseThrow();
+		assertEquals(dropped.getId(), again.getId());
+		assertEquals(EnrollmentStatus.ENROLLED, again.getStatus());
+		assertEquals(1, courseService.getEnrolledCount(courseId));
+		assertEquals(1, courseRepository.findById(courseId).orElseThrow().getEnrolledStudents());
+		assertEquals(List.of(10L), courseService.getEnrolledStudents(courseId));
+	}
+
+	@Test
+	void unknownCourseIsReportedNotCountedAsEmpty() {
+		RuntimeException e = assertThrows(RuntimeException.class, () -> courseService.getEnrolledCount(-1L));
+		assertEquals("Cours non trouvé", e.getMessage());
+		assertThrows(RuntimeException.class, () -> courseService.enroll(-1L, 1L));
+		assertThrows(RuntimeException.class, () -> courseService.removeStudent(-1L, 1L));
+	}
+
+	@Test
+	void legacyEnrollmentsAreMigratedOnceBeforeCountersAreResynced() {
+		Long courseId = CourseFixtures.saveCourse(courseRepository, "S1-2026", 3).getId();
+		assertTrue(courseService.enrollStudent(courseId, 2L));
+		assertTrue(courseService.removeStudent(courseId, 2L));
+
+		jdbcTemplate.execute("CREATE TABLE course_enrollments (course_id BIGINT NOT NULL, student_id BIGINT)");
+		jdbcTemplate.update("INSERT INTO course_enrollments (course_id, student_id) VALUES (?, ?), (?, ?), (?, ?)",
+				courseId, 1L, courseId, 2L, courseId, 3L);
+
+		courseService.resyncEnrolledCounters();
+		courseService.resyncEnrolledCounters();
+
+		// 2 s'était désinscrit dans le nouveau modèle: sa ligne fait foi
+		assertEquals(List.of(1L, 3L), courseService.getEnrolledStudents(courseId).stream().sorted().collect(Collectors.toList()));
+		assertFalse(courseService.isStudentEnrolled(courseId, 2L));
+		assertEquals(2, courseRepository.findById(courseId).orElseThrow().getEnrolledStudents());
+		assertEquals(3, enrollmentRepository.findByCourseId(courseId).size());
+
+		// Places restantes: 1, le cours n'est pas revendu au-delà de sa capacité
+		assertTrue(courseService.enrollStudent(courseId, 4L));
+		assertEquals(SeatReservationService.Outcome.WAITLISTED, courseService.enroll(courseId, 5L));
+	}
+}
@@ -0,0 +1,38 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseStatus;
+import com.nexis.course_service.repository.CourseRepository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cours de test: valeurs par défaut valides, code unique.
+ * Les tests ne fixent que ce qui compte pour eux (setters) avant d'enregistrer.
+ */
+final class CourseFixtures {
+
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	private CourseFixtures() {
+	}
+
+	/**
+	 * Cours ACTIVE non enregistré: enseignant 1, 3 crédits
+	 */
+	static Course course(String semester, int maxStudents) {
+		Course course = new Course();
+		course.setCode("C-" + System.nanoTime() + "-" + SEQUENCE.incrementAndGet());
+		course.setTitle("Cours");
+		course.setInstructorId(1L);
+		course.setCredits(3);
+		course.setSemester(semester);
+		course.setMaxStudents(maxStudents);
+		course.setStatus(CourseStatus.ACTIVE);
+		return course;
+	}
+
+	static Course saveCourse(CourseRepository repository, String semester, int maxStudents) {
+		return repository.save(course(semester, maxStudents));
+	}
+}
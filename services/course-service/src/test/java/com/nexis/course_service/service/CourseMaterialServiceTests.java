@@ -0,0 +1,152 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseMaterial;
+import com.nexis.course_service.repository.CourseMaterialRepository;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.MaterialBlobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = { "app.materials.max-file-size=1000000", "app.materials.gc.grace-ms=0" })
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CourseMaterialService.class, MaterialFileStore.class, MaterialBlobCollector.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseMaterialServiceTests {
+
+	@TempDir
+	static Path storage;
+
+	@DynamicPropertySource
+	static void storageDir(DynamicPropertyRegistry registry) {
+		registry.add("app.materials.storage-dir", () -> storage.toString());
+	}
+
+	@Autowired
+	private CourseMaterialService materialService;
+
+	@Autowired
+	private MaterialFileStore fileStore;
+
+	@Autowired
+	private MaterialBlobCollector collector;
+
+	@Autowired
+	private MaterialBlobRepository blobRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private CourseMaterialRepository materialRepository;
+
+	@Test
+	void identicalUploadsShareOneStoredFileAndRangesAreServedFromDisk() throws Exception {
+		Course course = CourseFixtures.saveCourse(courseRepository, "S1", 30);
+		byte[] video = new byte[300_000];
+		new Random(42).nextBytes(video);
+
+		CourseMaterial first = materialService.upload(course.getId(), "Cours 1", null, "video",
+			"cours1.mp4", "video/mp4", new ByteArrayInputStream(video));
+		long storedFiles = countStoredFiles();
+		CourseMaterial second = materialService.upload(course.getId(), "Cours 1 (copie)", null, "VIDEO",
+			"copie.mp4", "video/mp4", new ByteArrayInputStream(video));
+
+		assertEquals(first.getContentHash(), second.getContentHash());
+		assertEquals(video.length, first.getFileSize());
+		assertEquals(2, second.getOrderIndex());
+		assertEquals(storedFiles, countStoredFiles());
+
+		ByteRange range = ByteRange.parse("bytes=1000-1999", video.length);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long sent = fileStore.transferTo(first.getContentHash(), range.getStart(), range.length(), Channels.newChannel(out));
+		assertEquals(1000, sent);
+		assertArrayEquals(Arrays.copyOfRange(video, 1000, 2000), out.toByteArray());
+
+		ByteRange suffix = ByteRange.parse("bytes=-500", video.length);
+		assertEquals(video.length - 500, suffix.getStart());
+		assertEquals(video.length - 1, suffix.getEnd());
+		assertNull(ByteRange.parse("bytes=0-1,5-9", video.length));
+		assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=400000-", video.length));
+	}
+
+	@Test
+	void hiddenMaterialIsOnlyServedToStaffAndOversizedUploadIsRejected() throws Exception {
+		Course course = CourseFixtures.saveCourse(courseRepository, "S1", 30);
+		CourseMaterial material = materialService.upload(course.getId(), "Corrigé", null, null,
+			"corrige.pdf", "application/pdf", new ByteArrayInputStream("corrigé".getBytes()));
+		material.setIsVisible(false);
+		materialRepository.save(material);
+
+		assertThrows(RuntimeException.class, () -> materialService.getDownloadableMaterial(material.getId(), false));
+		assertEquals(material.getId(), materialService.getDownloadableMaterial(material.getId(), true).getId());
+		assertTrue(materialService.getMaterialsByCourse(course.getId(), false).isEmpty());
+		assertEquals(1, materialService.getMaterialsByCourse(course.getId(), true).size());
+
+		assertThrows(IllegalArgumentException.class, () -> materialService.upload(course.getId(), "Trop gros", null,
+			"VIDEO", "gros.mp4", null, new ByteArrayInputStream(new byte[1_000_001])));
+		assertThrows(IllegalArgumentException.class, () -> materialService.upload(course.getId(), "Type", null,
+			"PODCAST", "x.mp3", null, new ByteArrayInputStream(new byte[1])));
+		try (Stream<Path> parts = Files.list(storage.resolve("tmp"))) {
+			assertEquals(0, parts.count());
+		}
+	}
+
+	@Test
+	void sharedContentIsCollectedOnlyAfterLastReferenceIsDeleted() throws Exception {
+		Course course = CourseFixtures.saveCourse(courseRepository, "S1", 30);
+		byte[] slides = ("slides " + System.nanoTime()).getBytes();
+		CourseMaterial a = materialService.upload(course.getId(), "Semaine 1", null, "SLIDES",
+			"s1.pdf", "application/pdf", new ByteArrayInputStream(slides));
+		CourseMaterial b = materialService.upload(course.getId(), "Semaine 1 (groupe B)", null, "SLIDES",
+			"s1.pdf", "application/pdf", new ByteArrayInputStream(slides));
+		String hash = a.getContentHash();
+		assertEquals(2, blobRepository.findById(hash).orElseThrow().getRefCount());
+
+		materialService.deleteMaterial(a.getId());
+		collector.collect();
+		assertTrue(fileStore.exists(hash));
+		assertEquals(1, blobRepository.findById(hash).orElseThrow().getRefCount());
+
+		materialService.deleteMaterial(b.getId());
+		assertEquals(0, blobRepository.findById(hash).orElseThrow().getRefCount());
+		Thread.sleep(5);
+		collector.collect();
+		assertFalse(fileStore.exists(hash));
+		assertFalse(blobRepository.existsById(hash));
+
+		// Contenu réenvoyé après collecte: réécrit, compteur recréé
+		CourseMaterial c = materialService.upload(course.getId(), "Semaine 1", null, "SLIDES",
+			"s1.pdf", "application/pdf", new ByteArrayInputStream(slides));
+		assertEquals(hash, c.getContentHash());
+		assertTrue(fileStore.exists(hash));
+		assertEquals(1, blobRepository.findById(hash).orElseThrow().getRefCount());
+	}
+
+	private long countStoredFiles() throws Exception {
+		try (Stream<Path> files = Files.walk(storage)) {
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.nexis.course_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTests {
+
+	@Test
+	void matchesBruteForceUnderRandomInsertsAndRemoves() {
+		Random random = new Random(42);
+		IntervalTree<Long> tree = new IntervalTree<>();
+		List<int[]> reference = new ArrayList<>();  // {start, end, id}
+
+		for (int op = 0; op < 20_000; op++) {
+			if (reference.isEmpty() || random.nextInt(3) > 0) {
+				int start = random.nextInt(1_440);
+				int end = start + 1 + random.nextInt(180);
+				tree.insert(start, end, op, (long) op);
+				reference.add(new int[] { start, end, op });
+			} else {
+				int[] victim = reference.remove(random.nextInt(reference.size()));
+				assertTrue(tree.remove(victim[0], victim[2]));
+			}
+
+			int qs = random.nextInt(1_440);
+			int qe = qs + 1 + random.nextInt(120);
+			List<Long> expected = reference.stream()
+					.filter(r -> r[0] < qe && qs < r[1])
+					.map(r -> (long) r[2])
+					.sorted()
+					.collect(Collectors.toList());
+			List<Long> actual = tree.findAllOverlaps(qs, qe).stream()
+					.map(IntervalTree.Entry::getValue)
+					.sorted()
+					.collect(Collectors.toList());
+
+			assertEquals(expected, actual);
+			assertEquals(!expected.isEmpty(), tree.findAnyOverlap(qs, qe) != null);
+			assertEquals(reference.size(), tree.size());
+		}
+	}
+
+	@Test
+	void adjacentSlotsDoNotOverlap() {
+		IntervalTree<Long> tree = new IntervalTree<>();
+		tree.insert(8 * 60, 10 * 60, 1L, 1L);
+
+		assertNull(tree.findAnyOverlap(10 * 60, 12 * 60));
+		assertNull(tree.findAnyOverlap(6 * 60, 8 * 60));
+		assertNotNull(tree.findAnyOverlap(9 * 60, 11 * 60));
+		assertFalse(tree.remove(8 * 60, 2L));
+	}
+}
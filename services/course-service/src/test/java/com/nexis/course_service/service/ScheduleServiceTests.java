@@ -0,0 +1,159 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.Schedule;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.ScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({ ScheduleService.class, RoomScheduleIndex.class, CourseService.class, SeatReservationService.class,
+		LegacyEnrollmentMigration.class, CatalogCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ScheduleServiceTests {
+
+	@Autowired
+	private ScheduleService scheduleService;
+
+	@Autowired
+	private ScheduleRepository scheduleRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private RoomScheduleIndex roomScheduleIndex;
+
+	@Test
+	void overlappingSlotsAreRejectedAndIndexFollowsWrites() {
+		Long courseId = CourseFixtures.saveCourse(courseRepository, "S1-2026", 40).getId();
+		String room = "B-" + System.nanoTime();
+
+		Schedule first = scheduleService.addSchedule(courseId, "MONDAY", "08:00", "10:00", room, "Sciences", 40);
+		RuntimeException conflict = assertThrows(RuntimeException.class,
+				() -> scheduleService.addSchedule(courseId, "MONDAY", "09:00", "11:00", room, "Sciences", 40));
+		assertTrue(conflict.getMessage().contains("déjà occupée"));
+		assertEquals(1, scheduleRepository.findByRoom(room).size());
+
+		scheduleService.addSchedule(courseId, "MONDAY", "10:00", "12:00", room, "Sciences", 40);
+		scheduleService.addSchedule(courseId, "TUESDAY", "09:00", "11:00", room, "Sciences", 40);
+		assertFalse(scheduleService.isRoomAvailable(room, "MONDAY", "9h30"));
+		assertTrue(scheduleService.isRoomAvailable(room, "Sciences", "MONDAY", "12:00", "13:00"));
+
+		// Déplacement vers un créneau occupé: refusé, l'ancien créneau reste réservé
+		assertThrows(RuntimeException.class, () -> scheduleService.updateSchedule(
+				first.getId(), "TUESDAY", "10:00", "11:30", room, "Sciences"));
+		assertFalse(scheduleService.isRoomAvailable(room, "Sciences", "MONDAY", "08:30", "09:00"));
+		assertEquals("MONDAY", scheduleRepository.findById(first.getId()).orElseThrow().getDayOfWeek());
+
+		scheduleService.cancelSchedule(first.getId());
+		assertTrue(scheduleService.isRoomAvailable(room, "Sciences", "MONDAY", "08:00", "10:00"));
+
+		assertThrows(RuntimeException.class,
+				() -> scheduleService.addSchedule(courseId, "MONDAY", "11:00", "10:00", room, "Sciences", 40));
+	}
+
+	@Test
+	void sameRoomAndHourInAnotherSemesterIsNotAConflict() {
+		Long autumn = CourseFixtures.saveCourse(courseRepository, "S1-2026", 40).getId();
+		Long spring = CourseFixtures.saveCourse(courseRepository, "S2-2026", 40).getId();
+		String room = "C-" + System.nanoTime();
+
+		scheduleService.addSchedule(autumn, "MONDAY", "08:00", "10:00", room, "Sciences", 40);
+		Schedule next = scheduleService.addSchedule(spring, "MONDAY", "08:00", "10:00", room, "Sciences", 40);
+		assertThrows(RuntimeException.class,
+				() -> scheduleService.addSchedule(spring, "MONDAY", "09:00", "11:00", room, "Sciences", 40));
+
+		assertFalse(scheduleService.isRoomAvailable(room, "Sciences", "S2-2026", "MONDAY", "08:00", "09:00"));
+		assertTrue(scheduleService.isRoomAvailable(room, "Sciences", "S1-2027", "MONDAY", "08:00", "09:00"));
+		assertEquals(2, scheduleService.findRoomConflicts(room, null, "MONDAY", "08:00", "09:00").size());
+
+		scheduleService.cancelSchedule(next.getId());
+		assertTrue(scheduleService.isRoomAvailable(room, "Sciences", "S2-2026", "MONDAY", "08:00", "10:00"));
+		assertFalse(scheduleService.isRoomAvailable(room, "Sciences", "S1-2026", "MONDAY", "08:00", "10:00"));
+	}
+
+	@Test
+	void courseSemesterChangeAndDeletionFollowTheIndex() {
+		Long moved = CourseFixtures.saveCourse(courseRepository, "S1-2026", 40).getId();
+		Long taken = CourseFixtures.saveCourse(courseRepository, "S2-2026", 40).getId();
+		String room = "D-" + System.nanoTime();
+		scheduleService.addSchedule(moved, "MONDAY", "08:00", "10:00", room, "Sciences", 40);
+		scheduleService.addSchedule(taken, "MONDAY", "09:00", "11:00", room, "Sciences", 40);
+
+		// Salle prise dans le semestre visé: changement refusé, rien ne bouge
+		Course details = new Course();
+		details.setSemester("S2-2026");
+		assertThrows(RuntimeException.class, () -> courseService.updateCourse(moved, details));
+		assertEquals("S1-2026", courseRepository.findById(moved).orElseThrow().getSemester());
+		assertFalse(scheduleService.isRoomAvailable(room, "Sciences", "S1-2026", "MONDAY", "08:00", "09:00"));
+
+		details.setSemester("S1-2027");
+		courseService.updateCourse(moved, details);
+		assertTrue(scheduleService.isRoomAvailable(room, "Sciences", "S1-2026", "MONDAY", "08:00", "10:00"));
+		assertFalse(scheduleService.isRoomAvailable(room, "Sciences", "S1-2027", "MONDAY", "08:00", "09:00"));
+
+		// Créneaux supprimés en cascade: la salle est rendue
+		courseService.deleteCourse(moved);
+		assertTrue(scheduleService.isRoomAvailable(room, "Sciences", "S1-2027", "MONDAY", "08:00", "10:00"));
+		assertEquals(1, scheduleService.findRoomConflicts(room, null, "MONDAY", "08:00", "12:00").size());
+	}
+
+	@Test
+	void rebuildKeepsWritesOfOpenTransactionsAndReportsConflicts() {
+		RoomScheduleIndex index = new RoomScheduleIndex();
+		Schedule committed = slot(1L, "08:00", "10:00");
+		Schedule overlapping = slot(2L, "09:00", "11:00");
+		Schedule open = slot(3L, "14:00", "16:00");
+
+		assertNull(index.tryAdd(committed));
+		assertNull(index.tryAdd(open, true));
+
+		// La relecture ne voit pas encore la ligne de la transaction ouverte
+		RoomScheduleIndex.Rebuild result = index.rebuild(() -> List.of(committed, overlapping));
+		assertEquals(2, result.getIndexed());
+		assertEquals(List.of(2L), result.getConflicts());
+		assertEquals(3, index.size());
+		assertEquals(Long.valueOf(3L), index.tryAdd(slot(4L, "15:00", "17:00")));
+
+		// Transaction annulée: plus rejouée
+		index.settle(open);
+		index.remove(open);
+		index.rebuild(() -> List.of(committed));
+		assertEquals(1, index.size());
+		assertTrue(index.isFree("MONDAY", "E-1", "S1-2026", "Sciences", 14 * 60, 16 * 60));
+	}
+
+	private static Schedule slot(Long id, String start, String end) {
+		Course course = new Course();
+		course.setSemester("S1-2026");
+		Schedule s = new Schedule();
+		s.setId(id);
+		s.setCourse(course);
+		s.setDayOfWeek("MONDAY");
+		s.setRoom("E-1");
+		s.setBuilding("Sciences");
+		s.setStartTime(start);
+		s.setEndTime(end);
+		return s;
+	}
+}
@@ -0,0 +1,124 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.EnrollmentStatus;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.EnrollmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Harnais de charge: 1 000 inscriptions concurrentes sur un seul cours.
+ * Vérifie qu'aucune place n'est survendue et que le compteur reste
+ * aligné sur la table enrollments; le surplus part en liste d'attente.
+ */
+@DataJpaTest(properties = "app.enrollment.max-attempts=5")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({ CourseService.class, SeatReservationService.class, LegacyEnrollmentMigration.class, CatalogCache.class,
+		ScheduleService.class, RoomScheduleIndex.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatReservationLoadTests {
+
+	private static final int ENROLLERS = 1_000;
+	private static final int CAPACITY = 300;
+	private static final int THREADS = 64;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Test
+	void concurrentEnrollersNeverOversellSeats() throws Exception {
+		Long courseId = CourseFixtures.saveCourse(courseRepository, "S1-2026", CAPACITY).getId();
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger enrolled = new AtomicInteger();
+		AtomicInteger waitlisted = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int i = 0; i < ENROLLERS; i++) {
+			long studentId = 10_000L + i;
+			futures.add(pool.submit(() -> {
+				start.await();
+				if (courseService.enrollStudent(courseId, studentId)) {
+					enrolled.incrementAndGet();
+				} else {
+					waitlisted.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> f : futures) {
+			f.get(2, TimeUnit.MINUTES);
+		}
+		pool.shutdown();
+
+		assertEquals(CAPACITY, enrolled.get());
+		assertEquals(ENROLLERS - CAPACITY, waitlisted.get());
+		assertEquals(CAPACITY, enrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.ENROLLED));
+		assertEquals(CAPACITY, courseRepository.findById(courseId).orElseThrow().getEnrolledStudents());
+		assertEquals(ENROLLERS - CAPACITY,
+				enrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.WAITLISTED));
+	}
+
+	@Test
+	void releasedSeatGoesToWaitlistHeadAndUpdatesDoNotClobberCounter() {
+		Long courseId = CourseFixtures.saveCourse(courseRepository, "S1-2026", 1).getId();
+
+		assertTrue(courseService.enrollStudent(courseId, 1L));
+		assertEquals(SeatReservationService.Outcome.ALREADY_ENROLLED, courseService.enroll(courseId, 1L));
+		assertEquals(SeatReservationService.Outcome.WAITLISTED, courseService.enroll(courseId, 2L));
+		assertEquals(SeatReservationService.Outcome.WAITLISTED, courseService.enroll(courseId, 3L));
+		assertEquals(SeatReservationService.Outcome.ALREADY_WAITLISTED, courseService.enroll(courseId, 2L));
+		assertEquals(1, courseService.getWaitlistPosition(courseId, 2L));
+		assertEquals(2, courseService.getWaitlistPosition(courseId, 3L));
+
+		Course details = new Course();
+		details.setTitle("Séminaire avancé");
+		courseService.updateCourse(courseId, details);
+		assertEquals(1, courseRepository.findById(courseId).orElseThrow().getEnrolledStudents());
+
+		assertTrue(courseService.removeStudent(courseId, 1L));
+		assertFalse(courseService.removeStudent(courseId, 1L));
+		assertTrue(courseService.isStudentEnrolled(courseId, 2L));
+		assertEquals(0, courseService.getWaitlistPosition(courseId, 2L));
+		assertEquals(1, courseService.getWaitlistPosition(courseId, 3L));
+		assertEquals(1, courseService.getEnrolledCount(courseId));
+		assertEquals(List.of(2L), courseService.getEnrolledStudents(courseId));
+
+		details = new Course();
+		details.setMaxStudents(2);
+		courseService.updateCourse(courseId, details);
+		assertTrue(courseService.isStudentEnrolled(courseId, 3L));
+		assertEquals(2, courseRepository.findById(courseId).orElseThrow().getEnrolledStudents());
+	}
+}
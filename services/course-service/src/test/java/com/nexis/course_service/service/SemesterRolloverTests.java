@@ -0,0 +1,187 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.CourseMaterial;
+import com.nexis.course_service.model.CourseStatus;
+import com.nexis.course_service.model.Schedule;
+import com.nexis.course_service.model.ScheduleStatus;
+import com.nexis.course_service.repository.CourseMaterialRepository;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.MaterialBlobRepository;
+import com.nexis.course_service.repository.ScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.rollover.batch-size=3")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ SemesterRolloverService.class, CatalogCache.class, ScheduleService.class, RoomScheduleIndex.class,
+	CourseMaterialService.class, MaterialFileStore.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SemesterRolloverTests {
+
+	@TempDir
+	static Path storage;
+
+	@DynamicPropertySource
+	static void storageDir(DynamicPropertyRegistry registry) {
+		registry.add("app.materials.storage-dir", () -> storage.toString());
+	}
+
+	@Autowired
+	private SemesterRolloverService rolloverService;
+
+	@Autowired
+	private ScheduleService scheduleService;
+
+	@Autowired
+	private CourseMaterialService materialService;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private ScheduleRepository scheduleRepository;
+
+	@Autowired
+	private CourseMaterialRepository materialRepository;
+
+	@Autowired
+	private MaterialBlobRepository blobRepository;
+
+	@Test
+	void semesterIsClonedInBatchesWithRemappedIdsAndSharedContent() throws Exception {
+		String tag = Long.toString(System.nanoTime(), 36).toUpperCase();
+		String source = "A" + tag;
+		String target = "B" + tag;
+		String room = "R-" + tag;
+
+		for (int i = 0; i < 7; i++) {
+			// moitié des codes contiennent le semestre, l'autre non
+			String code = i % 2 == 0 ? "INF" + i + "-" + source : "MAT" + i + "-" + tag;
+			Course c = course(code, source, i == 6 ? CourseStatus.CANCELLED : CourseStatus.COMPLETED);
+			scheduleService.addSchedule(c.getId(), "MONDAY", (8 + i) + ":00", (9 + i) + ":00", room, "Sciences", 40);
+		}
+		List<Course> active = courseRepository.findBySemester(source).stream()
+			.filter(c -> c.getStatus() != CourseStatus.CANCELLED)
+			.sorted(Comparator.comparing(Course::getId))
+			.collect(Collectors.toList());
+		Course first = active.get(0);
+		assertTrue(courseRepository.findBySemester(target).isEmpty());  // résultat vide mis en cache
+
+		byte[] slides = ("slides " + tag).getBytes();
+		for (Course c : active.subList(0, 2)) {
+			materialService.upload(c.getId(), "Plan de cours", null, "SLIDES", "plan.pdf",
+				"application/pdf", new ByteArrayInputStream(slides));
+		}
+		String hash = materialRepository.findByCourseIdOrderByOrderIndexAsc(first.getId()).get(0).getContentHash();
+		assertEquals(2, blobRepository.findById(hash).orElseThrow().getRefCount());
+
+		SemesterRollover job = rolloverService.rollover(source, target, true, true);
+
+		assertEquals(SemesterRollover.State.COMPLETED, job.getState(), job.getError());
+		assertEquals(6, job.getCoursesTotal());
+		assertEquals(6, job.getCoursesCloned());
+		assertEquals(6, job.getSchedulesCloned());
+		assertEquals(2, job.getMaterialsCloned());
+		assertEquals(2, job.getBatches());
+
+		List<Course> cloned = courseRepository.findBySemester(target);
+		assertEquals(6, cloned.size());
+		List<String> codes = cloned.stream().map(Course::getCode).collect(Collectors.toList());
+		assertTrue(codes.contains("INF0-" + target));
+		assertTrue(codes.contains("MAT1-" + tag + "-" + target));
+		for (Course c : cloned) {
+			assertEquals(0, c.getEnrolledCount());
+			assertEquals(CourseStatus.ACTIVE, c.getStatus());
+			assertEquals(1, scheduleRepository.findByCourseId(c.getId()).size());
+		}
+
+		// Copies indexées dans le semestre cible, emploi du temps source intact
+		for (Schedule s : scheduleRepository.findByCourseId(first.getId())) {
+			assertEquals(ScheduleStatus.ACTIVE, s.getStatus());
+		}
+		assertFalse(scheduleService.isRoomAvailable(room, null, target, "MONDAY", "08:30", "09:30"));
+		assertFalse(scheduleService.isRoomAvailable(room, null, source, "MONDAY", "08:30", "09:30"));
+		// cours annulé non repris: son créneau n'occupe que le semestre source
+		assertTrue(scheduleService.isRoomAvailable(room, null, target, "MONDAY", "14:00", "15:00"));
+		assertFalse(scheduleService.isRoomAvailable(room, null, source, "MONDAY", "14:00", "15:00"));
+		assertTrue(scheduleService.isRoomAvailable(room, null, "MONDAY", "15:00", "16:00"));
+
+		// Supports: même contenu, deux références de plus
+		Course clonedFirst = cloned.stream().filter(c -> c.getCode().equals("INF0-" + target)).findFirst().orElseThrow();
+		List<CourseMaterial> materials = materialRepository.findByCourseIdOrderByOrderIndexAsc(clonedFirst.getId());
+		assertEquals(1, materials.size());
+		assertEquals(hash, materials.get(0).getContentHash());
+		assertEquals(4, blobRepository.findById(hash).orElseThrow().getRefCount());
+
+		// Relance: rien à copier
+		SemesterRollover again = rolloverService.rollover(source, target, true, true);
+		assertEquals(0, again.getCoursesCloned());
+		assertEquals(6, courseRepository.findBySemester(target).size());
+
+		assertThrows(IllegalArgumentException.class, () -> rolloverService.rollover(source, source, false, false));
+	}
+
+	@Test
+	void copiesThatOverlapTheTargetSemesterAreSkippedAndReported() {
+		String tag = Long.toString(System.nanoTime(), 36).toUpperCase();
+		String source = "C" + tag;
+		String target = "D" + tag;
+		String room = "R-" + tag;
+
+		Course busy = course("ALG-" + source, source, CourseStatus.COMPLETED);
+		Course free = course("WEB-" + source, source, CourseStatus.COMPLETED);
+		scheduleService.addSchedule(busy.getId(), "MONDAY", "08:00", "10:00", room, "Sciences", 40);
+		scheduleService.addSchedule(free.getId(), "MONDAY", "10:00", "12:00", room, "Sciences", 40);
+
+		// Salle déjà réservée dans le semestre cible, avant la reconduction
+		Course planned = course("BIO-" + target, target, CourseStatus.ACTIVE);
+		Schedule taken = scheduleService.addSchedule(planned.getId(), "MONDAY", "09:00", "10:00", room, "Sciences", 40);
+
+		SemesterRollover job = rolloverService.rollover(source, target, true, false);
+
+		assertEquals(SemesterRollover.State.COMPLETED, job.getState(), job.getError());
+		assertEquals(2, job.getCoursesCloned());
+		assertEquals(1, job.getSchedulesCloned());
+		assertEquals(1, job.getSchedulesSkipped());
+		assertEquals(1, job.getScheduleConflicts().size());
+		assertTrue(job.getScheduleConflicts().get(0).startsWith("ALG-" + target));
+		assertTrue(job.getScheduleConflicts().get(0).contains(taken.getId().toString()));
+
+		Long busyCopy = courseRepository.findByCode("ALG-" + target).orElseThrow().getId();
+		assertTrue(scheduleRepository.findByCourseId(busyCopy).isEmpty());
+		assertTrue(scheduleService.isRoomAvailable(room, null, target, "MONDAY", "08:00", "09:00"));
+
+		// Copie reprise déjà indexée, sans reconstruction: un ajout concurrent est refusé
+		Long freeCopy = courseRepository.findByCode("WEB-" + target).orElseThrow().getId();
+		assertThrows(RuntimeException.class,
+			() -> scheduleService.addSchedule(planned.getId(), "MONDAY", "11:00", "12:00", room, "Sciences", 40));
+		assertEquals(1, scheduleRepository.findByCourseId(freeCopy).size());
+	}
+
+	private Course course(String code, String semester, CourseStatus status) {
+		Course c = CourseFixtures.course(semester, 30);
+		c.setCode(code);
+		c.setEnrolledStudents(12);
+		c.setStatus(status);
+		return courseRepository.save(c);
+	}
+}
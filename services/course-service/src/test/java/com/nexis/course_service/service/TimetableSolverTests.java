@@ -0,0 +1,92 @@
+package com.nexis.course_service.service;
+
+import com.nexis.course_service.model.Course;
+import com.nexis.course_service.model.Schedule;
+import com.nexis.course_service.repository.CourseRepository;
+import com.nexis.course_service.repository.ScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.timetable.time-budget-ms=2000")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ TimetableSolver.class, ScheduleService.class, RoomScheduleIndex.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TimetableSolverTests {
+
+	@Autowired
+	private TimetableSolver timetableSolver;
+
+	@Autowired
+	private ScheduleService scheduleService;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private ScheduleRepository scheduleRepository;
+
+	@Test
+	void producesConflictFreePlanAndReportsImpossibleCourses() {
+		String semester = "TT-" + System.nanoTime();
+
+		// Inventaire des salles + un créneau pris le lundi matin en A-200 par un autre semestre (sans effet)
+		Course legacy = newCourse("S0-" + semester, 99L, 20);
+		for (String[] room : new String[][] { { "A-30", "30" }, { "A-60", "60" }, { "A-200", "200" } }) {
+			Schedule s = scheduleService.addSchedule(legacy.getId(), "SUNDAY", "08:00", "09:00",
+					room[0], "Central", Integer.valueOf(room[1]));
+			scheduleService.cancelSchedule(s.getId());
+		}
+		scheduleService.addSchedule(legacy.getId(), "MONDAY", "08:00", "10:00", "A-200", "Central", 200);
+
+		// Un cours déjà placé bloque sa salle et son enseignant le mardi 08:00
+		Course fixed = newCourse(semester, 1L, 20);
+		scheduleService.addSchedule(fixed.getId(), "TUESDAY", "08:00", "10:00", "A-60", "Central", 60);
+
+		Map<Long, Course> courses = new HashMap<>();
+		for (int i = 0; i < 40; i++) {
+			Course c = newCourse(semester, 1L + i % 6, i % 10 == 0 ? 150 : 25 + i % 30);
+			courses.put(c.getId(), c);
+		}
+		Course tooBig = newCourse(semester, 7L, 500);
+
+		TimetablePlan plan = timetableSolver.solveAndApply(semester, 0);
+
+		assertEquals(41, plan.getCoursesConsidered());
+		assertEquals(1, plan.getAlreadyScheduled());
+		assertEquals(40, plan.getAssignments().size());
+		assertFalse(plan.isTimedOut());
+		assertTrue(plan.getUnassigned().containsKey(tooBig.getId()));
+
+		Set<String> rooms = new HashSet<>();
+		Set<String> instructors = new HashSet<>();
+		instructors.add("1|TUESDAY|08:00");
+		for (TimetablePlan.Assignment a : plan.getAssignments()) {
+			Course c = courses.get(a.getCourseId());
+			assertTrue(a.getCapacity() >= c.getMaxStudents());
+			assertTrue(rooms.add(a.getRoom() + "|" + a.getDayOfWeek() + "|" + a.getStartTime()));
+			assertTrue(instructors.add(c.getInstructorId() + "|" + a.getDayOfWeek() + "|" + a.getStartTime()));
+			assertFalse("A-60|TUESDAY|08:00".equals(a.getRoom() + "|" + a.getDayOfWeek() + "|" + a.getStartTime()));
+		}
+		assertEquals(1, scheduleRepository.findByCourseId(plan.getAssignments().get(0).getCourseId()).size());
+	}
+
+	private Course newCourse(String semester, Long instructorId, int maxStudents) {
+		Course course = CourseFixtures.course(semester, maxStudents);
+		course.setInstructorId(instructorId);
+		return courseRepository.save(course);
+	}
+}
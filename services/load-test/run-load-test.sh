@@ -0,0 +1,18 @@
+#!/usr/bin/env sh
+# Test de charge de bout en bout (auth, course, billing sur H2 embarquée).
+# Construit les jars puis lance le harnais; les options sont passées telles quelles:
+#   ./run-load-test.sh --concurrency=32 --duration=2m
+# Hors ligne: une fois les dépendances dans ~/.m2, MAVEN_ARGS=-o
+set -e
+cd "$(dirname "$0")"
+
+# course- et billing-service: H2 seulement avec le profil Maven loadtest (auth-service l'embarque déjà)
+echo "📍 Construction de auth-service"
+(cd ../auth-service && mvn -B -q $MAVEN_ARGS package -DskipTests)
+for service in course-service billing-service; do
+    echo "📍 Construction de $service"
+    (cd "../$service" && mvn -B -q $MAVEN_ARGS -Ploadtest clean package -DskipTests)
+done
+mvn -B -q $MAVEN_ARGS package -DskipTests
+
+exec java -jar target/load-test.jar "$@"
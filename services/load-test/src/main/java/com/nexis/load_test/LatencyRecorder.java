@@ -0,0 +1,109 @@
+package com.nexis.load_test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latences d'un utilisateur virtuel, par opération: une instance par thread,
+ * aucune synchronisation pendant la mesure. Les instances sont fusionnées à
+ * la fin (merge) et les percentiles calculés exactement sur toutes les valeurs.
+ */
+public final class LatencyRecorder {
+
+    private final Map<String, Samples> operations = new LinkedHashMap<>();
+
+    /**
+     * @param outcome résultat métier (enrolled, waitlisted...), null si sans objet
+     */
+    public void success(String operation, long nanos, String outcome) {
+        Samples samples = samples(operation);
+        samples.add(nanos);
+        if (outcome != null) {
+            samples.outcomes.merge(outcome, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Échec technique (HTTP != 200, SOAP Fault, délai dépassé): compté, latence non retenue
+     */
+    public void failure(String operation, String reason) {
+        Samples samples = samples(operation);
+        samples.errors++;
+        samples.outcomes.merge("error:" + reason, 1, Integer::sum);
+    }
+
+    public void merge(LatencyRecorder other) {
+        other.operations.forEach((operation, theirs) -> {
+            Samples mine = samples(operation);
+            for (int i = 0; i < theirs.count; i++) {
+                mine.add(theirs.nanos[i]);
+            }
+            mine.errors += theirs.errors;
+            theirs.outcomes.forEach((k, v) -> mine.outcomes.merge(k, v, Integer::sum));
+        });
+    }
+
+    /**
+     * Statistiques par opération sur une fenêtre de mesure
+     */
+    public Map<String, OperationStats> summarize(double seconds) {
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        operations.forEach((operation, s) -> stats.put(operation, s.summarize(seconds)));
+        return stats;
+    }
+
+    private Samples samples(String operation) {
+        return operations.computeIfAbsent(operation, o -> new Samples());
+    }
+
+    /**
+     * Latences en ms; throughput en réponses réussies par seconde
+     */
+    public record OperationStats(long count, long errors, double throughput, double mean, double p50,
+                                 double p99, double p999, double max, Map<String, Integer> outcomes) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+        private final Map<String, Integer> outcomes = new TreeMap<>();
+
+        void add(long value) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+        }
+
+        OperationStats summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            double total = 0;
+            for (long v : sorted) {
+                total += v;
+            }
+            return new OperationStats(count, errors, seconds > 0 ? count / seconds : 0,
+                count > 0 ? ms(total / count) : 0,
+                percentile(sorted, 0.5), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                count > 0 ? ms(sorted[count - 1]) : 0, outcomes);
+        }
+
+        /**
+         * Rang le plus proche: plus petite valeur dont au moins p des mesures sont inférieures ou égales
+         */
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return ms(sorted[Math.max(0, Math.min(sorted.length, rank) - 1)]);
+        }
+
+        private static double ms(double nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
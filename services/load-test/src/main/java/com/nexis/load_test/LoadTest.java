@@ -0,0 +1,207 @@
+package com.nexis.load_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test de charge de bout en bout du parcours d'inscription:
+ * login (auth) → catalogue (course) → inscription (course) → solde (billing).
+ *
+ * Par défaut lance auth-service, course-service et billing-service (jars de
+ * services/<nom>/target) sur le profil loadtest: chacun sur sa base H2 en mémoire,
+ * remplie avec sa section de init_data.sql (voir SeedScript). Aucun accès réseau
+ * ni serveur MySQL requis. Avec --external=true, vise des services déjà démarrés
+ * (docker compose, MySQL).
+ *
+ * Rapport: par opération, nombre, erreurs, débit, latences moyenne, p50, p99, p999
+ * et max (percentiles exacts sur toutes les mesures), sur la console et en JSON
+ * dans work-dir/report.json.
+ *
+ * Lancement: services/load-test/run-load-test.sh [--clé=valeur ...] (voir --help)
+ */
+public final class LoadTest {
+
+    // Secret de /auth/revocations partagé par les services lancés (un par exécution)
+    private static final String REVOCATION_TOKEN = UUID.randomUUID().toString();
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (LoadTestOptions.HelpRequested e) {
+            System.out.println(LoadTestOptions.usage());
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println(LoadTestOptions.usage());
+            System.exit(2);
+            return;
+        }
+
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        List<ServiceLauncher> services = new ArrayList<>();
+        Thread cleanup = new Thread(() -> services.forEach(ServiceLauncher::close), "load-test-cleanup");
+        Runtime.getRuntime().addShutdownHook(cleanup);
+        try {
+            if (!options.external) {
+                startServices(options, http, services);
+            }
+            Map<String, LatencyRecorder.OperationStats> stats = run(options, http);
+            System.out.print(format(options, stats));
+            Path report = writeReport(options, stats);
+            System.out.println("📍 Rapport JSON: " + report);
+        } catch (Exception e) {
+            System.err.println("❌ Test de charge interrompu: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            services.forEach(ServiceLauncher::close);
+        }
+    }
+
+    private static void startServices(LoadTestOptions options, HttpClient http, List<ServiceLauncher> services)
+            throws IOException, InterruptedException {
+        Path workDir = options.workDir.toAbsolutePath();
+        SeedScript seed = SeedScript.forServices(options.courseCapacity);
+        Map<String, Path> scripts = seed.write(options.seed, workDir.resolve("seed"));
+        scripts.forEach((db, file) -> System.out.printf("📍 Données %s: %s%n", db, file));
+        if (!seed.getSkipped().isEmpty()) {
+            System.out.println("📍 Instructions ignorées (pas de table côté service): " + seed.getSkipped());
+        }
+
+        String profiles = "--spring.profiles.active=" + options.profiles;
+        services.add(launch(options, workDir, "auth-service", options.authUrl, "/auth/health",
+            scripts.get("auth_db"), profiles));
+        services.add(launch(options, workDir, "course-service", options.courseUrl, "/actuator/health",
+            scripts.get("course_db"), profiles));
+        services.add(launch(options, workDir, "billing-service", options.billingUrl, "/health",
+            scripts.get("billing_db"), profiles));
+
+        for (ServiceLauncher service : services) {
+            service.start();
+        }
+        for (ServiceLauncher service : services) {
+            service.awaitHealthy(http, options.startupTimeout);
+        }
+    }
+
+    private static ServiceLauncher launch(LoadTestOptions options, Path workDir, String name, String baseUrl,
+                                          String healthPath, Path seedScript, String... springArgs)
+            throws IOException {
+        URI uri = URI.create(baseUrl);
+        String contextPath = uri.getPath() == null ? "" : uri.getPath();
+        Map<String, String> env = new LinkedHashMap<>();
+        env.put("APP_JWT_SECRET", options.jwtSecret);
+        env.put("APP_JWT_SIGNING_KEY_FILE", workDir.resolve("jwt-signing-keys.properties").toString());
+        env.put("APP_JWT_JWKS_URL", options.authUrl + "/.well-known/jwks.json");
+        env.put("APP_JWT_REVOCATION_URL", options.authUrl + "/auth/revocations");
+        env.put("APP_JWT_REVOCATION_TOKEN", REVOCATION_TOKEN);
+        env.put("APP_SEED_LOCATION", seedScript.toUri().toString());
+        env.put("APP_MATERIALS_STORAGE_DIR", workDir.resolve("materials").toString());
+        return ServiceLauncher.forService(options.servicesDir.toAbsolutePath().normalize(), name, uri.getPort(),
+            contextPath + healthPath, options.javaOpts, workDir, env, springArgs);
+    }
+
+    /**
+     * Chauffe puis mesure avec options.concurrency utilisateurs virtuels
+     */
+    static Map<String, LatencyRecorder.OperationStats> run(LoadTestOptions options, HttpClient http)
+            throws InterruptedException {
+        NexisClient client = new NexisClient(http, options.authUrl, options.courseUrl, options.billingUrl,
+            options.requestTimeout);
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        AtomicBoolean stopping = new AtomicBoolean(false);
+
+        List<VirtualUser> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.concurrency; i++) {
+            VirtualUser user = new VirtualUser(i, options, client, measuring, stopping);
+            Thread thread = new Thread(user, "vu-" + i);
+            thread.setDaemon(true);
+            users.add(user);
+            threads.add(thread);
+        }
+
+        System.out.printf("📍 %d utilisateurs virtuels, chauffe %d s, mesure %d s, parcours %s%n",
+            options.concurrency, options.warmup.toSeconds(), options.duration.toSeconds(), options.steps);
+        threads.forEach(Thread::start);
+        Thread.sleep(options.warmup.toMillis());
+
+        measuring.set(true);
+        long start = System.nanoTime();
+        Thread.sleep(options.duration.toMillis());
+        measuring.set(false);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        stopping.set(true);
+        long joinMillis = options.requestTimeout.toMillis() + 5_000;
+        for (Thread thread : threads) {
+            thread.join(joinMillis);
+        }
+
+        LatencyRecorder total = new LatencyRecorder();
+        users.forEach(u -> total.merge(u.getRecorder()));
+        Map<String, LatencyRecorder.OperationStats> byOperation = total.summarize(seconds);
+
+        // Ordre du parcours, puis la session complète
+        Map<String, LatencyRecorder.OperationStats> ordered = new LinkedHashMap<>();
+        options.steps.forEach(step -> {
+            if (byOperation.containsKey(step)) {
+                ordered.put(step, byOperation.get(step));
+            }
+        });
+        ordered.putAll(byOperation);
+        return ordered;
+    }
+
+    static String format(LoadTestOptions options, Map<String, LatencyRecorder.OperationStats> stats) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%n# %d utilisateurs, %d s mesurées - latences en ms%n",
+            options.concurrency, options.duration.toSeconds()));
+        sb.append(String.format(Locale.ROOT, "%-10s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "errors", "req/s", "mean", "p50", "p99", "p999", "max"));
+        stats.forEach((operation, s) -> sb.append(String.format(Locale.ROOT,
+            "%-10s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            operation, s.count(), s.errors(), s.throughput(), s.mean(), s.p50(), s.p99(), s.p999(), s.max())));
+        stats.forEach((operation, s) -> {
+            if (!s.outcomes().isEmpty()) {
+                sb.append("# ").append(operation).append(": ").append(s.outcomes()).append('\n');
+            }
+        });
+        return sb.toString();
+    }
+
+    private static Path writeReport(LoadTestOptions options, Map<String, LatencyRecorder.OperationStats> stats)
+            throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", options.concurrency);
+        report.put("warmupSeconds", options.warmup.toSeconds());
+        report.put("durationSeconds", options.duration.toSeconds());
+        report.put("steps", options.steps);
+        report.put("external", options.external);
+        report.put("operations", stats);
+
+        Path file = options.workDir.toAbsolutePath().resolve("report.json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        return file;
+    }
+}
@@ -0,0 +1,154 @@
+package com.nexis.load_test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Options du test de charge, en --clé=valeur (durées: 90s, 2m, 500ms).
+ * Les chemins par défaut supposent un lancement depuis services/load-test.
+ */
+public final class LoadTestOptions {
+
+    public static final List<String> STEPS = List.of("login", "browse", "enroll", "balance");
+
+    // Charge
+    int concurrency = 16;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    List<String> steps = List.of("login", "browse", "browse", "enroll", "balance");
+    Duration think = Duration.ZERO;
+    int pageSize = 20;
+    Duration requestTimeout = Duration.ofSeconds(30);
+
+    // Comptes (init_data.sql: etudiant1..etudiant100, mot de passe "password")
+    int students = 100;
+    String userPattern = "etudiant%d";
+    String password = "password";
+
+    // Services
+    boolean external = false;
+    Path servicesDir = Paths.get("..");
+    Path seed = Paths.get("../../init_data.sql");
+    Path workDir = Paths.get("target/load-test");
+    int courseCapacity = 60;
+    String profiles = "prod,loadtest";
+    String javaOpts = "-Xmx512m";
+    String jwtSecret = "MyVerySecureSecretKeyForAuthenticationJWTTokens2024WithEnoughCharacters";
+    Duration startupTimeout = Duration.ofMinutes(3);
+    String authUrl = "http://localhost:8080";
+    String courseUrl = "http://localhost:8082/api";
+    String billingUrl = "http://localhost:8081";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                values.put("help", "true");
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Option invalide (attendu --clé=valeur): " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestOptions o = new LoadTestOptions();
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            String v = e.getValue();
+            switch (e.getKey()) {
+                case "help" -> throw new HelpRequested();
+                case "concurrency" -> o.concurrency = positive(e.getKey(), Integer.parseInt(v));
+                case "warmup" -> o.warmup = duration(v);
+                case "duration" -> o.duration = duration(v);
+                case "steps" -> o.steps = steps(v);
+                case "think" -> o.think = duration(v);
+                case "page-size" -> o.pageSize = positive(e.getKey(), Integer.parseInt(v));
+                case "request-timeout" -> o.requestTimeout = duration(v);
+                case "students" -> o.students = positive(e.getKey(), Integer.parseInt(v));
+                case "user-pattern" -> o.userPattern = v;
+                case "password" -> o.password = v;
+                case "external" -> o.external = Boolean.parseBoolean(v);
+                case "services-dir" -> o.servicesDir = Paths.get(v);
+                case "seed" -> o.seed = Paths.get(v);
+                case "work-dir" -> o.workDir = Paths.get(v);
+                case "course-capacity" -> o.courseCapacity = positive(e.getKey(), Integer.parseInt(v));
+                case "profiles" -> o.profiles = v;
+                case "java-opts" -> o.javaOpts = v;
+                case "jwt-secret" -> o.jwtSecret = v;
+                case "startup-timeout" -> o.startupTimeout = duration(v);
+                case "auth-url" -> o.authUrl = v;
+                case "course-url" -> o.courseUrl = v;
+                case "billing-url" -> o.billingUrl = v;
+                default -> throw new IllegalArgumentException("Option inconnue: --" + e.getKey());
+            }
+        }
+        if (o.duration.isZero()) {
+            throw new IllegalArgumentException("--duration doit être > 0");
+        }
+        return o;
+    }
+
+    static String usage() {
+        return String.join("\n",
+            "Usage: java -jar target/load-test.jar [--clé=valeur ...]",
+            "  --concurrency=16          utilisateurs virtuels (un thread chacun)",
+            "  --warmup=10s              chauffe, non mesurée",
+            "  --duration=60s            fenêtre de mesure",
+            "  --steps=login,browse,browse,enroll,balance",
+            "                            parcours rejoué en boucle (browse: une page du catalogue)",
+            "  --think=0ms               pause entre deux étapes",
+            "  --page-size=20            cours par page du catalogue",
+            "  --students=100            comptes utilisés (etudiant1..N)",
+            "  --user-pattern=etudiant%d --password=password",
+            "  --course-capacity=60      places par cours dans les données chargées",
+            "  --external=false          true: viser des services déjà démarrés (--auth-url, --course-url, --billing-url)",
+            "  --profiles=prod,loadtest  profils Spring des services lancés",
+            "  --java-opts=-Xmx512m      options JVM des services lancés",
+            "  --seed=../../init_data.sql --services-dir=.. --work-dir=target/load-test");
+    }
+
+    private static List<String> steps(String value) {
+        List<String> steps = Arrays.stream(value.split(",")).map(s -> s.trim().toLowerCase(Locale.ROOT))
+            .filter(s -> !s.isEmpty()).toList();
+        for (String step : steps) {
+            if (!STEPS.contains(step)) {
+                throw new IllegalArgumentException("Étape inconnue: " + step + " (attendu: " + STEPS + ")");
+            }
+        }
+        if (steps.isEmpty() || !steps.get(0).equals("login")) {
+            throw new IllegalArgumentException("Le parcours doit commencer par login");
+        }
+        return steps;
+    }
+
+    private static Duration duration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+
+    private static int positive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " doit être > 0");
+        }
+        return value;
+    }
+
+    static final class HelpRequested extends RuntimeException {
+    }
+}
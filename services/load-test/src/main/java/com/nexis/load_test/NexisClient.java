@@ -0,0 +1,164 @@
+package com.nexis.load_test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Appels du parcours étudiant, tels que les fait le FrontEnd:
+ * - auth-service:    POST /auth/login (JSON)
+ * - course-service:  SOAP /api/ws/course (listCourses, enrollStudent), JWT en Bearer
+ * - billing-service: SOAP /services/billing (getBalanceRequest)
+ *
+ * Les réponses SOAP sont lues par expressions régulières: seuls quelques
+ * éléments simples sont utiles ici.
+ */
+public final class NexisClient {
+
+    private static final String SOAP_ENVELOPE =
+        "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>%s</soap:Body></soap:Envelope>";
+    private static final String COURSE_NS = "http://soap.course_service.nexis.com/";
+    private static final String BILLING_NS = "http://nexis.com/billing";
+
+    private static final Pattern COURSE_ID = Pattern.compile("<(?:\\w+:)?id>(\\d+)</(?:\\w+:)?id>");
+    private static final Pattern NEXT_PAGE = Pattern.compile("<(?:\\w+:)?nextPageToken>([^<]+)</");
+    private static final Pattern RETURN = Pattern.compile("<(?:\\w+:)?return>([^<]*)</");
+    private static final Pattern BALANCE = Pattern.compile("<(?:\\w+:)?balance>([^<]+)</");
+
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final URI loginUri;
+    private final URI courseUri;
+    private final URI billingUri;
+    private final Duration timeout;
+
+    public NexisClient(HttpClient http, String authUrl, String courseUrl, String billingUrl, Duration timeout) {
+        this.http = http;
+        this.loginUri = URI.create(authUrl + "/auth/login");
+        this.courseUri = URI.create(courseUrl + "/ws/course");
+        this.billingUri = URI.create(billingUrl + "/services/billing");
+        this.timeout = timeout;
+    }
+
+    /**
+     * Session ouverte par login
+     */
+    public record Session(String token, long userId) {
+    }
+
+    /**
+     * Page du catalogue: ids des cours et jeton de la page suivante (null en fin de liste)
+     */
+    public record CoursePage(List<Long> courseIds, String nextPageToken) {
+    }
+
+    /**
+     * Échec technique d'un appel, avec un motif court pour le rapport (http-401, soap-fault, timeout)
+     */
+    public static final class CallFailedException extends IOException {
+        private final String reason;
+
+        CallFailedException(String reason, String message) {
+            super(message);
+            this.reason = reason;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+
+    public Session login(String username, String password) throws IOException, InterruptedException {
+        String body = mapper.writeValueAsString(Map.of("username", username, "password", password));
+        HttpRequest request = HttpRequest.newBuilder(loginUri)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+            .build();
+        JsonNode json = mapper.readTree(send(request));
+        JsonNode token = json.path("accessToken");
+        JsonNode id = json.path("user").path("id");
+        if (!token.isTextual() || !id.canConvertToLong()) {
+            throw new CallFailedException("bad-response", "Réponse de login sans accessToken ou user.id");
+        }
+        return new Session(token.asText(), id.asLong());
+    }
+
+    public CoursePage listCourses(Session session, int pageSize, String pageToken)
+            throws IOException, InterruptedException {
+        String body = "<c:listCourses xmlns:c=\"" + COURSE_NS + "\"><pageSize>" + pageSize + "</pageSize>"
+            + (pageToken != null ? "<pageToken>" + pageToken + "</pageToken>" : "") + "</c:listCourses>";
+        String response = soap(courseUri, session, body);
+        List<Long> ids = new ArrayList<>();
+        Matcher m = COURSE_ID.matcher(response);
+        while (m.find()) {
+            ids.add(Long.parseLong(m.group(1)));
+        }
+        Matcher next = NEXT_PAGE.matcher(response);
+        return new CoursePage(ids, next.find() ? next.group(1) : null);
+    }
+
+    /**
+     * @return message renvoyé par enrollStudent ("Étudiant inscrit avec succès", "Erreur: ...")
+     */
+    public String enroll(Session session, long courseId) throws IOException, InterruptedException {
+        String body = "<c:enrollStudent xmlns:c=\"" + COURSE_NS + "\"><courseId>" + courseId + "</courseId>"
+            + "<studentId>" + session.userId() + "</studentId></c:enrollStudent>";
+        Matcher m = RETURN.matcher(soap(courseUri, session, body));
+        if (!m.find()) {
+            throw new CallFailedException("bad-response", "Réponse enrollStudent sans return");
+        }
+        return m.group(1);
+    }
+
+    public double balance(Session session) throws IOException, InterruptedException {
+        String body = "<b:getBalanceRequest xmlns:b=\"" + BILLING_NS + "\"><studentId>" + session.userId()
+            + "</studentId></b:getBalanceRequest>";
+        Matcher m = BALANCE.matcher(soap(billingUri, session, body));
+        if (!m.find()) {
+            throw new CallFailedException("bad-response", "Réponse getBalance sans balance");
+        }
+        return Double.parseDouble(m.group(1));
+    }
+
+    private String soap(URI uri, Session session, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(timeout)
+            .header("Content-Type", "text/xml; charset=UTF-8")
+            .header("SOAPAction", "\"\"")
+            .header("Authorization", "Bearer " + session.token())
+            .POST(HttpRequest.BodyPublishers.ofString(String.format(SOAP_ENVELOPE, body), StandardCharsets.UTF_8))
+            .build();
+        return send(request);
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (HttpTimeoutException e) {
+            throw new CallFailedException("timeout", request.uri() + ": délai dépassé");
+        } catch (IOException e) {
+            throw new CallFailedException("io", request.uri() + ": " + e.getMessage());
+        }
+        if (response.statusCode() != 200) {
+            boolean fault = response.body() != null && response.body().contains("Fault>");
+            throw new CallFailedException(fault ? "soap-fault" : "http-" + response.statusCode(),
+                request.uri() + ": HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,202 @@
+package com.nexis.load_test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Découpe init_data.sql en un script de données par base (sections "USE auth_db;",
+ * "\c grade_db;"), adapté au schéma que crée Hibernate dans chaque service.
+ *
+ * - seules les tables déclarées (table()) sont gardées: les autres (payments, grades...)
+ *   n'ont pas d'entité dans auth/course/billing
+ * - colonnes renommées, retirées ou ajoutées par table: init_data.sql suit l'ancien
+ *   schéma des cours (name, professor_id, professor_name)
+ *
+ * ⚠️ Format attendu: des INSERT INTO t (colonnes) VALUES (...); d'une ligne ou plus,
+ * comme ceux produits par generate_seeds.py. Le reste (commentaires, DDL) est ignoré.
+ */
+public final class SeedScript {
+
+    private static final Pattern DATABASE = Pattern.compile("^(?:USE|\\\\c)\\s+(\\w+)\\s*;", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INSERT = Pattern.compile(
+        "^INSERT\\s+INTO\\s+(\\w+)\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\((.*)\\)\\s*;$",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /**
+     * Adaptation d'une table: renommages (ancien -> nouveau), colonnes retirées,
+     * colonnes ajoutées avec leur littéral SQL
+     */
+    public record TableAdapter(Map<String, String> renamed, Set<String> dropped, Map<String, String> added) {
+
+        public static final TableAdapter AS_IS = new TableAdapter(Map.of(), Set.of(), Map.of());
+    }
+
+    private final Map<String, Map<String, TableAdapter>> tables = new LinkedHashMap<>();
+    private final Map<String, Integer> skipped = new TreeMap<>();
+
+    /**
+     * Tables reprises pour auth-service, course-service et billing-service
+     * @param courseCapacity places par cours (absent de init_data.sql, obligatoire côté course)
+     */
+    public static SeedScript forServices(int courseCapacity) {
+        return new SeedScript()
+            .table("auth_db", "users", TableAdapter.AS_IS)
+            .table("course_db", "courses", new TableAdapter(
+                Map.of("name", "title", "professor_id", "instructor_id"),
+                Set.of("professor_name"),
+                Map.of("max_students", String.valueOf(courseCapacity), "status", "'ACTIVE'")))
+            .table("course_db", "course_materials", TableAdapter.AS_IS)
+            .table("course_db", "enrollments", TableAdapter.AS_IS)
+            .table("billing_db", "invoices", TableAdapter.AS_IS);
+    }
+
+    public SeedScript table(String database, String table, TableAdapter adapter) {
+        tables.computeIfAbsent(database, d -> new LinkedHashMap<>()).put(table.toLowerCase(), adapter);
+        return this;
+    }
+
+    /**
+     * INSERT adaptés, par base, dans l'ordre du fichier
+     */
+    public Map<String, List<String>> extract(Path source) throws IOException {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        tables.keySet().forEach(db -> result.put(db, new ArrayList<>()));
+        skipped.clear();
+
+        String database = null;
+        StringBuilder statement = new StringBuilder();
+        for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+            String trimmed = line.trim();
+            if (statement.length() == 0) {
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                Matcher db = DATABASE.matcher(trimmed);
+                if (db.find()) {
+                    database = db.group(1).toLowerCase();
+                    continue;
+                }
+            }
+            statement.append(statement.length() == 0 ? "" : "\n").append(trimmed);
+            if (trimmed.endsWith(";") && balancedQuotes(statement)) {
+                String adapted = adapt(database, statement.toString());
+                if (adapted != null) {
+                    result.get(database).add(adapted);
+                }
+                statement.setLength(0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Écrit un fichier .sql par base dans dir
+     * @return chemin du script par base
+     */
+    public Map<String, Path> write(Path source, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Map<String, Path> files = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> e : extract(source).entrySet()) {
+            Path file = dir.resolve(e.getKey() + ".sql");
+            Files.write(file, e.getValue(), StandardCharsets.UTF_8);
+            files.put(e.getKey(), file);
+        }
+        return files;
+    }
+
+    /**
+     * Instructions ignorées par table (base.table) lors du dernier extract()
+     */
+    public Map<String, Integer> getSkipped() {
+        return skipped;
+    }
+
+    private String adapt(String database, String statement) {
+        Matcher insert = INSERT.matcher(statement);
+        if (!insert.matches()) {
+            skip(database, "?");
+            return null;
+        }
+        String table = insert.group(1).toLowerCase();
+        TableAdapter adapter = database == null ? null : tables.getOrDefault(database, Map.of()).get(table);
+        if (adapter == null) {
+            skip(database, table);
+            return null;
+        }
+
+        List<String> columns = split(insert.group(2));
+        List<String> values = split(insert.group(3));
+        if (columns.size() != values.size()) {
+            throw new IllegalArgumentException("Colonnes et valeurs en nombre différent: " + statement);
+        }
+        List<String> outColumns = new ArrayList<>();
+        List<String> outValues = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).toLowerCase();
+            if (adapter.dropped().contains(column)) {
+                continue;
+            }
+            outColumns.add(adapter.renamed().getOrDefault(column, column));
+            outValues.add(values.get(i));
+        }
+        adapter.added().forEach((column, value) -> {
+            if (!outColumns.contains(column)) {
+                outColumns.add(column);
+                outValues.add(value);
+            }
+        });
+        return "INSERT INTO " + table + " (" + String.join(", ", outColumns) + ") VALUES ("
+            + String.join(", ", outValues) + ");";
+    }
+
+    private void skip(String database, String table) {
+        skipped.merge((database == null ? "?" : database) + "." + table, 1, Integer::sum);
+    }
+
+    /**
+     * Découpe sur les virgules hors chaînes ('' échappé) et hors parenthèses (NOW())
+     */
+    static List<String> split(String list) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        int depth = 0;
+        for (int i = 0; i < list.length(); i++) {
+            char c = list.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == '(') {
+                depth++;
+            } else if (!quoted && c == ')') {
+                depth--;
+            } else if (!quoted && depth == 0 && c == ',') {
+                parts.add(current.toString().trim());
+                current.setLength(0);
+                continue;
+            }
+            current.append(c);
+        }
+        parts.add(current.toString().trim());
+        return parts;
+    }
+
+    private static boolean balancedQuotes(CharSequence s) {
+        int quotes = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '\'') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 0;
+    }
+}
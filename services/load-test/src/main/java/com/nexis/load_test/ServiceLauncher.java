@@ -0,0 +1,142 @@
+package com.nexis.load_test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Lance un service Spring Boot (jar de services/<nom>/target) dans une JVM
+ * séparée, sur le profil loadtest (H2 en mémoire, données de APP_SEED_LOCATION),
+ * et attend que son URL de santé réponde 200. Sortie dans work-dir/<nom>.log.
+ */
+public final class ServiceLauncher implements AutoCloseable {
+
+    private final String name;
+    private final Path jar;
+    private final Path log;
+    private final URI health;
+    private final List<String> command;
+    private final Map<String, String> environment;
+    private Process process;
+
+    public ServiceLauncher(String name, Path jar, Path log, String healthUrl, List<String> command,
+                           Map<String, String> environment) {
+        this.name = name;
+        this.jar = jar;
+        this.log = log;
+        this.health = URI.create(healthUrl);
+        this.command = command;
+        this.environment = environment;
+    }
+
+    /**
+     * Service servicesDir/name, lancé par java -jar avec les arguments Spring donnés
+     */
+    public static ServiceLauncher forService(Path servicesDir, String name, int port, String healthPath,
+                                             String javaOpts, Path workDir, Map<String, String> environment,
+                                             String... springArgs) throws IOException {
+        Path jar = findJar(servicesDir.resolve(name).resolve("target"));
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (javaOpts != null && !javaOpts.isBlank()) {
+            command.addAll(Arrays.asList(javaOpts.trim().split("\\s+")));
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(Arrays.asList(springArgs));
+        return new ServiceLauncher(name, jar, workDir.resolve(name + ".log"),
+            "http://localhost:" + port + healthPath, command, environment);
+    }
+
+    public void start() throws IOException {
+        Files.createDirectories(log.getParent());
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile());
+        builder.environment().putAll(environment);
+        process = builder.start();
+        System.out.printf("📍 %s démarré (pid %d, %s), logs: %s%n", name, process.pid(), jar.getFileName(), log);
+    }
+
+    /**
+     * Attend la réponse 200 de l'URL de santé
+     * @throws IllegalStateException si le processus s'arrête ou si le délai est dépassé
+     */
+    public void awaitHealthy(HttpClient http, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(2)).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " arrêté (code " + process.exitValue() + ")\n" + tail());
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    System.out.printf("✅ %s prêt: %s%n", name, health);
+                    return;
+                }
+            } catch (IOException e) {
+                // pas encore à l'écoute
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " non prêt après " + timeout.toSeconds() + " s\n" + tail());
+    }
+
+    @Override
+    public void close() {
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String tail() throws IOException {
+        if (!Files.exists(log)) {
+            return "";
+        }
+        List<String> lines = Files.readAllLines(log, StandardCharsets.UTF_8);
+        return String.join("\n", lines.subList(Math.max(0, lines.size() - 30), lines.size()));
+    }
+
+    /**
+     * Jar exécutable produit par mvn package (hors *-plain.jar et *.original)
+     */
+    private static Path findJar(Path target) throws IOException {
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.list(target)) {
+                List<Path> jars = files
+                    .filter(p -> p.getFileName().toString().endsWith(".jar"))
+                    .filter(p -> !p.getFileName().toString().endsWith("-plain.jar"))
+                    .sorted()
+                    .toList();
+                if (!jars.isEmpty()) {
+                    return jars.get(0).toAbsolutePath();
+                }
+            }
+        }
+        throw new IllegalStateException("Aucun jar dans " + target.toAbsolutePath()
+            + " (mvn -B -Ploadtest clean package -DskipTests dans le service)");
+    }
+}
@@ -0,0 +1,140 @@
+package com.nexis.load_test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Un étudiant simulé: rejoue le parcours (options.steps) en boucle jusqu'à l'arrêt.
+ * Chaque tour ouvre une session avec le compte suivant (etudiant1..N, répartis
+ * entre les utilisateurs virtuels). Rien n'est enregistré tant que measuring est faux.
+ *
+ * - login:   POST /auth/login; en cas d'échec le reste du tour est abandonné
+ * - browse:  une page de listCourses (la suivante à chaque browse du même tour)
+ * - enroll:  enrollStudent sur un cours vu pendant le tour
+ * - balance: getBalance de l'étudiant
+ */
+final class VirtualUser implements Runnable {
+
+    static final String SESSION = "session";
+
+    private final int index;
+    private final LoadTestOptions options;
+    private final NexisClient client;
+    private final AtomicBoolean measuring;
+    private final AtomicBoolean stopping;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    VirtualUser(int index, LoadTestOptions options, NexisClient client,
+                AtomicBoolean measuring, AtomicBoolean stopping) {
+        this.index = index;
+        this.options = options;
+        this.client = client;
+        this.measuring = measuring;
+        this.stopping = stopping;
+    }
+
+    LatencyRecorder getRecorder() {
+        return recorder;
+    }
+
+    @Override
+    public void run() {
+        long round = 0;
+        while (!stopping.get() && !Thread.currentThread().isInterrupted()) {
+            int student = (int) ((index + round * options.concurrency) % options.students) + 1;
+            round++;
+            try {
+                session(String.format(options.userPattern, student));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void session(String username) throws InterruptedException {
+        boolean recorded = measuring.get();
+        long sessionStart = System.nanoTime();
+        NexisClient.Session session = null;
+        String pageToken = null;
+        List<Long> seen = new ArrayList<>();
+        boolean completed = true;
+
+        for (String step : options.steps) {
+            if (stopping.get()) {
+                return;
+            }
+            boolean record = measuring.get();
+            long start = System.nanoTime();
+            try {
+                String outcome = null;
+                switch (step) {
+                    case "login" -> session = client.login(username, options.password);
+                    case "browse" -> {
+                        NexisClient.CoursePage page = client.listCourses(session, options.pageSize, pageToken);
+                        seen.addAll(page.courseIds());
+                        pageToken = page.nextPageToken();
+                    }
+                    case "enroll" -> {
+                        if (seen.isEmpty()) {
+                            throw new NexisClient.CallFailedException("no-course", "Aucun cours vu avant enroll");
+                        }
+                        long courseId = seen.get(ThreadLocalRandom.current().nextInt(seen.size()));
+                        outcome = enrollOutcome(client.enroll(session, courseId));
+                    }
+                    case "balance" -> client.balance(session);
+                    default -> throw new IllegalStateException(step);
+                }
+                if (record) {
+                    recorder.success(step, System.nanoTime() - start, outcome);
+                }
+            } catch (NexisClient.CallFailedException e) {
+                completed = false;
+                if (record) {
+                    recorder.failure(step, e.getReason());
+                }
+                if (session == null) {
+                    break;
+                }
+            } catch (IOException | RuntimeException e) {
+                completed = false;
+                if (record) {
+                    recorder.failure(step, e.getClass().getSimpleName());
+                }
+                if (session == null) {
+                    break;
+                }
+            }
+            if (!options.think.isZero()) {
+                Thread.sleep(options.think.toMillis());
+            }
+        }
+
+        if (recorded && measuring.get()) {
+            if (completed) {
+                recorder.success(SESSION, System.nanoTime() - sessionStart, null);
+            } else {
+                recorder.failure(SESSION, "step-failed");
+            }
+        }
+    }
+
+    /**
+     * Résultat métier de enrollStudent (toujours HTTP 200, message texte)
+     */
+    static String enrollOutcome(String message) {
+        if (message.startsWith("Étudiant inscrit")) {
+            return "enrolled";
+        }
+        if (message.contains("liste d'attente")) {
+            return "waitlisted";
+        }
+        if (message.contains("déjà inscrit")) {
+            return "already-enrolled";
+        }
+        return message.startsWith("Erreur") ? "rejected" : "other";
+    }
+}
@@ -0,0 +1,78 @@
+package com.nexis.load_test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeedScriptTests {
+
+    private static final String SEED = String.join("\n",
+        "-- UNIVERSITE SYSTEM SEED DATA",
+        "USE auth_db;",
+        "INSERT INTO users (username, password, role) VALUES ('etudiant1', 'x', 'STUDENT');",
+        "",
+        "USE course_db;",
+        "INSERT INTO courses (code, name, description, credits, professor_id, professor_name, semester) "
+            + "VALUES ('BIO101', 'Cours, niveau 1', 'L''essentiel', 5, '114', 'Professeur 114', 'S1-2024');",
+        "INSERT INTO enrollments (course_id, student_id, status, enrolled_at)",
+        "VALUES (25, '4', 'ENROLLED', NOW());",
+        "USE billing_db;",
+        "INSERT INTO invoices (student_id, amount) VALUES ('4', 50000);",
+        "INSERT INTO payments (invoice_id, amount) VALUES (8, 50000);",
+        "\\c grade_db;",
+        "INSERT INTO grades (student_id, grade) VALUES ('4', 15.55);");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void splitsByDatabaseAndAdaptsCourseColumns() throws Exception {
+        Path source = dir.resolve("init_data.sql");
+        Files.writeString(source, SEED, StandardCharsets.UTF_8);
+
+        SeedScript seed = SeedScript.forServices(40);
+        Map<String, List<String>> scripts = seed.extract(source);
+
+        assertEquals(List.of("auth_db", "course_db", "billing_db"), List.copyOf(scripts.keySet()));
+        assertEquals(1, scripts.get("auth_db").size());
+        assertEquals(List.of("INSERT INTO invoices (student_id, amount) VALUES ('4', 50000);"), scripts.get("billing_db"));
+
+        List<String> course = scripts.get("course_db");
+        assertEquals(2, course.size());
+        String insert = course.get(0);
+        assertTrue(insert.startsWith("INSERT INTO courses (code, title, description, credits, instructor_id, semester, "),
+            insert);
+        assertTrue(insert.contains("'Cours, niveau 1', 'L''essentiel', 5, '114', 'S1-2024'"), insert);
+        assertTrue(insert.contains("max_students") && insert.contains("40"), insert);
+        assertTrue(insert.contains("status") && insert.contains("'ACTIVE'"), insert);
+        assertFalse(insert.contains("professor"), insert);
+        assertTrue(course.get(1).endsWith("VALUES (25, '4', 'ENROLLED', NOW());"), course.get(1));
+
+        assertEquals(Map.of("billing_db.payments", 1, "grade_db.grades", 1), seed.getSkipped());
+    }
+
+    @Test
+    void percentilesUseNearestRank() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 1; i <= 1000; i++) {
+            recorder.success("login", i * 1_000_000L, null);
+        }
+        recorder.failure("login", "http-500");
+
+        LatencyRecorder.OperationStats stats = recorder.summarize(10).get("login");
+        assertEquals(1000, stats.count());
+        assertEquals(1, stats.errors());
+        assertEquals(100.0, stats.throughput(), 1e-9);
+        assertEquals(500.0, stats.p50(), 1e-9);
+        assertEquals(990.0, stats.p99(), 1e-9);
+        assertEquals(999.0, stats.p999(), 1e-9);
+        assertEquals(1000.0, stats.max(), 1e-9);
+    }
+}
@@ -1,8 +1,91 @@
+const crypto = require('crypto');
+const axios = require('axios');
 const jwt = require('jsonwebtoken');
 
-const verifyToken = (token) => {
+// Clés publiques ES256 publiées par auth-service (/.well-known/jwks.json), par kid
+const JWKS_URL = process.env.JWKS_URL
+  || `${process.env.AUTH_SERVICE_URL || 'http://localhost:8080'}/.well-known/jwks.json`;
+const JWKS_REFRESH_INTERVAL = Number(process.env.JWKS_REFRESH_INTERVAL || 300000);
+const JWKS_MIN_REFRESH_INTERVAL = Number(process.env.JWKS_MIN_REFRESH_INTERVAL || 30000);
+
+// Transition HS256 -> ES256: JWT_SECRET ne vérifie que les tokens émis avant
+// JWT_LEGACY_HS256_UNTIL (ISO-8601) et expirant au plus tard JWT_EXPIRATION après
+const LEGACY_HS256_UNTIL = Date.parse(process.env.JWT_LEGACY_HS256_UNTIL || '') || 0;
+const TOKEN_LIFETIME = Number(process.env.JWT_EXPIRATION || 86400000);
+
+let keys = new Map();
+let lastMissRefresh = 0;
+let pending = null;
+let failing = false;
+
+const refreshKeys = () => {
+  if (pending) {
+    return pending;
+  }
+  pending = axios.get(JWKS_URL, { timeout: 2000 })
+    .then(({ data }) => {
+      const next = new Map();
+      for (const jwk of data.keys || []) {
+        if (jwk.kty === 'EC' && jwk.crv === 'P-256' && jwk.kid && (!jwk.alg || jwk.alg === 'ES256')) {
+          next.set(jwk.kid, crypto.createPublicKey({ key: jwk, format: 'jwk' }));
+        }
+      }
+      keys = next;
+      if (failing) {
+        console.log(`✅ Clés JWT de nouveau à jour (${keys.size} clés)`);
+        failing = false;
+      }
+    })
+    .catch((error) => {
+      // Dernières clés conservées
+      if (!failing) {
+        console.error(`⚠️ Clés JWT non relues (${error.message}): dernières clés conservées`);
+        failing = true;
+      }
+    })
+    .finally(() => {
+      pending = null;
+    });
+  return pending;
+};
+
+refreshKeys();
+setInterval(refreshKeys, JWKS_REFRESH_INTERVAL).unref();
+
+/**
+ * Clé du kid; kid inconnu (rotation pas encore vue): relecture immédiate,
+ * au plus une fois par JWKS_MIN_REFRESH_INTERVAL
+ */
+const findKey = async (kid) => {
+  if (!keys.has(kid) && Date.now() - lastMissRefresh >= JWKS_MIN_REFRESH_INTERVAL) {
+    lastMissRefresh = Date.now();
+    await refreshKeys();
+  }
+  return keys.get(kid);
+};
+
+const verifyToken = async (token) => {
   try {
-    return jwt.verify(token, process.env.JWT_SECRET);
+    const decoded = jwt.decode(token, { complete: true });
+    if (!decoded) {
+      throw new Error('Token illisible');
+    }
+
+    // Anciens tokens HS256 (JWT_SECRET et JWT_LEGACY_HS256_UNTIL; l'un des deux vide: refusés)
+    if (decoded.header.alg === 'HS256' && process.env.JWT_SECRET && LEGACY_HS256_UNTIL) {
+      const payload = jwt.verify(token, process.env.JWT_SECRET, { algorithms: ['HS256'] });
+      if (!payload.iat || !payload.exp || payload.iat * 1000 >= LEGACY_HS256_UNTIL
+        || payload.exp * 1000 > LEGACY_HS256_UNTIL + TOKEN_LIFETIME) {
+        throw new Error('Token HS256 émis après la bascule ES256');
+      }
+      return payload;
+    }
+
+    const key = decoded.header.kid ? await findKey(decoded.header.kid) : undefined;
+    if (!key) {
+      throw new Error(`Clé de signature inconnue: kid=${decoded.header.kid}`);
+    }
+    return jwt.verify(token, key, { algorithms: ['ES256'] });
   } catch (error) {
     throw new Error('Token invalide');
   }
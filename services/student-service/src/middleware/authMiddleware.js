@@ -1,6 +1,6 @@
 const { verifyToken } = require('../config/jwt');
 
-module.exports = (req, res, next) => {
+module.exports = async (req, res, next) => {
   try {
     const authHeader = req.headers.authorization;
 
@@ -12,7 +12,7 @@ module.exports = (req, res, next) => {
     }
 
     const token = authHeader.substring(7);
-    const decoded = verifyToken(token);
+    const decoded = await verifyToken(token);
 
     req.user = {
       id: decoded.sub,